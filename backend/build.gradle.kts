@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.2.0"
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "me.verni.gymplify"
@@ -32,6 +33,10 @@ dependencies {
     // JDBC
     implementation("org.springframework.boot:spring-boot-starter-jdbc")
 
+    // Metrics
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
     //Oracle JDBC Driver
     implementation("com.oracle.database.jdbc:ojdbc11:23.3.0.23.09")
 
@@ -53,6 +58,28 @@ tasks.test {
     useJUnitPlatform()
 }
 
+// Benchmarki CPU w src/jmh/java, uruchamiane przez ./gradlew jmh (wyniki w build/results/jmh)
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    includes.addAll(providers.gradleProperty("jmhInclude").map { listOf(it) }.orElse(emptyList()))
+}
+
+// Generator obciążenia REST w src/loadtest/java (tylko JDK); serwer uruchamiany osobno, np. z profilem inmemory:
+// ./gradlew loadTest -Ploadtest.concurrency=64 -Ploadtest.duration-seconds=60
+val loadtest: SourceSet by sourceSets.creating
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the REST load-test harness against a running backend."
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("me.verni.gymplify.loadtest.LoadTestHarness")
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+}
+
 tasks.withType<JavaCompile> {
     options.compilerArgs.add("-parameters")
 }
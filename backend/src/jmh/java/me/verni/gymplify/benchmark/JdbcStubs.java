@@ -0,0 +1,82 @@
+package me.verni.gymplify.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLInput;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory {@link SQLInput} and {@link ResultSet} stand-ins for the mapper benchmarks, so that
+ * only the mapping code is measured and no driver or database is needed. Only the reader methods
+ * the mappers call are implemented; any other method fails loudly.
+ */
+final class JdbcStubs {
+
+    private JdbcStubs() {
+    }
+
+    /**
+     * Returns an {@link SQLInput} that yields {@code attributes} in order, the way ojdbc streams the
+     * attributes of an object type into {@code SQLData.readSQL}. {@link #rewind} starts it over.
+     */
+    static SQLInput sqlInput(Object... attributes) {
+        int[] position = {0};
+        Object[] last = {null};
+        return (SQLInput) Proxy.newProxyInstance(JdbcStubs.class.getClassLoader(), new Class<?>[]{SQLInput.class, Rewindable.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "rewind" -> {
+                        position[0] = 0;
+                        yield null;
+                    }
+                    case "wasNull" -> last[0] == null;
+                    case "readLong" -> {
+                        last[0] = attributes[position[0]++];
+                        yield last[0] == null ? 0L : ((Number) last[0]).longValue();
+                    }
+                    case "readString", "readDate", "readTimestamp", "readObject" -> {
+                        last[0] = attributes[position[0]++];
+                        yield last[0];
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static void rewind(SQLInput input) {
+        ((Rewindable) input).rewind();
+    }
+
+    /**
+     * Returns a single-row {@link ResultSet} whose columns are looked up by label, case-insensitively,
+     * like the Oracle driver does.
+     */
+    static ResultSet row(Map<String, Object> columns) {
+        Map<String, Object> byLabel = new HashMap<>();
+        columns.forEach((label, value) -> byLabel.put(label.toUpperCase(Locale.ROOT), value));
+        Object[] last = {null};
+        return (ResultSet) Proxy.newProxyInstance(JdbcStubs.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("wasNull".equals(name)) {
+                        return last[0] == null;
+                    }
+                    if (args == null || args.length != 1 || !(args[0] instanceof String label)) {
+                        throw new UnsupportedOperationException(name);
+                    }
+                    last[0] = byLabel.get(label.toUpperCase(Locale.ROOT));
+                    return switch (name) {
+                        case "getLong" -> last[0] == null ? 0L : ((Number) last[0]).longValue();
+                        case "getString" -> last[0] == null ? null : last[0].toString();
+                        case "getTimestamp" -> (Timestamp) last[0];
+                        case "getObject" -> last[0];
+                        default -> throw new UnsupportedOperationException(name);
+                    };
+                });
+    }
+
+    interface Rewindable {
+        void rewind();
+    }
+}
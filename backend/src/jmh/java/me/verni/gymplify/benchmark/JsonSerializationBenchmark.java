@@ -0,0 +1,80 @@
+package me.verni.gymplify.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.verni.gymplify.dto.PersonalPlanDto;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.dto.UserAdminViewDto;
+import me.verni.gymplify.dto.UserPageDto;
+import me.verni.gymplify.util.RoleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list responses that grow with the data: trainer sessions,
+ * personal plan assignments and an admin user page. The mapper is configured the way Spring
+ * Boot configures the HTTP message converter (JSR-310 module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<TrainerSessionDto> trainerSessions;
+    private List<PersonalPlanDto> personalPlans;
+    private UserPageDto userPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        LocalDateTime firstStart = LocalDateTime.of(2025, 3, 3, 8, 0);
+        trainerSessions = new ArrayList<>(size);
+        personalPlans = new ArrayList<>(size);
+        List<UserAdminViewDto> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1L;
+            LocalDateTime start = firstStart.plusHours(i % 12).plusDays(i / 12);
+            LocalDate day = start.toLocalDate();
+            trainerSessions.add(new TrainerSessionDto(id, id % 20 + 1, "Anna", "Nowak", day, start, start.plusHours(1)));
+            personalPlans.add(new PersonalPlanDto(id, id + 500, "uzytkownik" + id, id % 20 + 1, "Anna", "Nowak",
+                    id % 40 + 1, "Plan treningowy " + (id % 40 + 1)));
+            users.add(new UserAdminViewDto(id, "uzytkownik" + id, "uzytkownik" + id + "@example.com", RoleType.USER));
+        }
+        userPage = new UserPageDto(users, size, true, (long) size);
+    }
+
+    @Benchmark
+    public byte[] trainerSessions() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(trainerSessions);
+    }
+
+    @Benchmark
+    public byte[] personalPlans() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(personalPlans);
+    }
+
+    @Benchmark
+    public byte[] userPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userPage);
+    }
+}
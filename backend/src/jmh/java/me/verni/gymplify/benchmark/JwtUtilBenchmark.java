@@ -0,0 +1,55 @@
+package me.verni.gymplify.benchmark;
+
+import me.verni.gymplify.util.JwtUtil;
+import me.verni.gymplify.util.VerifiedJwtClaims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done on login and on every authenticated request. The
+ * uncached variant runs with the claims cache disabled and measures HMAC verification plus
+ * JSON parsing; the cached variant measures the SHA-256 digest lookup that replaces it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "sCZNSm9T6zwiFWiHsfnbJAIsjLjv6f9dK9IHSGLTl4o7BIUYWv3iMca5DvSqkcXU";
+    private static final long EXPIRATION_MS = 86_400_000L;
+
+    private JwtUtil uncachedJwtUtil;
+    private JwtUtil cachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedJwtUtil = new JwtUtil(SECRET, EXPIRATION_MS, 0);
+        cachedJwtUtil = new JwtUtil(SECRET, EXPIRATION_MS, 10_000);
+        token = uncachedJwtUtil.generateToken("jan.kowalski@example.com", "ROLE_USER");
+        cachedJwtUtil.parseVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtUtil.generateToken("jan.kowalski@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public Optional<VerifiedJwtClaims> parseUncached() {
+        return uncachedJwtUtil.parseVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedJwtClaims> parseCached() {
+        return cachedJwtUtil.parseVerifiedClaims(token);
+    }
+}
@@ -0,0 +1,55 @@
+package me.verni.gymplify.benchmark;
+
+import me.verni.gymplify.util.PasswordBloomFilter;
+import me.verni.gymplify.util.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PasswordValidator#validatePassword} with the default policy for a password that passes every
+ * rule (the whole scan runs), one rejected for a missing special character and one rejected by the
+ * common-pattern check, with a breached-password filter of a million entries behind it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordValidatorBenchmark {
+
+    private static final int BREACHED_ENTRIES = 1_000_000;
+
+    @Param({"Tr3ning!Siłownia#2025", "Trening2025Silownia", "Password!2025xY"})
+    public String password;
+
+    private PasswordBloomFilter breachedPasswords;
+    private PasswordValidator passwordValidator;
+
+    @Setup
+    public void setUp() {
+        breachedPasswords = new PasswordBloomFilter(BREACHED_ENTRIES, 0.001);
+        for (int i = 0; i < BREACHED_ENTRIES; i++) {
+            breachedPasswords.add("Haslo" + i + "!Silownia");
+        }
+        passwordValidator = new PasswordValidator(12, true, true, true, true, "", 2,
+                List.of("123456", "password", "qwerty", "abc123", "admin", "welcome", "letmein", "monkey", "1234", "12345"),
+                breachedPasswords::mightContain);
+    }
+
+    @Benchmark
+    public PasswordValidator.ValidationResult validatePassword() {
+        return passwordValidator.validatePassword(password);
+    }
+
+    @Benchmark
+    public boolean breachedLookup() {
+        return breachedPasswords.mightContain(password);
+    }
+}
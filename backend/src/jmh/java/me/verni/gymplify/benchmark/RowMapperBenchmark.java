@@ -0,0 +1,91 @@
+package me.verni.gymplify.benchmark;
+
+import me.verni.gymplify.dto.TrainerAdminViewDto;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.dto.User;
+import me.verni.gymplify.dto.UserAdminViewDto;
+import me.verni.gymplify.util.TrainerAdminViewRowMapper;
+import me.verni.gymplify.util.TrainerSessionRowMapper;
+import me.verni.gymplify.util.UserAdminViewRowMapper;
+import me.verni.gymplify.util.UserRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The shared {@code RowMapper}s on a single row, with columns looked up by label as in the
+ * repositories. The row is an in-memory stub, so only label lookup and DTO construction are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RowMapperBenchmark {
+
+    private final TrainerSessionRowMapper trainerSessionRowMapper = new TrainerSessionRowMapper();
+    private final UserRowMapper userRowMapper = new UserRowMapper();
+    private final UserAdminViewRowMapper userAdminViewRowMapper = new UserAdminViewRowMapper();
+    private final TrainerAdminViewRowMapper trainerAdminViewRowMapper = new TrainerAdminViewRowMapper();
+
+    private ResultSet trainerSessionRow;
+    private ResultSet userRow;
+    private ResultSet trainerRow;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 14, 17, 0);
+        trainerSessionRow = JdbcStubs.row(Map.of(
+                "SCHEDULE_ID", 90817L,
+                "TRAINER_ID", 12L,
+                "TRAINER_NAME", "Anna",
+                "TRAINER_SURNAME", "Nowak",
+                "SESSION_DATE", Timestamp.valueOf(start.toLocalDate().atStartOfDay()),
+                "START_TIME", Timestamp.valueOf(start),
+                "END_TIME", Timestamp.valueOf(start.plusHours(1))));
+        userRow = JdbcStubs.row(Map.of(
+                "USER_ID", 517L,
+                "USERNAME", "jan.kowalski",
+                "EMAIL", "jan.kowalski@example.com",
+                "PASSWORD_HASH", "$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW",
+                "ROLE", "USER"));
+        trainerRow = JdbcStubs.row(Map.of(
+                "TRAINER_ID", 12L,
+                "USER_ID", 518L,
+                "NAME", "Anna",
+                "SURNAME", "Nowak",
+                "SPECIALIZATION", "Trening siłowy",
+                "CONTACT", "+48 600 100 200",
+                "USERNAME", "anna.nowak",
+                "EMAIL", "anna.nowak@example.com"));
+    }
+
+    @Benchmark
+    public TrainerSessionDto trainerSessionRowMapper() throws SQLException {
+        return trainerSessionRowMapper.mapRow(trainerSessionRow, 0);
+    }
+
+    @Benchmark
+    public User userRowMapper() throws SQLException {
+        return userRowMapper.mapRow(userRow, 0);
+    }
+
+    @Benchmark
+    public UserAdminViewDto userAdminViewRowMapper() throws SQLException {
+        return userAdminViewRowMapper.mapRow(userRow, 0);
+    }
+
+    @Benchmark
+    public TrainerAdminViewDto trainerAdminViewRowMapper() throws SQLException {
+        return trainerAdminViewRowMapper.mapRow(trainerRow, 0);
+    }
+}
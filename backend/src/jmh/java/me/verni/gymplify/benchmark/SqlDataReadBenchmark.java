@@ -0,0 +1,61 @@
+package me.verni.gymplify.benchmark;
+
+import me.verni.gymplify.dto.PersonalPlanDto;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.util.PersonalPlanSqlRecord;
+import me.verni.gymplify.util.TrainerSessionSqlRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.SQLInput;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SQLData.readSQL} of the object-type records returned by the PL/SQL packages, followed
+ * by the conversion to the DTO the API returns. The attribute stream is an in-memory stub, so
+ * driver decoding is not part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SqlDataReadBenchmark {
+
+    private SQLInput personalPlanAttributes;
+    private SQLInput trainerSessionAttributes;
+
+    @Setup
+    public void setUp() {
+        personalPlanAttributes = JdbcStubs.sqlInput(
+                1042L, 517L, "jan.kowalski", 12L, "Anna", "Nowak", 33L, "Plan siłowy 5x5");
+        LocalDateTime start = LocalDateTime.of(2025, 3, 14, 17, 0);
+        trainerSessionAttributes = JdbcStubs.sqlInput(
+                90817L, 12L, "Anna", "Nowak", Date.valueOf(LocalDate.of(2025, 3, 14)),
+                Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)));
+    }
+
+    @Benchmark
+    public PersonalPlanDto readPersonalPlanRecord() throws SQLException {
+        JdbcStubs.rewind(personalPlanAttributes);
+        PersonalPlanSqlRecord record = new PersonalPlanSqlRecord();
+        record.readSQL(personalPlanAttributes, PersonalPlanSqlRecord.SQL_TYPE_NAME);
+        return record.toDto();
+    }
+
+    @Benchmark
+    public TrainerSessionDto readTrainerSessionRecord() throws SQLException {
+        JdbcStubs.rewind(trainerSessionAttributes);
+        TrainerSessionSqlRecord record = new TrainerSessionSqlRecord();
+        record.readSQL(trainerSessionAttributes, TrainerSessionSqlRecord.SQL_TYPE_NAME);
+        return record.toDto();
+    }
+}
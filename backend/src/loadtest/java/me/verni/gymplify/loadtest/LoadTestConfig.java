@@ -0,0 +1,32 @@
+package me.verni.gymplify.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Settings of one load-test run, read from {@code loadtest.*} system properties (the {@code loadTest}
+ * Gradle task forwards {@code -Ploadtest.*} project properties). Defaults match the seeded admin of
+ * the {@code inmemory} profile.
+ */
+record LoadTestConfig(String baseUrl,
+                      String email,
+                      String password,
+                      int concurrency,
+                      Duration warmUp,
+                      Duration duration,
+                      Duration requestTimeout) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                trimTrailingSlash(System.getProperty("loadtest.base-url", "http://localhost:8090")),
+                System.getProperty("loadtest.email", "admin@gymplify.local"),
+                System.getProperty("loadtest.password", "admin12345"),
+                Math.max(1, Integer.getInteger("loadtest.concurrency", 32)),
+                Duration.ofSeconds(Math.max(0, Long.getLong("loadtest.warm-up-seconds", 10L))),
+                Duration.ofSeconds(Math.max(1, Long.getLong("loadtest.duration-seconds", 30L))),
+                Duration.ofMillis(Math.max(1, Long.getLong("loadtest.request-timeout-ms", 10_000L))));
+    }
+
+    private static String trimTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,239 @@
+package me.verni.gymplify.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for the REST API. Logs in once, discovers entity IDs through the
+ * list endpoints, then runs {@code loadtest.concurrency} virtual-thread clients that each send a
+ * weighted mix of read requests back to back. Requests finished during the warm-up are discarded; for
+ * the measured window it prints throughput, latency percentiles and errors per endpoint.
+ * <p>
+ * Run against the {@code inmemory} profile to measure web, security and JSON overhead without
+ * Oracle, or against a real database for end-to-end numbers:
+ * {@code ./gradlew loadTest -Ploadtest.concurrency=64 -Ploadtest.duration-seconds=60}.
+ */
+public final class LoadTestHarness {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final EndpointStats overall = new EndpointStats();
+    private String authorization;
+
+    private record Endpoint(String name, int weight, Function<ThreadLocalRandom, String> path) {
+    }
+
+    private static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final Map<String, LongAdder> errorKinds = new ConcurrentHashMap<>();
+
+        void recordError(String kind) {
+            errors.increment();
+            errorKinds.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        }
+    }
+
+    LoadTestHarness(LoadTestConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.requestTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        new LoadTestHarness(config).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        System.out.printf("Cel: %s, klienci: %d, rozgrzewka: %d s, pomiar: %d s%n", config.baseUrl(),
+                config.concurrency(), config.warmUp().toSeconds(), config.duration().toSeconds());
+        authorization = "Bearer " + login();
+
+        List<Endpoint> endpoints = endpoints(
+                discoverIds("/api/admin/muscle-groups", "groupId"),
+                discoverIds("/api/admin/training-plans", "planId"),
+                discoverIds("/api/admin/trainer-profiles", "trainerId"),
+                discoverIds("/api/admin/users/page?size=200", "userId"));
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + config.warmUp().toNanos();
+        long measureUntil = measureFrom + config.duration().toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concurrency(); i++) {
+                clients.submit(() -> clientLoop(endpoints, totalWeight, measureFrom, measureUntil));
+            }
+        }
+        report(Duration.ofNanos(measureUntil - measureFrom));
+    }
+
+    private void clientLoop(List<Endpoint> endpoints, int totalWeight, long measureFrom, long measureUntil) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < measureUntil) {
+            Endpoint endpoint = pick(endpoints, totalWeight, random);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + endpoint.path().apply(random)))
+                    .timeout(config.requestTimeout())
+                    .header("Authorization", authorization)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            long sentAt = System.nanoTime();
+            String error = null;
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status >= 400) {
+                    error = "HTTP " + status;
+                }
+            } catch (IOException e) {
+                error = e.getClass().getSimpleName();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finishedAt = System.nanoTime();
+            // Liczymy tylko żądania wysłane i zakończone w oknie pomiaru
+            if (sentAt < measureFrom || finishedAt > measureUntil) {
+                continue;
+            }
+            EndpointStats endpointStats = stats.computeIfAbsent(endpoint.name(), name -> new EndpointStats());
+            if (error == null) {
+                long micros = (finishedAt - sentAt) / 1_000;
+                endpointStats.latency.record(micros);
+                overall.latency.record(micros);
+            } else {
+                endpointStats.recordError(error);
+                overall.errors.increment();
+            }
+        }
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int totalWeight, ThreadLocalRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private static List<Endpoint> endpoints(List<Long> groupIds, List<Long> planIds, List<Long> trainerIds, List<Long> userIds) {
+        LocalDate today = LocalDate.now();
+        String nextTwoWeeks = "?fromDate=" + today + "&toDate=" + today.plusDays(14);
+        List<Endpoint> endpoints = new ArrayList<>();
+        endpoints.add(new Endpoint("GET /api/admin/exercises", 15, random -> "/api/admin/exercises"));
+        endpoints.add(new Endpoint("GET /api/admin/muscle-groups", 10, random -> "/api/admin/muscle-groups"));
+        endpoints.add(new Endpoint("GET /api/admin/training-plans", 10, random -> "/api/admin/training-plans"));
+        endpoints.add(new Endpoint("GET /api/admin/trainer-profiles", 5, random -> "/api/admin/trainer-profiles"));
+        if (!groupIds.isEmpty()) {
+            endpoints.add(new Endpoint("GET /api/admin/exercises/group/{id}", 10,
+                    random -> "/api/admin/exercises/group/" + anyOf(groupIds, random)));
+        }
+        if (!planIds.isEmpty()) {
+            endpoints.add(new Endpoint("GET /api/admin/training-plans/{id}/detail", 15,
+                    random -> "/api/admin/training-plans/" + anyOf(planIds, random) + "/detail"));
+            endpoints.add(new Endpoint("GET /api/personal-plans/plan/{id}/users", 5,
+                    random -> "/api/personal-plans/plan/" + anyOf(planIds, random) + "/users"));
+        }
+        if (!trainerIds.isEmpty()) {
+            endpoints.add(new Endpoint("GET /api/admin/trainer-sessions/trainer/{id}", 15,
+                    random -> "/api/admin/trainer-sessions/trainer/" + anyOf(trainerIds, random) + nextTwoWeeks));
+            endpoints.add(new Endpoint("GET /api/admin/trainer-sessions/availability", 5,
+                    random -> "/api/admin/trainer-sessions/availability" + nextTwoWeeks + "&trainerIds=" + anyOf(trainerIds, random)));
+        }
+        if (!userIds.isEmpty()) {
+            endpoints.add(new Endpoint("GET /api/admin/users/page", 10,
+                    random -> "/api/admin/users/page?size=50&afterUserId=" + (anyOf(userIds, random) - 1)));
+        }
+        return endpoints;
+    }
+
+    private static long anyOf(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private String login() throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + config.email() + "\",\"password\":\"" + config.password() + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/auth/login"))
+                .timeout(config.requestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Logowanie jako " + config.email() + " nie powiodło się: HTTP "
+                    + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private List<Long> discoverIds(String path, String idField) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(config.requestTimeout())
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        if (response.statusCode() == 200) {
+            Matcher matcher = Pattern.compile("\"" + idField + "\"\\s*:\\s*(\\d+)").matcher(response.body());
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        System.out.printf("%s: %d identyfikatorów (HTTP %d)%n", path, ids.size(), response.statusCode());
+        return ids.stream().distinct().toList();
+    }
+
+    private void report(Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        System.out.printf(Locale.ROOT, "%n%-48s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "błędy", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            printRow(entry.getKey(), endpointStats, seconds);
+        }
+        printRow("RAZEM", overall, seconds);
+        stats.forEach((name, endpointStats) -> endpointStats.errorKinds.forEach((kind, count) ->
+                System.out.printf("  %s: %s x%d%n", name, kind, count.sum())));
+    }
+
+    private static void printRow(String name, EndpointStats endpointStats, double seconds) {
+        LatencyHistogram latency = endpointStats.latency;
+        long ok = latency.count();
+        long errors = endpointStats.errors.sum();
+        System.out.printf(Locale.ROOT, "%-48s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, ok, errors, (ok + errors) / seconds,
+                latency.percentileMicros(50) / 1000.0,
+                latency.percentileMicros(90) / 1000.0,
+                latency.percentileMicros(99) / 1000.0,
+                latency.maxMicros() / 1000.0);
+    }
+}
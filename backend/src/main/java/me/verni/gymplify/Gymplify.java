@@ -2,8 +2,10 @@ package me.verni.gymplify;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Gymplify {
     public static void main(String[] args){
         SpringApplication.run(Gymplify.class, args);
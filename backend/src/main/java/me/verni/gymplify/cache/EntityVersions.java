@@ -0,0 +1,61 @@
+package me.verni.gymplify.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory change counters of the catalogue and plan data, used as HTTP entity tags.
+ * <p>
+ * A counter is incremented after every successful write that can change what the read endpoints
+ * of that entity return; {@link ReferenceDataCache} and {@link TrainingPlanDetailCache} do it when
+ * they refresh or evict entries. An ETag is the boot epoch plus the counters it depends on, so a
+ * conditional GET is answered without touching the database and a restart invalidates every tag.
+ * <p>
+ * The counters only see writes made through this instance. The catalogue is always served from
+ * {@link ReferenceDataCache}, which has the same blind spot, so its tags are never staler than the
+ * data. Plan reads partly bypass {@link TrainingPlanDetailCache}, so plan tags also carry the
+ * current {@code training-plans.detail-cache.ttl-seconds} time bucket: writes made by other
+ * instances or directly in the database reach clients within one TTL, the same bound as the cache.
+ */
+@Component
+public class EntityVersions {
+
+    public enum Entity {
+        EXERCISES,
+        MUSCLE_GROUPS,
+        TRAINING_PLANS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Entity.values().length);
+    private final long planBucketMillis;
+
+    public EntityVersions(@Value("${training-plans.detail-cache.ttl-seconds:300}") long planTtlSeconds) {
+        this.planBucketMillis = Math.max(1, planTtlSeconds) * 1000;
+    }
+
+    public void increment(Entity entity) {
+        versions.incrementAndGet(entity.ordinal());
+    }
+
+    public long get(Entity entity) {
+        return versions.get(entity.ordinal());
+    }
+
+    /**
+     * Returns a strong ETag covering the given entities. It has to be taken before the response body
+     * is read, so a write landing in between yields an older tag and never a newer one for older data.
+     */
+    public String etag(Entity... entities) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (Entity entity : entities) {
+            tag.append('-').append(versions.get(entity.ordinal()));
+            if (entity == Entity.TRAINING_PLANS) {
+                tag.append('.').append(Long.toString(System.currentTimeMillis() / planBucketMillis, 36));
+            }
+        }
+        return tag.append('"').toString();
+    }
+}
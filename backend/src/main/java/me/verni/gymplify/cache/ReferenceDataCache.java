@@ -0,0 +1,336 @@
+package me.verni.gymplify.cache;
+
+import me.verni.gymplify.dto.ExerciseDto;
+import me.verni.gymplify.dto.MuscleGroupDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.ExerciseRepository;
+import me.verni.gymplify.repository.MuscleGroupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process read-through cache for the exercise and muscle group catalogue.
+ * <p>
+ * Each catalogue is held as an immutable snapshot (full list, per-ID map and, for exercises,
+ * a per-muscle-group index). Snapshots are loaded lazily on first read and then updated
+ * entry by entry by the services after every successful write, so the database is only
+ * queried again for the rows that actually changed. A version counter guards against
+ * installing a snapshot that was read from the database before a concurrent write.
+ * Every refresh or eviction also advances the matching {@link EntityVersions} counter.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private static final Comparator<ExerciseDto> EXERCISE_ORDER =
+            Comparator.comparing(ExerciseDto::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<MuscleGroupDto> MUSCLE_GROUP_ORDER =
+            Comparator.comparing(MuscleGroupDto::getGroupName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ExerciseRepository exerciseRepository;
+    private final MuscleGroupRepository muscleGroupRepository;
+    private final EntityVersions entityVersions;
+
+    private final Object writeLock = new Object();
+    private volatile ExerciseSnapshot exerciseSnapshot;
+    private volatile MuscleGroupSnapshot muscleGroupSnapshot;
+    private long exerciseVersion;
+    private long muscleGroupVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public ReferenceDataCache(ExerciseRepository exerciseRepository, MuscleGroupRepository muscleGroupRepository,
+                              EntityVersions entityVersions) {
+        this.exerciseRepository = exerciseRepository;
+        this.muscleGroupRepository = muscleGroupRepository;
+        this.entityVersions = entityVersions;
+    }
+
+    // ---- Exercises ----
+
+    public List<ExerciseDto> getAllExercises() {
+        return exercises().all;
+    }
+
+    public Optional<ExerciseDto> findExerciseById(Long exerciseId) {
+        return Optional.ofNullable(exercises().byId.get(exerciseId));
+    }
+
+    public List<ExerciseDto> findExercisesByMuscleGroupId(Long groupId) {
+        if (findMuscleGroupById(groupId).isEmpty()) {
+            throw new OperationFailedException("Nie udało się pobrać ćwiczeń dla grupy mięśniowej ID " + groupId + " (procedura z pakietu zgłosiła błąd lub grupa nie istnieje).");
+        }
+        return exercises().byGroupId.getOrDefault(groupId, List.of());
+    }
+
+    /**
+     * Re-reads a single exercise from the database and replaces (or removes) its cache entry.
+     */
+    public void refreshExercise(Long exerciseId) {
+        Optional<ExerciseDto> fresh = exerciseRepository.findById(exerciseId);
+        synchronized (writeLock) {
+            exerciseVersion++;
+            entityVersions.increment(EntityVersions.Entity.EXERCISES);
+            ExerciseSnapshot current = exerciseSnapshot;
+            if (current != null) {
+                exerciseSnapshot = fresh
+                        .map(current::with)
+                        .orElseGet(() -> current.without(exerciseId));
+            }
+        }
+    }
+
+    public void evictExercise(Long exerciseId) {
+        synchronized (writeLock) {
+            exerciseVersion++;
+            entityVersions.increment(EntityVersions.Entity.EXERCISES);
+            ExerciseSnapshot current = exerciseSnapshot;
+            if (current != null) {
+                exerciseSnapshot = current.without(exerciseId);
+            }
+        }
+    }
+
+    // ---- Muscle groups ----
+
+    public List<MuscleGroupDto> getAllMuscleGroups() {
+        return muscleGroups().all;
+    }
+
+    public Optional<MuscleGroupDto> findMuscleGroupById(Long groupId) {
+        return Optional.ofNullable(muscleGroups().byId.get(groupId));
+    }
+
+    /**
+     * Re-reads a single muscle group and replaces its cache entry. Cached exercises of that group
+     * get the new group name, so a rename does not require reloading the exercise catalogue.
+     */
+    public void refreshMuscleGroup(Long groupId) {
+        Optional<MuscleGroupDto> fresh = muscleGroupRepository.findById(groupId);
+        synchronized (writeLock) {
+            muscleGroupVersion++;
+            entityVersions.increment(EntityVersions.Entity.MUSCLE_GROUPS);
+            MuscleGroupSnapshot current = muscleGroupSnapshot;
+            if (current != null) {
+                muscleGroupSnapshot = fresh
+                        .map(current::with)
+                        .orElseGet(() -> current.without(groupId));
+            }
+            if (fresh.isPresent()) {
+                exerciseVersion++;
+                entityVersions.increment(EntityVersions.Entity.EXERCISES);
+                ExerciseSnapshot exercises = exerciseSnapshot;
+                if (exercises != null) {
+                    exerciseSnapshot = exercises.withGroupName(groupId, fresh.get().getGroupName());
+                }
+            }
+        }
+    }
+
+    public void evictMuscleGroup(Long groupId) {
+        synchronized (writeLock) {
+            muscleGroupVersion++;
+            entityVersions.increment(EntityVersions.Entity.MUSCLE_GROUPS);
+            MuscleGroupSnapshot current = muscleGroupSnapshot;
+            if (current != null) {
+                muscleGroupSnapshot = current.without(groupId);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (writeLock) {
+            exerciseVersion++;
+            muscleGroupVersion++;
+            entityVersions.increment(EntityVersions.Entity.EXERCISES);
+            entityVersions.increment(EntityVersions.Entity.MUSCLE_GROUPS);
+            exerciseSnapshot = null;
+            muscleGroupSnapshot = null;
+        }
+    }
+
+    // ---- Metrics ----
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int getExerciseCount() {
+        ExerciseSnapshot current = exerciseSnapshot;
+        return current == null ? 0 : current.all.size();
+    }
+
+    public int getMuscleGroupCount() {
+        MuscleGroupSnapshot current = muscleGroupSnapshot;
+        return current == null ? 0 : current.all.size();
+    }
+
+    // ---- Loading ----
+
+    private ExerciseSnapshot exercises() {
+        ExerciseSnapshot current = exerciseSnapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        long versionAtStart;
+        synchronized (writeLock) {
+            versionAtStart = exerciseVersion;
+        }
+        ExerciseSnapshot loaded = new ExerciseSnapshot(exerciseRepository.findAll());
+        loads.increment();
+        synchronized (writeLock) {
+            if (exerciseVersion == versionAtStart) {
+                exerciseSnapshot = loaded;
+                log.debug("Załadowano katalog ćwiczeń do cache ({} pozycji).", loaded.all.size());
+            }
+        }
+        return loaded;
+    }
+
+    private MuscleGroupSnapshot muscleGroups() {
+        MuscleGroupSnapshot current = muscleGroupSnapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        long versionAtStart;
+        synchronized (writeLock) {
+            versionAtStart = muscleGroupVersion;
+        }
+        MuscleGroupSnapshot loaded = new MuscleGroupSnapshot(muscleGroupRepository.findAll());
+        loads.increment();
+        synchronized (writeLock) {
+            if (muscleGroupVersion == versionAtStart) {
+                muscleGroupSnapshot = loaded;
+                log.debug("Załadowano grupy mięśniowe do cache ({} pozycji).", loaded.all.size());
+            }
+        }
+        return loaded;
+    }
+
+    private static final class ExerciseSnapshot {
+        private final List<ExerciseDto> all;
+        private final Map<Long, ExerciseDto> byId;
+        private final Map<Long, List<ExerciseDto>> byGroupId;
+
+        private ExerciseSnapshot(List<ExerciseDto> exercises) {
+            List<ExerciseDto> sorted = new ArrayList<>(exercises);
+            sorted.sort(EXERCISE_ORDER);
+            Map<Long, ExerciseDto> idIndex = new LinkedHashMap<>();
+            Map<Long, List<ExerciseDto>> groupIndex = new LinkedHashMap<>();
+            for (ExerciseDto exercise : sorted) {
+                idIndex.put(exercise.getExerciseId(), exercise);
+                if (exercise.getGroupId() != null) {
+                    groupIndex.computeIfAbsent(exercise.getGroupId(), k -> new ArrayList<>()).add(exercise);
+                }
+            }
+            groupIndex.replaceAll((groupId, list) -> Collections.unmodifiableList(list));
+            this.all = Collections.unmodifiableList(sorted);
+            this.byId = Collections.unmodifiableMap(idIndex);
+            this.byGroupId = Collections.unmodifiableMap(groupIndex);
+        }
+
+        private ExerciseSnapshot with(ExerciseDto exercise) {
+            List<ExerciseDto> updated = new ArrayList<>(all.size() + 1);
+            for (ExerciseDto existing : all) {
+                if (!Objects.equals(existing.getExerciseId(), exercise.getExerciseId())) {
+                    updated.add(existing);
+                }
+            }
+            updated.add(exercise);
+            return new ExerciseSnapshot(updated);
+        }
+
+        private ExerciseSnapshot without(Long exerciseId) {
+            if (!byId.containsKey(exerciseId)) {
+                return this;
+            }
+            List<ExerciseDto> updated = new ArrayList<>(all);
+            updated.removeIf(existing -> Objects.equals(existing.getExerciseId(), exerciseId));
+            return new ExerciseSnapshot(updated);
+        }
+
+        private ExerciseSnapshot withGroupName(Long groupId, String groupName) {
+            List<ExerciseDto> inGroup = byGroupId.get(groupId);
+            if (inGroup == null || inGroup.stream().allMatch(e -> Objects.equals(e.getGroupName(), groupName))) {
+                return this;
+            }
+            List<ExerciseDto> updated = new ArrayList<>(all.size());
+            for (ExerciseDto existing : all) {
+                if (Objects.equals(existing.getGroupId(), groupId)) {
+                    updated.add(new ExerciseDto(existing.getExerciseId(), existing.getName(), existing.getDescription(), groupId, groupName));
+                } else {
+                    updated.add(existing);
+                }
+            }
+            return new ExerciseSnapshot(updated);
+        }
+    }
+
+    private static final class MuscleGroupSnapshot {
+        private final List<MuscleGroupDto> all;
+        private final Map<Long, MuscleGroupDto> byId;
+
+        private MuscleGroupSnapshot(List<MuscleGroupDto> groups) {
+            List<MuscleGroupDto> sorted = new ArrayList<>(groups);
+            sorted.sort(MUSCLE_GROUP_ORDER);
+            Map<Long, MuscleGroupDto> idIndex = new LinkedHashMap<>();
+            for (MuscleGroupDto group : sorted) {
+                idIndex.put(group.getGroupId(), group);
+            }
+            this.all = Collections.unmodifiableList(sorted);
+            this.byId = Collections.unmodifiableMap(idIndex);
+        }
+
+        private MuscleGroupSnapshot with(MuscleGroupDto group) {
+            List<MuscleGroupDto> updated = new ArrayList<>(all.size() + 1);
+            for (MuscleGroupDto existing : all) {
+                if (!Objects.equals(existing.getGroupId(), group.getGroupId())) {
+                    updated.add(existing);
+                }
+            }
+            updated.add(group);
+            return new MuscleGroupSnapshot(updated);
+        }
+
+        private MuscleGroupSnapshot without(Long groupId) {
+            if (!byId.containsKey(groupId)) {
+                return this;
+            }
+            List<MuscleGroupDto> updated = new ArrayList<>(all);
+            updated.removeIf(existing -> Objects.equals(existing.getGroupId(), groupId));
+            return new MuscleGroupSnapshot(updated);
+        }
+    }
+}
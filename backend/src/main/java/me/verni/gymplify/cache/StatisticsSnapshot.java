@@ -0,0 +1,27 @@
+package me.verni.gymplify.cache;
+
+public class StatisticsSnapshot<T> {
+    private final T value;
+    private final long loadedAtMillis;
+
+    public StatisticsSnapshot(T value, long loadedAtMillis) {
+        this.value = value;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    public long getAgeMillis() {
+        return Math.max(0, System.currentTimeMillis() - loadedAtMillis);
+    }
+
+    public long getAgeSeconds() {
+        return getAgeMillis() / 1000;
+    }
+}
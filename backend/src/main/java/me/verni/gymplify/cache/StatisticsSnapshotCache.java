@@ -0,0 +1,223 @@
+package me.verni.gymplify.cache;
+
+import jakarta.annotation.PreDestroy;
+import me.verni.gymplify.config.DatabaseConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot cache in front of the statistics queries.
+ * <p>
+ * Every metric (and parameter combination, e.g. {@code popularExercises:5}) keeps its last result
+ * together with the time it was loaded. Within the metric's TTL the snapshot is served as is.
+ * After the TTL the stale snapshot is still returned immediately, while exactly one background
+ * refresh per key reloads it, so a burst of dashboard requests never turns into a burst of
+ * identical aggregate queries. Only the very first load of a key is synchronous, and concurrent
+ * callers of a cold key wait for that single load instead of issuing their own.
+ * <p>
+ * TTLs are read from {@code statistics.cache.ttl.<metric>}, falling back to
+ * {@code statistics.cache.default-ttl}. Parameterised metrics can produce many keys, so at most
+ * {@code statistics.cache.max-entries} keys are kept. A new key arriving at a full cache first
+ * evicts keys that have not been read for longer than their TTL and, if none has, the least
+ * recently read key.
+ */
+@Component
+public class StatisticsSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsSnapshotCache.class);
+
+    private final Environment environment;
+    private final Duration defaultTtl;
+    private final int maxEntries;
+    private final ExecutorService refreshExecutor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Duration> ttlByMetric = new ConcurrentHashMap<>();
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public StatisticsSnapshotCache(Environment environment,
+                                   @Value("${statistics.cache.default-ttl:60s}") Duration defaultTtl,
+                                   @Value("${statistics.cache.max-entries:256}") int maxEntries,
+                                   @Value("${statistics.cache.refresh-threads:2}") int refreshThreads) {
+        this.environment = environment;
+        this.defaultTtl = defaultTtl;
+        this.maxEntries = Math.max(1, maxEntries);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.refreshExecutor = Executors.newFixedThreadPool(Math.max(1, refreshThreads), runnable -> {
+            Thread thread = new Thread(() -> {
+                DatabaseConcurrencyLimiter.setCurrentPriority(DatabaseConcurrencyLimiter.Priority.LOW);
+                runnable.run();
+            }, "stats-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the snapshot for {@code metric} (optionally narrowed by {@code parameters}),
+     * loading it with {@code loader} on first use and refreshing it in the background once stale.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> StatisticsSnapshot<T> get(String metric, Supplier<T> loader, Object... parameters) {
+        String key = key(metric, parameters);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxEntries) {
+                makeRoom();
+            }
+            entry = entries.computeIfAbsent(key, k -> new Entry(metric));
+        }
+        entry.lastReadMillis = System.currentTimeMillis();
+        StatisticsSnapshot<Object> current = entry.snapshot;
+        if (current == null) {
+            synchronized (entry) {
+                current = entry.snapshot;
+                if (current == null) {
+                    current = load(entry, (Supplier<Object>) loader);
+                    return (StatisticsSnapshot<T>) current;
+                }
+            }
+        }
+
+        if (current.getAgeMillis() < ttl(metric).toMillis()) {
+            freshHits.increment();
+        } else {
+            staleHits.increment();
+            scheduleRefresh(key, entry, (Supplier<Object>) loader);
+        }
+        return (StatisticsSnapshot<T>) current;
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    // ---- Metrics ----
+
+    public long getFreshHitCount() {
+        return freshHits.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private StatisticsSnapshot<Object> load(Entry entry, Supplier<Object> loader) {
+        StatisticsSnapshot<Object> loaded = new StatisticsSnapshot<>(loader.get(), System.currentTimeMillis());
+        loads.increment();
+        entry.snapshot = loaded;
+        return loaded;
+    }
+
+    // Wywoływane tylko dla nowego klucza przy pełnym cache; pełne przejście po co najwyżej max-entries wpisach
+    private synchronized void makeRoom() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String leastRecentKey = null;
+        long leastRecentRead = Long.MAX_VALUE;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            Entry entry = candidate.getValue();
+            if (now - entry.lastReadMillis >= ttl(entry.metric).toMillis()) {
+                if (entries.remove(candidate.getKey(), entry)) {
+                    evictions.increment();
+                }
+            } else if (entry.lastReadMillis < leastRecentRead) {
+                leastRecentRead = entry.lastReadMillis;
+                leastRecentKey = candidate.getKey();
+            }
+        }
+        if (entries.size() >= maxEntries && leastRecentKey != null && entries.remove(leastRecentKey) != null) {
+            evictions.increment();
+        }
+    }
+
+    private void scheduleRefresh(String key, Entry entry, Supplier<Object> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(entry, loader);
+                    log.debug("Odświeżono migawkę statystyk '{}'.", key);
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    log.warn("Nie udało się odświeżyć migawki statystyk '{}', zwracane są dane nieaktualne: {}", key, e.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private Duration ttl(String metric) {
+        return ttlByMetric.computeIfAbsent(metric,
+                m -> environment.getProperty("statistics.cache.ttl." + m, Duration.class, defaultTtl));
+    }
+
+    private static String key(String metric, Object... parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return metric;
+        }
+        StringBuilder key = new StringBuilder(metric);
+        for (Object parameter : parameters) {
+            key.append(':').append(parameter);
+        }
+        return key.toString();
+    }
+
+    private static final class Entry {
+        private final String metric;
+        private volatile StatisticsSnapshot<Object> snapshot;
+        private volatile long lastReadMillis;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(String metric) {
+            this.metric = metric;
+            this.lastReadMillis = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package me.verni.gymplify.cache;
+
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.repository.TrainerSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-trainer index of scheduled sessions used to answer overlap and free-slot questions without
+ * scanning {@code TRAINER_SESSIONS}.
+ * <p>
+ * Sessions of one trainer never overlap, so each trainer's sessions are kept in a skip list ordered
+ * by start time and a conflict check only has to look at the last session starting before the end of
+ * the requested interval (O(log n)). The index is loaded at startup for sessions from
+ * {@code trainer-sessions.index.lookback-days} ago onwards and is then maintained by
+ * {@code AdminTrainerSessionService} after every successful write, and by the services deleting
+ * trainers or their users, whose sessions the database removes with them. It is an optimisation only:
+ * intervals outside the loaded range report nothing, and the database validation in
+ * {@code PKG_TRAINER_SESSION_MGMT} remains the final authority.
+ */
+@Component
+public class TrainerSessionIntervalIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerSessionIntervalIndex.class);
+
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+    private static final Comparator<Interval> INTERVAL_ORDER =
+            Comparator.comparing(Interval::start).thenComparing(Interval::scheduleId);
+
+    private final TrainerSessionRepository trainerSessionRepository;
+    private final boolean enabled;
+    private final int lookbackDays;
+
+    private final Object writeLock = new Object();
+    private final Map<Long, NavigableSet<Interval>> byTrainer = new ConcurrentHashMap<>();
+    private final Map<Long, Interval> byScheduleId = new ConcurrentHashMap<>();
+    private volatile LocalDateTime coveredFrom;
+    private long version;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final AtomicLong maxLookupNanos = new AtomicLong();
+    private final LongAdder conflicts = new LongAdder();
+    private volatile long warmUpMillis = -1;
+
+    public record Interval(Long scheduleId, Long trainerId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    public TrainerSessionIntervalIndex(TrainerSessionRepository trainerSessionRepository,
+                                       @Value("${trainer-sessions.index.enabled:true}") boolean enabled,
+                                       @Value("${trainer-sessions.index.lookback-days:30}") int lookbackDays) {
+        this.trainerSessionRepository = trainerSessionRepository;
+        this.enabled = enabled;
+        this.lookbackDays = Math.max(0, lookbackDays);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the database. A write that lands while the sessions are being read
+     * forces another attempt, so the installed index never misses a session saved during the load.
+     */
+    public void reload() {
+        long startedAt = System.nanoTime();
+        LocalDate fromDate = LocalDate.now().minusDays(lookbackDays);
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long versionAtStart;
+            synchronized (writeLock) {
+                versionAtStart = version;
+            }
+            List<TrainerSessionDto> sessions;
+            try {
+                sessions = trainerSessionRepository.findAllCursor(fromDate, null);
+            } catch (RuntimeException e) {
+                log.warn("Nie udało się załadować indeksu sesji trenerów, kolizje sprawdza tylko baza danych: {}", e.getMessage());
+                return;
+            }
+            synchronized (writeLock) {
+                if (version != versionAtStart) {
+                    continue;
+                }
+                byTrainer.clear();
+                byScheduleId.clear();
+                sessions.forEach(this::putInternal);
+                coveredFrom = fromDate.atStartOfDay();
+            }
+            warmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            log.info("Załadowano indeks sesji trenerów: {} sesji, {} trenerów, {} ms.",
+                    byScheduleId.size(), byTrainer.size(), warmUpMillis);
+            return;
+        }
+        log.warn("Indeks sesji trenerów nie został załadowany: dane zmieniały się podczas {} kolejnych prób.", MAX_RELOAD_ATTEMPTS);
+    }
+
+    /**
+     * Reloads the sessions of a single trainer, e.g. after the database reported a conflict the index did not see.
+     */
+    public void refreshTrainer(Long trainerId) {
+        LocalDateTime from = coveredFrom;
+        if (from == null) {
+            return;
+        }
+        List<TrainerSessionDto> sessions;
+        try {
+            sessions = trainerSessionRepository.findByTrainerIdCursor(trainerId, from.toLocalDate(), null);
+        } catch (RuntimeException e) {
+            sessions = List.of();
+        }
+        synchronized (writeLock) {
+            version++;
+            NavigableSet<Interval> previous = byTrainer.remove(trainerId);
+            if (previous != null) {
+                previous.forEach(interval -> byScheduleId.remove(interval.scheduleId()));
+            }
+            sessions.forEach(this::putInternal);
+        }
+        log.debug("Odświeżono indeks sesji trenera ID {} ({} sesji).", trainerId, sessions.size());
+    }
+
+    public boolean isReady() {
+        return coveredFrom != null;
+    }
+
+    /**
+     * Returns an indexed session of {@code trainerId} overlapping {@code [start, end)}, ignoring
+     * {@code excludeScheduleId}. An empty result means "no known conflict", not "no conflict".
+     */
+    public Optional<Interval> findConflict(Long trainerId, LocalDateTime start, LocalDateTime end, Long excludeScheduleId) {
+        if (!covers(start)) {
+            return Optional.empty();
+        }
+        long lookupStart = System.nanoTime();
+        try {
+            NavigableSet<Interval> intervals = byTrainer.get(trainerId);
+            if (intervals == null) {
+                return Optional.empty();
+            }
+            for (Interval candidate : intervals.headSet(probe(trainerId, end), false).descendingSet()) {
+                if (Objects.equals(candidate.scheduleId(), excludeScheduleId)) {
+                    continue;
+                }
+                if (candidate.end().isAfter(start)) {
+                    conflicts.increment();
+                    return Optional.of(candidate);
+                }
+                break;
+            }
+            return Optional.empty();
+        } finally {
+            recordLookup(lookupStart);
+        }
+    }
+
+    /**
+     * Returns the indexed sessions of {@code trainerId} overlapping {@code [from, to)}, ordered by start time,
+     * or an empty optional when that range is not covered by the index and the caller has to ask the database.
+     */
+    public Optional<List<Interval>> findBusyIntervals(Long trainerId, LocalDateTime from, LocalDateTime to) {
+        if (!covers(from) || !from.isBefore(to)) {
+            return Optional.empty();
+        }
+        long lookupStart = System.nanoTime();
+        try {
+            NavigableSet<Interval> intervals = byTrainer.get(trainerId);
+            if (intervals == null) {
+                return Optional.of(List.of());
+            }
+            List<Interval> busy = new ArrayList<>();
+            Interval previous = intervals.lower(probe(trainerId, from));
+            if (previous != null && previous.end().isAfter(from)) {
+                busy.add(previous);
+            }
+            busy.addAll(intervals.subSet(probe(trainerId, from), true, probe(trainerId, to), false));
+            return Optional.of(busy);
+        } finally {
+            recordLookup(lookupStart);
+        }
+    }
+
+    public void put(TrainerSessionDto session) {
+        synchronized (writeLock) {
+            version++;
+            removeInternal(session.getScheduleId());
+            if (coveredFrom != null) {
+                putInternal(session);
+            }
+        }
+    }
+
+    public void remove(Long scheduleId) {
+        synchronized (writeLock) {
+            version++;
+            removeInternal(scheduleId);
+        }
+    }
+
+    /**
+     * Drops every session of {@code trainerId}, after the trainer profile and its sessions were deleted.
+     */
+    public void removeTrainer(Long trainerId) {
+        if (trainerId == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            version++;
+            NavigableSet<Interval> previous = byTrainer.remove(trainerId);
+            if (previous != null) {
+                previous.forEach(interval -> byScheduleId.remove(interval.scheduleId()));
+            }
+        }
+    }
+
+    // ---- Metrics ----
+
+    public int getIntervalCount() {
+        return byScheduleId.size();
+    }
+
+    public int getTrainerCount() {
+        return byTrainer.size();
+    }
+
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    public double getTotalLookupMicros() {
+        return lookupNanos.sum() / 1000.0;
+    }
+
+    public double getAverageLookupMicros() {
+        long count = lookups.sum();
+        return count == 0 ? 0.0 : lookupNanos.sum() / 1000.0 / count;
+    }
+
+    public double getMaxLookupMicros() {
+        return maxLookupNanos.get() / 1000.0;
+    }
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public long getWarmUpMillis() {
+        return warmUpMillis;
+    }
+
+    private boolean covers(LocalDateTime start) {
+        LocalDateTime from = coveredFrom;
+        return from != null && start != null && !start.isBefore(from);
+    }
+
+    private void putInternal(TrainerSessionDto session) {
+        if (session.getScheduleId() == null || session.getTrainerId() == null
+                || session.getStartTime() == null || session.getEndTime() == null) {
+            return;
+        }
+        Interval interval = new Interval(session.getScheduleId(), session.getTrainerId(), session.getStartTime(), session.getEndTime());
+        byTrainer.computeIfAbsent(interval.trainerId(), id -> new ConcurrentSkipListSet<>(INTERVAL_ORDER)).add(interval);
+        byScheduleId.put(interval.scheduleId(), interval);
+    }
+
+    private void removeInternal(Long scheduleId) {
+        Interval existing = byScheduleId.remove(scheduleId);
+        if (existing != null) {
+            NavigableSet<Interval> intervals = byTrainer.get(existing.trainerId());
+            if (intervals != null) {
+                intervals.remove(existing);
+                if (intervals.isEmpty()) {
+                    byTrainer.remove(existing.trainerId(), intervals);
+                }
+            }
+        }
+    }
+
+    private void recordLookup(long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        lookups.increment();
+        lookupNanos.add(elapsed);
+        maxLookupNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private static Interval probe(Long trainerId, LocalDateTime at) {
+        return new Interval(Long.MIN_VALUE, trainerId, at, at);
+    }
+}
@@ -0,0 +1,159 @@
+package me.verni.gymplify.cache;
+
+import me.verni.gymplify.dto.ExerciseDto;
+import me.verni.gymplify.dto.TrainingPlanDetailDto;
+import me.verni.gymplify.repository.TrainingPlanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Per-plan read-through cache of {@link TrainingPlanDetailDto}, loaded with a single
+ * {@code GetPlanDetail_Proc} call.
+ * <p>
+ * Services evict the affected entries after every successful write to a plan, its exercises,
+ * a referenced exercise or muscle group, or the plan's assignments. Deletions that cascade to
+ * assignments (users, trainers) clear the whole cache. Entries additionally expire after
+ * {@code training-plans.detail-cache.ttl-seconds}, which bounds staleness from changes made
+ * outside the application. A version counter guards against installing an entry that was read
+ * from the database before a concurrent eviction. Every eviction also advances the
+ * {@link EntityVersions.Entity#TRAINING_PLANS} counter, matching or not.
+ */
+@Component
+public class TrainingPlanDetailCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingPlanDetailCache.class);
+
+    private final TrainingPlanRepository trainingPlanRepository;
+    private final EntityVersions entityVersions;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Object writeLock = new Object();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private long version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Entry(TrainingPlanDetailDto detail, long loadedAtNanos) {
+    }
+
+    public TrainingPlanDetailCache(TrainingPlanRepository trainingPlanRepository, EntityVersions entityVersions,
+                                   @Value("${training-plans.detail-cache.enabled:true}") boolean enabled,
+                                   @Value("${training-plans.detail-cache.max-entries:1000}") int maxEntries,
+                                   @Value("${training-plans.detail-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.trainingPlanRepository = trainingPlanRepository;
+        this.entityVersions = entityVersions;
+        this.enabled = enabled;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, ttlSeconds));
+    }
+
+    public Optional<TrainingPlanDetailDto> findById(Long planId) {
+        if (!enabled) {
+            return trainingPlanRepository.findDetailById(planId);
+        }
+        Entry cached = entries.get(planId);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+            hits.increment();
+            return Optional.of(cached.detail());
+        }
+        misses.increment();
+        long versionAtStart;
+        synchronized (writeLock) {
+            versionAtStart = version;
+        }
+        Optional<TrainingPlanDetailDto> loaded = trainingPlanRepository.findDetailById(planId);
+        synchronized (writeLock) {
+            if (version == versionAtStart) {
+                if (loaded.isEmpty()) {
+                    entries.remove(planId);
+                } else if (entries.size() < maxEntries || entries.containsKey(planId)) {
+                    entries.put(planId, new Entry(loaded.get(), System.nanoTime()));
+                    log.debug("Załadowano szczegóły planu ID {} do cache ({} ćwiczeń).", planId, loaded.get().getExercises().size());
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public void evictPlan(Long planId) {
+        if (planId == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            version++;
+            entityVersions.increment(EntityVersions.Entity.TRAINING_PLANS);
+            if (entries.remove(planId) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public void evictPlansWithExercise(Long exerciseId) {
+        evictMatching(exercise -> Objects.equals(exercise.getExerciseId(), exerciseId));
+    }
+
+    public void evictPlansWithMuscleGroup(Long groupId) {
+        evictMatching(exercise -> Objects.equals(exercise.getGroupId(), groupId));
+    }
+
+    public void invalidateAll() {
+        synchronized (writeLock) {
+            version++;
+            entityVersions.increment(EntityVersions.Entity.TRAINING_PLANS);
+            evictions.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    // ---- Metrics ----
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    private void evictMatching(Predicate<ExerciseDto> predicate) {
+        synchronized (writeLock) {
+            version++;
+            entityVersions.increment(EntityVersions.Entity.TRAINING_PLANS);
+            entries.values().removeIf(entry -> {
+                boolean matches = entry.detail().getExercises().stream().anyMatch(predicate);
+                if (matches) {
+                    evictions.increment();
+                }
+                return matches;
+            });
+        }
+    }
+}
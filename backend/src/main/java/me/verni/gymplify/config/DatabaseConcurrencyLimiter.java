@@ -0,0 +1,318 @@
+package me.verni.gymplify.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import me.verni.gymplify.exception.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the number of database connections in use at once and decides who gets the next one.
+ * <p>
+ * The application {@link DataSource} is wrapped so that borrowing a connection first takes a permit
+ * and closing it gives the permit back; every repository call and every transaction therefore
+ * counts exactly once, however it reaches JDBC. Waiting callers are queued by {@link Priority}
+ * (set per request by {@link DatabasePriorityFilter}) and then by arrival, and a released permit is
+ * handed directly to the head of the queue. A caller that waits longer than
+ * {@code database.limiter.max-wait-ms} gets {@link TooManyRequestsException} (HTTP 429) instead of
+ * piling up on the Hikari pool until its connection timeout, which keeps a slow database from
+ * turning into a storm of connection timeouts once virtual threads lift the Tomcat thread limit.
+ */
+@Component
+public class DatabaseConcurrencyLimiter implements BeanPostProcessor, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConcurrencyLimiter.class);
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final int configuredMaxConcurrency;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+    private int maxConcurrency;
+    private int available;
+    private long sequence;
+
+    private final LongAdder[] acquired = newAdders();
+    private final LongAdder[] rejected = newAdders();
+    private final LongAdder[] queueNanos = newAdders();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    public DatabaseConcurrencyLimiter(@Value("${database.limiter.enabled:true}") boolean enabled,
+                                      @Value("${database.limiter.max-concurrency:-1}") int maxConcurrency,
+                                      @Value("${database.limiter.max-wait-ms:5000}") long maxWaitMillis) {
+        this.enabled = enabled;
+        this.configuredMaxConcurrency = maxConcurrency;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof HikariDataSource hikari) {
+            maxConcurrency = configuredMaxConcurrency > 0 ? configuredMaxConcurrency : hikari.getMaximumPoolSize();
+            available = maxConcurrency;
+            log.info("Ogranicznik współbieżności bazy danych dla '{}': {} połączeń, maks. oczekiwanie {} ms.",
+                    beanName, maxConcurrency, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            return new LimitedDataSource(hikari);
+        }
+        return bean;
+    }
+
+    // Po OracleConnectionCustomizer, który musi zobaczyć niezawinięty HikariDataSource
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    public static void setCurrentPriority(Priority priority) {
+        CURRENT_PRIORITY.set(priority);
+    }
+
+    public static void clearCurrentPriority() {
+        CURRENT_PRIORITY.remove();
+    }
+
+    // ---- Metrics ----
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getInUseCount() {
+        lock.lock();
+        try {
+            return maxConcurrency - available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getAcquiredCount(Priority priority) {
+        return acquired[priority.ordinal()].sum();
+    }
+
+    public long getRejectedCount(Priority priority) {
+        return rejected[priority.ordinal()].sum();
+    }
+
+    public long getQueueWaitCount(Priority priority) {
+        return acquired[priority.ordinal()].sum() + rejected[priority.ordinal()].sum();
+    }
+
+    public double getTotalQueueMillis(Priority priority) {
+        return queueNanos[priority.ordinal()].sum() / 1_000_000.0;
+    }
+
+    public double getAverageQueueMillis(Priority priority) {
+        long count = getQueueWaitCount(priority);
+        return count == 0 ? 0.0 : getTotalQueueMillis(priority) / count;
+    }
+
+    public double getMaxQueueMillis() {
+        return maxQueueNanos.get() / 1_000_000.0;
+    }
+
+    private void acquire() throws SQLException {
+        Priority priority = CURRENT_PRIORITY.get() != null ? CURRENT_PRIORITY.get() : Priority.NORMAL;
+        long startedAt = System.nanoTime();
+        boolean granted;
+        try {
+            granted = tryAcquire(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Przerwano oczekiwanie na połączenie z bazą danych.", e);
+        }
+        long waited = System.nanoTime() - startedAt;
+        queueNanos[priority.ordinal()].add(waited);
+        maxQueueNanos.accumulateAndGet(waited, Math::max);
+        if (!granted) {
+            rejected[priority.ordinal()].increment();
+            log.warn("Brak wolnego połączenia z bazą danych po {} ms (priorytet {}).",
+                    TimeUnit.NANOSECONDS.toMillis(waited), priority);
+            throw new TooManyRequestsException("Baza danych jest obecnie przeciążona. Spróbuj ponownie za chwilę.");
+        }
+        acquired[priority.ordinal()].increment();
+    }
+
+    private boolean tryAcquire(Priority priority) throws InterruptedException {
+        lock.lock();
+        try {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                return true;
+            }
+            Waiter waiter = new Waiter(priority, sequence++, lock.newCondition());
+            waiters.add(waiter);
+            long remaining = maxWaitNanos;
+            try {
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        waiters.remove(waiter);
+                        return false;
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    releaseLocked();
+                } else {
+                    waiters.remove(waiter);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked() {
+        Waiter next = waiters.poll();
+        if (next != null) {
+            next.granted = true;
+            next.condition.signal();
+        } else {
+            available++;
+        }
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Priority.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static final class Waiter {
+        private final Priority priority;
+        private final long sequence;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(Priority priority, long sequence, Condition condition) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        private Priority priority() {
+            return priority;
+        }
+
+        private long sequence() {
+            return sequence;
+        }
+    }
+
+    private final class LimitedDataSource extends DelegatingDataSource {
+
+        private LimitedDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return limited(super.getConnection());
+            } catch (SQLException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return limited(super.getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        private Connection limited(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new PermitReleasingHandler(connection));
+        }
+    }
+
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("unwrap".equals(name) && args != null && args[0] instanceof Class<?> iface && iface.isInstance(target)) {
+                return target;
+            }
+            if ("isWrapperFor".equals(name) && args != null && args[0] instanceof Class<?> iface && iface.isInstance(target)) {
+                return true;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if ("close".equals(name) && released.compareAndSet(false, true)) {
+                    release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package me.verni.gymplify.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import me.verni.gymplify.cache.ReferenceDataCache;
+import me.verni.gymplify.cache.StatisticsSnapshotCache;
+import me.verni.gymplify.cache.TrainerSessionIntervalIndex;
+import me.verni.gymplify.cache.TrainingPlanDetailCache;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the counters kept by the database-facing components to Micrometer: the JDBC
+ * concurrency limiter (per priority), the Oracle statement cache, the startup warm-up and the
+ * caches in front of the repositories, including the trainer session interval index. The values
+ * are read from the components' metric getters on every scrape; nothing is recorded twice.
+ */
+@Component
+public class DatabaseMetricsBinder implements MeterBinder {
+
+    private final DatabaseConcurrencyLimiter concurrencyLimiter;
+    private final OracleConnectionCustomizer connectionCustomizer;
+    private final DatabaseWarmUp databaseWarmUp;
+    private final ReferenceDataCache referenceDataCache;
+    private final TrainingPlanDetailCache trainingPlanDetailCache;
+    private final StatisticsSnapshotCache statisticsSnapshotCache;
+    private final TrainerSessionIntervalIndex trainerSessionIntervalIndex;
+
+    public DatabaseMetricsBinder(DatabaseConcurrencyLimiter concurrencyLimiter,
+                                 OracleConnectionCustomizer connectionCustomizer,
+                                 DatabaseWarmUp databaseWarmUp,
+                                 ReferenceDataCache referenceDataCache,
+                                 TrainingPlanDetailCache trainingPlanDetailCache,
+                                 StatisticsSnapshotCache statisticsSnapshotCache,
+                                 TrainerSessionIntervalIndex trainerSessionIntervalIndex) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.connectionCustomizer = connectionCustomizer;
+        this.databaseWarmUp = databaseWarmUp;
+        this.referenceDataCache = referenceDataCache;
+        this.trainingPlanDetailCache = trainingPlanDetailCache;
+        this.statisticsSnapshotCache = statisticsSnapshotCache;
+        this.trainerSessionIntervalIndex = trainerSessionIntervalIndex;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        bindLimiter(registry);
+        bindStatementCache(registry);
+        bindWarmUp(registry);
+        bindCaches(registry);
+        bindIntervalIndex(registry);
+    }
+
+    private void bindLimiter(MeterRegistry registry) {
+        DatabaseConcurrencyLimiter limiter = concurrencyLimiter;
+        Gauge.builder("gymplify.db.limiter.permits", limiter, DatabaseConcurrencyLimiter::getMaxConcurrency)
+                .description("Maksymalna liczba jednocześnie wypożyczonych połączeń")
+                .register(registry);
+        Gauge.builder("gymplify.db.limiter.in-use", limiter, DatabaseConcurrencyLimiter::getInUseCount)
+                .description("Liczba połączeń wypożyczonych przez ogranicznik")
+                .register(registry);
+        Gauge.builder("gymplify.db.limiter.queued", limiter, DatabaseConcurrencyLimiter::getQueuedCount)
+                .description("Liczba wywołań czekających na połączenie")
+                .register(registry);
+        for (DatabaseConcurrencyLimiter.Priority priority : DatabaseConcurrencyLimiter.Priority.values()) {
+            String tag = priority.name().toLowerCase();
+            FunctionTimer.builder("gymplify.db.limiter.wait", limiter,
+                            l -> l.getQueueWaitCount(priority), l -> l.getTotalQueueMillis(priority), TimeUnit.MILLISECONDS)
+                    .description("Czas oczekiwania na pozwolenie ogranicznika")
+                    .tag("priority", tag)
+                    .register(registry);
+            FunctionCounter.builder("gymplify.db.limiter.rejected", limiter, l -> l.getRejectedCount(priority))
+                    .description("Wywołania odrzucone po przekroczeniu czasu oczekiwania")
+                    .tag("priority", tag)
+                    .register(registry);
+        }
+    }
+
+    private void bindStatementCache(MeterRegistry registry) {
+        OracleConnectionCustomizer customizer = connectionCustomizer;
+        FunctionCounter.builder("gymplify.db.statement-cache.requests", customizer,
+                        OracleConnectionCustomizer::getStatementCacheHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("gymplify.db.statement-cache.requests", customizer,
+                        OracleConnectionCustomizer::getStatementCacheMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("gymplify.db.physical-connections", customizer,
+                        OracleConnectionCustomizer::getPhysicalConnectionCount)
+                .description("Fizyczne połączenia Oracle otwarte przez pulę")
+                .register(registry);
+    }
+
+    private void bindWarmUp(MeterRegistry registry) {
+        Gauge.builder("gymplify.db.warm-up.pool", databaseWarmUp, DatabaseWarmUp::getPoolWarmUpMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("gymplify.db.warm-up.calls", databaseWarmUp, DatabaseWarmUp::getCallWarmUpMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    // Nazwy zgodne z konwencją Micrometer dla cache (cache.gets z tagiem result)
+    private void bindCaches(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", referenceDataCache, ReferenceDataCache::getHitCount)
+                .tags("cache", "reference-data", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", referenceDataCache, ReferenceDataCache::getMissCount)
+                .tags("cache", "reference-data", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", trainingPlanDetailCache, TrainingPlanDetailCache::getHitCount)
+                .tags("cache", "training-plan-detail", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", trainingPlanDetailCache, TrainingPlanDetailCache::getMissCount)
+                .tags("cache", "training-plan-detail", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", trainingPlanDetailCache, TrainingPlanDetailCache::getEvictionCount)
+                .tags("cache", "training-plan-detail")
+                .register(registry);
+        Gauge.builder("cache.size", trainingPlanDetailCache, TrainingPlanDetailCache::getEntryCount)
+                .tags("cache", "training-plan-detail")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", statisticsSnapshotCache, StatisticsSnapshotCache::getFreshHitCount)
+                .tags("cache", "statistics-snapshots", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", statisticsSnapshotCache, StatisticsSnapshotCache::getStaleHitCount)
+                .tags("cache", "statistics-snapshots", "result", "stale")
+                .register(registry);
+        FunctionCounter.builder("cache.loads", statisticsSnapshotCache, StatisticsSnapshotCache::getLoadCount)
+                .tags("cache", "statistics-snapshots")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", statisticsSnapshotCache, StatisticsSnapshotCache::getEvictionCount)
+                .tags("cache", "statistics-snapshots")
+                .register(registry);
+        Gauge.builder("cache.size", statisticsSnapshotCache, StatisticsSnapshotCache::size)
+                .tags("cache", "statistics-snapshots")
+                .register(registry);
+    }
+
+    private void bindIntervalIndex(MeterRegistry registry) {
+        TrainerSessionIntervalIndex index = trainerSessionIntervalIndex;
+        Gauge.builder("gymplify.session-index.intervals", index, TrainerSessionIntervalIndex::getIntervalCount)
+                .description("Liczba sesji trenerów w indeksie przedziałów")
+                .register(registry);
+        Gauge.builder("gymplify.session-index.trainers", index, TrainerSessionIntervalIndex::getTrainerCount)
+                .description("Liczba trenerów w indeksie przedziałów")
+                .register(registry);
+        FunctionTimer.builder("gymplify.session-index.lookup", index,
+                        TrainerSessionIntervalIndex::getLookupCount, TrainerSessionIntervalIndex::getTotalLookupMicros, TimeUnit.MICROSECONDS)
+                .description("Czas sprawdzania kolizji sesji w indeksie")
+                .register(registry);
+        Gauge.builder("gymplify.session-index.lookup.max", index, TrainerSessionIntervalIndex::getMaxLookupMicros)
+                .baseUnit("microseconds")
+                .register(registry);
+        FunctionCounter.builder("gymplify.session-index.conflicts", index, TrainerSessionIntervalIndex::getConflictCount)
+                .description("Wykryte kolizje sesji trenerów")
+                .register(registry);
+        Gauge.builder("gymplify.session-index.warm-up", index, TrainerSessionIntervalIndex::getWarmUpMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
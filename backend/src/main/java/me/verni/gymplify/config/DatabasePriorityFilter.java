@@ -0,0 +1,70 @@
+package me.verni.gymplify.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Assigns the {@link DatabaseConcurrencyLimiter.Priority} of the current request from its path, so
+ * logins get the next free database connection before regular API calls, and statistics and exports
+ * queue behind them. Runs first in the chain, before the JWT filter, whose user lookup already needs
+ * a connection. Actuator endpoints are served from the management port's own context, which does
+ * not register this filter, so their queries run with the default priority.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabasePriorityFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> highPriorityPaths;
+    private final List<String> lowPriorityPaths;
+
+    public DatabasePriorityFilter(
+            @Value("${database.limiter.high-priority-paths:/auth/**}") List<String> highPriorityPaths,
+            @Value("${database.limiter.low-priority-paths:/api/statistics/**,/api/admin/export/**}") List<String> lowPriorityPaths) {
+        this.highPriorityPaths = List.copyOf(highPriorityPaths);
+        this.lowPriorityPaths = List.copyOf(lowPriorityPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        DatabaseConcurrencyLimiter.setCurrentPriority(priorityOf(request.getServletPath()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DatabaseConcurrencyLimiter.clearCurrentPriority();
+        }
+    }
+
+    private DatabaseConcurrencyLimiter.Priority priorityOf(String path) {
+        if (matchesAny(highPriorityPaths, path)) {
+            return DatabaseConcurrencyLimiter.Priority.HIGH;
+        }
+        if (matchesAny(lowPriorityPaths, path)) {
+            return DatabaseConcurrencyLimiter.Priority.LOW;
+        }
+        return DatabaseConcurrencyLimiter.Priority.NORMAL;
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,144 @@
+package me.verni.gymplify.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import me.verni.gymplify.repository.JdbcCallRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs once all beans exist and before the web server accepts requests: opens the configured number
+ * of pool connections at the same time, so Hikari does not create them under the first requests,
+ * and compiles every {@link SimpleJdbcCall} registered in {@link JdbcCallRegistry}. A database that
+ * is not reachable only produces a warning; the affected calls are then compiled on first use.
+ * Connections are borrowed from the Hikari pool itself, bypassing {@link DatabaseConcurrencyLimiter}.
+ */
+@Component
+public class DatabaseWarmUp implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseWarmUp.class);
+
+    private final DataSource dataSource;
+    private final JdbcCallRegistry jdbcCallRegistry;
+    private final boolean enabled;
+    private final int connections;
+
+    private volatile long poolWarmUpMillis = -1;
+    private volatile long callWarmUpMillis = -1;
+    private volatile int warmedConnections;
+    private volatile int compiledCalls;
+
+    public DatabaseWarmUp(DataSource dataSource,
+                          JdbcCallRegistry jdbcCallRegistry,
+                          @Value("${database.warm-up.enabled:true}") boolean enabled,
+                          @Value("${database.warm-up.connections:-1}") int connections) {
+        this.dataSource = dataSource;
+        this.jdbcCallRegistry = jdbcCallRegistry;
+        this.enabled = enabled;
+        this.connections = connections;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        warmUpPool();
+        compileCalls();
+        log.info("Rozgrzewanie bazy danych zakończone: {} połączeń w {} ms, {} wywołań procedur w {} ms.",
+                warmedConnections, poolWarmUpMillis, compiledCalls, callWarmUpMillis);
+    }
+
+    private void warmUpPool() {
+        long startedAt = System.nanoTime();
+        DataSource pool = poolDataSource();
+        int target = targetConnections();
+        List<Connection> opened = new ArrayList<>(target);
+        try {
+            // Połączenia są trzymane jednocześnie, inaczej pula zwracałaby wciąż to samo
+            for (int i = 0; i < target; i++) {
+                Connection connection = pool.getConnection();
+                opened.add(connection);
+                connection.isValid(5);
+            }
+        } catch (SQLException e) {
+            log.warn("Nie udało się rozgrzać puli połączeń ({} z {}): {}", opened.size(), target, e.getMessage());
+        } finally {
+            warmedConnections = opened.size();
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Błąd zamykania połączenia po rozgrzewaniu puli: {}", e.getMessage());
+                }
+            }
+            poolWarmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        }
+    }
+
+    private void compileCalls() {
+        long startedAt = System.nanoTime();
+        int compiled = 0;
+        for (SimpleJdbcCall call : jdbcCallRegistry.getCalls()) {
+            try {
+                call.compile();
+                compiled++;
+            } catch (RuntimeException e) {
+                log.warn("Nie udało się skompilować wywołania {}: {}", call.getProcedureName(), e.getMessage());
+                break;
+            }
+        }
+        compiledCalls = compiled;
+        callWarmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private int targetConnections() {
+        if (connections >= 0) {
+            return connections;
+        }
+        DataSource pool = poolDataSource();
+        if (pool instanceof HikariDataSource hikari) {
+            return Math.max(1, Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize()));
+        }
+        return 1;
+    }
+
+    private DataSource poolDataSource() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.debug("Nie udało się odczytać puli Hikari: {}", e.getMessage());
+        }
+        return dataSource;
+    }
+
+    // ---- Metrics ----
+
+    public long getPoolWarmUpMillis() {
+        return poolWarmUpMillis;
+    }
+
+    public long getCallWarmUpMillis() {
+        return callWarmUpMillis;
+    }
+
+    public int getWarmedConnectionCount() {
+        return warmedConnections;
+    }
+
+    public int getCompiledCallCount() {
+        return compiledCalls;
+    }
+}
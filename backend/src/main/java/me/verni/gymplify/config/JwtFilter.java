@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import me.verni.gymplify.util.JwtUtil;
+import me.verni.gymplify.util.VerifiedJwtClaims;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.http.HttpHeaders;
@@ -22,6 +23,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 
 @Component
@@ -34,6 +36,13 @@ public class JwtFilter extends OncePerRequestFilter {
         this.jwtUtil = jwtUtil;
     }
 
+    // Actuator działa w osobnym kontekście portu zarządzania (tylko 127.0.0.1), do którego trafia też ten łańcuch filtrów
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String pathToMatch = request.getRequestURI().substring(request.getContextPath().length());
+        return pathToMatch.startsWith("/auth/") || pathToMatch.startsWith("/actuator/");
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -41,18 +50,8 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        String requestPath = request.getRequestURI();
-        String contextPath = request.getContextPath();
-        String pathToMatch = requestPath.substring(contextPath.length());
-
-        if (pathToMatch.startsWith("/auth/")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         final String jwtToken;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             response.setStatus(HttpStatus.UNAUTHORIZED.value());
@@ -62,11 +61,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
         jwtToken = authHeader.substring(7);
         try {
-            if (jwtUtil.isTokenValid(jwtToken)) {
-                userEmail = jwtUtil.extractEmail(jwtToken);
+            Optional<VerifiedJwtClaims> verifiedClaims = jwtUtil.parseVerifiedClaims(jwtToken);
+            if (verifiedClaims.isPresent()) {
+                VerifiedJwtClaims claims = verifiedClaims.get();
+                String userEmail = claims.getEmail();
 
                 if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    String roleFromToken = jwtUtil.extractRole(jwtToken);
+                    String roleFromToken = claims.getRole();
                     GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + roleFromToken.toUpperCase());
 
                     UserDetails userDetails = new User(userEmail, "", Collections.singletonList(authority));
@@ -0,0 +1,183 @@
+package me.verni.gymplify.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.DriverDataSource;
+import me.verni.gymplify.util.PersonalPlanSqlRecord;
+import me.verni.gymplify.util.TrainerSessionSqlRecord;
+import me.verni.gymplify.util.UserInPersonalPlanSqlRecord;
+import oracle.jdbc.OracleConnection;
+import oracle.jdbc.OracleStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prepares every physical Oracle connection once, when Hikari opens it: enables the ojdbc implicit
+ * statement cache with {@code oracle-connection.statement-cache.size} entries and installs the type
+ * map of all {@code SQLData} records used by the repositories, so calls no longer touch the type map.
+ * <p>
+ * With the cache enabled, {@code prepareCall} of a recently closed SQL text returns the cached
+ * statement, whose server cursor is already parsed. Each prepared statement is classified by
+ * {@link OracleStatement#creationState()} to report the cache hit rate and the average prepare time
+ * of hits and misses.
+ */
+@Component
+public class OracleConnectionCustomizer implements BeanPostProcessor, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(OracleConnectionCustomizer.class);
+
+    private static final Map<String, Class<?>> SQL_DATA_TYPES = Map.of(
+            TrainerSessionSqlRecord.SQL_TYPE_NAME, TrainerSessionSqlRecord.class,
+            PersonalPlanSqlRecord.SQL_TYPE_NAME, PersonalPlanSqlRecord.class,
+            UserInPersonalPlanSqlRecord.SQL_TYPE_NAME, UserInPersonalPlanSqlRecord.class
+    );
+
+    private final boolean enabled;
+    private final int statementCacheSize;
+
+    private final LongAdder physicalConnections = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder hitPrepareNanos = new LongAdder();
+    private final LongAdder missPrepareNanos = new LongAdder();
+
+    public OracleConnectionCustomizer(@Value("${oracle-connection.statement-cache.enabled:true}") boolean enabled,
+                                      @Value("${oracle-connection.statement-cache.size:50}") int statementCacheSize) {
+        this.enabled = enabled;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari && hikari.getDataSource() == null && hikari.getJdbcUrl() != null) {
+            // Hikari nadal zarządza pulą; podmieniamy tylko źródło fizycznych połączeń
+            DataSource driverDataSource = new DriverDataSource(hikari.getJdbcUrl(), hikari.getDriverClassName(),
+                    hikari.getDataSourceProperties(), hikari.getUsername(), hikari.getPassword());
+            hikari.setDataSource(new CustomizingDataSource(driverDataSource));
+            log.info("Połączenia Oracle z puli '{}' będą przygotowywane przy otwarciu (cache instrukcji: {}, rozmiar: {}).",
+                    beanName, enabled ? "włączony" : "wyłączony", statementCacheSize);
+        }
+        return bean;
+    }
+
+    // Przed DatabaseConcurrencyLimiter, który zawija HikariDataSource
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    Connection customize(Connection physical) throws SQLException {
+        OracleConnection oracleConnection = physical.unwrap(OracleConnection.class);
+        Map<String, Class<?>> typeMap = new HashMap<>(oracleConnection.getTypeMap());
+        typeMap.putAll(SQL_DATA_TYPES);
+        oracleConnection.setTypeMap(typeMap);
+        if (enabled && statementCacheSize > 0) {
+            oracleConnection.setImplicitCachingEnabled(true);
+            oracleConnection.setStatementCacheSize(statementCacheSize);
+        }
+        physicalConnections.increment();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new StatementCacheTrackingHandler(physical));
+    }
+
+    // ---- Metrics ----
+
+    public long getPhysicalConnectionCount() {
+        return physicalConnections.sum();
+    }
+
+    public long getStatementCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    public long getStatementCacheMissCount() {
+        return cacheMisses.sum();
+    }
+
+    public double getStatementCacheHitRate() {
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public double getAverageHitPrepareMicros() {
+        long hits = cacheHits.sum();
+        return hits == 0 ? 0.0 : hitPrepareNanos.sum() / 1000.0 / hits;
+    }
+
+    public double getAverageMissPrepareMicros() {
+        long misses = cacheMisses.sum();
+        return misses == 0 ? 0.0 : missPrepareNanos.sum() / 1000.0 / misses;
+    }
+
+    private final class CustomizingDataSource extends DelegatingDataSource {
+
+        private CustomizingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return customize(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return customize(super.getConnection(username, password));
+        }
+    }
+
+    private final class StatementCacheTrackingHandler implements InvocationHandler {
+
+        private final Connection physical;
+
+        private StatementCacheTrackingHandler(Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("unwrap".equals(name) && args != null && args[0] instanceof Class<?> iface && iface.isInstance(physical)) {
+                return physical;
+            }
+            if ("isWrapperFor".equals(name) && args != null && args[0] instanceof Class<?> iface && iface.isInstance(physical)) {
+                return true;
+            }
+            boolean prepare = "prepareCall".equals(name) || "prepareStatement".equals(name);
+            long startedAt = prepare ? System.nanoTime() : 0L;
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (prepare && result instanceof OracleStatement statement) {
+                long elapsed = System.nanoTime() - startedAt;
+                if (statement.creationState() == OracleStatement.IMPLICIT) {
+                    cacheHits.increment();
+                    hitPrepareNanos.add(elapsed);
+                } else {
+                    cacheMisses.increment();
+                    missPrepareNanos.add(elapsed);
+                }
+            }
+            return result;
+        }
+    }
+}
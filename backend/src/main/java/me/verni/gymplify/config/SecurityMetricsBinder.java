@@ -0,0 +1,81 @@
+package me.verni.gymplify.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import me.verni.gymplify.util.JwtClaimsCache;
+import me.verni.gymplify.util.JwtUtil;
+import me.verni.gymplify.util.PasswordHasher;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the counters kept by the authentication components to Micrometer: the cache of
+ * verified JWT claims and the BCrypt executor of {@link PasswordHasher}. Like
+ * {@link DatabaseMetricsBinder}, values are read from the components' metric getters on every scrape.
+ */
+@Component
+public class SecurityMetricsBinder implements MeterBinder {
+
+    private final JwtUtil jwtUtil;
+    private final PasswordHasher passwordHasher;
+
+    public SecurityMetricsBinder(JwtUtil jwtUtil, PasswordHasher passwordHasher) {
+        this.jwtUtil = jwtUtil;
+        this.passwordHasher = passwordHasher;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        bindJwtClaimsCache(registry);
+        bindPasswordHasher(registry);
+    }
+
+    // Nazwy zgodne z konwencją Micrometer dla cache (cache.gets z tagiem result)
+    private void bindJwtClaimsCache(MeterRegistry registry) {
+        JwtClaimsCache claimsCache = jwtUtil.getClaimsCache();
+        FunctionCounter.builder("cache.gets", claimsCache, JwtClaimsCache::getHitCount)
+                .tags("cache", "jwt-claims", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", claimsCache, JwtClaimsCache::getMissCount)
+                .tags("cache", "jwt-claims", "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", claimsCache, JwtClaimsCache::size)
+                .tags("cache", "jwt-claims")
+                .register(registry);
+        Gauge.builder("cache.max-size", claimsCache, JwtClaimsCache::getMaxSize)
+                .tags("cache", "jwt-claims")
+                .register(registry);
+    }
+
+    private void bindPasswordHasher(MeterRegistry registry) {
+        PasswordHasher hasher = passwordHasher;
+        Gauge.builder("gymplify.password-hasher.threads", hasher, PasswordHasher::getPoolSize)
+                .description("Liczba wątków haszujących hasła")
+                .register(registry);
+        Gauge.builder("gymplify.password-hasher.active", hasher, PasswordHasher::getActiveCount)
+                .description("Liczba wątków, które właśnie haszują lub weryfikują hasło")
+                .register(registry);
+        Gauge.builder("gymplify.password-hasher.queued", hasher, PasswordHasher::getQueueDepth)
+                .description("Liczba żądań czekających w kolejce haszowania")
+                .register(registry);
+        Gauge.builder("gymplify.password-hasher.cost", hasher, PasswordHasher::getCost)
+                .description("Bieżący koszt BCrypt")
+                .register(registry);
+        FunctionTimer.builder("gymplify.password-hasher.wait", hasher,
+                        PasswordHasher::getCompletedCount, PasswordHasher::getTotalQueueWaitMillis, TimeUnit.MILLISECONDS)
+                .description("Czas oczekiwania w kolejce haszowania")
+                .register(registry);
+        FunctionTimer.builder("gymplify.password-hasher.execution", hasher,
+                        PasswordHasher::getCompletedCount, PasswordHasher::getTotalExecutionMillis, TimeUnit.MILLISECONDS)
+                .description("Czas haszowania lub weryfikacji hasła")
+                .register(registry);
+        FunctionCounter.builder("gymplify.password-hasher.rejected", hasher, PasswordHasher::getRejectedCount)
+                .description("Żądania odrzucone przy pełnej kolejce lub po przekroczeniu czasu")
+                .register(registry);
+    }
+}
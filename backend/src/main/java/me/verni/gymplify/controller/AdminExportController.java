@@ -0,0 +1,65 @@
+package me.verni.gymplify.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import me.verni.gymplify.service.DataExportService;
+import me.verni.gymplify.util.ExportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/export")
+public class AdminExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminExportController.class);
+    private final DataExportService dataExportService;
+
+    public AdminExportController(DataExportService dataExportService) {
+        this.dataExportService = dataExportService;
+    }
+
+    @GetMapping("/users")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        logger.info("Żądanie GET /api/admin/export/users?format={}", format);
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        prepareResponse(response, exportFormat, "users");
+        long rows = dataExportService.exportUsers(exportFormat, response.getOutputStream());
+        logger.info("Wyeksportowano {} użytkowników ({})", rows, exportFormat);
+    }
+
+    @GetMapping("/personal-plans")
+    public void exportPersonalPlans(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        logger.info("Żądanie GET /api/admin/export/personal-plans?format={}", format);
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        prepareResponse(response, exportFormat, "personal-plans");
+        long rows = dataExportService.exportPersonalPlans(exportFormat, response.getOutputStream());
+        logger.info("Wyeksportowano {} planów personalnych ({})", rows, exportFormat);
+    }
+
+    @GetMapping("/trainer-sessions")
+    public void exportTrainerSessions(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        logger.info("Żądanie GET /api/admin/export/trainer-sessions?format={}", format);
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        prepareResponse(response, exportFormat, "trainer-sessions");
+        long rows = dataExportService.exportTrainerSessions(exportFormat, response.getOutputStream());
+        logger.info("Wyeksportowano {} sesji trenerów ({})", rows, exportFormat);
+    }
+
+    private static void prepareResponse(HttpServletResponse response, ExportFormat format, String baseName) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + baseName + "-" + LocalDate.now() + "." + format.getFileExtension() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        // Wyłącza buforowanie odpowiedzi przez reverse proxy (nginx), żeby dane płynęły do klienta na bieżąco.
+        response.setHeader("X-Accel-Buffering", "no");
+    }
+}
@@ -1,10 +1,14 @@
 package me.verni.gymplify.controller;
 
 import jakarta.validation.Valid;
+import me.verni.gymplify.dto.TrainerAvailabilityResultDto;
+import me.verni.gymplify.dto.TrainerSessionBulkCreationDto;
+import me.verni.gymplify.dto.TrainerSessionBulkResultDto;
 import me.verni.gymplify.dto.TrainerSessionCreationDto;
 import me.verni.gymplify.dto.TrainerSessionDto;
 import me.verni.gymplify.dto.TrainerSessionUpdateDto;
 import me.verni.gymplify.service.AdminTrainerSessionService;
+import me.verni.gymplify.service.TrainerAvailabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +17,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -20,10 +25,13 @@ import java.util.List;
 public class AdminTrainerSessionController {
 
     private final AdminTrainerSessionService adminTrainerSessionService;
+    private final TrainerAvailabilityService trainerAvailabilityService;
 
     @Autowired
-    public AdminTrainerSessionController(AdminTrainerSessionService adminTrainerSessionService) {
+    public AdminTrainerSessionController(AdminTrainerSessionService adminTrainerSessionService,
+                                         TrainerAvailabilityService trainerAvailabilityService) {
         this.adminTrainerSessionService = adminTrainerSessionService;
+        this.trainerAvailabilityService = trainerAvailabilityService;
     }
 
     @PostMapping
@@ -36,6 +44,12 @@ public class AdminTrainerSessionController {
         return ResponseEntity.created(location).body(createdSession);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<TrainerSessionBulkResultDto> createTrainerSessionsBulk(@Valid @RequestBody TrainerSessionBulkCreationDto bulkDto) {
+        TrainerSessionBulkResultDto result = adminTrainerSessionService.createTrainerSessionsBulk(bulkDto);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{sessionId}")
     public ResponseEntity<Void> deleteTrainerSession(@PathVariable Long sessionId) {
         adminTrainerSessionService.deleteTrainerSession(sessionId);
@@ -64,6 +78,20 @@ public class AdminTrainerSessionController {
         return ResponseEntity.ok(sessions);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<TrainerAvailabilityResultDto> getTrainerAvailability(
+            @RequestParam(required = false) List<Long> trainerIds,
+            @RequestParam(required = false) String specialization,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer minDurationMinutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime workStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime workEnd) {
+        TrainerAvailabilityResultDto availability = trainerAvailabilityService.findAvailability(
+                trainerIds, specialization, fromDate, toDate, minDurationMinutes, workStart, workEnd);
+        return ResponseEntity.ok(availability);
+    }
+
     @GetMapping
     public ResponseEntity<List<TrainerSessionDto>> getAllTrainerSessions(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
@@ -2,6 +2,7 @@ package me.verni.gymplify.controller;
 
 import me.verni.gymplify.dto.UserAdminViewDto;
 import me.verni.gymplify.dto.UserCreationAdminRequestDto;
+import me.verni.gymplify.dto.UserPageDto;
 import me.verni.gymplify.dto.UserRoleUpdateRequestDto;
 import me.verni.gymplify.service.AdminUserService;
 import org.slf4j.Logger;
@@ -31,6 +32,16 @@ public class AdminUserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<UserPageDto> getUsersPage(
+            @RequestParam(required = false) Long afterUserId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String emailPrefix) {
+        logger.info("Żądanie GET /api/admin/users/page - afterUserId={}, size={}, role={}, emailPrefix={}", afterUserId, size, role, emailPrefix);
+        return ResponseEntity.ok(adminUserService.getUsersPage(afterUserId, size, role, emailPrefix));
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<UserAdminViewDto> getUserById(@PathVariable Long userId) {
         logger.info("Żądanie GET /api/admin/users/{} - pobranie użytkownika po ID", userId);
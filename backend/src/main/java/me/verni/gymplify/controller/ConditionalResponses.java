@@ -0,0 +1,46 @@
+package me.verni.gymplify.controller;
+
+import me.verni.gymplify.cache.StatisticsSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET helpers shared by the read endpoints. Responses carry an ETag and
+ * {@code Cache-Control: private, no-cache}, so the browser keeps the body but revalidates it with
+ * {@code If-None-Match} on every use; a matching tag is answered with 304 before the body is built.
+ */
+final class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> withETag(WebRequest request, String etag, Supplier<T> body) {
+        return withETag(request, etag, HttpHeaders.EMPTY, body);
+    }
+
+    static <T> ResponseEntity<T> withETag(WebRequest request, String etag, HttpHeaders headers, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE)
+                    .headers(headers).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).headers(headers).body(body.get());
+    }
+
+    /**
+     * Tags a statistics snapshot with its load time: the value only changes when the snapshot is reloaded.
+     * The snapshot age in seconds goes to the {@value StatisticsController#SNAPSHOT_AGE_HEADER} header.
+     */
+    static <T> ResponseEntity<T> withSnapshotETag(WebRequest request, StatisticsSnapshot<T> snapshot) {
+        String etag = "\"s" + Long.toString(snapshot.getLoadedAtMillis(), 36) + "\"";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(StatisticsController.SNAPSHOT_AGE_HEADER, String.valueOf(snapshot.getAgeSeconds()));
+        return withETag(request, etag, headers, snapshot::getValue);
+    }
+}
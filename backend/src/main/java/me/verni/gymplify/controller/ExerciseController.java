@@ -1,5 +1,6 @@
 package me.verni.gymplify.controller;
 
+import me.verni.gymplify.cache.EntityVersions;
 import me.verni.gymplify.dto.ExerciseDto;
 import me.verni.gymplify.dto.ExerciseRequestDto;
 import me.verni.gymplify.service.ExerciseService;
@@ -7,6 +8,7 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -17,28 +19,30 @@ import java.util.List;
 public class ExerciseController {
 
     private final ExerciseService exerciseService;
+    private final EntityVersions entityVersions;
 
     @Autowired
-    public ExerciseController(ExerciseService exerciseService) {
+    public ExerciseController(ExerciseService exerciseService, EntityVersions entityVersions) {
         this.exerciseService = exerciseService;
+        this.entityVersions = entityVersions;
     }
 
     @GetMapping
-    public ResponseEntity<List<ExerciseDto>> getAllExercises() {
-        List<ExerciseDto> exercises = exerciseService.getAllExercises();
-        return ResponseEntity.ok(exercises);
+    public ResponseEntity<List<ExerciseDto>> getAllExercises(WebRequest request) {
+        String etag = entityVersions.etag(EntityVersions.Entity.EXERCISES);
+        return ConditionalResponses.withETag(request, etag, exerciseService::getAllExercises);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ExerciseDto> getExerciseById(@PathVariable Long id) {
-        ExerciseDto exercise = exerciseService.getExerciseById(id);
-        return ResponseEntity.ok(exercise);
+    public ResponseEntity<ExerciseDto> getExerciseById(@PathVariable Long id, WebRequest request) {
+        String etag = entityVersions.etag(EntityVersions.Entity.EXERCISES);
+        return ConditionalResponses.withETag(request, etag, () -> exerciseService.getExerciseById(id));
     }
 
     @GetMapping("/group/{groupId}")
-    public ResponseEntity<List<ExerciseDto>> findExercisesByMuscleGroup(@PathVariable Long groupId) {
-        List<ExerciseDto> exercises = exerciseService.findExercisesByMuscleGroupId(groupId);
-        return ResponseEntity.ok(exercises);
+    public ResponseEntity<List<ExerciseDto>> findExercisesByMuscleGroup(@PathVariable Long groupId, WebRequest request) {
+        String etag = entityVersions.etag(EntityVersions.Entity.EXERCISES, EntityVersions.Entity.MUSCLE_GROUPS);
+        return ConditionalResponses.withETag(request, etag, () -> exerciseService.findExercisesByMuscleGroupId(groupId));
     }
 
     @PostMapping
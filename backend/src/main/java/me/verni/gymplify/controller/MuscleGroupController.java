@@ -1,5 +1,6 @@
 package me.verni.gymplify.controller;
 
+import me.verni.gymplify.cache.EntityVersions;
 import me.verni.gymplify.dto.MuscleGroupDto;
 import me.verni.gymplify.dto.MuscleGroupRequestDto;
 import me.verni.gymplify.service.MuscleGroupService;
@@ -7,6 +8,7 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -17,22 +19,24 @@ import java.util.List;
 public class MuscleGroupController {
 
     private final MuscleGroupService muscleGroupService;
+    private final EntityVersions entityVersions;
 
     @Autowired
-    public MuscleGroupController(MuscleGroupService muscleGroupService) {
+    public MuscleGroupController(MuscleGroupService muscleGroupService, EntityVersions entityVersions) {
         this.muscleGroupService = muscleGroupService;
+        this.entityVersions = entityVersions;
     }
 
     @GetMapping
-    public ResponseEntity<List<MuscleGroupDto>> getAllMuscleGroups() {
-        List<MuscleGroupDto> muscleGroups = muscleGroupService.getAllMuscleGroups();
-        return ResponseEntity.ok(muscleGroups);
+    public ResponseEntity<List<MuscleGroupDto>> getAllMuscleGroups(WebRequest request) {
+        String etag = entityVersions.etag(EntityVersions.Entity.MUSCLE_GROUPS);
+        return ConditionalResponses.withETag(request, etag, muscleGroupService::getAllMuscleGroups);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MuscleGroupDto> getMuscleGroupById(@PathVariable Long id) {
-        MuscleGroupDto muscleGroup = muscleGroupService.getMuscleGroupById(id);
-        return ResponseEntity.ok(muscleGroup);
+    public ResponseEntity<MuscleGroupDto> getMuscleGroupById(@PathVariable Long id, WebRequest request) {
+        String etag = entityVersions.etag(EntityVersions.Entity.MUSCLE_GROUPS);
+        return ConditionalResponses.withETag(request, etag, () -> muscleGroupService.getMuscleGroupById(id));
     }
 
     @PostMapping
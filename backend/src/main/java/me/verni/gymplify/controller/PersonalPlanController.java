@@ -1,6 +1,7 @@
 package me.verni.gymplify.controller;
 
 import jakarta.validation.Valid;
+import me.verni.gymplify.dto.PersonalPlanBulkCreationDto;
 import me.verni.gymplify.dto.PersonalPlanCreationDto;
 import me.verni.gymplify.dto.PersonalPlanDto;
 import me.verni.gymplify.dto.PersonalPlanUpdateDto;
@@ -36,6 +37,12 @@ public class PersonalPlanController {
         return ResponseEntity.created(location).body(createdPlan);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<PersonalPlanDto>> assignPlanToUsersBulk(@Valid @RequestBody PersonalPlanBulkCreationDto bulkDto) {
+        List<PersonalPlanDto> createdPlans = personalPlanService.assignPlanToUsersBulk(bulkDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdPlans);
+    }
+
     @DeleteMapping("/{personalPlanId}")
     public ResponseEntity<Void> unassignPersonalPlanById(@PathVariable Long personalPlanId) {
         personalPlanService.unassignPersonalPlanById(personalPlanId);
@@ -1,12 +1,16 @@
 package me.verni.gymplify.controller;
 
+import me.verni.gymplify.cache.StatisticsSnapshot;
 import me.verni.gymplify.dto.statistics.*; // Importuje wszystkie DTO z tego pakietu
+import me.verni.gymplify.service.StatisticsDashboardService;
 import me.verni.gymplify.service.StatisticsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,73 +20,108 @@ import java.util.List;
 public class StatisticsController {
 
     private static final Logger logger = LoggerFactory.getLogger(StatisticsController.class);
+    public static final String SNAPSHOT_AGE_HEADER = "X-Snapshot-Age";
     private final StatisticsService statisticsService;
+    private final StatisticsDashboardService statisticsDashboardService;
 
-    public StatisticsController(StatisticsService statisticsService) {
+    public StatisticsController(StatisticsService statisticsService, StatisticsDashboardService statisticsDashboardService) {
         this.statisticsService = statisticsService;
+        this.statisticsDashboardService = statisticsDashboardService;
+    }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardStatisticsDto> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "5") int popularExercisesTopN,
+            @RequestParam(defaultValue = "5") int mostAssignedPlansTopN,
+            WebRequest request) {
+        LocalDate to = endDate != null ? endDate : LocalDate.now();
+        LocalDate from = startDate != null ? startDate : to.minusDays(30);
+        logger.info("GET /api/statistics/dashboard?startDate={}&endDate={}", from, to);
+        DashboardStatisticsDto dashboard = statisticsDashboardService.getDashboard(from, to, popularExercisesTopN, mostAssignedPlansTopN);
+        HttpHeaders headers = new HttpHeaders();
+        if (dashboard.getSnapshotAgeMs() != null) {
+            headers.set(SNAPSHOT_AGE_HEADER, String.valueOf(dashboard.getSnapshotAgeMs() / 1000));
+        }
+        if (dashboard.getLatestSnapshotLoadedAtMs() == null) {
+            // Częściowy panel nie dostaje ETagu, żeby brakujące sekcje nie zostały zapamiętane
+            return ResponseEntity.ok().headers(headers).body(dashboard);
+        }
+        // Słaby ETag: czasy wykonania sekcji różnią się między odpowiedziami, dane - nie
+        String etag = "W/\"d" + Long.toString(dashboard.getLatestSnapshotLoadedAtMs(), 36) + "\"";
+        return ConditionalResponses.withETag(request, etag, headers, () -> dashboard);
     }
 
     @GetMapping("/users/total-count")
-    public ResponseEntity<Long> getTotalUserCount() {
+    public ResponseEntity<Long> getTotalUserCount(WebRequest request) {
         logger.info("GET /api/statistics/users/total-count");
-        return ResponseEntity.ok(statisticsService.getTotalUserCount());
+        return snapshotResponse(request, statisticsService.getTotalUserCount());
     }
 
     @GetMapping("/users/by-role")
-    public ResponseEntity<List<RoleStatDto>> getUserCountByRole() {
+    public ResponseEntity<List<RoleStatDto>> getUserCountByRole(WebRequest request) {
         logger.info("GET /api/statistics/users/by-role");
-        return ResponseEntity.ok(statisticsService.getUserCountByRole());
+        return snapshotResponse(request, statisticsService.getUserCountByRole());
     }
 
     @GetMapping("/users/new-by-period")
     public ResponseEntity<List<NewUserStatDto>> getNewUsersByPeriod(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate, WebRequest request) {
         logger.info("GET /api/statistics/users/new-by-period?startDate={}&endDate={}", startDate, endDate);
-        return ResponseEntity.ok(statisticsService.getNewUsersByPeriod(startDate, endDate));
+        return snapshotResponse(request, statisticsService.getNewUsersByPeriod(startDate, endDate));
     }
 
     @GetMapping("/trainers/total-count")
-    public ResponseEntity<Long> getTotalTrainerCount() {
+    public ResponseEntity<Long> getTotalTrainerCount(WebRequest request) {
         logger.info("GET /api/statistics/trainers/total-count");
-        return ResponseEntity.ok(statisticsService.getTotalTrainerCount());
+        return snapshotResponse(request, statisticsService.getTotalTrainerCount());
     }
 
     @GetMapping("/trainers/by-specialization")
-    public ResponseEntity<List<SpecializationStatDto>> getTrainerCountBySpecialization() {
+    public ResponseEntity<List<SpecializationStatDto>> getTrainerCountBySpecialization(WebRequest request) {
         logger.info("GET /api/statistics/trainers/by-specialization");
-        return ResponseEntity.ok(statisticsService.getTrainerCountBySpecialization());
+        return snapshotResponse(request, statisticsService.getTrainerCountBySpecialization());
     }
 
     @GetMapping("/trainers/workload")
-    public ResponseEntity<List<TrainerWorkloadDto>> getTrainerWorkloadStats() {
+    public ResponseEntity<List<TrainerWorkloadDto>> getTrainerWorkloadStats(WebRequest request) {
         logger.info("GET /api/statistics/trainers/workload");
-        return ResponseEntity.ok(statisticsService.getTrainerWorkloadStats());
+        return snapshotResponse(request, statisticsService.getTrainerWorkloadStats());
     }
 
     @GetMapping("/exercises/count-by-muscle-group")
-    public ResponseEntity<List<ExerciseCountByMuscleGroupDto>> getExerciseCountByMuscleGroup() {
+    public ResponseEntity<List<ExerciseCountByMuscleGroupDto>> getExerciseCountByMuscleGroup(WebRequest request) {
         logger.info("GET /api/statistics/exercises/count-by-muscle-group");
-        return ResponseEntity.ok(statisticsService.getExerciseCountByMuscleGroup());
+        return snapshotResponse(request, statisticsService.getExerciseCountByMuscleGroup());
     }
 
     @GetMapping("/exercises/popular-in-plans")
     public ResponseEntity<List<ExercisePopularityDto>> getMostPopularExercisesInPlans(
-            @RequestParam(defaultValue = "10") int topN) {
+            @RequestParam(defaultValue = "10") int topN, WebRequest request) {
         logger.info("GET /api/statistics/exercises/popular-in-plans?topN={}", topN);
-        return ResponseEntity.ok(statisticsService.getMostPopularExercisesInPlans(topN));
+        return snapshotResponse(request, statisticsService.getMostPopularExercisesInPlans(topN));
     }
 
     @GetMapping("/training-plans/most-assigned")
     public ResponseEntity<List<PopularPlanDto>> getMostAssignedTrainingPlans(
-            @RequestParam(defaultValue = "5") int topN) {
+            @RequestParam(defaultValue = "5") int topN, WebRequest request) {
         logger.info("GET /api/statistics/training-plans/most-assigned?topN={}", topN);
-        return ResponseEntity.ok(statisticsService.getMostAssignedTrainingPlans(topN));
+        return snapshotResponse(request, statisticsService.getMostAssignedTrainingPlans(topN));
     }
 
     @GetMapping("/system/activity-counts")
-    public ResponseEntity<List<SystemActivityCountDto>> getOverallSystemActivityCounts() {
+    public ResponseEntity<List<SystemActivityCountDto>> getOverallSystemActivityCounts(WebRequest request) {
         logger.info("GET /api/statistics/system/activity-counts");
-        return ResponseEntity.ok(statisticsService.getOverallSystemActivityCounts());
+        return snapshotResponse(request, statisticsService.getOverallSystemActivityCounts());
+    }
+
+    /**
+     * Unwraps a statistics snapshot, reports its age in seconds in the {@value #SNAPSHOT_AGE_HEADER} header
+     * and answers {@code If-None-Match} for an unchanged snapshot with 304.
+     */
+    private static <T> ResponseEntity<T> snapshotResponse(WebRequest request, StatisticsSnapshot<T> snapshot) {
+        return ConditionalResponses.withSnapshotETag(request, snapshot);
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package me.verni.gymplify.controller;
 
 import jakarta.validation.Valid;
+import me.verni.gymplify.cache.EntityVersions;
 import me.verni.gymplify.dto.CreateTrainingPlanRequestDto;
 import me.verni.gymplify.dto.ExerciseDto;
+import me.verni.gymplify.dto.PlanExercisesDiffDto;
+import me.verni.gymplify.dto.SetPlanExercisesRequestDto;
+import me.verni.gymplify.dto.TrainingPlanDetailDto;
 import me.verni.gymplify.dto.TrainingPlanDto;
 import me.verni.gymplify.dto.UpdateTrainingPlanRequestDto;
 import me.verni.gymplify.service.TrainingPlanService;
@@ -11,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -22,10 +27,12 @@ public class TrainingPlanController {
 
     private static final Logger log = LoggerFactory.getLogger(TrainingPlanController.class);
     private final TrainingPlanService trainingPlanService;
+    private final EntityVersions entityVersions;
 
     @Autowired
-    public TrainingPlanController(TrainingPlanService trainingPlanService) {
+    public TrainingPlanController(TrainingPlanService trainingPlanService, EntityVersions entityVersions) {
         this.trainingPlanService = trainingPlanService;
+        this.entityVersions = entityVersions;
     }
 
     @PostMapping
@@ -41,17 +48,24 @@ public class TrainingPlanController {
     }
 
     @GetMapping("/{planId}")
-    public ResponseEntity<TrainingPlanDto> getTrainingPlanById(@PathVariable Long planId) {
+    public ResponseEntity<TrainingPlanDto> getTrainingPlanById(@PathVariable Long planId, WebRequest request) {
         log.info("Żądanie pobrania planu treningowego o ID: {}", planId);
-        TrainingPlanDto plan = trainingPlanService.getTrainingPlanById(planId);
-        return ResponseEntity.ok(plan);
+        String etag = entityVersions.etag(EntityVersions.Entity.TRAINING_PLANS);
+        return ConditionalResponses.withETag(request, etag, () -> trainingPlanService.getTrainingPlanById(planId));
+    }
+
+    @GetMapping("/{planId}/detail")
+    public ResponseEntity<TrainingPlanDetailDto> getTrainingPlanDetail(@PathVariable Long planId, WebRequest request) {
+        log.info("Żądanie pobrania szczegółów planu treningowego o ID: {}", planId);
+        String etag = entityVersions.etag(EntityVersions.Entity.TRAINING_PLANS);
+        return ConditionalResponses.withETag(request, etag, () -> trainingPlanService.getTrainingPlanDetail(planId));
     }
 
     @GetMapping
-    public ResponseEntity<List<TrainingPlanDto>> getAllTrainingPlans() {
+    public ResponseEntity<List<TrainingPlanDto>> getAllTrainingPlans(WebRequest request) {
         log.info("Żądanie pobrania wszystkich planów treningowych");
-        List<TrainingPlanDto> plans = trainingPlanService.getAllTrainingPlans();
-        return ResponseEntity.ok(plans);
+        String etag = entityVersions.etag(EntityVersions.Entity.TRAINING_PLANS);
+        return ConditionalResponses.withETag(request, etag, trainingPlanService::getAllTrainingPlans);
     }
 
     @PutMapping("/{planId}")
@@ -84,6 +98,14 @@ public class TrainingPlanController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping("/{planId}/exercises")
+    public ResponseEntity<PlanExercisesDiffDto> setPlanExercises(@PathVariable Long planId,
+                                                                 @Valid @RequestBody SetPlanExercisesRequestDto requestDto) {
+        log.info("Żądanie ustawienia {} ćwiczeń dla planu ID: {}", requestDto.getExerciseIds().size(), planId);
+        PlanExercisesDiffDto diff = trainingPlanService.setPlanExercises(planId, requestDto.getExerciseIds());
+        return ResponseEntity.ok(diff);
+    }
+
     @DeleteMapping("/{planId}/exercises")
     public ResponseEntity<Void> removeAllExercisesFromPlan(@PathVariable Long planId) {
         log.info("Żądanie usunięcia wszystkich ćwiczeń z planu ID: {}", planId);
@@ -92,9 +114,9 @@ public class TrainingPlanController {
     }
 
     @GetMapping("/{planId}/exercises")
-    public ResponseEntity<List<ExerciseDto>> getExercisesForPlan(@PathVariable Long planId) {
+    public ResponseEntity<List<ExerciseDto>> getExercisesForPlan(@PathVariable Long planId, WebRequest request) {
         log.info("Żądanie pobrania ćwiczeń dla planu ID: {}", planId);
-        List<ExerciseDto> exercises = trainingPlanService.getExercisesForPlan(planId);
-        return ResponseEntity.ok(exercises);
+        String etag = entityVersions.etag(EntityVersions.Entity.TRAINING_PLANS);
+        return ConditionalResponses.withETag(request, etag, () -> trainingPlanService.getExercisesForPlan(planId));
     }
 }
\ No newline at end of file
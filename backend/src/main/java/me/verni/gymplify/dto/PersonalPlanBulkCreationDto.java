@@ -0,0 +1,24 @@
+package me.verni.gymplify.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class PersonalPlanBulkCreationDto {
+    @NotEmpty(message = "User IDs cannot be empty")
+    private List<@NotNull(message = "User ID cannot be null") Long> userIds;
+
+    @NotNull(message = "Trainer ID cannot be null")
+    private Long trainerId;
+
+    @NotNull(message = "Plan ID cannot be null")
+    private Long planId;
+
+    public List<Long> getUserIds() { return userIds; }
+    public void setUserIds(List<Long> userIds) { this.userIds = userIds; }
+    public Long getTrainerId() { return trainerId; }
+    public void setTrainerId(Long trainerId) { this.trainerId = trainerId; }
+    public Long getPlanId() { return planId; }
+    public void setPlanId(Long planId) { this.planId = planId; }
+}
@@ -0,0 +1,17 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanExercisesDiffDto {
+    private Long planId;
+    private List<Long> addedExerciseIds;
+    private List<Long> removedExerciseIds;
+    private Integer unchanged;
+}
@@ -0,0 +1,17 @@
+package me.verni.gymplify.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetPlanExercisesRequestDto {
+
+    @NotNull(message = "Lista ćwiczeń planu jest wymagana (pusta lista usuwa wszystkie ćwiczenia).")
+    private List<@NotNull(message = "ID ćwiczenia nie może być puste.") Long> exerciseIds;
+}
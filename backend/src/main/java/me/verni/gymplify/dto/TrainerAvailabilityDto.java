@@ -0,0 +1,19 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerAvailabilityDto {
+    private Long trainerId;
+    private String trainerName;
+    private String trainerSurname;
+    private String specialization;
+    private Long totalFreeMinutes;
+    private List<TrainerFreeSlotDto> freeSlots;
+}
@@ -0,0 +1,23 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerAvailabilityResultDto {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private LocalTime workStart;
+    private LocalTime workEnd;
+    private Integer minDurationMinutes;
+    private String source;
+    private Long durationMs;
+    private List<TrainerAvailabilityDto> trainers;
+}
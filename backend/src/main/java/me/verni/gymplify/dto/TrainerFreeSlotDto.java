@@ -0,0 +1,16 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerFreeSlotDto {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long durationMinutes;
+}
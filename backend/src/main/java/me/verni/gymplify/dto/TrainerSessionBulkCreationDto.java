@@ -0,0 +1,17 @@
+package me.verni.gymplify.dto;
+
+import jakarta.validation.Valid;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TrainerSessionBulkCreationDto {
+    @Valid
+    private List<TrainerSessionCreationDto> sessions;
+
+    @Valid
+    private TrainerSessionRecurrenceDto recurrence;
+
+    private boolean allOrNothing;
+}
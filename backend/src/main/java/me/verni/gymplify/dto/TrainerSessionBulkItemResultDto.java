@@ -0,0 +1,22 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerSessionBulkItemResultDto {
+    private Integer index;
+    private Long trainerId;
+    private LocalDate sessionDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String status;
+    private Long scheduleId;
+    private String message;
+}
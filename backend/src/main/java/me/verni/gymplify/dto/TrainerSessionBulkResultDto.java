@@ -0,0 +1,17 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerSessionBulkResultDto {
+    private Integer requested;
+    private Integer created;
+    private Integer failed;
+    private List<TrainerSessionBulkItemResultDto> items;
+}
@@ -0,0 +1,33 @@
+package me.verni.gymplify.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+public class TrainerSessionRecurrenceDto {
+    @NotNull(message = "ID trenera jest wymagane.")
+    private Long trainerId;
+
+    @NotNull(message = "Data początkowa jest wymagana.")
+    @FutureOrPresent(message = "Data początkowa nie może być z przeszłości.")
+    private LocalDate fromDate;
+
+    @NotNull(message = "Data końcowa jest wymagana.")
+    private LocalDate toDate;
+
+    @NotEmpty(message = "Należy podać co najmniej jeden dzień tygodnia.")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Czas rozpoczęcia jest wymagany.")
+    private LocalTime startTime;
+
+    @NotNull(message = "Czas zakończenia jest wymagany.")
+    private LocalTime endTime;
+}
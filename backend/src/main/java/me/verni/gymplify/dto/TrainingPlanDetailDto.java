@@ -0,0 +1,20 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingPlanDetailDto {
+    private Long planId;
+    private String name;
+    private Long assignmentCount;
+    private Long assignedUserCount;
+    private Long assignedTrainerCount;
+    private List<ExerciseDto> exercises;
+    private List<String> muscleGroups;
+}
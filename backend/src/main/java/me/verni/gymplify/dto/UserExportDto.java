@@ -0,0 +1,19 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import me.verni.gymplify.util.RoleType;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportDto {
+    private Long userId;
+    private String username;
+    private String email;
+    private RoleType role;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package me.verni.gymplify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDto {
+    private List<UserAdminViewDto> items;
+    private Integer pageSize;
+    private Boolean hasMore;
+    private Long nextAfterUserId;
+}
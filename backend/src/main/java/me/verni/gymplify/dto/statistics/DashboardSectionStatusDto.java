@@ -0,0 +1,16 @@
+package me.verni.gymplify.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSectionStatusDto {
+    private String section;
+    private Long durationMs;
+    private Boolean success;
+    private String error;
+    private Long snapshotAgeMs;
+}
@@ -0,0 +1,32 @@
+package me.verni.gymplify.dto.statistics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class DashboardStatisticsDto {
+    private Long totalUserCount;
+    private Long totalTrainerCount;
+    private List<RoleStatDto> usersByRole;
+    private List<NewUserStatDto> newUsers;
+    private List<SpecializationStatDto> trainersBySpecialization;
+    private List<TrainerWorkloadDto> trainerWorkload;
+    private List<ExerciseCountByMuscleGroupDto> exerciseCountByMuscleGroup;
+    private List<ExercisePopularityDto> popularExercisesInPlans;
+    private List<PopularPlanDto> mostAssignedTrainingPlans;
+    private List<SystemActivityCountDto> systemActivityCounts;
+
+    private List<DashboardSectionStatusDto> sections = new ArrayList<>();
+    private Long totalDurationMs;
+    private Boolean partial;
+    private Long snapshotAgeMs;
+
+    // Czas załadowania najnowszej migawki; null, gdy panel jest częściowy. Służy tylko do ETagu.
+    @JsonIgnore
+    private Long latestSnapshotLoadedAtMs;
+}
@@ -1,5 +1,6 @@
 package me.verni.gymplify.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -16,6 +17,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(DataConflictException.class)
     public ResponseEntity<Object> handleDataConflictException(DataConflictException ex) {
+        TooManyRequestsException overload = findTooManyRequests(ex);
+        if (overload != null) {
+            return handleTooManyRequestsException(overload);
+        }
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", System.currentTimeMillis());
         body.put("status", HttpStatus.CONFLICT.value()); // 409
@@ -36,6 +41,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(OperationFailedException.class)
     public ResponseEntity<Object> handleOperationFailedException(OperationFailedException ex) {
+        TooManyRequestsException overload = findTooManyRequests(ex);
+        if (overload != null) {
+            return handleTooManyRequestsException(overload);
+        }
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", System.currentTimeMillis());
         body.put("status", HttpStatus.BAD_REQUEST.value());
@@ -44,6 +53,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequestsException(TooManyRequestsException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", System.currentTimeMillis());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value()); // 429
+        body.put("error", "Too Many Requests");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -63,6 +84,10 @@ public class GlobalExceptionHandler {
     }
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllUncaughtException(Exception ex, WebRequest request) {
+        TooManyRequestsException overload = findTooManyRequests(ex);
+        if (overload != null) {
+            return handleTooManyRequestsException(overload);
+        }
         System.err.println("Nieobsłużony wyjątek: " + ex.getMessage());
         ex.printStackTrace();
 
@@ -74,4 +99,14 @@ public class GlobalExceptionHandler {
         body.put("message", "Wystąpił nieoczekiwany błąd wewnętrzny serwera. Skontaktuj się z administratorem.");
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    // Odmowa ogranicznika połączeń bywa opakowana przez serwisy lub menedżera transakcji
+    private static TooManyRequestsException findTooManyRequests(Throwable ex) {
+        for (Throwable cause = ex.getCause(); cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof TooManyRequestsException tooManyRequests) {
+                return tooManyRequests;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package me.verni.gymplify.repository;
+
+import me.verni.gymplify.dto.PersonalPlanDto;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.dto.UserExportDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.util.RoleType;
+import me.verni.gymplify.util.TrainerSessionRowMapper;
+import oracle.jdbc.OracleTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * Streams whole tables for reporting exports. Each export opens a forward-only ref cursor,
+ * fetches it in batches of {@code export.fetch-size} rows and hands every mapped row to the
+ * caller straight away, so neither the PGA nor the JVM heap ever holds the full result.
+ */
+@Repository
+public class ExportRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportRepository.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryMetrics repositoryMetrics;
+    private final int fetchSize;
+
+    private static class UserExportRowMapper implements RowMapper<UserExportDto> {
+        @Override
+        public UserExportDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Timestamp createdAt = rs.getTimestamp("CREATED_AT");
+            return new UserExportDto(
+                    rs.getLong("USER_ID"),
+                    rs.getString("USERNAME"),
+                    rs.getString("EMAIL"),
+                    RoleType.valueOf(rs.getString("ROLE")),
+                    createdAt != null ? createdAt.toLocalDateTime() : null
+            );
+        }
+    }
+
+    private static class PersonalPlanExportRowMapper implements RowMapper<PersonalPlanDto> {
+        @Override
+        public PersonalPlanDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new PersonalPlanDto(
+                    rs.getLong("PERSONAL_PLAN_ID"),
+                    rs.getLong("USER_ID"),
+                    rs.getString("USERNAME"),
+                    rs.getLong("TRAINER_ID"),
+                    rs.getString("TRAINER_NAME"),
+                    rs.getString("TRAINER_SURNAME"),
+                    rs.getLong("PLAN_ID"),
+                    rs.getString("PLAN_NAME")
+            );
+        }
+    }
+
+    public ExportRepository(JdbcTemplate jdbcTemplate, RepositoryMetrics repositoryMetrics,
+                            @Value("${export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repositoryMetrics = repositoryMetrics;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    public long streamUsers(Consumer<UserExportDto> consumer) {
+        return streamCursor("PKG_USER_MGMT.ExportUsers", new UserExportRowMapper(), consumer);
+    }
+
+    public long streamPersonalPlans(Consumer<PersonalPlanDto> consumer) {
+        return streamCursor("PKG_PERSONAL_PLAN_MGMT.ExportPersonalPlans", new PersonalPlanExportRowMapper(), consumer);
+    }
+
+    public long streamTrainerSessions(Consumer<TrainerSessionDto> consumer) {
+        return streamCursor("PKG_TRAINER_SESSION_MGMT.ExportTrainerSessions", new TrainerSessionRowMapper(), consumer);
+    }
+
+    private <T> long streamCursor(String procedureName, RowMapper<T> rowMapper, Consumer<T> consumer) {
+        try {
+            Long rows = repositoryMetrics.record(procedureName, () -> jdbcTemplate.execute(
+                    (Connection con) -> con.prepareCall("{call " + procedureName + "(?)}"),
+                    (CallableStatement cs) -> {
+                        cs.registerOutParameter(1, OracleTypes.CURSOR);
+                        cs.execute();
+                        try (ResultSet rs = (ResultSet) cs.getObject(1)) {
+                            rs.setFetchSize(fetchSize);
+                            long count = 0;
+                            while (rs.next()) {
+                                consumer.accept(rowMapper.mapRow(rs, (int) Math.min(count, Integer.MAX_VALUE)));
+                                count++;
+                            }
+                            return count;
+                        }
+                    }), count -> count != null ? count : 0L);
+            return rows != null ? rows : 0L;
+        } catch (DataAccessException e) {
+            log.error("Błąd podczas strumieniowania kursora {}", procedureName, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas eksportu (" + procedureName + "): " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package me.verni.gymplify.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates the {@link SimpleJdbcCall}s used by the repositories and remembers them, so that
+ * {@code DatabaseWarmUp} can compile all of them at startup instead of on the first request.
+ * Every call is expected to declare its parameters explicitly and disable procedure metadata access.
+ * Executions are timed by {@link RepositoryMetrics} under the call's catalog and procedure name.
+ */
+@Component
+public class JdbcCallRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryMetrics repositoryMetrics;
+    private final List<SimpleJdbcCall> calls = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public JdbcCallRegistry(JdbcTemplate jdbcTemplate, RepositoryMetrics repositoryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repositoryMetrics = repositoryMetrics;
+    }
+
+    public SimpleJdbcCall create() {
+        SimpleJdbcCall call = new InstrumentedJdbcCall(jdbcTemplate, repositoryMetrics);
+        calls.add(call);
+        return call;
+    }
+
+    public List<SimpleJdbcCall> getCalls() {
+        return List.copyOf(calls);
+    }
+
+    private static final class InstrumentedJdbcCall extends SimpleJdbcCall {
+
+        private final RepositoryMetrics repositoryMetrics;
+
+        private InstrumentedJdbcCall(JdbcTemplate jdbcTemplate, RepositoryMetrics repositoryMetrics) {
+            super(jdbcTemplate);
+            this.repositoryMetrics = repositoryMetrics;
+        }
+
+        @Override
+        protected Map<String, Object> doExecute(SqlParameterSource parameterSource) {
+            return repositoryMetrics.record(qualifiedName(), () -> super.doExecute(parameterSource));
+        }
+
+        @Override
+        protected Map<String, Object> doExecute(Object... args) {
+            return repositoryMetrics.record(qualifiedName(), () -> super.doExecute(args));
+        }
+
+        @Override
+        protected Map<String, Object> doExecute(Map<String, ?> args) {
+            return repositoryMetrics.record(qualifiedName(), () -> super.doExecute(args));
+        }
+
+        private String qualifiedName() {
+            return getCatalogName() != null ? getCatalogName() + "." + getProcedureName() : getProcedureName();
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package me.verni.gymplify.repository;
+
+import me.verni.gymplify.util.TrainerSessionRowMapper;
+import me.verni.gymplify.util.TrainerSessionSqlRecord;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import oracle.jdbc.OracleCallableStatement;
+import oracle.jdbc.OracleConnection;
+import oracle.jdbc.OracleTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.*;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("!inmemory")
+public class OracleTrainerSessionRepository implements TrainerSessionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(OracleTrainerSessionRepository.class);
+    private static final String ID_LIST_TYPE = "PKG_TRAINER_SESSION_MGMT.TY_ID_LIST";
+    private static final String TIMESTAMP_LIST_TYPE = "PKG_TRAINER_SESSION_MGMT.TY_TIMESTAMP_LIST";
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryMetrics repositoryMetrics;
+    private final int fetchSize;
+    private final TrainerSessionRowMapper trainerSessionRowMapper = new TrainerSessionRowMapper();
+
+    private final SimpleJdbcCall deleteTrainerSessionCall;
+
+    @Autowired
+    public OracleTrainerSessionRepository(JdbcTemplate jdbcTemplate,
+                                    JdbcCallRegistry jdbcCallRegistry,
+                                    RepositoryMetrics repositoryMetrics,
+                                    @Value("${trainer-sessions.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repositoryMetrics = repositoryMetrics;
+        this.fetchSize = Math.max(1, fetchSize);
+
+        this.deleteTrainerSessionCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINER_SESSION_MGMT")
+                .withProcedureName("DeleteTrainerSession")
+                .declareParameters(
+                        new SqlParameter("p_schedule_id", Types.NUMERIC)
+                ).withoutProcedureColumnMetaDataAccess();
+    }
+
+    private String extractOracleErrorMessage(DataAccessException e) {
+        if (e.getCause() instanceof SQLException) {
+            SQLException sqlEx = (SQLException) e.getCause();
+            if (sqlEx.getErrorCode() >= 20000 && sqlEx.getErrorCode() <= 20999 && sqlEx.getMessage() != null) {
+                return sqlEx.getMessage().split("\n")[0].replace("ORA-" + sqlEx.getErrorCode() + ": ", "");
+            }
+            // Dodaj obsługę ORA-17003 specyficznie
+            if (sqlEx.getErrorCode() == 17003) {
+                return "Niepoprawny indeks kolumny podczas wywołania PL/SQL. Sprawdź logi serwera.";
+            }
+        }
+        return "Błąd operacji na bazie danych: " + e.getMessage();
+    }
+
+    // Procedura zwraca zapisany wiersz w parametrze OUT, więc zapis kosztuje jedno wywołanie bez ponownego odczytu
+    @Override
+    public TrainerSessionDto create(Long trainerId, LocalDate sessionDate, LocalDateTime startTime, LocalDateTime endTime) {
+        final String sql = "{call PKG_TRAINER_SESSION_MGMT.CreateTrainerSession(?, ?, ?, ?, ?, ?)}";
+        try {
+            TrainerSessionSqlRecord record = repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        CallableStatement cs = con.prepareCall(sql);
+                        cs.setLong(1, trainerId);
+                        cs.setDate(2, Date.valueOf(sessionDate));
+                        cs.setTimestamp(3, Timestamp.valueOf(startTime));
+                        cs.setTimestamp(4, Timestamp.valueOf(endTime));
+                        cs.registerOutParameter(5, Types.NUMERIC);
+                        registerSessionRecordOut(cs, 6);
+                        return cs;
+                    },
+                    (CallableStatement cs) -> {
+                        cs.execute();
+                        return toSessionRecord(cs.getObject(6));
+                    }
+            ));
+            if (record == null) {
+                log.error("Procedura CreateTrainerSession nie zwróciła zapisanej sesji.");
+                throw new OperationFailedException("Tworzenie sesji trenera zakończyło się sukcesem, ale nie zwrócono sesji.");
+            }
+            return record.toDto();
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas tworzenia sesji trenera: {}", e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public List<BulkCreateOutcome> createBulk(List<Long> trainerIds, List<LocalDateTime> startTimes,
+                                              List<LocalDateTime> endTimes, boolean allOrNothing) {
+        final String sql = "{call PKG_TRAINER_SESSION_MGMT.CreateTrainerSessionsBulk(?, ?, ?, ?, ?, ?)}";
+        log.debug("Executing SQL for createBulk ({} pozycji): {}", trainerIds.size(), sql);
+
+        try {
+            return repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        OracleConnection oracleCon = con.unwrap(OracleConnection.class);
+                        CallableStatement cs = con.prepareCall(sql);
+                        cs.setArray(1, oracleCon.createOracleArray(ID_LIST_TYPE,
+                                trainerIds.stream().map(BigDecimal::valueOf).toArray(BigDecimal[]::new)));
+                        cs.setArray(2, oracleCon.createOracleArray(TIMESTAMP_LIST_TYPE,
+                                startTimes.stream().map(Timestamp::valueOf).toArray(Timestamp[]::new)));
+                        cs.setArray(3, oracleCon.createOracleArray(TIMESTAMP_LIST_TYPE,
+                                endTimes.stream().map(Timestamp::valueOf).toArray(Timestamp[]::new)));
+                        cs.setInt(4, allOrNothing ? 1 : 0);
+                        cs.registerOutParameter(5, OracleTypes.ARRAY, ID_LIST_TYPE);
+                        cs.registerOutParameter(6, OracleTypes.ARRAY, ID_LIST_TYPE);
+                        return cs;
+                    },
+                    (CallableStatement cs) -> {
+                        cs.execute();
+                        java.sql.Array scheduleIdArray = cs.getArray(5);
+                        java.sql.Array resultCodeArray = cs.getArray(6);
+                        Object[] scheduleIds = (Object[]) scheduleIdArray.getArray();
+                        Object[] resultCodes = (Object[]) resultCodeArray.getArray();
+                        List<BulkCreateOutcome> outcomes = new ArrayList<>(resultCodes.length);
+                        for (int i = 0; i < resultCodes.length; i++) {
+                            Long scheduleId = scheduleIds[i] != null ? ((Number) scheduleIds[i]).longValue() : null;
+                            outcomes.add(new BulkCreateOutcome(scheduleId, ((Number) resultCodes[i]).intValue()));
+                        }
+                        scheduleIdArray.free();
+                        resultCodeArray.free();
+                        return outcomes;
+                    }
+            ));
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas zbiorczego tworzenia sesji trenerów: {}", e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public void deleteById(Long scheduleId) {
+        try {
+            deleteTrainerSessionCall.execute(Map.of("p_schedule_id", scheduleId));
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas usuwania sesji trenera ID {}: {}", scheduleId, e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public TrainerSessionDto update(Long scheduleId, Long trainerId, LocalDate sessionDate, LocalDateTime startTime, LocalDateTime endTime) {
+        final String sql = "{call PKG_TRAINER_SESSION_MGMT.UpdateTrainerSession(?, ?, ?, ?, ?, ?)}";
+        try {
+            TrainerSessionSqlRecord record = repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        CallableStatement cs = con.prepareCall(sql);
+                        cs.setLong(1, scheduleId);
+                        cs.setLong(2, trainerId);
+                        cs.setDate(3, Date.valueOf(sessionDate));
+                        cs.setTimestamp(4, Timestamp.valueOf(startTime));
+                        cs.setTimestamp(5, Timestamp.valueOf(endTime));
+                        registerSessionRecordOut(cs, 6);
+                        return cs;
+                    },
+                    (CallableStatement cs) -> {
+                        cs.execute();
+                        return toSessionRecord(cs.getObject(6));
+                    }
+            ));
+            if (record == null) {
+                log.error("Procedura UpdateTrainerSession nie zwróciła zapisanej sesji ID {}.", scheduleId);
+                throw new OperationFailedException("Aktualizacja sesji trenera zakończyła się sukcesem, ale nie zwrócono sesji.");
+            }
+            return record.toDto();
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas aktualizacji sesji trenera ID {}: {}", scheduleId, e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public Optional<TrainerSessionDto> findById(Long scheduleId) {
+        final String sql = "{? = call PKG_TRAINER_SESSION_MGMT.GetTrainerSessionById(?)}";
+        try {
+            TrainerSessionSqlRecord record = repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        CallableStatement cs = con.prepareCall(sql);
+                        registerSessionRecordOut(cs, 1);
+                        cs.setLong(2, scheduleId);
+                        return cs;
+                    },
+                    (CallableStatement cs) -> {
+                        cs.execute();
+                        return toSessionRecord(cs.getObject(1));
+                    }
+            ));
+            return Optional.ofNullable(record).map(TrainerSessionSqlRecord::toDto);
+        } catch (DataAccessException e) {
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() == 20502) { // NO_DATA_FOUND
+                    return Optional.empty();
+                }
+            }
+            log.error("Błąd DataAccessException podczas wywoływania funkcji GetTrainerSessionById dla ID {}: {}", scheduleId, e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public List<TrainerSessionDto> findByTrainerId(Long trainerId, LocalDate fromDate, LocalDate toDate) {
+        // ZAWSZE przekazuj wszystkie 3 parametry. Funkcja PL/SQL ma wartości domyślne NULL.
+        final String sql = "{? = call PKG_TRAINER_SESSION_MGMT.GetTrainerSessionsByTrainer(?, ?, ?)}";
+        log.debug("Executing SQL for findByTrainerId: {}", sql);
+
+        try {
+            List<TrainerSessionSqlRecord> records = repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        CallableStatement cs = con.prepareCall(sql);
+                        if (cs.isWrapperFor(OracleCallableStatement.class)) {
+                            OracleCallableStatement ocs = cs.unwrap(OracleCallableStatement.class);
+                            ocs.registerOutParameter(1, OracleTypes.ARRAY, "PKG_TRAINER_SESSION_MGMT.TY_TRAINER_SESSION_TABLE");
+                        } else {
+                            cs.registerOutParameter(1, Types.ARRAY, "PKG_TRAINER_SESSION_MGMT.TY_TRAINER_SESSION_TABLE");
+                        }
+
+                        cs.setLong(2, trainerId);
+
+                        if (fromDate != null) {
+                            cs.setDate(3, Date.valueOf(fromDate));
+                        } else {
+                            cs.setNull(3, Types.DATE);
+                        }
+
+                        if (toDate != null) {
+                            cs.setDate(4, Date.valueOf(toDate));
+                        } else {
+                            cs.setNull(4, Types.DATE);
+                        }
+                        return cs;
+                    },
+                    this::processSqlArray
+            ));
+            return records.stream().map(TrainerSessionSqlRecord::toDto).collect(Collectors.toList());
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException w findByTrainerId dla trenera {}: {}", trainerId, e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public List<TrainerSessionDto> findAll(LocalDate fromDate, LocalDate toDate) {
+        // ZAWSZE przekazuj wszystkie 2 parametry. Funkcja PL/SQL ma wartości domyślne NULL.
+        final String sql = "{? = call PKG_TRAINER_SESSION_MGMT.ListAllTrainerSessions(?, ?)}";
+        log.debug("Executing SQL for findAll: {}", sql);
+
+        try {
+            List<TrainerSessionSqlRecord> records = repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        CallableStatement cs = con.prepareCall(sql);
+                        if (cs.isWrapperFor(OracleCallableStatement.class)) {
+                            OracleCallableStatement ocs = cs.unwrap(OracleCallableStatement.class);
+                            ocs.registerOutParameter(1, OracleTypes.ARRAY, "PKG_TRAINER_SESSION_MGMT.TY_TRAINER_SESSION_TABLE");
+                        } else {
+                            cs.registerOutParameter(1, Types.ARRAY, "PKG_TRAINER_SESSION_MGMT.TY_TRAINER_SESSION_TABLE");
+                        }
+
+                        if (fromDate != null) {
+                            cs.setDate(2, Date.valueOf(fromDate));
+                        } else {
+                            cs.setNull(2, Types.DATE);
+                        }
+
+                        if (toDate != null) {
+                            cs.setDate(3, Date.valueOf(toDate));
+                        } else {
+                            cs.setNull(3, Types.DATE);
+                        }
+                        return cs;
+                    },
+                    this::processSqlArray
+            ));
+            return records.stream().map(TrainerSessionSqlRecord::toDto).collect(Collectors.toList());
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException w findAll: {}", e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public List<TrainerSessionDto> findByTrainerIdCursor(Long trainerId, LocalDate fromDate, LocalDate toDate) {
+        final String sql = "{call PKG_TRAINER_SESSION_MGMT.GetTrainerSessionsByTrainerCursor(?, ?, ?, ?)}";
+        log.debug("Executing SQL for findByTrainerIdCursor: {}", sql);
+
+        try {
+            return repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        CallableStatement cs = con.prepareCall(sql);
+                        cs.setLong(1, trainerId);
+                        setDateOrNull(cs, 2, fromDate);
+                        setDateOrNull(cs, 3, toDate);
+                        cs.registerOutParameter(4, OracleTypes.CURSOR);
+                        return cs;
+                    },
+                    (CallableStatement cs) -> processSessionCursor(cs, 4)
+            ));
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException w findByTrainerIdCursor dla trenera {}: {}", trainerId, e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public List<TrainerSessionDto> findAllCursor(LocalDate fromDate, LocalDate toDate) {
+        final String sql = "{call PKG_TRAINER_SESSION_MGMT.ListAllTrainerSessionsCursor(?, ?, ?)}";
+        log.debug("Executing SQL for findAllCursor: {}", sql);
+
+        try {
+            return repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        CallableStatement cs = con.prepareCall(sql);
+                        setDateOrNull(cs, 1, fromDate);
+                        setDateOrNull(cs, 2, toDate);
+                        cs.registerOutParameter(3, OracleTypes.CURSOR);
+                        return cs;
+                    },
+                    (CallableStatement cs) -> processSessionCursor(cs, 3)
+            ));
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException w findAllCursor: {}", e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    @Override
+    public List<TrainerSessionDto> findByTrainerIdsCursor(List<Long> trainerIds, LocalDate fromDate, LocalDate toDate) {
+        final String sql = "{call PKG_TRAINER_SESSION_MGMT.GetSessionsForTrainersCursor(?, ?, ?, ?)}";
+        log.debug("Executing SQL for findByTrainerIdsCursor ({} trenerów): {}", trainerIds.size(), sql);
+
+        try {
+            return repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        OracleConnection oracleCon = con.unwrap(OracleConnection.class);
+                        CallableStatement cs = con.prepareCall(sql);
+                        cs.setArray(1, oracleCon.createOracleArray(ID_LIST_TYPE,
+                                trainerIds.stream().map(BigDecimal::valueOf).toArray(BigDecimal[]::new)));
+                        cs.setDate(2, Date.valueOf(fromDate));
+                        cs.setDate(3, Date.valueOf(toDate));
+                        cs.registerOutParameter(4, OracleTypes.CURSOR);
+                        return cs;
+                    },
+                    (CallableStatement cs) -> processSessionCursor(cs, 4)
+            ));
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException w findByTrainerIdsCursor: {}", e.getMessage(), e);
+            throw new OperationFailedException(extractOracleErrorMessage(e), e);
+        }
+    }
+
+    private static void setDateOrNull(CallableStatement cs, int index, LocalDate date) throws SQLException {
+        if (date != null) {
+            cs.setDate(index, Date.valueOf(date));
+        } else {
+            cs.setNull(index, Types.DATE);
+        }
+    }
+
+    private static void registerSessionRecordOut(CallableStatement cs, int parameterIndex) throws SQLException {
+        if (cs.isWrapperFor(OracleCallableStatement.class)) {
+            OracleCallableStatement ocs = cs.unwrap(OracleCallableStatement.class);
+            ocs.registerOutParameter(parameterIndex, OracleTypes.STRUCT, TrainerSessionSqlRecord.SQL_TYPE_NAME);
+        } else {
+            cs.registerOutParameter(parameterIndex, Types.STRUCT, TrainerSessionSqlRecord.SQL_TYPE_NAME);
+        }
+    }
+
+    private static TrainerSessionSqlRecord toSessionRecord(Object result) throws SQLException {
+        if (result instanceof TrainerSessionSqlRecord) {
+            return (TrainerSessionSqlRecord) result;
+        } else if (result instanceof java.sql.Struct) {
+            java.sql.Struct struct = (java.sql.Struct) result;
+            Object[] attrs = struct.getAttributes();
+            TrainerSessionSqlRecord tempRecord = new TrainerSessionSqlRecord();
+            tempRecord.setScheduleId(((Number) attrs[0]).longValue());
+            tempRecord.setTrainerId(((Number) attrs[1]).longValue());
+            tempRecord.setTrainerName((String) attrs[2]);
+            tempRecord.setTrainerSurname((String) attrs[3]);
+            tempRecord.setSessionDate((Date) attrs[4]);
+            tempRecord.setStartTime((Timestamp) attrs[5]);
+            tempRecord.setEndTime((Timestamp) attrs[6]);
+            return tempRecord;
+        }
+        return null;
+    }
+
+    // Wiersze kursora są pobierane partiami po fetchSize i mapowane od razu, bez pośrednich obiektów STRUCT
+    private List<TrainerSessionDto> processSessionCursor(CallableStatement cs, int cursorIndex) throws SQLException {
+        cs.execute();
+        List<TrainerSessionDto> resultList = new ArrayList<>();
+        try (ResultSet rs = (ResultSet) cs.getObject(cursorIndex)) {
+            if (rs == null) {
+                return resultList;
+            }
+            rs.setFetchSize(fetchSize);
+            int rowNum = 0;
+            while (rs.next()) {
+                resultList.add(trainerSessionRowMapper.mapRow(rs, rowNum++));
+            }
+        }
+        return resultList;
+    }
+
+    // Metoda pomocnicza do przetwarzania wyniku typu ARRAY
+    private List<TrainerSessionSqlRecord> processSqlArray(CallableStatement cs) throws SQLException {
+        cs.execute();
+        java.sql.Array sqlArray = cs.getArray(1);
+        List<TrainerSessionSqlRecord> resultList = new ArrayList<>();
+        if (sqlArray != null) {
+            Object[] arrayElements = (Object[]) sqlArray.getArray();
+            for (Object element : arrayElements) {
+                if (element instanceof TrainerSessionSqlRecord) {
+                    resultList.add((TrainerSessionSqlRecord) element);
+                } else if (element instanceof java.sql.Struct) {
+                    java.sql.Struct struct = (java.sql.Struct) element;
+                    Object[] attrs = struct.getAttributes();
+                    TrainerSessionSqlRecord tempRecord = new TrainerSessionSqlRecord();
+                    tempRecord.setScheduleId(((Number) attrs[0]).longValue());
+                    tempRecord.setTrainerId(((Number) attrs[1]).longValue());
+                    tempRecord.setTrainerName((String) attrs[2]);
+                    tempRecord.setTrainerSurname((String) attrs[3]);
+                    tempRecord.setSessionDate((Date) attrs[4]);
+                    tempRecord.setStartTime((Timestamp) attrs[5]);
+                    tempRecord.setEndTime((Timestamp) attrs[6]);
+                    resultList.add(tempRecord);
+                }
+            }
+            sqlArray.free();
+        }
+        return resultList;
+    }
+}
\ No newline at end of file
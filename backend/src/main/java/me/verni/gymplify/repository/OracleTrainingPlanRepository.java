@@ -0,0 +1,468 @@
+package me.verni.gymplify.repository;
+
+import me.verni.gymplify.dto.ExerciseDto;
+import me.verni.gymplify.dto.TrainingPlanDetailDto;
+import me.verni.gymplify.dto.TrainingPlanDto;
+import me.verni.gymplify.exception.DataAccessExceptionWrapper;
+import me.verni.gymplify.exception.OperationFailedException;
+import oracle.jdbc.OracleConnection;
+import oracle.jdbc.OracleTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+@Repository
+@Profile("!inmemory")
+public class OracleTrainingPlanRepository implements TrainingPlanRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(OracleTrainingPlanRepository.class);
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryMetrics repositoryMetrics;
+
+    private final SimpleJdbcCall createTrainingPlanCall;
+    private final SimpleJdbcCall deleteTrainingPlanCall;
+    private final SimpleJdbcCall updateTrainingPlanCall;
+    private final SimpleJdbcCall getTrainingPlanByIdCall;
+    private final SimpleJdbcCall listAllTrainingPlansCall;
+    private final SimpleJdbcCall addExerciseToPlanCall;
+    private final SimpleJdbcCall removeExerciseFromPlanCall;
+    private final SimpleJdbcCall removeAllExercisesFromPlanCall;
+    private final SimpleJdbcCall getExercisesForPlanCall;
+    private final SimpleJdbcCall getPlanDetailCall;
+
+    private static class TrainingPlanDtoRowMapper implements RowMapper<TrainingPlanDto> {
+        @Override
+        public TrainingPlanDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new TrainingPlanDto(
+                    rs.getLong("PLAN_ID"),
+                    rs.getString("NAME")
+            );
+        }
+    }
+
+    private static class LocalExerciseDtoRowMapper implements RowMapper<ExerciseDto> {
+        @Override
+        public ExerciseDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Long groupId = rs.getObject("GROUP_ID") == null ? null : rs.getLong("GROUP_ID");
+            String groupName = rs.getString("MUSCLE_GROUP_NAME");
+
+            return new ExerciseDto(
+                    rs.getLong("EXERCISE_ID"),
+                    rs.getString("NAME"),
+                    rs.getString("DESCRIPTION"),
+                    groupId,
+                    groupName
+            );
+        }
+    }
+
+    // Składa szczegóły planu z wierszy GetPlanDetail_Proc; pusty kursor oznacza brak planu
+    private static class TrainingPlanDetailExtractor implements ResultSetExtractor<TrainingPlanDetailDto> {
+        @Override
+        public TrainingPlanDetailDto extractData(ResultSet rs) throws SQLException {
+            TrainingPlanDetailDto detail = null;
+            List<ExerciseDto> exercises = new ArrayList<>();
+            TreeSet<String> muscleGroups = new TreeSet<>();
+            while (rs.next()) {
+                if (detail == null) {
+                    detail = new TrainingPlanDetailDto(
+                            rs.getLong("PLAN_ID"),
+                            rs.getString("PLAN_NAME"),
+                            rs.getLong("ASSIGNMENT_COUNT"),
+                            rs.getLong("ASSIGNED_USER_COUNT"),
+                            rs.getLong("ASSIGNED_TRAINER_COUNT"),
+                            null,
+                            null
+                    );
+                }
+                if (rs.getObject("EXERCISE_ID") == null) {
+                    continue;
+                }
+                Long groupId = rs.getObject("GROUP_ID") == null ? null : rs.getLong("GROUP_ID");
+                String groupName = rs.getString("MUSCLE_GROUP_NAME");
+                exercises.add(new ExerciseDto(
+                        rs.getLong("EXERCISE_ID"),
+                        rs.getString("EXERCISE_NAME"),
+                        rs.getString("DESCRIPTION"),
+                        groupId,
+                        groupName
+                ));
+                if (groupName != null) {
+                    muscleGroups.add(groupName);
+                }
+            }
+            if (detail != null) {
+                detail.setExercises(List.copyOf(exercises));
+                detail.setMuscleGroups(List.copyOf(muscleGroups));
+            }
+            return detail;
+        }
+    }
+
+    @Autowired
+    public OracleTrainingPlanRepository(JdbcTemplate jdbcTemplate, JdbcCallRegistry jdbcCallRegistry,
+                                  RepositoryMetrics repositoryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repositoryMetrics = repositoryMetrics;
+        TrainingPlanDtoRowMapper trainingPlanDtoRowMapper = new TrainingPlanDtoRowMapper();
+        LocalExerciseDtoRowMapper exerciseDtoRowMapper = new LocalExerciseDtoRowMapper();
+
+
+        this.createTrainingPlanCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("CreateTrainingPlan")
+                .declareParameters(
+                        new SqlParameter("p_name", Types.VARCHAR),
+                        new SqlOutParameter("p_plan_id", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.deleteTrainingPlanCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("DeleteTrainingPlan")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.updateTrainingPlanCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("UpdateTrainingPlan")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC),
+                        new SqlParameter("p_name", Types.VARCHAR),
+                        new SqlOutParameter("p_saved_name", Types.VARCHAR)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.getTrainingPlanByIdCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("GetTrainingPlanById_Proc")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC),
+                        new SqlOutParameter("p_cursor", OracleTypes.CURSOR, trainingPlanDtoRowMapper)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+
+        this.listAllTrainingPlansCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("ListAllTrainingPlans_Proc")
+                .declareParameters(
+                        new SqlOutParameter("p_cursor", OracleTypes.CURSOR, trainingPlanDtoRowMapper)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.addExerciseToPlanCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("AddExerciseToPlan")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC),
+                        new SqlParameter("p_exercise_id", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.removeExerciseFromPlanCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("RemoveExerciseFromPlan")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC),
+                        new SqlParameter("p_exercise_id", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.removeAllExercisesFromPlanCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("RemoveAllExercisesFromPlan")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.getExercisesForPlanCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("GetExercisesForPlan_Proc")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC),
+                        new SqlOutParameter("p_cursor", OracleTypes.CURSOR, exerciseDtoRowMapper)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.getPlanDetailCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_TRAINING_PLAN_MGMT")
+                .withProcedureName("GetPlanDetail_Proc")
+                .declareParameters(
+                        new SqlParameter("p_plan_id", Types.NUMERIC),
+                        new SqlOutParameter("p_cursor", OracleTypes.CURSOR, new TrainingPlanDetailExtractor())
+                )
+                .withoutProcedureColumnMetaDataAccess();
+    }
+
+    @Override
+    public Long create(String name) {
+        try {
+            Map<String, Object> params = Map.of("p_name", name);
+            Map<String, Object> result = createTrainingPlanCall.execute(params);
+            Object planIdObj = result.get("p_plan_id");
+            if (planIdObj instanceof BigDecimal) {
+                return ((BigDecimal) planIdObj).longValue();
+            } else if (planIdObj instanceof Number) {
+                return ((Number) planIdObj).longValue();
+            }
+            log.error("Procedura CreateTrainingPlan zakończyła się sukcesem, ale nie zwróciła poprawnego ID planu.");
+            throw new OperationFailedException("Tworzenie planu treningowego zakończyło się sukcesem, ale nie zwrócono ID.");
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas tworzenia planu treningowego '{}': {}", name, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() == 1) {
+                    throw new OperationFailedException("Plan treningowy o nazwie '" + name + "' już istnieje.", e);
+                } else if (sqlEx.getErrorCode() >= 20000 && sqlEx.getErrorCode() <= 20999 && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas tworzenia planu treningowego: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteById(Long planId) {
+        try {
+            deleteTrainingPlanCall.execute(Map.of("p_plan_id", planId));
+            log.info("Wywołano DeleteTrainingPlan dla plan_id: {}", planId);
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas usuwania planu treningowego ID {}: {}", planId, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() >= 20000 && sqlEx.getErrorCode() <= 20999 && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas usuwania planu treningowego ID " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public TrainingPlanDto update(Long planId, String newName) {
+        try {
+            Map<String, Object> params = Map.of("p_plan_id", planId, "p_name", newName);
+            Map<String, Object> result = updateTrainingPlanCall.execute(params);
+            log.info("Wywołano UpdateTrainingPlan dla plan_id: {}", planId);
+            Object savedName = result.get("p_saved_name");
+            return new TrainingPlanDto(planId, savedName != null ? savedName.toString() : newName);
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas aktualizacji planu treningowego ID {}: {}", planId, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() == 1) {
+                    throw new OperationFailedException("Plan treningowy o nazwie '" + newName + "' już istnieje.", e);
+                } else if (sqlEx.getErrorCode() >= 20000 && sqlEx.getErrorCode() <= 20999 && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas aktualizacji planu treningowego ID " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<TrainingPlanDto> findById(Long planId) {
+        try {
+            Map<String, Object> inParams = Map.of("p_plan_id", planId);
+            Map<String, Object> result = getTrainingPlanByIdCall.execute(inParams);
+            List<TrainingPlanDto> list = (List<TrainingPlanDto>) result.get("p_cursor");
+            if (list != null && !list.isEmpty()) {
+                return Optional.of(list.get(0));
+            }
+            log.info("Procedura GetTrainingPlanById_Proc nie znalazła planu o ID {}", planId);
+            return Optional.empty();
+        } catch (EmptyResultDataAccessException e) {
+            log.info("Nie znaleziono planu treningowego o ID: {} (EmptyResultDataAccessException)", planId);
+            return Optional.empty();
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas pobierania planu treningowego ID {}: {}", planId, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() == 20300 && sqlEx.getMessage() != null) {
+                    log.info("Procedura GetTrainingPlanById_Proc zgłosiła błąd -20300 dla planu ID {}", planId);
+                    return Optional.empty();
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas pobierania planu treningowego ID " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TrainingPlanDto> findAll() {
+        try {
+            Map<String, Object> result = listAllTrainingPlansCall.execute();
+            List<TrainingPlanDto> plans = (List<TrainingPlanDto>) result.get("p_cursor");
+            return plans != null ? plans : List.of();
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas pobierania wszystkich planów treningowych: {}", e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() >= 20000 && sqlEx.getErrorCode() <= 20999 && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas pobierania wszystkich planów treningowych: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void addExerciseToPlan(Long planId, Long exerciseId) {
+        try {
+            addExerciseToPlanCall.execute(Map.of("p_plan_id", planId, "p_exercise_id", exerciseId));
+            log.info("Wywołano AddExerciseToPlan dla plan_id: {} i exercise_id: {}", planId, exerciseId);
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas dodawania ćwiczenia {} do planu {}: {}", exerciseId, planId, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if ((sqlEx.getErrorCode() == 20300 || sqlEx.getErrorCode() == 20011 || sqlEx.getErrorCode() == 20305) && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                } else if (sqlEx.getErrorCode() == 1) {
+                    throw new OperationFailedException("Ćwiczenie ID " + exerciseId + " jest już w planie ID " + planId + ".", e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas dodawania ćwiczenia " + exerciseId + " do planu " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void removeExerciseFromPlan(Long planId, Long exerciseId) {
+        try {
+            removeExerciseFromPlanCall.execute(Map.of("p_plan_id", planId, "p_exercise_id", exerciseId));
+            log.info("Wywołano RemoveExerciseFromPlan dla plan_id: {} i exercise_id: {}", planId, exerciseId);
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas usuwania ćwiczenia {} z planu {}: {}", exerciseId, planId, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() == 20302 && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas usuwania ćwiczenia " + exerciseId + " z planu " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void removeAllExercisesFromPlan(Long planId) {
+        try {
+            removeAllExercisesFromPlanCall.execute(Map.of("p_plan_id", planId));
+            log.info("Wywołano RemoveAllExercisesFromPlan dla plan_id: {}", planId);
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas usuwania wszystkich ćwiczeń z planu {}: {}", planId, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() == 20300 && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas usuwania wszystkich ćwiczeń z planu " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<TrainingPlanDetailDto> findDetailById(Long planId) {
+        try {
+            Map<String, Object> result = getPlanDetailCall.execute(Map.of("p_plan_id", planId));
+            return Optional.ofNullable((TrainingPlanDetailDto) result.get("p_cursor"));
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas pobierania szczegółów planu treningowego ID {}: {}", planId, e.getMessage());
+            throw new DataAccessExceptionWrapper("Błąd podczas pobierania szczegółów planu treningowego ID " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public PlanExercisesChange setPlanExercises(Long planId, List<Long> exerciseIds) {
+        final String sql = "{call PKG_TRAINING_PLAN_MGMT.SetPlanExercises(?, ?, ?, ?)}";
+        try {
+            return repositoryMetrics.record(sql, () -> jdbcTemplate.execute(
+                    (Connection con) -> {
+                        OracleConnection oracleCon = con.unwrap(OracleConnection.class);
+                        CallableStatement cs = con.prepareCall(sql);
+                        cs.setLong(1, planId);
+                        cs.setArray(2, oracleCon.createOracleArray("PKG_TRAINING_PLAN_MGMT.TY_ID_LIST",
+                                exerciseIds.stream().map(BigDecimal::valueOf).toArray(BigDecimal[]::new)));
+                        cs.registerOutParameter(3, OracleTypes.ARRAY, "PKG_TRAINING_PLAN_MGMT.TY_ID_LIST");
+                        cs.registerOutParameter(4, OracleTypes.ARRAY, "PKG_TRAINING_PLAN_MGMT.TY_ID_LIST");
+                        return cs;
+                    },
+                    (CallableStatement cs) -> {
+                        cs.execute();
+                        return new PlanExercisesChange(toIdList(cs.getArray(3)), toIdList(cs.getArray(4)));
+                    }
+            ));
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas ustawiania ćwiczeń planu {} ({} ćwiczeń): {}", planId, exerciseIds.size(), e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if ((sqlEx.getErrorCode() == 20300 || sqlEx.getErrorCode() == 20011 || sqlEx.getErrorCode() == 20305) && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas ustawiania ćwiczeń planu " + planId + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static List<Long> toIdList(Array sqlArray) throws SQLException {
+        if (sqlArray == null) {
+            return List.of();
+        }
+        try {
+            Object[] values = (Object[]) sqlArray.getArray();
+            List<Long> ids = new ArrayList<>(values.length);
+            for (Object value : values) {
+                ids.add(((Number) value).longValue());
+            }
+            return ids;
+        } finally {
+            sqlArray.free();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ExerciseDto> getExercisesForPlan(Long planId) {
+        try {
+            Map<String, Object> inParams = Map.of("p_plan_id", planId);
+            Map<String, Object> result = getExercisesForPlanCall.execute(inParams);
+            List<ExerciseDto> exercises = (List<ExerciseDto>) result.get("p_cursor");
+            return exercises != null ? exercises : List.of();
+        } catch (DataAccessException e) {
+            log.error("Błąd DataAccessException podczas pobierania ćwiczeń dla planu {}: {}", planId, e.getMessage());
+            if (e.getCause() instanceof SQLException) {
+                SQLException sqlEx = (SQLException) e.getCause();
+                if (sqlEx.getErrorCode() == 20300 && sqlEx.getMessage() != null) {
+                    throw new OperationFailedException(sqlEx.getMessage().split("\n")[0], e);
+                }
+            }
+            throw new DataAccessExceptionWrapper("Błąd podczas pobierania ćwiczeń dla planu " + planId + ": " + e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
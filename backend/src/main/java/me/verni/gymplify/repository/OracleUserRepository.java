@@ -0,0 +1,343 @@
+package me.verni.gymplify.repository;
+
+import me.verni.gymplify.dto.User;
+import me.verni.gymplify.dto.UserAdminViewDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.util.UserAdminViewRowMapper;
+import me.verni.gymplify.util.UserRowMapper;
+import oracle.jdbc.OracleTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.stereotype.Repository;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@Profile("!inmemory")
+public class OracleUserRepository implements UserRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(OracleUserRepository.class);
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpleJdbcCall addUserCall;
+    private final SimpleJdbcCall deleteUserCall;
+    private final SimpleJdbcCall getUserByEmailFuncCall;
+    private final SimpleJdbcCall getAllUsersCall;
+    private final SimpleJdbcCall getUsersPageCall;
+    private final SimpleJdbcCall getUserByIdCall;
+    private final SimpleJdbcCall updateUserRoleCall;
+    private final SimpleJdbcCall updateUserDetailsCall;
+    private final SimpleJdbcCall updateUserPasswordHashCall;
+
+    public OracleUserRepository(JdbcTemplate jdbcTemplate, JdbcCallRegistry jdbcCallRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        UserRowMapper userRowMapper = new UserRowMapper();
+
+        this.addUserCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("AddUser")
+                .declareParameters(
+                        new SqlParameter("p_username", Types.VARCHAR),
+                        new SqlParameter("p_password_hash", Types.VARCHAR),
+                        new SqlParameter("p_email", Types.VARCHAR),
+                        new SqlParameter("p_role", Types.VARCHAR),
+                        new SqlOutParameter("p_user_id", Types.NUMERIC),
+                        new SqlOutParameter("p_user_cursor", OracleTypes.CURSOR, userRowMapper),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.deleteUserCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("DeleteUser")
+                .declareParameters(
+                        new SqlParameter("p_user_id", Types.NUMERIC),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.getUserByEmailFuncCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withFunctionName("GetUserByEmailFunc")
+                .declareParameters(
+                        new SqlOutParameter("return", OracleTypes.CURSOR, userRowMapper),
+                        new SqlParameter("p_email", Types.VARCHAR)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.getAllUsersCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("GetAllUsers")
+                .declareParameters(
+                        new SqlOutParameter("p_users_cursor", OracleTypes.CURSOR, userRowMapper),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.getUsersPageCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("GetUsersPage")
+                .declareParameters(
+                        new SqlParameter("p_after_user_id", Types.NUMERIC),
+                        new SqlParameter("p_page_size", Types.NUMERIC),
+                        new SqlParameter("p_role", Types.VARCHAR),
+                        new SqlParameter("p_email_prefix", Types.VARCHAR),
+                        new SqlOutParameter("p_users_cursor", OracleTypes.CURSOR, new UserAdminViewRowMapper()),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.getUserByIdCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("GetUserById")
+                .declareParameters(
+                        new SqlParameter("p_user_id", Types.NUMERIC),
+                        new SqlOutParameter("p_user_cursor", OracleTypes.CURSOR, userRowMapper),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.updateUserDetailsCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("UpdateUserDetails")
+                .declareParameters(
+                        new SqlParameter("p_user_id", Types.NUMERIC),
+                        new SqlParameter("p_username", Types.VARCHAR),
+                        new SqlParameter("p_email", Types.VARCHAR),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.updateUserRoleCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("UpdateUserRole")
+                .declareParameters(
+                        new SqlParameter("p_user_id", Types.NUMERIC),
+                        new SqlParameter("p_new_role", Types.VARCHAR),
+                        new SqlOutParameter("p_user_cursor", OracleTypes.CURSOR, userRowMapper),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.updateUserPasswordHashCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_USER_MGMT")
+                .withProcedureName("UpdateUserPasswordHash")
+                .declareParameters(
+                        new SqlParameter("p_user_id", Types.NUMERIC),
+                        new SqlParameter("p_password_hash", Types.VARCHAR),
+                        new SqlOutParameter("p_success", Types.BOOLEAN)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+    }
+
+    private boolean checkSuccessFlag(Map<String, Object> result, String procedureName) {
+        Object successObj = result.get("p_success");
+        if (successObj == null) {
+            log.warn("Procedura {} z pakietu PKG_USER_MGMT mogła nie zwrócić flagi p_success.", procedureName);
+            return false;
+        }
+        if (successObj instanceof Boolean) {
+            return (Boolean) successObj;
+        }
+        if (successObj instanceof Number) {
+            return ((Number) successObj).intValue() != 0;
+        }
+        log.error("Procedura {} z pakietu PKG_USER_MGMT zwróciła nieoczekiwany typ dla p_success: {}", procedureName, successObj.getClass().getName());
+        throw new OperationFailedException("Procedura " + procedureName + " zwróciła nieprawidłowy status powodzenia.");
+    }
+
+    // Procedura AddUser sama sprawdza, czy email jest wolny, i zwraca utworzony wiersz w p_user_cursor
+    @Override
+    @SuppressWarnings("unchecked")
+    public User createUser(String username, String passwordHash, String email, String role) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("p_username", username);
+        params.put("p_password_hash", passwordHash);
+        params.put("p_email", email);
+        params.put("p_role", role.toUpperCase());
+        try {
+            Map<String, Object> result = addUserCall.execute(params);
+            if (checkSuccessFlag(result, "AddUser")) {
+                List<User> users = (List<User>) result.get("p_user_cursor");
+                if (users != null && !users.isEmpty()) {
+                    return users.get(0);
+                }
+                log.error("Procedura AddUser z PKG_USER_MGMT zwróciła sukces, ale nie zwróciła utworzonego użytkownika.");
+                throw new OperationFailedException("Procedura AddUser nie zwróciła utworzonego użytkownika.");
+            } else {
+                log.warn("Procedura AddUser z PKG_USER_MGMT zwróciła p_success=false.");
+                throw new OperationFailedException("Nie udało się utworzyć użytkownika (procedura PL/SQL zgłosiła błąd).");
+            }
+        } catch (org.springframework.dao.DataAccessException e) {
+            if (e.getCause() instanceof SQLException sqlEx && sqlEx.getErrorCode() == 20001) {
+                log.warn("Procedura AddUser z PKG_USER_MGMT odrzuciła zajęty email: {}", email);
+                throw new OperationFailedException("Użytkownik z emailem '" + email + "' już istnieje.", e);
+            }
+            log.error("Błąd DataAccessException podczas wywoływania AddUser z PKG_USER_MGMT", e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas tworzenia użytkownika: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean deleteUser(Long userId) {
+        try {
+            Map<String, Object> result = deleteUserCall.execute(Map.of("p_user_id", userId));
+            boolean success = checkSuccessFlag(result, "DeleteUser");
+            if (!success) {
+                log.warn("Procedura DeleteUser z PKG_USER_MGMT zwróciła p_success=false dla ID: {}", userId);
+            }
+            return success;
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania DeleteUser z PKG_USER_MGMT dla ID: {}", userId, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas usuwania użytkownika: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<User> findUserDetailsByEmail(String email) {
+        Map<String, Object> params = Map.of("p_email", email);
+        try {
+            List<User> users = (List<User>) getUserByEmailFuncCall.executeFunction(List.class, params);
+            if (users != null && !users.isEmpty()) {
+                return Optional.of(users.get(0));
+            }
+            return Optional.empty();
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania GetUserByEmailFunc z PKG_USER_MGMT dla email: {}", email, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas wyszukiwania użytkownika po emailu: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<User> findAllUsers() {
+        try {
+            Map<String, Object> result = getAllUsersCall.execute();
+            if (checkSuccessFlag(result, "GetAllUsers")) {
+                List<User> users = (List<User>) result.get("p_users_cursor");
+                return users != null ? users : List.of();
+            } else {
+                log.warn("Procedura GetAllUsers z PKG_USER_MGMT zwróciła p_success=false.");
+                throw new OperationFailedException("Nie udało się pobrać wszystkich użytkowników (procedura PL/SQL zgłosiła błąd).");
+            }
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania GetAllUsers z PKG_USER_MGMT", e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas pobierania użytkowników: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UserAdminViewDto> findUsersPage(Long afterUserId, int limit, String role, String emailPrefix) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("p_after_user_id", afterUserId);
+        params.put("p_page_size", limit);
+        params.put("p_role", role);
+        params.put("p_email_prefix", emailPrefix);
+        try {
+            Map<String, Object> result = getUsersPageCall.execute(params);
+            if (checkSuccessFlag(result, "GetUsersPage")) {
+                List<UserAdminViewDto> users = (List<UserAdminViewDto>) result.get("p_users_cursor");
+                return users != null ? users : List.of();
+            } else {
+                log.warn("Procedura GetUsersPage z PKG_USER_MGMT zwróciła p_success=false.");
+                throw new OperationFailedException("Nie udało się pobrać strony użytkowników (procedura PL/SQL zgłosiła błąd).");
+            }
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania GetUsersPage z PKG_USER_MGMT (afterUserId={})", afterUserId, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas pobierania strony użytkowników: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<User> findUserById(Long userId) {
+        Map<String, Object> params = Map.of("p_user_id", userId);
+        try {
+            Map<String, Object> result = getUserByIdCall.execute(params);
+            if (checkSuccessFlag(result, "GetUserById")) {
+                List<User> users = (List<User>) result.get("p_user_cursor");
+                if (users != null && !users.isEmpty()) {
+                    return Optional.of(users.get(0));
+                }
+            }
+            log.info("Procedura GetUserById z PKG_USER_MGMT nie znalazła użytkownika o ID {} lub zwróciła p_success=false.", userId);
+            return Optional.empty();
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania GetUserById z PKG_USER_MGMT dla ID: {}", userId, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas pobierania użytkownika o ID " + userId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean updateUserDetails(Long userId, String username, String email) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("p_user_id", userId);
+        params.put("p_username", username);
+        params.put("p_email", email);
+        try {
+            Map<String, Object> result = updateUserDetailsCall.execute(params);
+            boolean success = checkSuccessFlag(result, "UpdateUserDetails");
+            if(!success) {
+                log.warn("Procedura UpdateUserDetails z PKG_USER_MGMT zwróciła p_success=false dla ID: {}", userId);
+            }
+            return success;
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania UpdateUserDetails z PKG_USER_MGMT dla ID: {}", userId, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas aktualizacji danych użytkownika: " + e.getMessage(), e);
+        }
+    }
+
+    // Zwraca użytkownika po zmianie roli; pusty wynik oznacza, że użytkownik nie istnieje
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<User> updateUserRole(Long userId, String newRole) {
+        Map<String, Object> params = Map.of(
+                "p_user_id", userId,
+                "p_new_role", newRole.toUpperCase()
+        );
+        try {
+            Map<String, Object> result = updateUserRoleCall.execute(params);
+            if (checkSuccessFlag(result, "UpdateUserRole")) {
+                List<User> users = (List<User>) result.get("p_user_cursor");
+                if (users != null && !users.isEmpty()) {
+                    return Optional.of(users.get(0));
+                }
+            }
+            log.warn("Procedura UpdateUserRole z PKG_USER_MGMT zwróciła p_success=false dla ID: {}", userId);
+            return Optional.empty();
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania UpdateUserRole z PKG_USER_MGMT dla ID: {}", userId, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas aktualizacji roli użytkownika: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean updateUserPasswordHash(Long userId, String passwordHash) {
+        Map<String, Object> params = Map.of(
+                "p_user_id", userId,
+                "p_password_hash", passwordHash
+        );
+        try {
+            Map<String, Object> result = updateUserPasswordHashCall.execute(params);
+            boolean success = checkSuccessFlag(result, "UpdateUserPasswordHash");
+            if (!success) {
+                log.warn("Procedura UpdateUserPasswordHash z PKG_USER_MGMT zwróciła p_success=false dla ID: {}", userId);
+            }
+            return success;
+        } catch (org.springframework.dao.DataAccessException e) {
+            log.error("Błąd DataAccessException podczas wywoływania UpdateUserPasswordHash z PKG_USER_MGMT dla ID: {}", userId, e);
+            throw new OperationFailedException("Błąd dostępu do danych podczas aktualizacji hasha hasła użytkownika: " + e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package me.verni.gymplify.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Times every PL/SQL call made by the repositories and publishes it to Micrometer.
+ * <p>
+ * {@value #CALL_TIMER} is a latency histogram tagged with the Oracle package, the procedure, the
+ * outcome and the error ({@code ORA-20xxx} for application errors raised by the packages, the
+ * {@code ORA-} code or the exception type otherwise). {@value #ROWS_SUMMARY} records how many rows
+ * a call returned, counted from the collections in its result. Calls made through
+ * {@link JdbcCallRegistry} are instrumented automatically; hand-written {@code CallableStatement}
+ * calls are wrapped in {@link #record}. Time spent waiting for a connection is included and is
+ * reported separately by the Hikari {@code hikaricp.connections.acquire} timer.
+ */
+@Component
+public class RepositoryMetrics {
+
+    static final String CALL_TIMER = "gymplify.repository.calls";
+    static final String ROWS_SUMMARY = "gymplify.repository.rows";
+
+    private static final String NO_ERROR = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ProcedureMeters> meters = new ConcurrentHashMap<>();
+
+    private record ProcedureMeters(Tags tags, Timer success, DistributionSummary rows) {
+    }
+
+    public RepositoryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code call} as the given procedure; {@code procedure} may be the qualified name
+     * ({@code PKG_X.Proc}) or the JDBC escape SQL ({@code {call PKG_X.Proc(?, ?)}}).
+     */
+    public <T> T record(String procedure, Supplier<T> call) {
+        return record(procedure, call, RepositoryMetrics::countRows);
+    }
+
+    public <T> T record(String procedure, Supplier<T> call, ToLongFunction<? super T> rowCounter) {
+        ProcedureMeters procedureMeters = meters.computeIfAbsent(procedure, this::register);
+        long startedAt = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            errorTimer(procedureMeters, errorCode(e)).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        procedureMeters.success().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        long rows = rowCounter.applyAsLong(result);
+        if (rows >= 0) {
+            procedureMeters.rows().record(rows);
+        }
+        return result;
+    }
+
+    private ProcedureMeters register(String procedure) {
+        String name = procedureName(procedure);
+        int dot = name.lastIndexOf('.');
+        Tags tags = Tags.of("package", dot > 0 ? name.substring(0, dot) : "",
+                "procedure", dot > 0 ? name.substring(dot + 1) : name);
+        return new ProcedureMeters(tags, callTimer(tags, "success", NO_ERROR),
+                DistributionSummary.builder(ROWS_SUMMARY)
+                        .description("Liczba wierszy zwróconych przez wywołanie procedury")
+                        .baseUnit("rows")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+
+    private Timer errorTimer(ProcedureMeters procedureMeters, String error) {
+        return callTimer(procedureMeters.tags(), "error", error);
+    }
+
+    private Timer callTimer(Tags tags, String outcome, String error) {
+        return Timer.builder(CALL_TIMER)
+                .description("Czas wywołania procedury PL/SQL przez repozytorium")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .tag("error", error)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String procedureName(String procedure) {
+        String name = procedure.trim();
+        int call = name.toLowerCase().indexOf("call ");
+        if (call >= 0) {
+            name = name.substring(call + "call ".length()).trim();
+        }
+        int end = 0;
+        while (end < name.length() && (Character.isLetterOrDigit(name.charAt(end)) || name.charAt(end) == '_'
+                || name.charAt(end) == '.' || name.charAt(end) == '$')) {
+            end++;
+        }
+        return end > 0 ? name.substring(0, end) : name;
+    }
+
+    static String errorCode(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlEx && sqlEx.getErrorCode() > 0) {
+                return String.format("ORA-%05d", sqlEx.getErrorCode());
+            }
+            if (cause == cause.getCause()) {
+                break;
+            }
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    // Wiersze liczone są tylko z kolekcji; wynik bez kolekcji (np. nowe ID) nie jest rejestrowany
+    static long countRows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map<?, ?> outParameters) {
+            long rows = -1;
+            for (Object value : outParameters.values()) {
+                if (value instanceof Collection<?> collection) {
+                    rows = Math.max(rows, 0) + collection.size();
+                }
+            }
+            return rows;
+        }
+        return -1;
+    }
+}
@@ -39,6 +39,7 @@ public class StatisticsRepository {
     private final SimpleJdbcCall getOverallSystemActivityCountsCall;
     private final SimpleJdbcCall getExerciseCountByMuscleGroupCall;
     private final SimpleJdbcCall getMostAssignedTrainingPlansCall;
+    private final SimpleJdbcCall reconcileCountersCall;
 
 
     private static class RoleStatDtoRowMapper implements RowMapper<RoleStatDto> {
@@ -110,21 +111,26 @@ public class StatisticsRepository {
 
 
     @Autowired
-    public StatisticsRepository(JdbcTemplate jdbcTemplate) {
+    public StatisticsRepository(JdbcTemplate jdbcTemplate, JdbcCallRegistry jdbcCallRegistry) {
         this.jdbcTemplate = jdbcTemplate;
 
-        this.getTotalUserCountCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getTotalUserCountCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
-                .withFunctionName("GetTotalUserCount");
+                .withFunctionName("GetTotalUserCount")
+                .declareParameters(
+                        new SqlOutParameter("return", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
 
-        this.getUserCountByRoleTypedCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getUserCountByRoleTypedCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withFunctionName("GetUserCountByRole_Typed")
                 .declareParameters(
                         new SqlOutParameter("return", OracleTypes.CURSOR, new RoleStatDtoRowMapper())
-                );
+                )
+                .withoutProcedureColumnMetaDataAccess();
 
-        this.getNewUsersByPeriodCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getNewUsersByPeriodCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withProcedureName("GetNewUsersByPeriod")
                 .declareParameters(
@@ -132,56 +138,77 @@ public class StatisticsRepository {
                         new SqlParameter("p_end_date", Types.DATE),
                         new SqlOutParameter("p_new_user_stats", OracleTypes.CURSOR, new NewUserStatDtoRowMapper()),
                         new SqlOutParameter("p_success", Types.NUMERIC)
-                );
-        this.getTotalTrainerCountCall = new SimpleJdbcCall(jdbcTemplate)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+        this.getTotalTrainerCountCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
-                .withFunctionName("GetTotalTrainerCount");
+                .withFunctionName("GetTotalTrainerCount")
+                .declareParameters(
+                        new SqlOutParameter("return", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
 
-        this.getTrainerCountBySpecializationTypedCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getTrainerCountBySpecializationTypedCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withFunctionName("GetTrainerCountBySpecialization_Typed")
                 .declareParameters(
                         new SqlOutParameter("return", OracleTypes.CURSOR, new SpecializationStatDtoRowMapper())
-                );
-        this.getTrainerWorkloadStatsTypedCall = new SimpleJdbcCall(jdbcTemplate)
+                )
+                .withoutProcedureColumnMetaDataAccess();
+        this.getTrainerWorkloadStatsTypedCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withFunctionName("GetTrainerWorkloadStats_Typed")
                 .declareParameters(
                         new SqlOutParameter("return", OracleTypes.CURSOR, new TrainerWorkloadDtoRowMapper())
-                );
+                )
+                .withoutProcedureColumnMetaDataAccess();
 
-        this.getExerciseCountByMuscleGroupCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getExerciseCountByMuscleGroupCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withProcedureName("GetExerciseCountByMuscleGroup")
                 .declareParameters(
                         new SqlOutParameter("p_exercise_muscle_group_stats", OracleTypes.CURSOR, new ExerciseCountByMuscleGroupDtoRowMapper()),
                         new SqlOutParameter("p_success", Types.NUMERIC)
-                );
+                )
+                .withoutProcedureColumnMetaDataAccess();
 
-        this.getMostPopularExercisesInPlansTypedCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getMostPopularExercisesInPlansTypedCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withFunctionName("GetMostPopularExercisesInPlans_Typed")
                 .declareParameters(
-                        new SqlParameter("p_top_n", Types.NUMERIC),
-                        new SqlOutParameter("return", OracleTypes.CURSOR, new ExercisePopularityDtoRowMapper())
-                );
+                        // Bez metadanych wartość zwracana funkcji musi być zadeklarowana jako pierwsza
+                        new SqlOutParameter("return", OracleTypes.CURSOR, new ExercisePopularityDtoRowMapper()),
+                        new SqlParameter("p_top_n", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
 
-        this.getMostAssignedTrainingPlansCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getMostAssignedTrainingPlansCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withProcedureName("GetMostAssignedTrainingPlans")
                 .declareParameters(
                         new SqlParameter("p_top_n", Types.NUMERIC),
                         new SqlOutParameter("p_popular_plans", OracleTypes.CURSOR, new PopularPlanDtoRowMapper()),
                         new SqlOutParameter("p_success", Types.NUMERIC)
-                );
+                )
+                .withoutProcedureColumnMetaDataAccess();
 
-        this.getOverallSystemActivityCountsCall = new SimpleJdbcCall(jdbcTemplate)
+        this.getOverallSystemActivityCountsCall = jdbcCallRegistry.create()
                 .withCatalogName("PKG_APP_STATISTICS")
                 .withProcedureName("GetOverallSystemActivityCounts")
                 .declareParameters(
                         new SqlOutParameter("p_activity_counts", OracleTypes.CURSOR, new SystemActivityCountDtoRowMapper()),
                         new SqlOutParameter("p_success", Types.NUMERIC)
-                );
+                )
+                .withoutProcedureColumnMetaDataAccess();
+
+        this.reconcileCountersCall = jdbcCallRegistry.create()
+                .withCatalogName("PKG_APP_COUNTERS")
+                .withProcedureName("Reconcile")
+                .declareParameters(
+                        new SqlOutParameter("p_total_drift", Types.NUMERIC),
+                        new SqlOutParameter("p_success", Types.NUMERIC)
+                )
+                .withoutProcedureColumnMetaDataAccess();
     }
 
     private boolean checkSuccessFlag(Map<String, Object> result, String procedureName) {
@@ -323,4 +350,18 @@ public class StatisticsRepository {
             throw new OperationFailedException("Data error fetching overall system activity counts: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    public Optional<Long> reconcileCounters() {
+        try {
+            Map<String, Object> result = reconcileCountersCall.execute();
+            if (checkSuccessFlag(result, "Reconcile")) {
+                Number drift = (Number) result.get("p_total_drift");
+                return Optional.of(drift != null ? drift.longValue() : 0L);
+            }
+            return Optional.empty();
+        } catch (DataAccessException e) {
+            log.error("Error reconciling statistics counters", e);
+            throw new OperationFailedException("Data error reconciling statistics counters: " + e.getMessage(), e);
+        }
+    }
+}
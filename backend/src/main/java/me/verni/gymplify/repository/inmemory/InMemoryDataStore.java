@@ -0,0 +1,124 @@
+package me.verni.gymplify.repository.inmemory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Tables of the {@code inmemory} profile, shared by the in-memory repositories so that joins and
+ * cascades (deleting a user removes their trainer profile, sessions and personal plans) behave
+ * like the Oracle schema. Rows are immutable records replaced on update. Writes are serialised by
+ * one write lock, standing in for the row locks the PL/SQL packages take; reads share the read
+ * lock, so a reader never sees half of a cascade.
+ */
+@Component
+@Profile("inmemory")
+public class InMemoryDataStore {
+
+    record UserRow(Long userId, String username, String passwordHash, String email, String role,
+                   LocalDateTime createdAt) {
+    }
+
+    record TrainerRow(Long trainerId, Long userId, String name, String surname, String specialization,
+                      String contact) {
+    }
+
+    record MuscleGroupRow(Long groupId, String groupName, String description) {
+    }
+
+    record ExerciseRow(Long exerciseId, String name, String description, Long groupId) {
+    }
+
+    record TrainingPlanRow(Long planId, String name) {
+    }
+
+    record PersonalPlanRow(Long personalPlanId, Long userId, Long trainerId, Long planId) {
+    }
+
+    record TrainerSessionRow(Long scheduleId, Long trainerId, LocalDate sessionDate, LocalDateTime startTime,
+                             LocalDateTime endTime) {
+    }
+
+    final Map<Long, UserRow> users = new ConcurrentHashMap<>();
+    final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+    final Map<Long, TrainerRow> trainers = new ConcurrentHashMap<>();
+    final Map<Long, MuscleGroupRow> muscleGroups = new ConcurrentHashMap<>();
+    final Map<Long, ExerciseRow> exercises = new ConcurrentHashMap<>();
+    final Map<Long, TrainingPlanRow> trainingPlans = new ConcurrentHashMap<>();
+    // training_exercise: plan_id -> exercise_id
+    final Map<Long, Set<Long>> planExercises = new ConcurrentHashMap<>();
+    final Map<Long, PersonalPlanRow> personalPlans = new ConcurrentHashMap<>();
+    final Map<Long, TrainerSessionRow> trainerSessions = new ConcurrentHashMap<>();
+
+    final AtomicLong userSequence = new AtomicLong();
+    final AtomicLong trainerSequence = new AtomicLong();
+    final AtomicLong muscleGroupSequence = new AtomicLong();
+    final AtomicLong exerciseSequence = new AtomicLong();
+    final AtomicLong trainingPlanSequence = new AtomicLong();
+    final AtomicLong personalPlanSequence = new AtomicLong();
+    final AtomicLong trainerSessionSequence = new AtomicLong();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    <T> T write(Supplier<T> change) {
+        lock.writeLock().lock();
+        try {
+            return change.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Odpowiedniki kaskadowych DELETE z pakietów PL/SQL; wywoływane pod blokadą zapisu
+
+    void deleteTrainerCascade(Long trainerId) {
+        trainerSessions.values().removeIf(session -> session.trainerId().equals(trainerId));
+        personalPlans.values().removeIf(plan -> trainerId.equals(plan.trainerId()));
+        trainers.remove(trainerId);
+    }
+
+    void deleteUserCascade(Long userId) {
+        trainers.values().stream()
+                .filter(trainer -> trainer.userId().equals(userId))
+                .map(TrainerRow::trainerId)
+                .toList()
+                .forEach(this::deleteTrainerCascade);
+        personalPlans.values().removeIf(plan -> plan.userId().equals(userId));
+        UserRow removed = users.remove(userId);
+        if (removed != null) {
+            userIdsByEmail.remove(removed.email());
+        }
+    }
+
+    void deleteExerciseCascade(Long exerciseId) {
+        planExercises.values().forEach(exerciseIds -> exerciseIds.remove(exerciseId));
+        exercises.remove(exerciseId);
+    }
+
+    void deleteTrainingPlanCascade(Long planId) {
+        planExercises.remove(planId);
+        personalPlans.values().removeIf(plan -> plan.planId().equals(planId));
+        trainingPlans.remove(planId);
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,131 @@
+package me.verni.gymplify.repository.inmemory;
+
+import me.verni.gymplify.dto.ExerciseDto;
+import me.verni.gymplify.dto.ExerciseRequestDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.ExerciseRepository;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.ExerciseRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.MuscleGroupRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Map-backed {@link ExerciseRepository} for the {@code inmemory} profile, following
+ * {@code PKG_EXERCISE_MGMT}: an exercise needs a trimmed name of at most 255 characters and an
+ * existing muscle group, and deleting it removes it from every training plan.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryExerciseRepository implements ExerciseRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryExerciseRepository.class);
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 4000;
+
+    private final InMemoryDataStore store;
+
+    public InMemoryExerciseRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<ExerciseDto> findAll() {
+        return store.read(() -> store.exercises.values().stream()
+                .sorted(Comparator.comparing(ExerciseRow::name))
+                .map(this::toDto)
+                .toList());
+    }
+
+    @Override
+    public Optional<ExerciseDto> findById(Long id) {
+        return store.read(() -> Optional.ofNullable(id == null ? null : store.exercises.get(id)).map(this::toDto));
+    }
+
+    @Override
+    public List<ExerciseDto> findByMuscleGroupId(Long groupId) {
+        List<ExerciseDto> exercises = store.read(() -> {
+            if (groupId == null || !store.muscleGroups.containsKey(groupId)) {
+                return null;
+            }
+            return store.exercises.values().stream()
+                    .filter(exercise -> groupId.equals(exercise.groupId()))
+                    .sorted(Comparator.comparing(ExerciseRow::name))
+                    .map(this::toDto)
+                    .toList();
+        });
+        if (exercises == null) {
+            log.warn("Grupa mięśniowa ID: {} nie istnieje.", groupId);
+            throw new OperationFailedException("Nie udało się pobrać ćwiczeń dla grupy mięśniowej ID " + groupId + " (procedura z pakietu zgłosiła błąd lub grupa nie istnieje).");
+        }
+        return exercises;
+    }
+
+    @Override
+    public Long save(ExerciseRequestDto requestDto) {
+        Long exerciseId = store.write(() -> {
+            if (!isValid(requestDto)) {
+                return null;
+            }
+            Long newId = store.exerciseSequence.incrementAndGet();
+            store.exercises.put(newId, new ExerciseRow(newId, requestDto.getName().trim(),
+                    requestDto.getDescription(), requestDto.getGroupId()));
+            return newId;
+        });
+        if (exerciseId == null) {
+            log.warn("Dodanie ćwiczenia '{}' odrzucone przez walidację.", requestDto.getName());
+            throw new OperationFailedException("Nie udało się dodać ćwiczenia. Procedura PL/SQL z pakietu zgłosiła błąd walidacji lub wewnętrzny.");
+        }
+        return exerciseId;
+    }
+
+    @Override
+    public boolean update(Long id, ExerciseRequestDto requestDto) {
+        boolean success = store.write(() -> {
+            if (id == null || !store.exercises.containsKey(id) || !isValid(requestDto)) {
+                return false;
+            }
+            store.exercises.put(id, new ExerciseRow(id, requestDto.getName().trim(),
+                    requestDto.getDescription(), requestDto.getGroupId()));
+            return true;
+        });
+        if (!success) {
+            log.warn("Aktualizacja ćwiczenia ID: {} odrzucona (np. ćwiczenie lub grupa nie istnieje).", id);
+        }
+        return success;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        boolean success = store.write(() -> {
+            if (id == null || !store.exercises.containsKey(id)) {
+                return false;
+            }
+            store.deleteExerciseCascade(id);
+            return true;
+        });
+        if (!success) {
+            log.warn("Usunięcie ćwiczenia ID: {} odrzucone (np. ćwiczenie nie istnieje).", id);
+        }
+        return success;
+    }
+
+    private boolean isValid(ExerciseRequestDto requestDto) {
+        return !InMemoryDataStore.isBlank(requestDto.getName())
+                && requestDto.getName().trim().length() <= MAX_NAME_LENGTH
+                && (requestDto.getDescription() == null || requestDto.getDescription().length() <= MAX_DESCRIPTION_LENGTH)
+                && requestDto.getGroupId() != null
+                && store.muscleGroups.containsKey(requestDto.getGroupId());
+    }
+
+    private ExerciseDto toDto(ExerciseRow row) {
+        MuscleGroupRow group = row.groupId() == null ? null : store.muscleGroups.get(row.groupId());
+        return new ExerciseDto(row.exerciseId(), row.name(), row.description(), row.groupId(),
+                group != null ? group.groupName() : null);
+    }
+}
@@ -0,0 +1,113 @@
+package me.verni.gymplify.repository.inmemory;
+
+import me.verni.gymplify.dto.MuscleGroupDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.MuscleGroupRepository;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.MuscleGroupRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Map-backed {@link MuscleGroupRepository} for the {@code inmemory} profile, following
+ * {@code PKG_MUSCLE_GROUP_MGMT}: names are trimmed, unique and at most 255 characters, and a group
+ * with exercises cannot be deleted.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryMuscleGroupRepository implements MuscleGroupRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryMuscleGroupRepository.class);
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final InMemoryDataStore store;
+
+    public InMemoryMuscleGroupRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<MuscleGroupDto> findAll() {
+        return store.read(() -> store.muscleGroups.values().stream()
+                .sorted(Comparator.comparing(MuscleGroupRow::groupName))
+                .map(InMemoryMuscleGroupRepository::toDto)
+                .toList());
+    }
+
+    @Override
+    public Optional<MuscleGroupDto> findById(Long id) {
+        return store.read(() -> Optional.ofNullable(id == null ? null : store.muscleGroups.get(id))
+                .map(InMemoryMuscleGroupRepository::toDto));
+    }
+
+    @Override
+    public Long save(String groupName, String description) {
+        Long groupId = store.write(() -> {
+            if (!isValidName(groupName) || isNameTaken(groupName.trim(), null)) {
+                return null;
+            }
+            Long newId = store.muscleGroupSequence.incrementAndGet();
+            store.muscleGroups.put(newId, new MuscleGroupRow(newId, groupName.trim(), description));
+            return newId;
+        });
+        if (groupId == null) {
+            log.warn("Dodanie grupy mięśniowej '{}' odrzucone (pusta, zbyt długa lub zduplikowana nazwa).", groupName);
+            throw new OperationFailedException("Nie udało się dodać grupy mięśniowej. Procedura PL/SQL z pakietu zgłosiła błąd (możliwy duplikat nazwy: '" + groupName + "').");
+        }
+        return groupId;
+    }
+
+    @Override
+    public boolean update(Long id, String groupName, String description) {
+        boolean success = store.write(() -> {
+            if (id == null || !store.muscleGroups.containsKey(id) || !isValidName(groupName)
+                    || isNameTaken(groupName.trim(), id)) {
+                return false;
+            }
+            store.muscleGroups.put(id, new MuscleGroupRow(id, groupName.trim(), description));
+            return true;
+        });
+        if (!success) {
+            log.warn("Aktualizacja grupy mięśniowej ID: {} odrzucona (np. grupa nie istnieje lub nazwa zduplikowana).", id);
+        }
+        return success;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        boolean success = store.write(() -> {
+            if (id == null || !store.muscleGroups.containsKey(id)) {
+                return false;
+            }
+            boolean hasExercises = store.exercises.values().stream().anyMatch(exercise -> id.equals(exercise.groupId()));
+            if (hasExercises) {
+                return false;
+            }
+            store.muscleGroups.remove(id);
+            return true;
+        });
+        if (!success) {
+            log.warn("Usunięcie grupy mięśniowej ID: {} odrzucone (np. grupa nie istnieje lub ma powiązane ćwiczenia).", id);
+        }
+        return success;
+    }
+
+    private boolean isValidName(String groupName) {
+        return !InMemoryDataStore.isBlank(groupName) && groupName.trim().length() <= MAX_NAME_LENGTH;
+    }
+
+    // Odpowiednik UNIQUE(group_name)
+    private boolean isNameTaken(String groupName, Long excludedId) {
+        return store.muscleGroups.values().stream()
+                .anyMatch(group -> group.groupName().equals(groupName) && !group.groupId().equals(excludedId));
+    }
+
+    static MuscleGroupDto toDto(MuscleGroupRow row) {
+        return new MuscleGroupDto(row.groupId(), row.groupName(), row.description());
+    }
+}
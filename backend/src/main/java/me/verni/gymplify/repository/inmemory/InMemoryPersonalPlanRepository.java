@@ -0,0 +1,204 @@
+package me.verni.gymplify.repository.inmemory;
+
+import me.verni.gymplify.dto.PersonalPlanDto;
+import me.verni.gymplify.dto.UserInPersonalPlanDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.PersonalPlanRepository;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.PersonalPlanRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.TrainerRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.TrainingPlanRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.UserRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Map-backed {@link PersonalPlanRepository} for the {@code inmemory} profile, following
+ * {@code PKG_PERSONAL_PLAN_MGMT}: only users with role {@code USER} get plans, and a user's plans
+ * all come from one trainer. Errors carry the package messages without the {@code ORA-} prefix,
+ * as {@link me.verni.gymplify.repository.OraclePersonalPlanRepository} reports them.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryPersonalPlanRepository implements PersonalPlanRepository {
+
+    private static final String PLAN_HOLDER_ROLE = "USER";
+
+    private final InMemoryDataStore store;
+
+    public InMemoryPersonalPlanRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Long assignPlanToUser(Long trainerId, Long userId, Long planId) {
+        return store.write(() -> {
+            validateEntities(userId, trainerId, planId, true, true);
+            return insert(userId, trainerId, planId);
+        });
+    }
+
+    @Override
+    public List<PersonalPlanDto> assignPlanToUsersBulk(Long trainerId, Long planId, List<Long> userIds) {
+        return store.write(() -> {
+            validateEntities(null, trainerId, planId, false, false);
+            // Jak w pakiecie: najpierw walidacja całej partii, potem wstawienie w kolejności rosnących ID
+            TreeSet<Long> distinctUserIds = new TreeSet<>(userIds);
+            for (Long userId : distinctUserIds) {
+                validateEntities(userId, trainerId, null, true, true);
+            }
+            List<PersonalPlanDto> created = new ArrayList<>(distinctUserIds.size());
+            for (Long userId : distinctUserIds) {
+                created.add(toDto(store.personalPlans.get(insert(userId, trainerId, planId))));
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public void unassignPersonalPlanById(Long personalPlanId) {
+        store.write(() -> {
+            if (personalPlanId == null || store.personalPlans.remove(personalPlanId) == null) {
+                throw personalPlanNotFound(personalPlanId);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void unassignPlanFromUser(Long userId, Long planId, Long trainerId) {
+        store.write(() -> {
+            validateEntities(userId, trainerId, planId, false, false);
+            boolean removed = store.personalPlans.values().removeIf(assignment ->
+                    assignment.userId().equals(userId)
+                            && assignment.planId().equals(planId)
+                            && (trainerId == null || trainerId.equals(assignment.trainerId())));
+            if (!removed) {
+                throw new OperationFailedException("Nie znaleziono przypisania planu ID " + planId
+                        + " dla użytkownika ID " + userId
+                        + (trainerId != null ? " przez trenera ID " + trainerId : "")
+                        + " do usunięcia.");
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void updatePersonalPlanAssignment(Long personalPlanId, Long newTrainerId, Long newPlanId) {
+        store.write(() -> {
+            PersonalPlanRow current = personalPlanId == null ? null : store.personalPlans.get(personalPlanId);
+            if (current == null) {
+                throw personalPlanNotFound(personalPlanId);
+            }
+            validateEntities(current.userId(), newTrainerId, newPlanId, false, true);
+            store.personalPlans.put(personalPlanId,
+                    new PersonalPlanRow(personalPlanId, current.userId(), newTrainerId, newPlanId));
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<PersonalPlanDto> getPersonalPlanById(Long personalPlanId) {
+        return store.read(() -> Optional.ofNullable(personalPlanId == null ? null : store.personalPlans.get(personalPlanId))
+                .map(this::toDto));
+    }
+
+    @Override
+    public List<PersonalPlanDto> getPersonalPlansForUser(Long userId) {
+        return store.read(() -> {
+            validateEntities(userId, null, null, false, false);
+            return store.personalPlans.values().stream()
+                    .filter(assignment -> assignment.userId().equals(userId))
+                    .map(this::toDto)
+                    .sorted(Comparator.comparing(PersonalPlanDto::getPlanName, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
+        });
+    }
+
+    @Override
+    public List<UserInPersonalPlanDto> getUsersForPersonalPlanByPlanId(Long planId) {
+        return store.read(() -> {
+            validateEntities(null, null, planId, false, false);
+            return store.personalPlans.values().stream()
+                    .filter(assignment -> assignment.planId().equals(planId))
+                    .map(this::toUserInPlanDto)
+                    .sorted(Comparator.comparing(UserInPersonalPlanDto::getUsername, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
+        });
+    }
+
+    @Override
+    public List<PersonalPlanDto> listAllPersonalPlans() {
+        return store.read(() -> store.personalPlans.values().stream()
+                .map(this::toDto)
+                .sorted(Comparator.comparing(PersonalPlanDto::getUsername, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(PersonalPlanDto::getPlanName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList());
+    }
+
+    // Odpowiednik fn_validate_entities: sprawdzane są tylko przekazane (niepuste) identyfikatory
+    private void validateEntities(Long userId, Long trainerId, Long planId, boolean checkUserRole,
+                                  boolean enforceSingleTrainer) {
+        if (userId != null) {
+            UserRow user = store.users.get(userId);
+            if (user == null) {
+                throw new OperationFailedException("Użytkownik o ID " + userId + " nie istnieje.");
+            }
+            if (checkUserRole && !PLAN_HOLDER_ROLE.equals(user.role())) {
+                throw new OperationFailedException("Użytkownik o ID " + userId + " ma nieprawidłową rolę (" + user.role()
+                        + ") i nie może mieć przypisanego planu osobistego.");
+            }
+        }
+        if (trainerId != null && !store.trainers.containsKey(trainerId)) {
+            throw new OperationFailedException("Trener o ID " + trainerId + " nie istnieje.");
+        }
+        if (planId != null && !store.trainingPlans.containsKey(planId)) {
+            throw new OperationFailedException("Plan treningowy o ID " + planId + " nie istnieje.");
+        }
+        if (userId != null && trainerId != null && enforceSingleTrainer) {
+            Optional<Long> existingTrainerId = store.personalPlans.values().stream()
+                    .filter(assignment -> assignment.userId().equals(userId))
+                    .map(PersonalPlanRow::trainerId)
+                    .filter(Objects::nonNull)
+                    .filter(otherTrainerId -> !otherTrainerId.equals(trainerId))
+                    .max(Comparator.naturalOrder());
+            if (existingTrainerId.isPresent()) {
+                throw new OperationFailedException("Użytkownik ID " + userId + " ma już przypisany plan od innego trenera (ID "
+                        + existingTrainerId.get() + "). Nie można przypisać planu od trenera ID " + trainerId + ".");
+            }
+        }
+    }
+
+    private Long insert(Long userId, Long trainerId, Long planId) {
+        Long personalPlanId = store.personalPlanSequence.incrementAndGet();
+        store.personalPlans.put(personalPlanId, new PersonalPlanRow(personalPlanId, userId, trainerId, planId));
+        return personalPlanId;
+    }
+
+    private static OperationFailedException personalPlanNotFound(Long personalPlanId) {
+        return new OperationFailedException("Personalny plan o ID " + personalPlanId + " nie istnieje.");
+    }
+
+    private PersonalPlanDto toDto(PersonalPlanRow row) {
+        UserRow user = store.users.get(row.userId());
+        TrainerRow trainer = row.trainerId() == null ? null : store.trainers.get(row.trainerId());
+        TrainingPlanRow plan = store.trainingPlans.get(row.planId());
+        return new PersonalPlanDto(row.personalPlanId(), row.userId(), user != null ? user.username() : null,
+                row.trainerId(), trainer != null ? trainer.name() : null, trainer != null ? trainer.surname() : null,
+                row.planId(), plan != null ? plan.name() : null);
+    }
+
+    private UserInPersonalPlanDto toUserInPlanDto(PersonalPlanRow row) {
+        UserRow user = store.users.get(row.userId());
+        TrainerRow trainer = row.trainerId() == null ? null : store.trainers.get(row.trainerId());
+        return new UserInPersonalPlanDto(row.personalPlanId(), row.userId(), user != null ? user.username() : null,
+                user != null ? user.email() : null, row.trainerId(), trainer != null ? trainer.name() : null,
+                trainer != null ? trainer.surname() : null);
+    }
+}
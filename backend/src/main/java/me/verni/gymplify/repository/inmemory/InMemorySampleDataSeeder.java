@@ -0,0 +1,152 @@
+package me.verni.gymplify.repository.inmemory;
+
+import jakarta.annotation.PostConstruct;
+import me.verni.gymplify.dto.ExerciseRequestDto;
+import me.verni.gymplify.dto.User;
+import me.verni.gymplify.repository.ExerciseRepository;
+import me.verni.gymplify.repository.MuscleGroupRepository;
+import me.verni.gymplify.repository.PersonalPlanRepository;
+import me.verni.gymplify.repository.TrainerProfileRepository;
+import me.verni.gymplify.repository.TrainerSessionRepository;
+import me.verni.gymplify.repository.TrainingPlanRepository;
+import me.verni.gymplify.repository.UserRepository;
+import me.verni.gymplify.util.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the {@code inmemory} profile with an admin account and a deterministic data set (muscle
+ * groups, exercises, plans, trainers with sessions, users with personal plans) so that the load-test
+ * harness has something to read. Data goes through the in-memory repositories, so it obeys the same
+ * rules as data written through the API. Runs before {@code ApplicationReadyEvent}, so the session
+ * interval index is loaded with the seeded sessions.
+ */
+@Component
+@Profile("inmemory")
+public class InMemorySampleDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemorySampleDataSeeder.class);
+    private static final List<String> MUSCLE_GROUPS = List.of("Klatka piersiowa", "Plecy", "Nogi", "Barki", "Ramiona", "Brzuch");
+    private static final int EXERCISES_PER_PLAN = 6;
+    private static final int SESSION_HOURS = 1;
+    private static final int FIRST_SESSION_HOUR = 8;
+
+    private final UserRepository userRepository;
+    private final TrainerProfileRepository trainerProfileRepository;
+    private final MuscleGroupRepository muscleGroupRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final TrainingPlanRepository trainingPlanRepository;
+    private final PersonalPlanRepository personalPlanRepository;
+    private final TrainerSessionRepository trainerSessionRepository;
+    private final PasswordHasher passwordHasher;
+    private final boolean enabled;
+    private final String adminEmail;
+    private final String adminPassword;
+    private final String userPassword;
+    private final int exercisesPerGroup;
+    private final int trainingPlans;
+    private final int trainers;
+    private final int users;
+    private final int sessionsPerTrainer;
+
+    public InMemorySampleDataSeeder(UserRepository userRepository,
+                                    TrainerProfileRepository trainerProfileRepository,
+                                    MuscleGroupRepository muscleGroupRepository,
+                                    ExerciseRepository exerciseRepository,
+                                    TrainingPlanRepository trainingPlanRepository,
+                                    PersonalPlanRepository personalPlanRepository,
+                                    TrainerSessionRepository trainerSessionRepository,
+                                    PasswordHasher passwordHasher,
+                                    @Value("${inmemory.seed.enabled:true}") boolean enabled,
+                                    @Value("${inmemory.seed.admin-email:admin@gymplify.local}") String adminEmail,
+                                    @Value("${inmemory.seed.admin-password:admin12345}") String adminPassword,
+                                    @Value("${inmemory.seed.user-password:user12345}") String userPassword,
+                                    @Value("${inmemory.seed.exercises-per-group:10}") int exercisesPerGroup,
+                                    @Value("${inmemory.seed.training-plans:50}") int trainingPlans,
+                                    @Value("${inmemory.seed.trainers:20}") int trainers,
+                                    @Value("${inmemory.seed.users:1000}") int users,
+                                    @Value("${inmemory.seed.sessions-per-trainer:60}") int sessionsPerTrainer) {
+        this.userRepository = userRepository;
+        this.trainerProfileRepository = trainerProfileRepository;
+        this.muscleGroupRepository = muscleGroupRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.trainingPlanRepository = trainingPlanRepository;
+        this.personalPlanRepository = personalPlanRepository;
+        this.trainerSessionRepository = trainerSessionRepository;
+        this.passwordHasher = passwordHasher;
+        this.enabled = enabled;
+        this.adminEmail = adminEmail;
+        this.adminPassword = adminPassword;
+        this.userPassword = userPassword;
+        this.exercisesPerGroup = Math.max(0, exercisesPerGroup);
+        this.trainingPlans = Math.max(0, trainingPlans);
+        this.trainers = Math.max(0, trainers);
+        this.users = Math.max(0, users);
+        this.sessionsPerTrainer = Math.max(0, sessionsPerTrainer);
+    }
+
+    @PostConstruct
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        userRepository.createUser("admin", passwordHasher.hash(adminPassword), adminEmail, "ADMIN");
+
+        List<Long> exerciseIds = new ArrayList<>();
+        for (String groupName : MUSCLE_GROUPS) {
+            Long groupId = muscleGroupRepository.save(groupName, "Ćwiczenia: " + groupName.toLowerCase());
+            for (int i = 1; i <= exercisesPerGroup; i++) {
+                exerciseIds.add(exerciseRepository.save(new ExerciseRequestDto(groupName + " - ćwiczenie " + i,
+                        "Opis ćwiczenia " + i + " dla grupy " + groupName, groupId)));
+            }
+        }
+
+        List<Long> planIds = new ArrayList<>(trainingPlans);
+        for (int p = 0; p < trainingPlans; p++) {
+            Long planId = trainingPlanRepository.create("Plan treningowy " + (p + 1));
+            if (!exerciseIds.isEmpty()) {
+                List<Long> planExercises = new ArrayList<>(EXERCISES_PER_PLAN);
+                for (int e = 0; e < EXERCISES_PER_PLAN; e++) {
+                    planExercises.add(exerciseIds.get((p * EXERCISES_PER_PLAN + e) % exerciseIds.size()));
+                }
+                trainingPlanRepository.setPlanExercises(planId, planExercises);
+            }
+            planIds.add(planId);
+        }
+
+        // Jeden hash dla wszystkich kont testowych, żeby start nie trwał minutami przez BCrypt
+        String sharedHash = passwordHasher.hash(userPassword);
+        LocalDate firstSessionDay = LocalDate.now();
+        List<Long> trainerIds = new ArrayList<>(trainers);
+        for (int t = 1; t <= trainers; t++) {
+            User trainerUser = userRepository.createUser("trener" + t, sharedHash, "trener" + t + "@gymplify.local", "TRAINER");
+            Long trainerId = trainerProfileRepository.createTrainerProfile(trainerUser.getUserId(), "Trener" + t,
+                    "Nazwisko" + t, MUSCLE_GROUPS.get(t % MUSCLE_GROUPS.size()), "trener" + t + "@gymplify.local");
+            for (int s = 0; s < sessionsPerTrainer; s++) {
+                LocalDate day = firstSessionDay.plusDays(s / 4);
+                LocalDateTime start = day.atTime(FIRST_SESSION_HOUR + (s % 4) * 3, 0);
+                trainerSessionRepository.create(trainerId, day, start, start.plusHours(SESSION_HOURS));
+            }
+            trainerIds.add(trainerId);
+        }
+
+        for (int u = 1; u <= users; u++) {
+            User user = userRepository.createUser("uzytkownik" + u, sharedHash, "uzytkownik" + u + "@gymplify.local", "USER");
+            if (!trainerIds.isEmpty() && !planIds.isEmpty()) {
+                personalPlanRepository.assignPlanToUser(trainerIds.get(u % trainerIds.size()), user.getUserId(),
+                        planIds.get(u % planIds.size()));
+            }
+        }
+        log.info("Dane przykładowe profilu inmemory utworzone w {} ms: {} trenerów, {} użytkowników, {} planów, {} ćwiczeń. Administrator: {}",
+                (System.nanoTime() - startedAt) / 1_000_000, trainers, users, trainingPlans, exerciseIds.size(), adminEmail);
+    }
+}
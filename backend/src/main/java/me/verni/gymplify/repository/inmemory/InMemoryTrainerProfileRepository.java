@@ -0,0 +1,164 @@
+package me.verni.gymplify.repository.inmemory;
+
+import me.verni.gymplify.dto.TrainerAdminViewDto;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.TrainerProfileRepository;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.TrainerRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.TrainerSessionRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.UserRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Map-backed {@link TrainerProfileRepository} for the {@code inmemory} profile, following
+ * {@code PKG_TRAINER_MGMT}: a user has at most one trainer profile, names are trimmed and
+ * required, and deleting a trainer removes their sessions and personal plans.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryTrainerProfileRepository implements TrainerProfileRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryTrainerProfileRepository.class);
+    private static final Comparator<TrainerRow> BY_SURNAME_AND_NAME =
+            Comparator.comparing(TrainerRow::surname).thenComparing(TrainerRow::name);
+
+    private final InMemoryDataStore store;
+
+    public InMemoryTrainerProfileRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Long createTrainerProfile(Long userId, String name, String surname, String specialization, String contact) {
+        Long trainerId = store.write(() -> {
+            if (userId == null || InMemoryDataStore.isBlank(name) || InMemoryDataStore.isBlank(surname)
+                    || !store.users.containsKey(userId)
+                    || store.trainers.values().stream().anyMatch(trainer -> trainer.userId().equals(userId))) {
+                return null;
+            }
+            Long newId = store.trainerSequence.incrementAndGet();
+            store.trainers.put(newId, new TrainerRow(newId, userId, name.trim(), surname.trim(), specialization, contact));
+            return newId;
+        });
+        if (trainerId == null) {
+            log.warn("Utworzenie profilu trenera dla użytkownika ID: {} odrzucone.", userId);
+            throw new OperationFailedException("Nie udało się utworzyć profilu trenera (procedura PL/SQL zgłosiła błąd).");
+        }
+        return trainerId;
+    }
+
+    @Override
+    public List<TrainerAdminViewDto> findAllTrainerProfiles() {
+        return store.read(() -> store.trainers.values().stream()
+                .sorted(BY_SURNAME_AND_NAME)
+                .map(this::toDto)
+                .toList());
+    }
+
+    @Override
+    public Optional<TrainerAdminViewDto> findTrainerProfileById(Long trainerId) {
+        return store.read(() -> Optional.ofNullable(trainerId == null ? null : store.trainers.get(trainerId))
+                .map(this::toDto));
+    }
+
+    @Override
+    public List<TrainerAdminViewDto> findTrainerProfilesByIds(List<Long> trainerIds) {
+        return store.read(() -> trainerIds.stream()
+                .distinct()
+                .map(store.trainers::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(TrainerRow::trainerId))
+                .map(this::toDto)
+                .toList());
+    }
+
+    @Override
+    public Optional<Long> findTrainerIdByUserId(Long userId) {
+        return store.read(() -> store.trainers.values().stream()
+                .filter(trainer -> Objects.equals(trainer.userId(), userId))
+                .map(TrainerRow::trainerId)
+                .findFirst());
+    }
+
+    @Override
+    public boolean updateTrainerProfile(Long trainerId, String name, String surname, String specialization, String contact) {
+        if (trainerId == null || InMemoryDataStore.isBlank(name) || InMemoryDataStore.isBlank(surname)) {
+            return false;
+        }
+        return store.write(() -> store.trainers.computeIfPresent(trainerId, (id, current) ->
+                new TrainerRow(id, current.userId(), name.trim(), surname.trim(), specialization, contact)) != null);
+    }
+
+    @Override
+    public boolean deleteTrainerProfile(Long trainerId) {
+        return store.write(() -> {
+            if (trainerId == null || !store.trainers.containsKey(trainerId)) {
+                return false;
+            }
+            store.deleteTrainerCascade(trainerId);
+            return true;
+        });
+    }
+
+    @Override
+    public List<TrainerAdminViewDto> findTrainersBySpecialization(String specialization) {
+        String fragment = specialization == null ? "" : specialization.trim().toUpperCase();
+        return store.read(() -> store.trainers.values().stream()
+                .filter(trainer -> trainer.specialization() != null
+                        && trainer.specialization().toUpperCase().contains(fragment))
+                .sorted(BY_SURNAME_AND_NAME)
+                .map(this::toDto)
+                .toList());
+    }
+
+    @Override
+    public int getTrainerCount() {
+        return store.trainers.size();
+    }
+
+    @Override
+    public List<TrainerSessionDto> getTrainerSessions(Long trainerId, Date fromDate, Date toDate) {
+        if (trainerId == null || fromDate == null || toDate == null) {
+            return List.of();
+        }
+        LocalDate from = toLocalDate(fromDate);
+        LocalDate to = toLocalDate(toDate);
+        return store.read(() -> {
+            TrainerRow trainer = store.trainers.get(trainerId);
+            if (trainer == null) {
+                return List.of();
+            }
+            return store.trainerSessions.values().stream()
+                    .filter(session -> session.trainerId().equals(trainerId))
+                    .filter(session -> !session.sessionDate().isBefore(from) && !session.sessionDate().isAfter(to))
+                    .sorted(Comparator.comparing(TrainerSessionRow::sessionDate).thenComparing(TrainerSessionRow::startTime))
+                    .map(session -> new TrainerSessionDto(session.scheduleId(), trainerId, trainer.name(), trainer.surname(),
+                            session.sessionDate(), session.startTime(), session.endTime()))
+                    .toList();
+        });
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private TrainerAdminViewDto toDto(TrainerRow row) {
+        UserRow user = store.users.get(row.userId());
+        return new TrainerAdminViewDto(row.trainerId(), row.userId(), row.name(), row.surname(), row.specialization(),
+                row.contact(), user != null ? user.username() : null, user != null ? user.email() : null);
+    }
+}
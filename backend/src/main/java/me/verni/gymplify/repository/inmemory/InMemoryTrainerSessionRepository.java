@@ -0,0 +1,241 @@
+package me.verni.gymplify.repository.inmemory;
+
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.TrainerSessionRepository;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.TrainerRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.TrainerSessionRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Map-backed {@link TrainerSessionRepository} for the {@code inmemory} profile, following
+ * {@code PKG_TRAINER_SESSION_MGMT}: a session must start before it ends and must not overlap another
+ * session of the same trainer. Errors carry the package messages without the {@code ORA-} prefix,
+ * as {@link me.verni.gymplify.repository.OracleTrainerSessionRepository} reports them.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryTrainerSessionRepository implements TrainerSessionRepository {
+
+    // Kody wyników CreateTrainerSessionsBulk (PKG_TRAINER_SESSION_MGMT.c_bulk_*)
+    private static final int BULK_CREATED = 0;
+    private static final int BULK_TRAINER_NOT_FOUND = -20400;
+    private static final int BULK_INVALID_TIME = -20500;
+    private static final int BULK_CONFLICT = -20501;
+    private static final int BULK_SKIPPED = -20503;
+
+    private static final Comparator<TrainerSessionRow> NEWEST_FIRST =
+            Comparator.comparing(TrainerSessionRow::sessionDate).thenComparing(TrainerSessionRow::startTime).reversed();
+
+    private final InMemoryDataStore store;
+
+    public InMemoryTrainerSessionRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public TrainerSessionDto create(Long trainerId, LocalDate sessionDate, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime start = onDate(sessionDate, startTime);
+        LocalDateTime end = onDate(sessionDate, endTime);
+        return store.write(() -> {
+            requireTrainer(trainerId);
+            requireValidTime(start, end);
+            requireNoOverlap(trainerId, start, end, null);
+            Long scheduleId = store.trainerSessionSequence.incrementAndGet();
+            TrainerSessionRow saved = new TrainerSessionRow(scheduleId, trainerId, start.toLocalDate(), start, end);
+            store.trainerSessions.put(scheduleId, saved);
+            return toDto(saved);
+        });
+    }
+
+    @Override
+    public List<BulkCreateOutcome> createBulk(List<Long> trainerIds, List<LocalDateTime> startTimes,
+                                              List<LocalDateTime> endTimes, boolean allOrNothing) {
+        return store.write(() -> {
+            int size = trainerIds.size();
+            int[] resultCodes = new int[size];
+            List<TrainerSessionRow> accepted = new ArrayList<>();
+            boolean anyFailed = false;
+            for (int i = 0; i < size; i++) {
+                Long trainerId = trainerIds.get(i);
+                LocalDateTime start = startTimes.get(i);
+                LocalDateTime end = endTimes.get(i);
+                if (trainerId == null || !store.trainers.containsKey(trainerId)) {
+                    resultCodes[i] = BULK_TRAINER_NOT_FOUND;
+                } else if (start == null || end == null || !start.isBefore(end)) {
+                    resultCodes[i] = BULK_INVALID_TIME;
+                } else if (overlapsExisting(trainerId, start, end, null) || overlapsAny(accepted, trainerId, start, end)) {
+                    resultCodes[i] = BULK_CONFLICT;
+                } else {
+                    resultCodes[i] = BULK_CREATED;
+                    accepted.add(new TrainerSessionRow(null, trainerId, start.toLocalDate(), start, end));
+                    continue;
+                }
+                anyFailed = true;
+            }
+
+            List<BulkCreateOutcome> outcomes = new ArrayList<>(size);
+            if (allOrNothing && anyFailed) {
+                for (int resultCode : resultCodes) {
+                    outcomes.add(new BulkCreateOutcome(null, resultCode == BULK_CREATED ? BULK_SKIPPED : resultCode));
+                }
+                return outcomes;
+            }
+            int acceptedIndex = 0;
+            for (int resultCode : resultCodes) {
+                if (resultCode != BULK_CREATED) {
+                    outcomes.add(new BulkCreateOutcome(null, resultCode));
+                    continue;
+                }
+                TrainerSessionRow pending = accepted.get(acceptedIndex++);
+                Long scheduleId = store.trainerSessionSequence.incrementAndGet();
+                store.trainerSessions.put(scheduleId, new TrainerSessionRow(scheduleId, pending.trainerId(),
+                        pending.sessionDate(), pending.startTime(), pending.endTime()));
+                outcomes.add(new BulkCreateOutcome(scheduleId, BULK_CREATED));
+            }
+            return outcomes;
+        });
+    }
+
+    @Override
+    public void deleteById(Long scheduleId) {
+        store.write(() -> {
+            if (scheduleId == null || store.trainerSessions.remove(scheduleId) == null) {
+                throw sessionNotFound(scheduleId);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public TrainerSessionDto update(Long scheduleId, Long trainerId, LocalDate sessionDate, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime start = onDate(sessionDate, startTime);
+        LocalDateTime end = onDate(sessionDate, endTime);
+        return store.write(() -> {
+            TrainerSessionRow current = scheduleId == null ? null : store.trainerSessions.get(scheduleId);
+            if (current == null) {
+                throw sessionNotFound(scheduleId);
+            }
+            requireTrainer(trainerId);
+            requireValidTime(start, end);
+            requireNoOverlap(trainerId, start, end, scheduleId);
+            TrainerSessionRow saved = new TrainerSessionRow(scheduleId, trainerId, start.toLocalDate(), start, end);
+            store.trainerSessions.put(scheduleId, saved);
+            return toDto(saved);
+        });
+    }
+
+    @Override
+    public Optional<TrainerSessionDto> findById(Long scheduleId) {
+        return store.read(() -> Optional.ofNullable(scheduleId == null ? null : store.trainerSessions.get(scheduleId))
+                .map(this::toDto));
+    }
+
+    @Override
+    public List<TrainerSessionDto> findByTrainerId(Long trainerId, LocalDate fromDate, LocalDate toDate) {
+        return store.read(() -> {
+            requireTrainer(trainerId);
+            return newestFirst(sessionsBetween(fromDate, toDate)
+                    .filter(session -> session.trainerId().equals(trainerId)));
+        });
+    }
+
+    @Override
+    public List<TrainerSessionDto> findAll(LocalDate fromDate, LocalDate toDate) {
+        return store.read(() -> newestFirst(sessionsBetween(fromDate, toDate)));
+    }
+
+    @Override
+    public List<TrainerSessionDto> findByTrainerIdCursor(Long trainerId, LocalDate fromDate, LocalDate toDate) {
+        return findByTrainerId(trainerId, fromDate, toDate);
+    }
+
+    @Override
+    public List<TrainerSessionDto> findAllCursor(LocalDate fromDate, LocalDate toDate) {
+        return findAll(fromDate, toDate);
+    }
+
+    @Override
+    public List<TrainerSessionDto> findByTrainerIdsCursor(List<Long> trainerIds, LocalDate fromDate, LocalDate toDate) {
+        Set<Long> wanted = new HashSet<>(trainerIds);
+        return store.read(() -> sessionsBetween(fromDate, toDate)
+                .filter(session -> wanted.contains(session.trainerId()))
+                .sorted(Comparator.comparing(TrainerSessionRow::trainerId).thenComparing(TrainerSessionRow::startTime))
+                .map(this::toDto)
+                .toList());
+    }
+
+    private Stream<TrainerSessionRow> sessionsBetween(LocalDate fromDate, LocalDate toDate) {
+        return store.trainerSessions.values().stream()
+                .filter(session -> fromDate == null || !session.sessionDate().isBefore(fromDate))
+                .filter(session -> toDate == null || !session.sessionDate().isAfter(toDate));
+    }
+
+    private List<TrainerSessionDto> newestFirst(Stream<TrainerSessionRow> sessions) {
+        return sessions.sorted(NEWEST_FIRST).map(this::toDto).toList();
+    }
+
+    // Pakiet składa datę sesji z godziną przekazanych znaczników czasu
+    private static LocalDateTime onDate(LocalDate sessionDate, LocalDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        return sessionDate != null ? sessionDate.atTime(time.toLocalTime()) : time;
+    }
+
+    private void requireTrainer(Long trainerId) {
+        if (trainerId == null || !store.trainers.containsKey(trainerId)) {
+            throw new OperationFailedException("Trener o ID " + trainerId + " nie istnieje.");
+        }
+    }
+
+    private static void requireValidTime(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new OperationFailedException("Czas rozpoczęcia sesji musi być wcześniejszy niż czas zakończenia.");
+        }
+    }
+
+    private void requireNoOverlap(Long trainerId, LocalDateTime start, LocalDateTime end, Long excludedScheduleId) {
+        if (overlapsExisting(trainerId, start, end, excludedScheduleId)) {
+            throw new OperationFailedException("Trener o ID " + trainerId + " ma już zaplanowaną sesję w tym przedziale czasowym.");
+        }
+    }
+
+    private boolean overlapsExisting(Long trainerId, LocalDateTime start, LocalDateTime end, Long excludedScheduleId) {
+        return store.trainerSessions.values().stream()
+                .filter(session -> !session.scheduleId().equals(excludedScheduleId))
+                .anyMatch(session -> overlaps(session, trainerId, start, end));
+    }
+
+    private static boolean overlapsAny(List<TrainerSessionRow> sessions, Long trainerId, LocalDateTime start, LocalDateTime end) {
+        return sessions.stream().anyMatch(session -> overlaps(session, trainerId, start, end));
+    }
+
+    private static boolean overlaps(TrainerSessionRow session, Long trainerId, LocalDateTime start, LocalDateTime end) {
+        return session.trainerId().equals(trainerId)
+                && session.startTime().isBefore(end)
+                && session.endTime().isAfter(start);
+    }
+
+    private static OperationFailedException sessionNotFound(Long scheduleId) {
+        return new OperationFailedException("Sesja trenera o ID " + scheduleId + " nie istnieje.");
+    }
+
+    private TrainerSessionDto toDto(TrainerSessionRow row) {
+        TrainerRow trainer = store.trainers.get(row.trainerId());
+        return new TrainerSessionDto(row.scheduleId(), row.trainerId(),
+                trainer != null ? trainer.name() : null, trainer != null ? trainer.surname() : null,
+                row.sessionDate(), row.startTime(), row.endTime());
+    }
+}
@@ -0,0 +1,215 @@
+package me.verni.gymplify.repository.inmemory;
+
+import me.verni.gymplify.dto.ExerciseDto;
+import me.verni.gymplify.dto.TrainingPlanDetailDto;
+import me.verni.gymplify.dto.TrainingPlanDto;
+import me.verni.gymplify.exception.DataAccessExceptionWrapper;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.TrainingPlanRepository;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.ExerciseRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.MuscleGroupRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.PersonalPlanRow;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.TrainingPlanRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map-backed {@link TrainingPlanRepository} for the {@code inmemory} profile, following
+ * {@code PKG_TRAINING_PLAN_MGMT}. Errors carry the same {@code ORA-203xx} messages, passed on
+ * unchanged like {@link me.verni.gymplify.repository.OracleTrainingPlanRepository} does, and
+ * deleting a plan removes its exercises and personal plan assignments.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryTrainingPlanRepository implements TrainingPlanRepository {
+
+    private final InMemoryDataStore store;
+
+    public InMemoryTrainingPlanRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Long create(String name) {
+        requireName(name);
+        return store.write(() -> {
+            Long planId = store.trainingPlanSequence.incrementAndGet();
+            store.trainingPlans.put(planId, new TrainingPlanRow(planId, name.trim()));
+            return planId;
+        });
+    }
+
+    @Override
+    public void deleteById(Long planId) {
+        store.write(() -> {
+            requirePlan(planId);
+            store.deleteTrainingPlanCascade(planId);
+            return null;
+        });
+    }
+
+    @Override
+    public TrainingPlanDto update(Long planId, String newName) {
+        requireName(newName);
+        return store.write(() -> {
+            requirePlan(planId);
+            TrainingPlanRow saved = new TrainingPlanRow(planId, newName.trim());
+            store.trainingPlans.put(planId, saved);
+            return new TrainingPlanDto(saved.planId(), saved.name());
+        });
+    }
+
+    @Override
+    public Optional<TrainingPlanDto> findById(Long planId) {
+        return store.read(() -> Optional.ofNullable(planId == null ? null : store.trainingPlans.get(planId))
+                .map(row -> new TrainingPlanDto(row.planId(), row.name())));
+    }
+
+    @Override
+    public List<TrainingPlanDto> findAll() {
+        return store.read(() -> store.trainingPlans.values().stream()
+                .sorted(Comparator.comparing(TrainingPlanRow::name))
+                .map(row -> new TrainingPlanDto(row.planId(), row.name()))
+                .toList());
+    }
+
+    @Override
+    public void addExerciseToPlan(Long planId, Long exerciseId) {
+        store.write(() -> {
+            requirePlan(planId);
+            requireExercise(exerciseId);
+            if (!exercisesOf(planId).add(exerciseId)) {
+                throw new OperationFailedException(oracleMessage(20305,
+                        "Ćwiczenie ID " + exerciseId + " jest już przypisane do planu ID " + planId + "."));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void removeExerciseFromPlan(Long planId, Long exerciseId) {
+        store.write(() -> {
+            // Oracle zgłasza tu -20300/-20011 jako błąd dostępu do danych, a tylko -20302 jako błąd operacji
+            if (!store.trainingPlans.containsKey(planId) || !store.exercises.containsKey(exerciseId)) {
+                throw new DataAccessExceptionWrapper("Błąd podczas usuwania ćwiczenia " + exerciseId + " z planu " + planId
+                        + ": plan treningowy lub ćwiczenie nie istnieje.");
+            }
+            Set<Long> exerciseIds = store.planExercises.get(planId);
+            if (exerciseIds == null || !exerciseIds.remove(exerciseId)) {
+                throw new OperationFailedException(oracleMessage(20302,
+                        "Nie znaleziono ćwiczenia ID " + exerciseId + " w planie ID " + planId + " do usunięcia."));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAllExercisesFromPlan(Long planId) {
+        store.write(() -> {
+            requirePlan(planId);
+            store.planExercises.remove(planId);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<TrainingPlanDetailDto> findDetailById(Long planId) {
+        return store.read(() -> {
+            TrainingPlanRow plan = planId == null ? null : store.trainingPlans.get(planId);
+            if (plan == null) {
+                return Optional.empty();
+            }
+            List<PersonalPlanRow> assignments = store.personalPlans.values().stream()
+                    .filter(assignment -> assignment.planId().equals(planId))
+                    .toList();
+            List<ExerciseDto> exercises = planExerciseDtos(planId, Comparator.comparing(ExerciseRow::name)
+                    .thenComparing(ExerciseRow::exerciseId));
+            TreeSet<String> muscleGroups = new TreeSet<>();
+            for (ExerciseDto exercise : exercises) {
+                if (exercise.getGroupName() != null) {
+                    muscleGroups.add(exercise.getGroupName());
+                }
+            }
+            return Optional.of(new TrainingPlanDetailDto(
+                    plan.planId(),
+                    plan.name(),
+                    (long) assignments.size(),
+                    assignments.stream().map(PersonalPlanRow::userId).distinct().count(),
+                    assignments.stream().map(PersonalPlanRow::trainerId).filter(Objects::nonNull).distinct().count(),
+                    exercises,
+                    List.copyOf(muscleGroups)
+            ));
+        });
+    }
+
+    @Override
+    public PlanExercisesChange setPlanExercises(Long planId, List<Long> exerciseIds) {
+        return store.write(() -> {
+            requirePlan(planId);
+            TreeSet<Long> requested = new TreeSet<>(exerciseIds);
+            for (Long exerciseId : requested) {
+                requireExercise(exerciseId);
+            }
+            Set<Long> current = exercisesOf(planId);
+            List<Long> added = requested.stream().filter(id -> !current.contains(id)).toList();
+            List<Long> removed = current.stream().filter(id -> !requested.contains(id)).sorted().toList();
+            current.removeAll(removed);
+            current.addAll(added);
+            return new PlanExercisesChange(added, removed);
+        });
+    }
+
+    @Override
+    public List<ExerciseDto> getExercisesForPlan(Long planId) {
+        return store.read(() -> planExerciseDtos(planId, Comparator.comparing(ExerciseRow::name)));
+    }
+
+    private List<ExerciseDto> planExerciseDtos(Long planId, Comparator<ExerciseRow> order) {
+        Set<Long> exerciseIds = store.planExercises.getOrDefault(planId, Set.of());
+        return exerciseIds.stream()
+                .map(store.exercises::get)
+                .filter(Objects::nonNull)
+                .sorted(order)
+                .map(exercise -> {
+                    MuscleGroupRow group = store.muscleGroups.get(exercise.groupId());
+                    return new ExerciseDto(exercise.exerciseId(), exercise.name(), exercise.description(),
+                            exercise.groupId(), group != null ? group.groupName() : null);
+                })
+                .toList();
+    }
+
+    private Set<Long> exercisesOf(Long planId) {
+        return store.planExercises.computeIfAbsent(planId, id -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static void requireName(String name) {
+        if (InMemoryDataStore.isBlank(name)) {
+            throw new OperationFailedException(oracleMessage(20301, "Nazwa planu treningowego nie może być pusta."));
+        }
+    }
+
+    private void requirePlan(Long planId) {
+        if (planId == null || !store.trainingPlans.containsKey(planId)) {
+            throw new OperationFailedException(oracleMessage(20300, "Plan treningowy o ID " + planId + " nie istnieje."));
+        }
+    }
+
+    private void requireExercise(Long exerciseId) {
+        if (exerciseId == null || !store.exercises.containsKey(exerciseId)) {
+            throw new OperationFailedException(oracleMessage(20011, "Ćwiczenie o ID " + exerciseId + " nie istnieje."));
+        }
+    }
+
+    // Repozytorium Oracle przekazuje pierwszą linię komunikatu razem z prefiksem ORA-
+    private static String oracleMessage(int errorCode, String message) {
+        return "ORA-" + errorCode + ": " + message;
+    }
+}
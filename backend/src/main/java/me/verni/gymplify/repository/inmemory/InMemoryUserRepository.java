@@ -0,0 +1,164 @@
+package me.verni.gymplify.repository.inmemory;
+
+import me.verni.gymplify.dto.User;
+import me.verni.gymplify.dto.UserAdminViewDto;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.repository.UserRepository;
+import me.verni.gymplify.repository.inmemory.InMemoryDataStore.UserRow;
+import me.verni.gymplify.util.RoleType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Map-backed {@link UserRepository} for the {@code inmemory} profile, following
+ * {@code PKG_USER_MGMT}: emails are trimmed, lower-cased and unique, roles upper-cased, and
+ * deleting a user also removes their trainer profile, sessions and personal plans.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryUserRepository.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final InMemoryDataStore store;
+
+    public InMemoryUserRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public User createUser(String username, String passwordHash, String email, String role) {
+        if (InMemoryDataStore.isBlank(username) || InMemoryDataStore.isBlank(email)) {
+            log.warn("Utworzenie użytkownika odrzucone: pusta nazwa lub email.");
+            throw new OperationFailedException("Nie udało się utworzyć użytkownika (procedura PL/SQL zgłosiła błąd).");
+        }
+        String normalizedEmail = normalizeEmail(email);
+        UserRow created = store.write(() -> {
+            if (store.userIdsByEmail.containsKey(normalizedEmail)) {
+                return null;
+            }
+            Long userId = store.userSequence.incrementAndGet();
+            UserRow row = new UserRow(userId, username.trim(), passwordHash, normalizedEmail,
+                    role.trim().toUpperCase(), LocalDateTime.now());
+            store.users.put(userId, row);
+            store.userIdsByEmail.put(normalizedEmail, userId);
+            return row;
+        });
+        if (created == null) {
+            log.warn("Odrzucono zajęty email: {}", email);
+            throw new OperationFailedException("Użytkownik z emailem '" + email + "' już istnieje.");
+        }
+        return toUser(created);
+    }
+
+    @Override
+    public boolean deleteUser(Long userId) {
+        return store.write(() -> {
+            if (userId == null || !store.users.containsKey(userId)) {
+                return false;
+            }
+            store.deleteUserCascade(userId);
+            return true;
+        });
+    }
+
+    @Override
+    public Optional<User> findUserDetailsByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return store.read(() -> Optional.ofNullable(store.userIdsByEmail.get(normalizeEmail(email)))
+                .map(store.users::get)
+                .map(InMemoryUserRepository::toUser));
+    }
+
+    @Override
+    public List<User> findAllUsers() {
+        return store.read(() -> store.users.values().stream()
+                .sorted(Comparator.comparing(UserRow::username))
+                .map(InMemoryUserRepository::toUser)
+                .toList());
+    }
+
+    @Override
+    public List<UserAdminViewDto> findUsersPage(Long afterUserId, int limit, String role, String emailPrefix) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long after = afterUserId != null ? afterUserId : 0L;
+        String roleFilter = InMemoryDataStore.isBlank(role) ? null : role.trim().toUpperCase();
+        String prefix = InMemoryDataStore.isBlank(emailPrefix) ? null : normalizeEmail(emailPrefix);
+        return store.read(() -> store.users.values().stream()
+                .filter(user -> user.userId() > after)
+                .filter(user -> roleFilter == null || roleFilter.equals(user.role()))
+                .filter(user -> prefix == null || user.email().startsWith(prefix))
+                .sorted(Comparator.comparing(UserRow::userId))
+                .limit(pageSize)
+                .map(user -> new UserAdminViewDto(user.userId(), user.username(), user.email(), RoleType.valueOf(user.role())))
+                .toList());
+    }
+
+    @Override
+    public Optional<User> findUserById(Long userId) {
+        return store.read(() -> Optional.ofNullable(userId == null ? null : store.users.get(userId))
+                .map(InMemoryUserRepository::toUser));
+    }
+
+    @Override
+    public boolean updateUserDetails(Long userId, String username, String email) {
+        if (userId == null || InMemoryDataStore.isBlank(username) || InMemoryDataStore.isBlank(email)) {
+            return false;
+        }
+        String normalizedEmail = normalizeEmail(email);
+        boolean success = store.write(() -> {
+            UserRow current = store.users.get(userId);
+            Long emailOwner = store.userIdsByEmail.get(normalizedEmail);
+            if (current == null || (emailOwner != null && !emailOwner.equals(userId))) {
+                return false;
+            }
+            store.userIdsByEmail.remove(current.email());
+            store.userIdsByEmail.put(normalizedEmail, userId);
+            store.users.put(userId, new UserRow(userId, username.trim(), current.passwordHash(), normalizedEmail,
+                    current.role(), current.createdAt()));
+            return true;
+        });
+        if (!success) {
+            log.warn("Aktualizacja danych użytkownika ID: {} odrzucona (brak użytkownika lub zajęty email).", userId);
+        }
+        return success;
+    }
+
+    @Override
+    public Optional<User> updateUserRole(Long userId, String newRole) {
+        if (userId == null || InMemoryDataStore.isBlank(newRole)) {
+            return Optional.empty();
+        }
+        String role = newRole.trim().toUpperCase();
+        return store.write(() -> Optional.ofNullable(store.users.computeIfPresent(userId, (id, current) ->
+                        new UserRow(id, current.username(), current.passwordHash(), current.email(), role, current.createdAt())))
+                .map(InMemoryUserRepository::toUser));
+    }
+
+    @Override
+    public boolean updateUserPasswordHash(Long userId, String passwordHash) {
+        if (userId == null || passwordHash == null || passwordHash.isEmpty()) {
+            return false;
+        }
+        return store.write(() -> store.users.computeIfPresent(userId, (id, current) ->
+                new UserRow(id, current.username(), passwordHash, current.email(), current.role(), current.createdAt())) != null);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    private static User toUser(UserRow row) {
+        return new User(row.userId(), row.username(), row.passwordHash(), row.email(), RoleType.valueOf(row.role()));
+    }
+}
@@ -1,5 +1,7 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.TrainerSessionIntervalIndex;
+import me.verni.gymplify.cache.TrainingPlanDetailCache;
 import me.verni.gymplify.dto.TrainerAdminViewDto;
 import me.verni.gymplify.dto.TrainerProfileCreationDto;
 import me.verni.gymplify.dto.TrainerProfileUpdateDto;
@@ -22,11 +24,17 @@ public class AdminTrainerService {
     private static final Logger logger = LoggerFactory.getLogger(AdminTrainerService.class);
     private final TrainerProfileRepository trainerProfileRepository;
     private final UserRepository userRepository;
+    private final TrainingPlanDetailCache trainingPlanDetailCache;
+    private final TrainerSessionIntervalIndex sessionIntervalIndex;
 
 
-    public AdminTrainerService(TrainerProfileRepository trainerProfileRepository, UserRepository userRepository) {
+    public AdminTrainerService(TrainerProfileRepository trainerProfileRepository, UserRepository userRepository,
+                               TrainingPlanDetailCache trainingPlanDetailCache,
+                               TrainerSessionIntervalIndex sessionIntervalIndex) {
         this.trainerProfileRepository = trainerProfileRepository;
         this.userRepository = userRepository;
+        this.trainingPlanDetailCache = trainingPlanDetailCache;
+        this.sessionIntervalIndex = sessionIntervalIndex;
     }
 
     @Transactional
@@ -90,6 +98,10 @@ public class AdminTrainerService {
         if (!success) {
             throw new OperationFailedException("Failed to delete trainer profile for ID: " + trainerId + ". Procedure reported failure.");
         }
+        // Usunięcie trenera kasuje jego przypisania planów, więc liczniki przypisań w cache są nieaktualne
+        trainingPlanDetailCache.invalidateAll();
+        // Procedura usuwa też sesje trenera
+        sessionIntervalIndex.removeTrainer(trainerId);
         logger.info("Profil trenera o ID {} usunięty pomyślnie.", trainerId);
     }
 }
\ No newline at end of file
@@ -1,7 +1,12 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.TrainerSessionIntervalIndex;
+import me.verni.gymplify.dto.TrainerSessionBulkCreationDto;
+import me.verni.gymplify.dto.TrainerSessionBulkItemResultDto;
+import me.verni.gymplify.dto.TrainerSessionBulkResultDto;
 import me.verni.gymplify.dto.TrainerSessionCreationDto;
 import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.dto.TrainerSessionRecurrenceDto;
 import me.verni.gymplify.dto.TrainerSessionUpdateDto;
 import me.verni.gymplify.exception.DataConflictException;
 import me.verni.gymplify.exception.OperationFailedException;
@@ -10,23 +15,36 @@ import me.verni.gymplify.repository.TrainerSessionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class AdminTrainerSessionService {
     private static final Logger log = LoggerFactory.getLogger(AdminTrainerSessionService.class);
 
     private final TrainerSessionRepository trainerSessionRepository;
+    // Listy sesji są czytane przez kursor (partiami); false przywraca dawne wywołania zwracające ARRAY
+    private final boolean useRefCursor;
+    private final TrainerSessionIntervalIndex sessionIntervalIndex;
+    private final int maxBulkItems;
 
     @Autowired
-    public AdminTrainerSessionService(TrainerSessionRepository trainerSessionRepository) {
+    public AdminTrainerSessionService(TrainerSessionRepository trainerSessionRepository,
+                                      @Value("${trainer-sessions.use-ref-cursor:true}") boolean useRefCursor,
+                                      TrainerSessionIntervalIndex sessionIntervalIndex,
+                                      @Value("${trainer-sessions.bulk.max-items:1000}") int maxBulkItems) {
         this.trainerSessionRepository = trainerSessionRepository;
+        this.useRefCursor = useRefCursor;
+        this.sessionIntervalIndex = sessionIntervalIndex;
+        this.maxBulkItems = maxBulkItems;
     }
 
     private void validateSessionTimes(LocalTime startTime, LocalTime endTime) {
@@ -35,21 +53,49 @@ public class AdminTrainerSessionService {
         }
     }
 
+    // Kolizja znaleziona w indeksie jest potwierdzana odczytem sesji z bazy, bo indeks może nie widzieć
+    // zmian wykonanych poza tą instancją. Brak kolizji w indeksie i tak sprawdza procedura w bazie.
+    private void rejectIndexedConflict(Long trainerId, LocalDateTime start, LocalDateTime end, Long excludeScheduleId) {
+        Optional<TrainerSessionIntervalIndex.Interval> conflict =
+                sessionIntervalIndex.findConflict(trainerId, start, end, excludeScheduleId);
+        if (conflict.isEmpty()) {
+            return;
+        }
+        Optional<TrainerSessionDto> current = trainerSessionRepository.findById(conflict.get().scheduleId());
+        if (current.isPresent()
+                && trainerId.equals(current.get().getTrainerId())
+                && current.get().getStartTime().isBefore(end)
+                && current.get().getEndTime().isAfter(start)) {
+            log.debug("Kolizja sesji trenera ID {} wykryta w indeksie (sesja ID {}).", trainerId, conflict.get().scheduleId());
+            throw new DataConflictException("Trener o ID " + trainerId + " ma już zaplanowaną sesję w tym przedziale czasowym.");
+        }
+        sessionIntervalIndex.refreshTrainer(trainerId);
+    }
+
+    private boolean isSessionConflict(OperationFailedException e) {
+        return e.getMessage() != null && e.getMessage().toLowerCase().contains("ma już zaplanowaną sesję");
+    }
+
     @Transactional
     public TrainerSessionDto createTrainerSession(TrainerSessionCreationDto dto) {
         validateSessionTimes(dto.getStartTime(), dto.getEndTime());
         LocalDateTime startDateTime = LocalDateTime.of(dto.getSessionDate(), dto.getStartTime());
         LocalDateTime endDateTime = LocalDateTime.of(dto.getSessionDate(), dto.getEndTime());
+        rejectIndexedConflict(dto.getTrainerId(), startDateTime, endDateTime, null);
 
         try {
-            Long scheduleId = trainerSessionRepository.create(
+            TrainerSessionDto created = trainerSessionRepository.create(
                     dto.getTrainerId(),
                     dto.getSessionDate(),
                     startDateTime,
                     endDateTime
             );
-            return getTrainerSessionById(scheduleId);
+            sessionIntervalIndex.put(created);
+            return created;
         } catch (OperationFailedException e) {
+            if (isSessionConflict(e)) {
+                sessionIntervalIndex.refreshTrainer(dto.getTrainerId());
+            }
             if (e.getMessage() != null && e.getMessage().toLowerCase().contains("trener") && e.getMessage().toLowerCase().contains("nie istnieje")) {
                 throw new ResourceNotFoundException(e.getMessage());
             } else if (e.getMessage() != null && (e.getMessage().toLowerCase().contains("musi być wcześniejszy") || e.getMessage().toLowerCase().contains("ma już zaplanowaną sesję"))) {
@@ -64,6 +110,7 @@ public class AdminTrainerSessionService {
         getTrainerSessionById(scheduleId);
         try {
             trainerSessionRepository.deleteById(scheduleId);
+            sessionIntervalIndex.remove(scheduleId);
         } catch (OperationFailedException e) {
             if (e.getMessage() != null && e.getMessage().toLowerCase().contains("sesja trenera") && e.getMessage().toLowerCase().contains("nie istnieje")) {
                 throw new ResourceNotFoundException(e.getMessage());
@@ -74,21 +121,25 @@ public class AdminTrainerSessionService {
 
     @Transactional
     public TrainerSessionDto updateTrainerSession(Long scheduleId, TrainerSessionUpdateDto dto) {
-        getTrainerSessionById(scheduleId);
         validateSessionTimes(dto.getStartTime(), dto.getEndTime());
         LocalDateTime startDateTime = LocalDateTime.of(dto.getSessionDate(), dto.getStartTime());
         LocalDateTime endDateTime = LocalDateTime.of(dto.getSessionDate(), dto.getEndTime());
+        rejectIndexedConflict(dto.getTrainerId(), startDateTime, endDateTime, scheduleId);
 
         try {
-            trainerSessionRepository.update(
+            TrainerSessionDto updated = trainerSessionRepository.update(
                     scheduleId,
                     dto.getTrainerId(),
                     dto.getSessionDate(),
                     startDateTime,
                     endDateTime
             );
-            return getTrainerSessionById(scheduleId);
+            sessionIntervalIndex.put(updated);
+            return updated;
         } catch (OperationFailedException e) {
+            if (isSessionConflict(e)) {
+                sessionIntervalIndex.refreshTrainer(dto.getTrainerId());
+            }
             if (e.getMessage() != null && e.getMessage().toLowerCase().contains("sesja trenera") && e.getMessage().toLowerCase().contains("nie istnieje")) {
                 throw new ResourceNotFoundException(e.getMessage());
             } else if (e.getMessage() != null && e.getMessage().toLowerCase().contains("trener") && e.getMessage().toLowerCase().contains("nie istnieje")) {
@@ -100,6 +151,105 @@ public class AdminTrainerSessionService {
         }
     }
 
+    /**
+     * Creates all sessions from the explicit list and/or the weekly recurrence in a single database call.
+     * Every requested session gets its own result; conflicting items are reported instead of failing the
+     * whole request, unless {@code allOrNothing} is set.
+     */
+    @Transactional
+    public TrainerSessionBulkResultDto createTrainerSessionsBulk(TrainerSessionBulkCreationDto dto) {
+        List<TrainerSessionCreationDto> requested = expandBulkRequest(dto);
+        if (requested.isEmpty()) {
+            throw new DataConflictException("Żądanie nie zawiera żadnych sesji do utworzenia.");
+        }
+
+        List<Long> trainerIds = new ArrayList<>(requested.size());
+        List<LocalDateTime> startTimes = new ArrayList<>(requested.size());
+        List<LocalDateTime> endTimes = new ArrayList<>(requested.size());
+        for (TrainerSessionCreationDto item : requested) {
+            trainerIds.add(item.getTrainerId());
+            startTimes.add(LocalDateTime.of(item.getSessionDate(), item.getStartTime()));
+            endTimes.add(LocalDateTime.of(item.getSessionDate(), item.getEndTime()));
+        }
+
+        List<TrainerSessionRepository.BulkCreateOutcome> outcomes =
+                trainerSessionRepository.createBulk(trainerIds, startTimes, endTimes, dto.isAllOrNothing());
+
+        List<TrainerSessionBulkItemResultDto> items = new ArrayList<>(requested.size());
+        int created = 0;
+        for (int i = 0; i < requested.size(); i++) {
+            TrainerSessionCreationDto item = requested.get(i);
+            TrainerSessionRepository.BulkCreateOutcome outcome = outcomes.get(i);
+            String status;
+            String message;
+            switch (outcome.resultCode()) {
+                case 0 -> {
+                    status = "CREATED";
+                    message = null;
+                    created++;
+                    sessionIntervalIndex.put(new TrainerSessionDto(outcome.scheduleId(), item.getTrainerId(), null, null,
+                            item.getSessionDate(), startTimes.get(i), endTimes.get(i)));
+                }
+                case -20400 -> {
+                    status = "TRAINER_NOT_FOUND";
+                    message = "Trener o ID " + item.getTrainerId() + " nie istnieje.";
+                }
+                case -20500 -> {
+                    status = "INVALID_TIME";
+                    message = "Czas rozpoczęcia sesji musi być wcześniejszy niż czas zakończenia.";
+                }
+                case -20501 -> {
+                    status = "CONFLICT";
+                    message = "Trener o ID " + item.getTrainerId() + " ma już zaplanowaną sesję w tym przedziale czasowym.";
+                }
+                case -20503 -> {
+                    status = "SKIPPED";
+                    message = "Sesja nie została utworzona, ponieważ inne pozycje żądania zawierają błędy.";
+                }
+                default -> {
+                    status = "FAILED";
+                    message = "Nieoczekiwany kod wyniku: " + outcome.resultCode();
+                }
+            }
+            items.add(new TrainerSessionBulkItemResultDto(i, item.getTrainerId(), item.getSessionDate(),
+                    item.getStartTime(), item.getEndTime(), status, outcome.scheduleId(), message));
+        }
+
+        log.info("Zbiorcze tworzenie sesji trenerów: {} utworzono, {} odrzucono.", created, requested.size() - created);
+        return new TrainerSessionBulkResultDto(requested.size(), created, requested.size() - created, items);
+    }
+
+    private List<TrainerSessionCreationDto> expandBulkRequest(TrainerSessionBulkCreationDto dto) {
+        List<TrainerSessionCreationDto> requested = new ArrayList<>();
+        if (dto.getSessions() != null) {
+            requested.addAll(dto.getSessions());
+        }
+        TrainerSessionRecurrenceDto recurrence = dto.getRecurrence();
+        if (recurrence != null) {
+            if (recurrence.getToDate().isBefore(recurrence.getFromDate())) {
+                throw new DataConflictException("Data końcowa cyklu nie może być wcześniejsza niż data początkowa.");
+            }
+            validateSessionTimes(recurrence.getStartTime(), recurrence.getEndTime());
+            for (LocalDate date = recurrence.getFromDate(); !date.isAfter(recurrence.getToDate()); date = date.plusDays(1)) {
+                if (recurrence.getDaysOfWeek().contains(date.getDayOfWeek())) {
+                    TrainerSessionCreationDto item = new TrainerSessionCreationDto();
+                    item.setTrainerId(recurrence.getTrainerId());
+                    item.setSessionDate(date);
+                    item.setStartTime(recurrence.getStartTime());
+                    item.setEndTime(recurrence.getEndTime());
+                    requested.add(item);
+                }
+                if (requested.size() > maxBulkItems) {
+                    break;
+                }
+            }
+        }
+        if (requested.size() > maxBulkItems) {
+            throw new DataConflictException("Jedno żądanie może utworzyć co najwyżej " + maxBulkItems + " sesji.");
+        }
+        return requested;
+    }
+
     public TrainerSessionDto getTrainerSessionById(Long scheduleId) {
         return trainerSessionRepository.findById(scheduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Nie znaleziono sesji trenera o ID: " + scheduleId));
@@ -107,7 +257,9 @@ public class AdminTrainerSessionService {
 
     public List<TrainerSessionDto> getTrainerSessionsByTrainer(Long trainerId, LocalDate fromDate, LocalDate toDate) {
         try {
-            return trainerSessionRepository.findByTrainerId(trainerId, fromDate, toDate);
+            return useRefCursor
+                    ? trainerSessionRepository.findByTrainerIdCursor(trainerId, fromDate, toDate)
+                    : trainerSessionRepository.findByTrainerId(trainerId, fromDate, toDate);
         } catch (OperationFailedException e) {
             if (e.getMessage() != null && e.getMessage().toLowerCase().contains("trener") && e.getMessage().toLowerCase().contains("nie istnieje")) {
                 throw new ResourceNotFoundException(e.getMessage());
@@ -117,6 +269,8 @@ public class AdminTrainerSessionService {
     }
 
     public List<TrainerSessionDto> getAllTrainerSessions(LocalDate fromDate, LocalDate toDate) {
-        return trainerSessionRepository.findAll(fromDate, toDate);
+        return useRefCursor
+                ? trainerSessionRepository.findAllCursor(fromDate, toDate)
+                : trainerSessionRepository.findAll(fromDate, toDate);
     }
 }
\ No newline at end of file
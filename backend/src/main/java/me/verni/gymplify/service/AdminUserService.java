@@ -1,11 +1,15 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.TrainerSessionIntervalIndex;
+import me.verni.gymplify.cache.TrainingPlanDetailCache;
 import me.verni.gymplify.dto.User;
 import me.verni.gymplify.dto.UserAdminViewDto;
 import me.verni.gymplify.dto.UserCreationAdminRequestDto;
+import me.verni.gymplify.dto.UserPageDto;
 import me.verni.gymplify.exception.DataConflictException;
 import me.verni.gymplify.exception.OperationFailedException;
 import me.verni.gymplify.exception.ResourceNotFoundException;
+import me.verni.gymplify.repository.TrainerProfileRepository;
 import me.verni.gymplify.repository.UserRepository;
 import me.verni.gymplify.util.EmailValidator;
 import me.verni.gymplify.util.PasswordHasher;
@@ -13,10 +17,12 @@ import me.verni.gymplify.util.PasswordValidator;
 import me.verni.gymplify.util.RoleType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,9 +30,29 @@ public class AdminUserService {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminUserService.class);
     private final UserRepository userRepository;
-
-    public AdminUserService(UserRepository userRepository) {
+    private final PasswordHasher passwordHasher;
+    private final PasswordValidator passwordValidator;
+    private final TrainingPlanDetailCache trainingPlanDetailCache;
+    private final TrainerProfileRepository trainerProfileRepository;
+    private final TrainerSessionIntervalIndex sessionIntervalIndex;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public AdminUserService(UserRepository userRepository, PasswordHasher passwordHasher,
+                            PasswordValidator passwordValidator,
+                            TrainingPlanDetailCache trainingPlanDetailCache,
+                            TrainerProfileRepository trainerProfileRepository,
+                            TrainerSessionIntervalIndex sessionIntervalIndex,
+                            @Value("${admin.users.page.default-size:50}") int defaultPageSize,
+                            @Value("${admin.users.page.max-size:200}") int maxPageSize) {
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.passwordValidator = passwordValidator;
+        this.trainingPlanDetailCache = trainingPlanDetailCache;
+        this.trainerProfileRepository = trainerProfileRepository;
+        this.sessionIntervalIndex = sessionIntervalIndex;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
     }
 
     public List<UserAdminViewDto> getAllUsers() {
@@ -40,6 +66,31 @@ public class AdminUserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns one page of users ordered by ID, starting after {@code afterUserId}.
+     * One row more than the page size is fetched to tell whether another page exists.
+     */
+    public UserPageDto getUsersPage(Long afterUserId, Integer size, String role, String emailPrefix) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(1, size), maxPageSize);
+        String roleFilter = null;
+        if (role != null && !role.isBlank()) {
+            try {
+                roleFilter = RoleType.valueOf(role.trim().toUpperCase()).name();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Nieprawidłowa rola: '" + role + "'. Dostępne role: USER, TRAINER, ADMIN.");
+            }
+        }
+        String emailPrefixFilter = emailPrefix != null && !emailPrefix.isBlank() ? emailPrefix.trim().toLowerCase() : null;
+        logger.debug("Pobieranie strony użytkowników: afterUserId={}, size={}, role={}, emailPrefix={}",
+                afterUserId, pageSize, roleFilter, emailPrefixFilter);
+
+        List<UserAdminViewDto> rows = userRepository.findUsersPage(afterUserId, pageSize + 1, roleFilter, emailPrefixFilter);
+        boolean hasMore = rows.size() > pageSize;
+        List<UserAdminViewDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextAfterUserId = hasMore ? items.get(items.size() - 1).getUserId() : null;
+        return new UserPageDto(items, pageSize, hasMore, nextAfterUserId);
+    }
+
     public UserAdminViewDto getUserById(Long userId) {
         logger.debug("Pobieranie użytkownika o ID: {} dla panelu admina", userId);
         User user = userRepository.findUserById(userId)
@@ -56,14 +107,10 @@ public class AdminUserService {
         if (!EmailValidator.isValidEmail(dto.getEmail())) {
             throw new IllegalArgumentException("Nieprawidłowy format emaila: " + dto.getEmail());
         }
-        PasswordValidator.ValidationResult passwordValidation = PasswordValidator.validatePassword(dto.getPassword());
+        PasswordValidator.ValidationResult passwordValidation = passwordValidator.validatePassword(dto.getPassword());
         if (!passwordValidation.isValid()) {
             throw new IllegalArgumentException("Hasło nie spełnia wymagań: " + passwordValidation.getMessage());
         }
-        if (userRepository.findUserDetailsByEmail(dto.getEmail()).isPresent()) {
-            throw new DataConflictException("Użytkownik z emailem '" + dto.getEmail() + "' już istnieje.");
-        }
-
         RoleType roleToSet;
         try {
             roleToSet = RoleType.valueOf(dto.getRole().toUpperCase());
@@ -71,24 +118,28 @@ public class AdminUserService {
             throw new IllegalArgumentException("Nieprawidłowa rola: '" + dto.getRole() + "'. Dostępne role: USER, TRAINER, ADMIN.");
         }
 
-        String hashedPassword = PasswordHasher.hash(dto.getPassword());
-        userRepository.createUser(dto.getUsername(), hashedPassword, dto.getEmail(), roleToSet.name());
-        logger.info("Użytkownik '{}' utworzony przez admina z rolą {}.", dto.getEmail(), roleToSet.name());
+        // Tani odczyt przed kosztownym haszowaniem; wyścig dwóch zapisów obsługuje błąd -20001 z AddUser
+        if (userRepository.findUserDetailsByEmail(dto.getEmail()).isPresent()) {
+            throw new DataConflictException("Użytkownik z emailem '" + dto.getEmail() + "' już istnieje.");
+        }
 
-        User createdUser = userRepository.findUserDetailsByEmail(dto.getEmail())
-                .orElseThrow(() -> {
-                    logger.error("KRYTYCZNY BŁĄD: Nie udało się pobrać użytkownika '{}' bezpośrednio po utworzeniu przez admina.", dto.getEmail());
-                    return new OperationFailedException("Nie udało się pobrać użytkownika po utworzeniu.");
-                });
+        String hashedPassword = passwordHasher.hash(dto.getPassword());
+        User createdUser;
+        try {
+            createdUser = userRepository.createUser(dto.getUsername(), hashedPassword, dto.getEmail(), roleToSet.name());
+        } catch (OperationFailedException e) {
+            if (e.getMessage() != null && e.getMessage().contains("już istnieje")) {
+                throw new DataConflictException(e.getMessage());
+            }
+            throw e;
+        }
+        logger.info("Użytkownik '{}' utworzony przez admina z rolą {}.", dto.getEmail(), roleToSet.name());
         return new UserAdminViewDto(createdUser.getUserId(), createdUser.getUsername(), createdUser.getEmail(), createdUser.getRole());
     }
 
     @Transactional
     public UserAdminViewDto updateUserRole(Long userId, String newRoleString) {
         logger.info("Administrator próbuje zaktualizować rolę dla użytkownika ID {} na '{}'", userId, newRoleString);
-        User user = userRepository.findUserById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Nie znaleziono użytkownika o ID: " + userId));
-
         RoleType newRole;
         try {
             newRole = RoleType.valueOf(newRoleString.toUpperCase());
@@ -96,19 +147,10 @@ public class AdminUserService {
             throw new IllegalArgumentException("Nieprawidłowa rola: '" + newRoleString + "'. Dostępne role: USER, TRAINER, ADMIN.");
         }
 
-        if (user.getRole() == newRole) {
-            logger.info("Rola użytkownika ID {} to już {}, nie ma potrzeby aktualizacji.", userId, newRole);
-            return new UserAdminViewDto(user.getUserId(), user.getUsername(), user.getEmail(), user.getRole());
-        }
-
-        boolean success = userRepository.updateUserRole(userId, newRole.name());
-        if (!success) {
-            throw new OperationFailedException("Nie udało się zaktualizować roli dla użytkownika ID: " + userId + ". Procedura PL/SQL zgłosiła błąd.");
-        }
+        // Procedura zwraca wiersz po zmianie; ustawienie tej samej roli jest nieszkodliwe, więc nie sprawdzamy jej wcześniej
+        User updatedUser = userRepository.updateUserRole(userId, newRole.name())
+                .orElseThrow(() -> new ResourceNotFoundException("Nie znaleziono użytkownika o ID: " + userId));
         logger.info("Rola dla użytkownika ID {} została pomyślnie zaktualizowana na {}.", userId, newRole.name());
-
-        User updatedUser = userRepository.findUserById(userId)
-                .orElseThrow(() -> new OperationFailedException("Nie udało się pobrać użytkownika po aktualizacji roli."));
         return new UserAdminViewDto(updatedUser.getUserId(), updatedUser.getUsername(), updatedUser.getEmail(), updatedUser.getRole());
     }
 
@@ -117,11 +159,16 @@ public class AdminUserService {
         logger.info("Administrator próbuje usunąć użytkownika o ID: {}", userId);
         userRepository.findUserById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Nie znaleziono użytkownika o ID: " + userId + " do usunięcia."));
+        // Profil trenera trzeba ustalić przed usunięciem, bo procedura kasuje go razem z sesjami
+        Optional<Long> trainerId = trainerProfileRepository.findTrainerIdByUserId(userId);
 
         boolean success = userRepository.deleteUser(userId);
         if (!success) {
             throw new OperationFailedException("Nie udało się usunąć użytkownika o ID: " + userId + ". Procedura PL/SQL zgłosiła błąd.");
         }
+        // Usunięcie użytkownika (i ewentualnie jego profilu trenera) kasuje przypisania planów
+        trainingPlanDetailCache.invalidateAll();
+        trainerId.ifPresent(sessionIntervalIndex::removeTrainer);
         logger.info("Użytkownik o ID {} został pomyślnie usunięty.", userId);
     }
 }
\ No newline at end of file
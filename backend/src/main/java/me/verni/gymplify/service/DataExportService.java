@@ -0,0 +1,95 @@
+package me.verni.gymplify.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.verni.gymplify.dto.PersonalPlanDto;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.dto.UserExportDto;
+import me.verni.gymplify.repository.ExportRepository;
+import me.verni.gymplify.util.ExportColumn;
+import me.verni.gymplify.util.ExportFormat;
+import me.verni.gymplify.util.RowStreamWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+@Service
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    private static final List<ExportColumn<UserExportDto>> USER_COLUMNS = List.of(
+            new ExportColumn<>("userId", UserExportDto::getUserId),
+            new ExportColumn<>("username", UserExportDto::getUsername),
+            new ExportColumn<>("email", UserExportDto::getEmail),
+            new ExportColumn<>("role", UserExportDto::getRole),
+            new ExportColumn<>("createdAt", UserExportDto::getCreatedAt)
+    );
+
+    private static final List<ExportColumn<PersonalPlanDto>> PERSONAL_PLAN_COLUMNS = List.of(
+            new ExportColumn<>("personalPlanId", PersonalPlanDto::getPersonalPlanId),
+            new ExportColumn<>("userId", PersonalPlanDto::getUserId),
+            new ExportColumn<>("username", PersonalPlanDto::getUsername),
+            new ExportColumn<>("trainerId", PersonalPlanDto::getTrainerId),
+            new ExportColumn<>("trainerName", PersonalPlanDto::getTrainerName),
+            new ExportColumn<>("trainerSurname", PersonalPlanDto::getTrainerSurname),
+            new ExportColumn<>("planId", PersonalPlanDto::getPlanId),
+            new ExportColumn<>("planName", PersonalPlanDto::getPlanName)
+    );
+
+    private static final List<ExportColumn<TrainerSessionDto>> TRAINER_SESSION_COLUMNS = List.of(
+            new ExportColumn<>("scheduleId", TrainerSessionDto::getScheduleId),
+            new ExportColumn<>("trainerId", TrainerSessionDto::getTrainerId),
+            new ExportColumn<>("trainerName", TrainerSessionDto::getTrainerName),
+            new ExportColumn<>("trainerSurname", TrainerSessionDto::getTrainerSurname),
+            new ExportColumn<>("sessionDate", TrainerSessionDto::getSessionDate),
+            new ExportColumn<>("startTime", TrainerSessionDto::getStartTime),
+            new ExportColumn<>("endTime", TrainerSessionDto::getEndTime)
+    );
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public DataExportService(ExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public long exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        logger.debug("Eksport użytkowników w formacie {}", format);
+        return export(format, out, USER_COLUMNS, exportRepository::streamUsers);
+    }
+
+    public long exportPersonalPlans(ExportFormat format, OutputStream out) throws IOException {
+        logger.debug("Eksport planów personalnych w formacie {}", format);
+        return export(format, out, PERSONAL_PLAN_COLUMNS, exportRepository::streamPersonalPlans);
+    }
+
+    public long exportTrainerSessions(ExportFormat format, OutputStream out) throws IOException {
+        logger.debug("Eksport sesji trenerów w formacie {}", format);
+        return export(format, out, TRAINER_SESSION_COLUMNS, exportRepository::streamTrainerSessions);
+    }
+
+    private <T> long export(ExportFormat format, OutputStream out, List<ExportColumn<T>> columns,
+                            ToLongFunction<Consumer<T>> source) throws IOException {
+        try (RowStreamWriter<T> writer = new RowStreamWriter<>(format, columns, out, objectMapper)) {
+            source.applyAsLong(row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    // Np. klient przerwał pobieranie - przerywa odczyt kursora.
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.getRowCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
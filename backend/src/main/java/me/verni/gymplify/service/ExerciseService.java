@@ -1,5 +1,7 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.ReferenceDataCache;
+import me.verni.gymplify.cache.TrainingPlanDetailCache;
 import me.verni.gymplify.dto.ExerciseDto;
 import me.verni.gymplify.dto.ExerciseRequestDto;
 import me.verni.gymplify.exception.DataConflictException;
@@ -18,20 +20,25 @@ public class ExerciseService {
 
     private static final Logger log = LoggerFactory.getLogger(ExerciseService.class);
     private final ExerciseRepository exerciseRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TrainingPlanDetailCache trainingPlanDetailCache;
 
     @Autowired
-    public ExerciseService(ExerciseRepository exerciseRepository) {
+    public ExerciseService(ExerciseRepository exerciseRepository, ReferenceDataCache referenceDataCache,
+                           TrainingPlanDetailCache trainingPlanDetailCache) {
         this.exerciseRepository = exerciseRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.trainingPlanDetailCache = trainingPlanDetailCache;
     }
 
     public List<ExerciseDto> getAllExercises() {
         log.info("Pobieranie wszystkich ćwiczeń");
-        return exerciseRepository.findAll();
+        return referenceDataCache.getAllExercises();
     }
 
     public ExerciseDto getExerciseById(Long id) {
         log.info("Pobieranie ćwiczenia o ID: {}", id);
-        return exerciseRepository.findById(id)
+        return referenceDataCache.findExerciseById(id)
                 .orElseThrow(() -> {
                     log.warn("Nie znaleziono ćwiczenia o ID: {}", id);
                     return new ResourceNotFoundException("Nie znaleziono ćwiczenia o ID: " + id);
@@ -40,7 +47,7 @@ public class ExerciseService {
 
     public List<ExerciseDto> findExercisesByMuscleGroupId(Long groupId) {
         log.info("Pobieranie ćwiczeń dla grupy mięśniowej o ID: {}", groupId);
-        return exerciseRepository.findByMuscleGroupId(groupId);
+        return referenceDataCache.findExercisesByMuscleGroupId(groupId);
     }
 
     public ExerciseDto addExercise(ExerciseRequestDto requestDto) {
@@ -48,6 +55,7 @@ public class ExerciseService {
         try {
             // Repozytorium teraz przyjmuje ExerciseRequestDto
             Long newExerciseId = exerciseRepository.save(requestDto);
+            referenceDataCache.refreshExercise(newExerciseId);
             return getExerciseById(newExerciseId);
         } catch (OperationFailedException e) {
             log.error("Nie udało się dodać ćwiczenia '{}': {}", requestDto.getName(), e.getMessage());
@@ -68,6 +76,8 @@ public class ExerciseService {
                 log.warn("Nie udało się zaktualizować ćwiczenia o ID: {}. Procedura zwróciła błąd.", id);
                 throw new OperationFailedException("Nie udało się zaktualizować ćwiczenia o ID: " + id + ". Procedura zgłosiła błąd.");
             }
+            referenceDataCache.refreshExercise(id);
+            trainingPlanDetailCache.evictPlansWithExercise(id);
             return getExerciseById(id);
         } catch (OperationFailedException e) {
             throw e;
@@ -87,6 +97,8 @@ public class ExerciseService {
                 log.warn("Nie udało się usunąć ćwiczenia o ID: {}. Procedura zwróciła błąd.", id);
                 throw new DataConflictException("Nie można usunąć ćwiczenia (ID: " + id + "). Możliwe, że istnieją powiązane dane lub procedura zgłosiła błąd.");
             }
+            referenceDataCache.evictExercise(id);
+            trainingPlanDetailCache.evictPlansWithExercise(id);
         } catch (DataConflictException e) {
             throw e;
         } catch (Exception e) {
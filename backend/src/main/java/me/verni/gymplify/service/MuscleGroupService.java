@@ -1,5 +1,7 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.ReferenceDataCache;
+import me.verni.gymplify.cache.TrainingPlanDetailCache;
 import me.verni.gymplify.exception.DataConflictException;
 import me.verni.gymplify.exception.OperationFailedException;
 import me.verni.gymplify.exception.ResourceNotFoundException;
@@ -16,15 +18,20 @@ import java.util.List;
 public class MuscleGroupService {
 
     private final MuscleGroupRepository muscleGroupRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TrainingPlanDetailCache trainingPlanDetailCache;
 
     @Autowired
-    public MuscleGroupService(MuscleGroupRepository muscleGroupRepository) {
+    public MuscleGroupService(MuscleGroupRepository muscleGroupRepository, ReferenceDataCache referenceDataCache,
+                              TrainingPlanDetailCache trainingPlanDetailCache) {
         this.muscleGroupRepository = muscleGroupRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.trainingPlanDetailCache = trainingPlanDetailCache;
     }
 
     public List<MuscleGroupDto> getAllMuscleGroups() {
         try {
-            return muscleGroupRepository.findAll();
+            return referenceDataCache.getAllMuscleGroups();
         } catch (OperationFailedException e) {
             throw e;
         } catch (Exception e) {
@@ -34,7 +41,7 @@ public class MuscleGroupService {
 
     public MuscleGroupDto getMuscleGroupById(Long id) {
         try {
-            return muscleGroupRepository.findById(id)
+            return referenceDataCache.findMuscleGroupById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Nie znaleziono grupy mięśniowej o ID: " + id));
         } catch (ResourceNotFoundException e) {
             throw e;
@@ -46,6 +53,7 @@ public class MuscleGroupService {
     public MuscleGroupDto addMuscleGroup(MuscleGroupRequestDto requestDto) {
         try {
             Long newGroupId = muscleGroupRepository.save(requestDto.getGroupName(), requestDto.getDescription());
+            referenceDataCache.refreshMuscleGroup(newGroupId);
             return getMuscleGroupById(newGroupId);
         } catch (DuplicateKeyException e) {
             throw new DataConflictException("Grupa mięśniowa o nazwie '" + requestDto.getGroupName() + "' już istnieje.", e);
@@ -70,6 +78,8 @@ public class MuscleGroupService {
             if (!success) {
                 throw new OperationFailedException("Nie udało się zaktualizować grupy mięśniowej o ID: " + id + ". Procedura zgłosiła błąd.");
             }
+            referenceDataCache.refreshMuscleGroup(id);
+            trainingPlanDetailCache.evictPlansWithMuscleGroup(id);
             return getMuscleGroupById(id);
         } catch (DuplicateKeyException e) {
             throw new DataConflictException("Nie można zaktualizować grupy mięśniowej. Nazwa '" + requestDto.getGroupName() + "' prawdopodobnie już jest używana przez inną grupę.", e);
@@ -87,6 +97,7 @@ public class MuscleGroupService {
             if (!success) {
                 throw new DataConflictException("Nie można usunąć grupy mięśniowej (ID: " + id + "). Możliwe, że istnieją powiązane ćwiczenia lub procedura zgłosiła błąd.");
             }
+            referenceDataCache.evictMuscleGroup(id);
         } catch (ResourceNotFoundException | DataConflictException e) {
             throw e;
         } catch (Exception e) {
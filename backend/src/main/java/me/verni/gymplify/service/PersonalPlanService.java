@@ -1,5 +1,7 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.TrainingPlanDetailCache;
+import me.verni.gymplify.dto.PersonalPlanBulkCreationDto;
 import me.verni.gymplify.dto.PersonalPlanCreationDto;
 import me.verni.gymplify.dto.PersonalPlanDto;
 import me.verni.gymplify.dto.PersonalPlanUpdateDto;
@@ -11,9 +13,12 @@ import me.verni.gymplify.repository.PersonalPlanRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
@@ -21,10 +26,16 @@ public class PersonalPlanService {
     private static final Logger log = LoggerFactory.getLogger(PersonalPlanService.class);
 
     private final PersonalPlanRepository personalPlanRepository;
+    private final TrainingPlanDetailCache trainingPlanDetailCache;
+    private final int maxBulkUsers;
 
     @Autowired
-    public PersonalPlanService(PersonalPlanRepository personalPlanRepository) {
+    public PersonalPlanService(PersonalPlanRepository personalPlanRepository,
+                               TrainingPlanDetailCache trainingPlanDetailCache,
+                               @Value("${personal-plans.bulk.max-users:1000}") int maxBulkUsers) {
         this.personalPlanRepository = personalPlanRepository;
+        this.trainingPlanDetailCache = trainingPlanDetailCache;
+        this.maxBulkUsers = maxBulkUsers;
     }
 
     private void handleOperationFailedException(OperationFailedException e, String operation) {
@@ -44,6 +55,7 @@ public class PersonalPlanService {
     public PersonalPlanDto assignPlanToUser(PersonalPlanCreationDto dto) {
         try {
             Long personalPlanId = personalPlanRepository.assignPlanToUser(dto.getTrainerId(), dto.getUserId(), dto.getPlanId());
+            trainingPlanDetailCache.evictPlan(dto.getPlanId());
             return getPersonalPlanById(personalPlanId);
         } catch (OperationFailedException e) {
             String errorMessage = e.getMessage();
@@ -57,11 +69,35 @@ public class PersonalPlanService {
         }
     }
 
+    @Transactional
+    public List<PersonalPlanDto> assignPlanToUsersBulk(PersonalPlanBulkCreationDto dto) {
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(dto.getUserIds()));
+        if (userIds.size() > maxBulkUsers) {
+            throw new DataConflictException("Jednym żądaniem można przypisać plan co najwyżej " + maxBulkUsers + " użytkownikom.");
+        }
+        try {
+            List<PersonalPlanDto> created = personalPlanRepository.assignPlanToUsersBulk(dto.getTrainerId(), dto.getPlanId(), userIds);
+            trainingPlanDetailCache.evictPlan(dto.getPlanId());
+            log.info("Przypisano plan ID {} od trenera ID {} {} użytkownikom.", dto.getPlanId(), dto.getTrainerId(), created.size());
+            return created;
+        } catch (OperationFailedException e) {
+            String errorMessage = e.getMessage();
+            if (errorMessage != null && errorMessage.matches(".*Użytkownik ID \\d+ ma już przypisany plan od innego trenera.*")) {
+                throw new DataConflictException(errorMessage.split("\\. ", 2)[0] + ".");
+            } else if (errorMessage != null && errorMessage.contains("nieprawidłową rolę")) {
+                throw new DataConflictException(errorMessage.split("\\. ", 2)[0] + ".");
+            }
+            handleOperationFailedException(e, "zbiorcze przypisanie planu do użytkowników");
+            return null;
+        }
+    }
+
     @Transactional
     public void unassignPersonalPlanById(Long personalPlanId) {
-        getPersonalPlanById(personalPlanId);
+        PersonalPlanDto existingPlan = getPersonalPlanById(personalPlanId);
         try {
             personalPlanRepository.unassignPersonalPlanById(personalPlanId);
+            trainingPlanDetailCache.evictPlan(existingPlan.getPlanId());
         } catch (OperationFailedException e) {
             handleOperationFailedException(e, "usunięcie przypisania personalnego planu (ID: " + personalPlanId + ")");
         }
@@ -71,6 +107,7 @@ public class PersonalPlanService {
     public void unassignPlanFromUser(Long userId, Long planId, Long trainerId) {
         try {
             personalPlanRepository.unassignPlanFromUser(userId, planId, trainerId);
+            trainingPlanDetailCache.evictPlan(planId);
         } catch (OperationFailedException e) {
             handleOperationFailedException(e, "usunięcie przypisania planu (user: " + userId + ", plan: " + planId + ")");
         }
@@ -81,6 +118,8 @@ public class PersonalPlanService {
         PersonalPlanDto existingPlan = getPersonalPlanById(personalPlanId);
         try {
             personalPlanRepository.updatePersonalPlanAssignment(personalPlanId, dto.getNewTrainerId(), dto.getNewPlanId());
+            trainingPlanDetailCache.evictPlan(existingPlan.getPlanId());
+            trainingPlanDetailCache.evictPlan(dto.getNewPlanId());
             return getPersonalPlanById(personalPlanId);
         } catch (OperationFailedException e) {
             String errorMessage = e.getMessage();
@@ -0,0 +1,63 @@
+package me.verni.gymplify.service;
+
+import me.verni.gymplify.cache.StatisticsSnapshotCache;
+import me.verni.gymplify.repository.StatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically reconciles {@code APP_STATISTIC_COUNTERS} with the real row counts.
+ * The management packages keep the counters up to date transactionally; this job only fixes
+ * drift caused by writes that bypassed them (manual DML, data imports) and seeds the counters
+ * on a fresh database, since the first run happens right after startup.
+ */
+@Service
+public class StatisticsCounterReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsCounterReconciliationJob.class);
+
+    private final StatisticsRepository statisticsRepository;
+    private final StatisticsSnapshotCache snapshotCache;
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final AtomicLong lastRunAtMillis = new AtomicLong();
+
+    public StatisticsCounterReconciliationJob(StatisticsRepository statisticsRepository, StatisticsSnapshotCache snapshotCache) {
+        this.statisticsRepository = statisticsRepository;
+        this.snapshotCache = snapshotCache;
+    }
+
+    @Scheduled(initialDelayString = "${statistics.counters.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${statistics.counters.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            Optional<Long> drift = statisticsRepository.reconcileCounters();
+            lastRunAtMillis.set(System.currentTimeMillis());
+            if (drift.isEmpty()) {
+                logger.warn("Uzgadnianie liczników statystyk nie powiodło się.");
+                return;
+            }
+            lastDrift.set(drift.get());
+            if (drift.get() > 0) {
+                logger.warn("Skorygowano liczniki statystyk, łączna rozbieżność: {}", drift.get());
+                snapshotCache.invalidateAll();
+            } else {
+                logger.debug("Liczniki statystyk są zgodne z danymi.");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Błąd podczas uzgadniania liczników statystyk: {}", e.getMessage());
+        }
+    }
+
+    public long getLastDrift() {
+        return lastDrift.get();
+    }
+
+    public long getLastRunAtMillis() {
+        return lastRunAtMillis.get();
+    }
+}
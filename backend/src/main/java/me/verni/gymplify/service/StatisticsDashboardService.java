@@ -0,0 +1,167 @@
+package me.verni.gymplify.service;
+
+import jakarta.annotation.PreDestroy;
+import me.verni.gymplify.cache.StatisticsSnapshot;
+import me.verni.gymplify.config.DatabaseConcurrencyLimiter;
+import me.verni.gymplify.dto.statistics.DashboardSectionStatusDto;
+import me.verni.gymplify.dto.statistics.DashboardStatisticsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole admin dashboard in a single request by running every statistics query
+ * concurrently. Queries run on virtual threads, but at most {@code max-parallelism} of them
+ * hold a database connection at the same time, so one dashboard cannot drain the Hikari pool.
+ * A failing or slow section is reported in {@link DashboardStatisticsDto#getSections()}
+ * instead of failing the whole response. Sections are served from the statistics snapshot
+ * cache, so {@link DashboardStatisticsDto#getSnapshotAgeMs()} reports the age of the oldest one.
+ */
+@Service
+public class StatisticsDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsDashboardService.class);
+
+    private final StatisticsService statisticsService;
+    private final ExecutorService executor;
+    private final Semaphore dbPermits;
+    private final long timeoutMillis;
+
+    public StatisticsDashboardService(StatisticsService statisticsService,
+                                      @Value("${statistics.dashboard.max-parallelism:4}") int maxParallelism,
+                                      @Value("${statistics.dashboard.timeout-ms:10000}") long timeoutMillis) {
+        this.statisticsService = statisticsService;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stats-dashboard-", 0).factory());
+        this.dbPermits = new Semaphore(Math.max(1, maxParallelism), true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public DashboardStatisticsDto getDashboard(LocalDate newUsersFrom, LocalDate newUsersTo,
+                                               int popularExercisesTopN, int mostAssignedPlansTopN) {
+        logger.debug("Pobieranie zbiorczych statystyk panelu administratora");
+        long startedAt = System.nanoTime();
+        DashboardStatisticsDto dashboard = new DashboardStatisticsDto();
+
+        List<Section<?>> sections = List.of(
+                new Section<>("totalUserCount", statisticsService::getTotalUserCount, dashboard::setTotalUserCount),
+                new Section<>("totalTrainerCount", statisticsService::getTotalTrainerCount, dashboard::setTotalTrainerCount),
+                new Section<>("usersByRole", statisticsService::getUserCountByRole, dashboard::setUsersByRole),
+                new Section<>("newUsers", () -> statisticsService.getNewUsersByPeriod(newUsersFrom, newUsersTo), dashboard::setNewUsers),
+                new Section<>("trainersBySpecialization", statisticsService::getTrainerCountBySpecialization, dashboard::setTrainersBySpecialization),
+                new Section<>("trainerWorkload", statisticsService::getTrainerWorkloadStats, dashboard::setTrainerWorkload),
+                new Section<>("exerciseCountByMuscleGroup", statisticsService::getExerciseCountByMuscleGroup, dashboard::setExerciseCountByMuscleGroup),
+                new Section<>("popularExercisesInPlans", () -> statisticsService.getMostPopularExercisesInPlans(popularExercisesTopN), dashboard::setPopularExercisesInPlans),
+                new Section<>("mostAssignedTrainingPlans", () -> statisticsService.getMostAssignedTrainingPlans(mostAssignedPlansTopN), dashboard::setMostAssignedTrainingPlans),
+                new Section<>("systemActivityCounts", statisticsService::getOverallSystemActivityCounts, dashboard::setSystemActivityCounts)
+        );
+
+        for (Section<?> section : sections) {
+            section.submit();
+        }
+
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<DashboardSectionStatusDto> statuses = new ArrayList<>(sections.size());
+        boolean partial = false;
+        Long oldestSnapshotAgeMs = null;
+        long latestLoadedAtMs = 0;
+        for (Section<?> section : sections) {
+            DashboardSectionStatusDto status = section.collect(deadline);
+            partial |= !status.getSuccess();
+            latestLoadedAtMs = Math.max(latestLoadedAtMs, section.snapshotLoadedAtMillis);
+            if (status.getSnapshotAgeMs() != null) {
+                oldestSnapshotAgeMs = oldestSnapshotAgeMs == null
+                        ? status.getSnapshotAgeMs()
+                        : Math.max(oldestSnapshotAgeMs, status.getSnapshotAgeMs());
+            }
+            statuses.add(status);
+        }
+
+        dashboard.setSections(statuses);
+        dashboard.setPartial(partial);
+        dashboard.setSnapshotAgeMs(oldestSnapshotAgeMs);
+        dashboard.setLatestSnapshotLoadedAtMs(partial ? null : latestLoadedAtMs);
+        dashboard.setTotalDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        if (partial) {
+            logger.warn("Statystyki panelu zwrócone częściowo: {}", statuses.stream()
+                    .filter(s -> !s.getSuccess())
+                    .map(DashboardSectionStatusDto::getSection)
+                    .toList());
+        }
+        return dashboard;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class Section<T> {
+        private final String name;
+        private final Supplier<StatisticsSnapshot<T>> loader;
+        private final Consumer<T> target;
+        private Future<StatisticsSnapshot<T>> future;
+        private volatile long durationNanos = -1;
+        private long snapshotLoadedAtMillis;
+
+        private Section(String name, Supplier<StatisticsSnapshot<T>> loader, Consumer<T> target) {
+            this.name = name;
+            this.loader = loader;
+            this.target = target;
+        }
+
+        private void submit() {
+            future = executor.submit(() -> {
+                DatabaseConcurrencyLimiter.setCurrentPriority(DatabaseConcurrencyLimiter.Priority.LOW);
+                dbPermits.acquire();
+                long start = System.nanoTime();
+                try {
+                    return loader.get();
+                } finally {
+                    durationNanos = System.nanoTime() - start;
+                    dbPermits.release();
+                }
+            });
+        }
+
+        private DashboardSectionStatusDto collect(long deadlineNanos) {
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                StatisticsSnapshot<T> snapshot = future.get(remaining, TimeUnit.NANOSECONDS);
+                target.accept(snapshot.getValue());
+                snapshotLoadedAtMillis = snapshot.getLoadedAtMillis();
+                return new DashboardSectionStatusDto(name, durationMillis(), true, null, snapshot.getAgeMillis());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                return new DashboardSectionStatusDto(name, durationMillis(), false, "Przekroczono limit czasu.", null);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                // Szczegóły błędu tylko w logu; klient dostaje stały komunikat bez danych z bazy
+                logger.error("Błąd podczas pobierania sekcji statystyk '{}'", name, cause);
+                return new DashboardSectionStatusDto(name, durationMillis(), false, "Sekcja niedostępna.", null);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                return new DashboardSectionStatusDto(name, durationMillis(), false, "Przerwano pobieranie.", null);
+            }
+        }
+
+        private Long durationMillis() {
+            long nanos = durationNanos;
+            return nanos < 0 ? null : TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+}
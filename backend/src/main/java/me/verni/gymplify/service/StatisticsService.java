@@ -1,5 +1,7 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.StatisticsSnapshot;
+import me.verni.gymplify.cache.StatisticsSnapshotCache;
 import me.verni.gymplify.dto.statistics.*; // Importuje wszystkie DTO z tego pakietu
 import me.verni.gymplify.exception.ResourceNotFoundException;
 import me.verni.gymplify.repository.StatisticsRepository;
@@ -14,60 +16,62 @@ import java.util.List;
 public class StatisticsService {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
     private final StatisticsRepository statisticsRepository;
+    private final StatisticsSnapshotCache snapshotCache;
 
-    public StatisticsService(StatisticsRepository statisticsRepository) {
+    public StatisticsService(StatisticsRepository statisticsRepository, StatisticsSnapshotCache snapshotCache) {
         this.statisticsRepository = statisticsRepository;
+        this.snapshotCache = snapshotCache;
     }
 
-    public Long getTotalUserCount() {
+    public StatisticsSnapshot<Long> getTotalUserCount() {
         logger.debug("Pobieranie całkowitej liczby użytkowników");
-        return statisticsRepository.getTotalUserCount()
-                .orElseThrow(() -> new ResourceNotFoundException("Nie udało się pobrać całkowitej liczby użytkowników."));
+        return snapshotCache.get("total-user-count", () -> statisticsRepository.getTotalUserCount()
+                .orElseThrow(() -> new ResourceNotFoundException("Nie udało się pobrać całkowitej liczby użytkowników.")));
     }
 
-    public List<RoleStatDto> getUserCountByRole() {
+    public StatisticsSnapshot<List<RoleStatDto>> getUserCountByRole() {
         logger.debug("Pobieranie liczby użytkowników po rolach");
-        return statisticsRepository.getUserCountByRoleTyped();
+        return snapshotCache.get("users-by-role", statisticsRepository::getUserCountByRoleTyped);
     }
 
-    public List<NewUserStatDto> getNewUsersByPeriod(LocalDate startDate, LocalDate endDate) {
+    public StatisticsSnapshot<List<NewUserStatDto>> getNewUsersByPeriod(LocalDate startDate, LocalDate endDate) {
         logger.debug("Pobieranie nowych użytkowników w okresie od {} do {}", startDate, endDate);
-        return statisticsRepository.getNewUsersByPeriod(startDate, endDate);
+        return snapshotCache.get("new-users", () -> statisticsRepository.getNewUsersByPeriod(startDate, endDate), startDate, endDate);
     }
 
-    public Long getTotalTrainerCount() {
+    public StatisticsSnapshot<Long> getTotalTrainerCount() {
         logger.debug("Pobieranie całkowitej liczby trenerów");
-        return statisticsRepository.getTotalTrainerCount()
-                .orElseThrow(() -> new ResourceNotFoundException("Nie udało się pobrać całkowitej liczby trenerów."));
+        return snapshotCache.get("total-trainer-count", () -> statisticsRepository.getTotalTrainerCount()
+                .orElseThrow(() -> new ResourceNotFoundException("Nie udało się pobrać całkowitej liczby trenerów.")));
     }
 
-    public List<SpecializationStatDto> getTrainerCountBySpecialization() {
+    public StatisticsSnapshot<List<SpecializationStatDto>> getTrainerCountBySpecialization() {
         logger.debug("Pobieranie liczby trenerów po specjalizacjach");
-        return statisticsRepository.getTrainerCountBySpecializationTyped();
+        return snapshotCache.get("trainers-by-specialization", statisticsRepository::getTrainerCountBySpecializationTyped);
     }
 
-    public List<TrainerWorkloadDto> getTrainerWorkloadStats() {
+    public StatisticsSnapshot<List<TrainerWorkloadDto>> getTrainerWorkloadStats() {
         logger.debug("Pobieranie statystyk obciążenia trenerów");
-        return statisticsRepository.getTrainerWorkloadStatsTyped();
+        return snapshotCache.get("trainer-workload", statisticsRepository::getTrainerWorkloadStatsTyped);
     }
 
-    public List<ExerciseCountByMuscleGroupDto> getExerciseCountByMuscleGroup() {
+    public StatisticsSnapshot<List<ExerciseCountByMuscleGroupDto>> getExerciseCountByMuscleGroup() {
         logger.debug("Pobieranie liczby ćwiczeń wg grup mięśniowych");
-        return statisticsRepository.getExerciseCountByMuscleGroup();
+        return snapshotCache.get("exercise-count-by-muscle-group", statisticsRepository::getExerciseCountByMuscleGroup);
     }
 
-    public List<ExercisePopularityDto> getMostPopularExercisesInPlans(int topN) {
+    public StatisticsSnapshot<List<ExercisePopularityDto>> getMostPopularExercisesInPlans(int topN) {
         logger.debug("Pobieranie {} najpopularniejszych ćwiczeń w planach", topN);
-        return statisticsRepository.getMostPopularExercisesInPlansTyped(topN);
+        return snapshotCache.get("popular-exercises-in-plans", () -> statisticsRepository.getMostPopularExercisesInPlansTyped(topN), topN);
     }
 
-    public List<PopularPlanDto> getMostAssignedTrainingPlans(int topN) {
+    public StatisticsSnapshot<List<PopularPlanDto>> getMostAssignedTrainingPlans(int topN) {
         logger.debug("Pobieranie {} najczęściej przypisywanych planów treningowych", topN);
-        return statisticsRepository.getMostAssignedTrainingPlans(topN);
+        return snapshotCache.get("most-assigned-training-plans", () -> statisticsRepository.getMostAssignedTrainingPlans(topN), topN);
     }
 
-    public List<SystemActivityCountDto> getOverallSystemActivityCounts() {
+    public StatisticsSnapshot<List<SystemActivityCountDto>> getOverallSystemActivityCounts() {
         logger.debug("Pobieranie ogólnych statystyk aktywności systemu");
-        return statisticsRepository.getOverallSystemActivityCounts();
+        return snapshotCache.get("system-activity-counts", statisticsRepository::getOverallSystemActivityCounts);
     }
 }
\ No newline at end of file
@@ -0,0 +1,232 @@
+package me.verni.gymplify.service;
+
+import me.verni.gymplify.cache.TrainerSessionIntervalIndex;
+import me.verni.gymplify.dto.TrainerAdminViewDto;
+import me.verni.gymplify.dto.TrainerAvailabilityDto;
+import me.verni.gymplify.dto.TrainerAvailabilityResultDto;
+import me.verni.gymplify.dto.TrainerFreeSlotDto;
+import me.verni.gymplify.dto.TrainerSessionDto;
+import me.verni.gymplify.exception.DataConflictException;
+import me.verni.gymplify.exception.ResourceNotFoundException;
+import me.verni.gymplify.repository.TrainerProfileRepository;
+import me.verni.gymplify.repository.TrainerSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Computes free slots of one or many trainers within daily working hours.
+ * <p>
+ * Busy intervals come from {@link TrainerSessionIntervalIndex} when it covers the requested range,
+ * otherwise from a single query returning the sessions of all requested trainers ordered by trainer
+ * and start time. Each trainer's sorted intervals are then merged with the consecutive working-hour
+ * windows in one pass, so the cost is linear in days plus sessions.
+ */
+@Service
+public class TrainerAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerAvailabilityService.class);
+
+    private final TrainerProfileRepository trainerProfileRepository;
+    private final TrainerSessionRepository trainerSessionRepository;
+    private final TrainerSessionIntervalIndex sessionIntervalIndex;
+    private final LocalTime defaultWorkStart;
+    private final LocalTime defaultWorkEnd;
+    private final int defaultMinDurationMinutes;
+    private final int maxDays;
+    private final int maxTrainers;
+
+    public TrainerAvailabilityService(TrainerProfileRepository trainerProfileRepository,
+                                      TrainerSessionRepository trainerSessionRepository,
+                                      TrainerSessionIntervalIndex sessionIntervalIndex,
+                                      @Value("${trainer-sessions.availability.work-start:08:00}") String defaultWorkStart,
+                                      @Value("${trainer-sessions.availability.work-end:20:00}") String defaultWorkEnd,
+                                      @Value("${trainer-sessions.availability.min-duration-minutes:60}") int defaultMinDurationMinutes,
+                                      @Value("${trainer-sessions.availability.max-days:62}") int maxDays,
+                                      @Value("${trainer-sessions.availability.max-trainers:100}") int maxTrainers) {
+        this.trainerProfileRepository = trainerProfileRepository;
+        this.trainerSessionRepository = trainerSessionRepository;
+        this.sessionIntervalIndex = sessionIntervalIndex;
+        this.defaultWorkStart = LocalTime.parse(defaultWorkStart);
+        this.defaultWorkEnd = LocalTime.parse(defaultWorkEnd);
+        this.defaultMinDurationMinutes = defaultMinDurationMinutes;
+        this.maxDays = maxDays;
+        this.maxTrainers = maxTrainers;
+    }
+
+    public TrainerAvailabilityResultDto findAvailability(List<Long> trainerIds, String specialization,
+                                                         LocalDate fromDate, LocalDate toDate, Integer minDurationMinutes,
+                                                         LocalTime workStart, LocalTime workEnd) {
+        long startedAt = System.nanoTime();
+        LocalTime dayStart = workStart != null ? workStart : defaultWorkStart;
+        LocalTime dayEnd = workEnd != null ? workEnd : defaultWorkEnd;
+        int minMinutes = minDurationMinutes != null ? minDurationMinutes : defaultMinDurationMinutes;
+        validateQuery(fromDate, toDate, dayStart, dayEnd, minMinutes);
+
+        List<TrainerAdminViewDto> trainers = resolveTrainers(trainerIds, specialization);
+        if (trainers.size() > maxTrainers) {
+            throw new DataConflictException("Jedno zapytanie może obejmować co najwyżej " + maxTrainers + " trenerów.");
+        }
+
+        LocalDateTime rangeStart = fromDate.atStartOfDay();
+        LocalDateTime rangeEnd = toDate.plusDays(1).atStartOfDay();
+        String source = "INDEX";
+        Map<Long, List<TrainerSessionIntervalIndex.Interval>> busyByTrainer = busyFromIndex(trainers, rangeStart, rangeEnd);
+        if (busyByTrainer == null) {
+            source = "DATABASE";
+            busyByTrainer = busyFromDatabase(trainers, fromDate, toDate);
+        }
+
+        Duration minDuration = Duration.ofMinutes(minMinutes);
+        LocalDateTime now = LocalDateTime.now();
+        List<TrainerAvailabilityDto> result = new ArrayList<>(trainers.size());
+        for (TrainerAdminViewDto trainer : trainers) {
+            List<TrainerFreeSlotDto> freeSlots = computeFreeSlots(
+                    busyByTrainer.getOrDefault(trainer.getTrainerId(), List.of()),
+                    fromDate, toDate, dayStart, dayEnd, minDuration, now);
+            long totalFreeMinutes = freeSlots.stream().mapToLong(TrainerFreeSlotDto::getDurationMinutes).sum();
+            result.add(new TrainerAvailabilityDto(trainer.getTrainerId(), trainer.getName(), trainer.getSurname(),
+                    trainer.getSpecialization(), totalFreeMinutes, freeSlots));
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.debug("Wyznaczono wolne terminy dla {} trenerów ({} - {}, źródło: {}) w {} ms.",
+                trainers.size(), fromDate, toDate, source, durationMs);
+        return new TrainerAvailabilityResultDto(fromDate, toDate, dayStart, dayEnd, minMinutes, source, durationMs, result);
+    }
+
+    private void validateQuery(LocalDate fromDate, LocalDate toDate, LocalTime dayStart, LocalTime dayEnd, int minMinutes) {
+        if (fromDate == null || toDate == null) {
+            throw new DataConflictException("Zakres dat (fromDate, toDate) jest wymagany.");
+        }
+        if (toDate.isBefore(fromDate)) {
+            throw new DataConflictException("Data końcowa nie może być wcześniejsza niż data początkowa.");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) + 1 > maxDays) {
+            throw new DataConflictException("Zakres dat może obejmować co najwyżej " + maxDays + " dni.");
+        }
+        if (!dayStart.isBefore(dayEnd)) {
+            throw new DataConflictException("Początek godzin pracy musi być wcześniejszy niż ich koniec.");
+        }
+        if (minMinutes <= 0) {
+            throw new DataConflictException("Minimalny czas trwania terminu musi być dodatni.");
+        }
+    }
+
+    private List<TrainerAdminViewDto> resolveTrainers(List<Long> trainerIds, String specialization) {
+        boolean hasSpecialization = specialization != null && !specialization.isBlank();
+        if (trainerIds == null || trainerIds.isEmpty()) {
+            if (!hasSpecialization) {
+                throw new DataConflictException("Należy podać identyfikatory trenerów lub specjalizację.");
+            }
+            return trainerProfileRepository.findTrainersBySpecialization(specialization.trim());
+        }
+
+        LinkedHashSet<Long> requestedIds = new LinkedHashSet<>(trainerIds);
+        Map<Long, TrainerAdminViewDto> requestedTrainers = trainerProfileRepository
+                .findTrainerProfilesByIds(requestedIds.stream().filter(Objects::nonNull).toList()).stream()
+                .collect(Collectors.toMap(TrainerAdminViewDto::getTrainerId, Function.identity(), (a, b) -> a));
+        List<TrainerAdminViewDto> trainers = new ArrayList<>();
+        for (Long trainerId : requestedIds) {
+            TrainerAdminViewDto trainer = requestedTrainers.get(trainerId);
+            if (trainer == null) {
+                throw new ResourceNotFoundException("Nie znaleziono trenera o ID: " + trainerId);
+            }
+            if (!hasSpecialization || specialization.trim().equalsIgnoreCase(trainer.getSpecialization())) {
+                trainers.add(trainer);
+            }
+        }
+        return trainers;
+    }
+
+    // Zwraca null, jeśli indeks nie obejmuje zakresu dla któregokolwiek z trenerów
+    private Map<Long, List<TrainerSessionIntervalIndex.Interval>> busyFromIndex(List<TrainerAdminViewDto> trainers,
+                                                                              LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        Map<Long, List<TrainerSessionIntervalIndex.Interval>> busyByTrainer = new HashMap<>();
+        for (TrainerAdminViewDto trainer : trainers) {
+            Optional<List<TrainerSessionIntervalIndex.Interval>> busy =
+                    sessionIntervalIndex.findBusyIntervals(trainer.getTrainerId(), rangeStart, rangeEnd);
+            if (busy.isEmpty()) {
+                return null;
+            }
+            busyByTrainer.put(trainer.getTrainerId(), busy.get());
+        }
+        return busyByTrainer;
+    }
+
+    private Map<Long, List<TrainerSessionIntervalIndex.Interval>> busyFromDatabase(List<TrainerAdminViewDto> trainers,
+                                                                                 LocalDate fromDate, LocalDate toDate) {
+        Map<Long, List<TrainerSessionIntervalIndex.Interval>> busyByTrainer = new HashMap<>();
+        if (trainers.isEmpty()) {
+            return busyByTrainer;
+        }
+        List<Long> ids = trainers.stream().map(TrainerAdminViewDto::getTrainerId).toList();
+        // Wiersze są posortowane po trenerze i czasie rozpoczęcia, więc listy powstają już uporządkowane
+        for (TrainerSessionDto session : trainerSessionRepository.findByTrainerIdsCursor(ids, fromDate, toDate)) {
+            if (session.getStartTime() == null || session.getEndTime() == null) {
+                continue;
+            }
+            busyByTrainer.computeIfAbsent(session.getTrainerId(), id -> new ArrayList<>())
+                    .add(new TrainerSessionIntervalIndex.Interval(session.getScheduleId(), session.getTrainerId(),
+                            session.getStartTime(), session.getEndTime()));
+        }
+        return busyByTrainer;
+    }
+
+    private static List<TrainerFreeSlotDto> computeFreeSlots(List<TrainerSessionIntervalIndex.Interval> busy,
+                                                             LocalDate fromDate, LocalDate toDate,
+                                                             LocalTime dayStart, LocalTime dayEnd,
+                                                             Duration minDuration, LocalDateTime now) {
+        List<TrainerFreeSlotDto> freeSlots = new ArrayList<>();
+        int first = 0;
+        for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+            LocalDateTime windowStart = day.atTime(dayStart);
+            LocalDateTime windowEnd = day.atTime(dayEnd);
+            if (!windowEnd.isAfter(now)) {
+                continue;
+            }
+            while (first < busy.size() && !busy.get(first).end().isAfter(windowStart)) {
+                first++;
+            }
+
+            LocalDateTime cursor = windowStart.isBefore(now) ? now.truncatedTo(ChronoUnit.MINUTES) : windowStart;
+            for (int i = first; i < busy.size() && busy.get(i).start().isBefore(windowEnd); i++) {
+                TrainerSessionIntervalIndex.Interval session = busy.get(i);
+                if (session.start().isAfter(cursor)) {
+                    addSlot(freeSlots, cursor, session.start(), minDuration);
+                }
+                if (session.end().isAfter(cursor)) {
+                    cursor = session.end();
+                }
+            }
+            if (cursor.isBefore(windowEnd)) {
+                addSlot(freeSlots, cursor, windowEnd, minDuration);
+            }
+        }
+        return freeSlots;
+    }
+
+    private static void addSlot(List<TrainerFreeSlotDto> freeSlots, LocalDateTime start, LocalDateTime end, Duration minDuration) {
+        Duration length = Duration.between(start, end);
+        if (length.compareTo(minDuration) >= 0) {
+            freeSlots.add(new TrainerFreeSlotDto(start, end, length.toMinutes()));
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package me.verni.gymplify.service;
 
+import me.verni.gymplify.cache.EntityVersions;
+import me.verni.gymplify.cache.ReferenceDataCache;
+import me.verni.gymplify.cache.TrainingPlanDetailCache;
 import me.verni.gymplify.dto.CreateTrainingPlanRequestDto;
 import me.verni.gymplify.dto.ExerciseDto;
+import me.verni.gymplify.dto.PlanExercisesDiffDto;
+import me.verni.gymplify.dto.TrainingPlanDetailDto;
 import me.verni.gymplify.dto.TrainingPlanDto;
 import me.verni.gymplify.dto.UpdateTrainingPlanRequestDto;
 import me.verni.gymplify.exception.DataConflictException;
 import me.verni.gymplify.exception.OperationFailedException;
 import me.verni.gymplify.exception.ResourceNotFoundException;
-import me.verni.gymplify.repository.ExerciseRepository;
 import me.verni.gymplify.repository.TrainingPlanRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
@@ -23,12 +30,20 @@ public class TrainingPlanService {
     private static final Logger log = LoggerFactory.getLogger(TrainingPlanService.class);
 
     private final TrainingPlanRepository trainingPlanRepository;
-    private final ExerciseRepository exerciseRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TrainingPlanDetailCache trainingPlanDetailCache;
+    private final EntityVersions entityVersions;
+    private final int maxPlanExercises;
 
     @Autowired
-    public TrainingPlanService(TrainingPlanRepository trainingPlanRepository, ExerciseRepository exerciseRepository) {
+    public TrainingPlanService(TrainingPlanRepository trainingPlanRepository, ReferenceDataCache referenceDataCache,
+                               TrainingPlanDetailCache trainingPlanDetailCache, EntityVersions entityVersions,
+                               @Value("${training-plans.exercises.max-items:500}") int maxPlanExercises) {
         this.trainingPlanRepository = trainingPlanRepository;
-        this.exerciseRepository = exerciseRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.trainingPlanDetailCache = trainingPlanDetailCache;
+        this.entityVersions = entityVersions;
+        this.maxPlanExercises = maxPlanExercises;
     }
 
     @Transactional
@@ -36,6 +51,7 @@ public class TrainingPlanService {
         log.info("Tworzenie nowego planu treningowego o nazwie: {}", dto.getName());
         try {
             Long planId = trainingPlanRepository.create(dto.getName().trim());
+            entityVersions.increment(EntityVersions.Entity.TRAINING_PLANS);
             log.info("Plan treningowy '{}' utworzony z ID: {}", dto.getName(), planId);
             return new TrainingPlanDto(planId, dto.getName().trim());
         } catch (OperationFailedException e) {
@@ -54,6 +70,7 @@ public class TrainingPlanService {
 
         try {
             trainingPlanRepository.deleteById(planId);
+            trainingPlanDetailCache.evictPlan(planId);
             log.info("Plan treningowy o ID: {} został usunięty.", planId);
         } catch (OperationFailedException e) {
             log.warn("Nie można usunąć planu treningowego ID {}: {}", planId, e.getMessage());
@@ -67,14 +84,17 @@ public class TrainingPlanService {
     @Transactional
     public TrainingPlanDto updateTrainingPlan(Long planId, UpdateTrainingPlanRequestDto dto) {
         log.info("Aktualizacja planu treningowego o ID: {} na nową nazwę: {}", planId, dto.getName());
-        TrainingPlanDto existingPlan = getTrainingPlanById(planId);
 
         try {
-            trainingPlanRepository.update(planId, dto.getName().trim());
-            log.info("Plan treningowy ID {} zaktualizowany. Nowa nazwa: {}", planId, dto.getName().trim());
-            existingPlan.setName(dto.getName().trim());
-            return existingPlan;
+            TrainingPlanDto updatedPlan = trainingPlanRepository.update(planId, dto.getName().trim());
+            trainingPlanDetailCache.evictPlan(planId);
+            log.info("Plan treningowy ID {} zaktualizowany. Nowa nazwa: {}", planId, updatedPlan.getName());
+            return updatedPlan;
         } catch (OperationFailedException e) {
+            if (e.getMessage() != null && e.getMessage().contains("nie istnieje")) {
+                log.warn("Nie znaleziono planu treningowego o ID: {}", planId);
+                throw new ResourceNotFoundException("Nie znaleziono planu treningowego o ID: " + planId);
+            }
             log.error("Nie udało się zaktualizować planu treningowego ID {}: {}", planId, e.getMessage());
             throw e;
         } catch (Exception e) {
@@ -101,7 +121,7 @@ public class TrainingPlanService {
     public void addExerciseToPlan(Long planId, Long exerciseId) {
         log.info("Dodawanie ćwiczenia ID: {} do planu ID: {}", exerciseId, planId);
         getTrainingPlanById(planId);
-        exerciseRepository.findById(exerciseId)
+        referenceDataCache.findExerciseById(exerciseId)
                 .orElseThrow(() -> {
                     log.warn("Próba dodania nieistniejącego ćwiczenia ID {} do planu ID {}", exerciseId, planId);
                     return new ResourceNotFoundException("Nie znaleziono ćwiczenia o ID: " + exerciseId);
@@ -109,6 +129,7 @@ public class TrainingPlanService {
 
         try {
             trainingPlanRepository.addExerciseToPlan(planId, exerciseId);
+            trainingPlanDetailCache.evictPlan(planId);
             log.info("Ćwiczenie ID {} dodane do planu ID {}.", exerciseId, planId);
         } catch (OperationFailedException e) {
             log.warn("Nie udało się dodać ćwiczenia {} do planu {}: {}", exerciseId, planId, e.getMessage());
@@ -129,6 +150,7 @@ public class TrainingPlanService {
 
         try {
             trainingPlanRepository.removeExerciseFromPlan(planId, exerciseId);
+            trainingPlanDetailCache.evictPlan(planId);
             log.info("Ćwiczenie ID {} usunięte z planu ID {}.", exerciseId, planId);
         } catch (OperationFailedException e) {
             log.warn("Nie udało się usunąć ćwiczenia {} z planu {}: {}", exerciseId, planId, e.getMessage());
@@ -149,6 +171,7 @@ public class TrainingPlanService {
 
         try {
             trainingPlanRepository.removeAllExercisesFromPlan(planId);
+            trainingPlanDetailCache.evictPlan(planId);
             log.info("Wszystkie ćwiczenia zostały usunięte z planu ID {}.", planId);
         } catch (OperationFailedException e) {
             log.error("Nie udało się usunąć wszystkich ćwiczeń z planu ID {}: {}", planId, e.getMessage());
@@ -159,11 +182,49 @@ public class TrainingPlanService {
         }
     }
 
+    @Transactional
+    public PlanExercisesDiffDto setPlanExercises(Long planId, List<Long> exerciseIds) {
+        List<Long> targetIds = new ArrayList<>(new LinkedHashSet<>(exerciseIds));
+        if (targetIds.size() > maxPlanExercises) {
+            throw new DataConflictException("Plan treningowy może zawierać co najwyżej " + maxPlanExercises + " ćwiczeń.");
+        }
+        log.info("Ustawianie {} ćwiczeń dla planu ID: {}", targetIds.size(), planId);
+
+        try {
+            TrainingPlanRepository.PlanExercisesChange change = trainingPlanRepository.setPlanExercises(planId, targetIds);
+            trainingPlanDetailCache.evictPlan(planId);
+            int unchanged = targetIds.size() - change.addedExerciseIds().size();
+            log.info("Zaktualizowano ćwiczenia planu ID {}: dodano {}, usunięto {}, bez zmian {}.",
+                    planId, change.addedExerciseIds().size(), change.removedExerciseIds().size(), unchanged);
+            return new PlanExercisesDiffDto(planId, change.addedExerciseIds(), change.removedExerciseIds(), unchanged);
+        } catch (OperationFailedException e) {
+            log.warn("Nie udało się ustawić ćwiczeń planu {}: {}", planId, e.getMessage());
+            if (e.getMessage() != null && e.getMessage().contains("nie istnieje")) {
+                throw new ResourceNotFoundException(e.getMessage());
+            } else if (e.getMessage() != null && e.getMessage().contains("równolegle zmieniony")) {
+                throw new DataConflictException(e.getMessage());
+            }
+            throw e;
+        } catch (Exception e) {
+            log.error("Nieoczekiwany błąd podczas ustawiania ćwiczeń planu {}: {}", planId, e.getMessage(), e);
+            throw new OperationFailedException("Wystąpił nieoczekiwany błąd podczas ustawiania ćwiczeń planu.", e);
+        }
+    }
+
+    public TrainingPlanDetailDto getTrainingPlanDetail(Long planId) {
+        log.debug("Pobieranie szczegółów planu treningowego o ID: {}", planId);
+        return trainingPlanDetailCache.findById(planId)
+                .orElseThrow(() -> {
+                    log.warn("Nie znaleziono planu treningowego o ID: {}", planId);
+                    return new ResourceNotFoundException("Nie znaleziono planu treningowego o ID: " + planId);
+                });
+    }
+
     public List<ExerciseDto> getExercisesForPlan(Long planId) {
         log.debug("Pobieranie ćwiczeń dla planu ID: {}", planId);
         try {
-            getTrainingPlanById(planId);
-            return trainingPlanRepository.getExercisesForPlan(planId);
+            // Szczegóły planu zawierają już jego ćwiczenia, więc istnienie planu nie wymaga osobnego zapytania
+            return getTrainingPlanDetail(planId).getExercises();
         } catch (OperationFailedException e) {
             log.error("Błąd operacji podczas pobierania ćwiczeń dla planu ID {}: {}", planId, e.getMessage());
             throw e;
@@ -1,6 +1,7 @@
 package me.verni.gymplify.service;
 
 import me.verni.gymplify.dto.User; // Twoje DTO użytkownika
+import me.verni.gymplify.exception.OperationFailedException;
 import me.verni.gymplify.exception.UserLoginException;
 import me.verni.gymplify.exception.UserRegistrationException;
 import me.verni.gymplify.repository.UserRepository;
@@ -8,6 +9,8 @@ import me.verni.gymplify.util.EmailValidator;
 import me.verni.gymplify.util.PasswordHasher;
 import me.verni.gymplify.util.PasswordValidator;
 import me.verni.gymplify.util.RoleType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Dla zarządzania transakcjami
 
@@ -16,9 +19,14 @@ import java.util.Optional;
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
-    public UserService(UserRepository userRepository) {
+    private final PasswordHasher passwordHasher;
+    private final PasswordValidator passwordValidator;
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher, PasswordValidator passwordValidator) {
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.passwordValidator = passwordValidator;
     }
 
 
@@ -28,26 +36,28 @@ public class UserService {
             throw new UserRegistrationException("Invalid email format.");
         }
 
-        PasswordValidator.ValidationResult passwordValidation = PasswordValidator.validatePassword(password);
+        PasswordValidator.ValidationResult passwordValidation = passwordValidator.validatePassword(password);
         if (!passwordValidation.isValid()) {
             throw new UserRegistrationException("Password validation failed: " + passwordValidation.getMessage());
         }
 
-
+        // Tani odczyt przed kosztownym haszowaniem; wyścig dwóch rejestracji obsługuje błąd -20001 z AddUser
         if (userRepository.findUserDetailsByEmail(email).isPresent()) {
             throw new UserRegistrationException("User with this email already exists.");
         }
 
-
-        String hashedPassword = PasswordHasher.hash(password);
+        String hashedPassword = passwordHasher.hash(password);
 
         String defaultRole = RoleType.USER.name();
 
         try {
-            userRepository.createUser(username, hashedPassword, email, defaultRole);
-
-            return userRepository.findUserDetailsByEmail(email)
-                    .orElseThrow(() -> new UserRegistrationException("Failed to retrieve user after creation."));
+            // AddUser zwraca utworzony wiersz i zgłasza zajęty email, jeśli ktoś zdążył go zarejestrować
+            return userRepository.createUser(username, hashedPassword, email, defaultRole);
+        } catch (OperationFailedException e) {
+            if (e.getMessage() != null && e.getMessage().contains("już istnieje")) {
+                throw new UserRegistrationException("User with this email already exists.");
+            }
+            throw new UserRegistrationException("Failed to create user in repository: " + e.getMessage());
         } catch (Exception e) {
             throw new UserRegistrationException("Failed to create user in repository: " + e.getMessage());
         }
@@ -62,10 +72,26 @@ public class UserService {
 
         User user = userOptional.get();
 
-        if (!PasswordHasher.matches(password, user.getPasswordHash())) {
+        if (!passwordHasher.matches(password, user.getPasswordHash())) {
             throw new UserLoginException("Invalid email or password.");
         }
 
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            rehashPassword(user, password);
+        }
+
         return user;
     }
+
+    private void rehashPassword(User user, String password) {
+        try {
+            String newHash = passwordHasher.hash(password);
+            if (userRepository.updateUserPasswordHash(user.getUserId(), newHash)) {
+                user.setPasswordHash(newHash);
+                log.info("Zaktualizowano koszt hasha hasła dla użytkownika ID {} do {}.", user.getUserId(), passwordHasher.getCost());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Nie udało się zaktualizować hasha hasła dla użytkownika ID {}: {}", user.getUserId(), e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package me.verni.gymplify.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link BreachedPasswordCheck} backed by a {@link PasswordBloomFilter} built at startup from a local
+ * file with one password per line ({@code password-policy.breached-list.path}; blank lines and lines
+ * starting with {@code #} are skipped). The file is read twice, once to size the filter and once to
+ * fill it, so the list itself is never held in memory. Without a path, or if the file cannot be read,
+ * the check is disabled and accepts every password.
+ */
+@Component
+public class BloomFilterBreachedPasswordCheck implements BreachedPasswordCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(BloomFilterBreachedPasswordCheck.class);
+
+    private final PasswordBloomFilter filter;
+
+    public BloomFilterBreachedPasswordCheck(@Value("${password-policy.breached-list.path:}") String path,
+                                            @Value("${password-policy.breached-list.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.filter = path == null || path.isBlank() ? null : load(Path.of(path.trim()), falsePositiveRate);
+    }
+
+    @Override
+    public boolean isBreached(String password) {
+        return filter != null && password != null && filter.mightContain(password);
+    }
+
+    public int getEntries() {
+        return filter != null ? filter.getEntries() : 0;
+    }
+
+    private static PasswordBloomFilter load(Path path, double falsePositiveRate) {
+        long startedAt = System.nanoTime();
+        try {
+            int expectedEntries = 0;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (isEntry(line)) {
+                        expectedEntries++;
+                    }
+                }
+            }
+            PasswordBloomFilter filter = new PasswordBloomFilter(expectedEntries, falsePositiveRate);
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (isEntry(line)) {
+                        filter.add(line.strip());
+                    }
+                }
+            }
+            log.info("Wczytano listę wyciekniętych haseł {}: {} wpisów, {} KB, {} funkcji skrótu, {} ms",
+                    path, filter.getEntries(), filter.getSizeInBytes() / 1024, filter.getHashFunctions(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            return filter;
+        } catch (IOException | RuntimeException e) {
+            log.error("Nie udało się wczytać listy wyciekniętych haseł {}: {}. Sprawdzanie wycieków jest wyłączone.",
+                    path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isEntry(String line) {
+        return !line.isBlank() && !line.startsWith("#");
+    }
+}
@@ -0,0 +1,12 @@
+package me.verni.gymplify.util;
+
+/**
+ * Lookup of passwords known from breaches or common-password lists, consulted by
+ * {@link PasswordValidator} after the character rules pass. The default
+ * {@link BloomFilterBreachedPasswordCheck} reads a local list; another bean can replace it,
+ * e.g. one backed by a remote k-anonymity API.
+ */
+public interface BreachedPasswordCheck {
+
+    boolean isBreached(String password);
+}
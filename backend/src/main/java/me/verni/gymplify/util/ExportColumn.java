@@ -0,0 +1,6 @@
+package me.verni.gymplify.util;
+
+import java.util.function.Function;
+
+public record ExportColumn<T>(String name, Function<T, ?> value) {
+}
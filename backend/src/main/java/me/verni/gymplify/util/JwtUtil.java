@@ -1,6 +1,8 @@
 package me.verni.gymplify.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,17 +12,25 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
 
     private final Key secretKey;
     private final long expirationTime;
+    private final JwtParser jwtParser;
+    private final JwtClaimsCache claimsCache;
 
     public JwtUtil(@Value("${jwt.secret}") String secret,
-                   @Value("${jwt.expiration}") long expiration) {
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
         this.secretKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
         this.expirationTime = expiration;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.claimsCache = new JwtClaimsCache(claimsCacheMaxSize);
     }
 
     public String generateToken(String email, String role) {
@@ -33,33 +43,57 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the token signature and expiration once and returns its claims.
+     * Tokens verified earlier are served from the claims cache without re-parsing.
+     *
+     * @param token The compact JWT string
+     * @return Verified claims, or empty when the token is malformed, forged or expired
+     */
+    public Optional<VerifiedJwtClaims> parseVerifiedClaims(String token) {
+        VerifiedJwtClaims cached = claimsCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims;
+        try {
+            claims = getClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        VerifiedJwtClaims verified = new VerifiedJwtClaims(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration()
+        );
+        if (verified.isExpired(System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        claimsCache.put(token, verified);
+        return Optional.of(verified);
+    }
+
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseVerifiedClaims(token).map(VerifiedJwtClaims::getEmail).orElse(null);
     }
 
     public String extractRole(String token) {
-        return getClaims(token).get("role", String.class);
+        return parseVerifiedClaims(token).map(VerifiedJwtClaims::getRole).orElse(null);
     }
 
     public boolean isTokenValid(String token) {
-        try {
-            Claims claims = getClaims(token);
-            return claims.getExpiration().after(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+        return parseVerifiedClaims(token).isPresent();
+    }
+
+    public JwtClaimsCache getClaimsCache() {
+        return claimsCache;
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-}
\ No newline at end of file
+}
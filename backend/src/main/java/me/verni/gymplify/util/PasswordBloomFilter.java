@@ -0,0 +1,70 @@
+package me.verni.gymplify.util;
+
+/**
+ * Bloom filter over case-insensitive passwords. Sized from the expected entry count and the target
+ * false-positive rate (about 1.8 MB for a million entries at 0.1%), it answers membership with a
+ * handful of bit probes and no allocation: both hashes are computed straight from the characters,
+ * lower-cased on the fly. A hit means "probably listed", a miss means "definitely not listed".
+ */
+public class PasswordBloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private int entries;
+
+    public PasswordBloomFilter(int expectedEntries, double falsePositiveRate) {
+        int expected = Math.max(1, expectedEntries);
+        double rate = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long optimalBits = (long) Math.ceil(-expected * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round(-Math.log(rate) / Math.log(2)));
+    }
+
+    public void add(CharSequence password) {
+        long hash1 = hash(password, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(password, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        entries++;
+    }
+
+    public boolean mightContain(CharSequence password) {
+        long hash1 = hash(password, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(password, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getSizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    // Mieszanie 64-bitowe (wariant splitmix64) na znakach po zamianie na małe litery, bez tworzenia nowego Stringa
+    private static long hash(CharSequence value, long seed) {
+        long hash = seed ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            hash += Character.toLowerCase(value.charAt(i));
+            hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+            hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+            hash ^= hash >>> 31;
+        }
+        return hash;
+    }
+}
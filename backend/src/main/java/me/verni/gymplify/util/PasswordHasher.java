@@ -1,16 +1,231 @@
 package me.verni.gymplify.util;
 
+import jakarta.annotation.PreDestroy;
+import me.verni.gymplify.exception.OperationFailedException;
+import me.verni.gymplify.exception.TooManyRequestsException;
 import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hashes and verifies passwords with BCrypt on a dedicated, bounded executor.
+ * The pool is sized to the number of CPU cores so that login bursts cannot occupy
+ * every request thread; once the queue is full new requests are rejected with 429.
+ * <p>
+ * The BCrypt cost is either fixed by configuration (clamped to 12-16, with a warning) or
+ * calibrated at startup so that a single verification takes roughly the configured target
+ * time on this node, never below cost 12. Only stored hashes with a lower cost are reported by {@link #needsRehash(String)},
+ * so nodes that calibrate differently never downgrade or keep re-hashing each other's hashes.
+ */
+@Component
 public class PasswordHasher {
 
-    private static final int WORKLOAD = 12;
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+    private static final int MIN_COST = 12;
+    private static final int MAX_COST = 16;
+    private static final int CALIBRATION_COST = 10;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int cost;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+
+    public PasswordHasher(@Value("${password-hashing.pool-size:0}") int poolSize,
+                          @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${password-hashing.timeout-ms:10000}") long timeoutMillis,
+                          @Value("${password-hashing.cost:0}") int configuredCost,
+                          @Value("${password-hashing.target-verification-ms:250}") long targetVerificationMillis) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutMillis = timeoutMillis;
+        this.cost = configuredCost > 0 ? clampCost(configuredCost) : calibrateCost(targetVerificationMillis);
+        if (configuredCost > 0 && cost != configuredCost) {
+            log.warn("Skonfigurowany koszt BCrypt {} jest poza zakresem {}-{}, używany jest koszt {}.",
+                    configuredCost, MIN_COST, MAX_COST, cost);
+        }
+        log.info("PasswordHasher uruchomiony: wątki={}, pojemność kolejki={}, timeout={} ms, koszt BCrypt={}", threads, queueCapacity, timeoutMillis, cost);
+    }
+
+    public String hash(String password) {
+        return submit(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost)));
+    }
+
+    public boolean matches(String rawPassword, String hashedPassword) {
+        return submit(() -> BCrypt.checkpw(rawPassword, hashedPassword));
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                totalQueueWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    totalExecutionNanos.add(System.nanoTime() - startedAt);
+                    completedCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn("Kolejka haszowania haseł jest pełna ({} oczekujących), odrzucono żądanie.", executor.getQueue().size());
+            throw new TooManyRequestsException("Serwer jest obecnie przeciążony. Spróbuj ponownie za chwilę.", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.increment();
+            log.warn("Przekroczono limit czasu ({} ms) oczekiwania na haszowanie hasła.", timeoutMillis);
+            throw new TooManyRequestsException("Serwer jest obecnie przeciążony. Spróbuj ponownie za chwilę.", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new OperationFailedException("Przerwano oczekiwanie na haszowanie hasła.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new OperationFailedException("Błąd podczas haszowania hasła: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Checks whether a stored hash was produced with a lower cost than the current one.
+     *
+     * @param hashedPassword The stored BCrypt hash
+     * @return true if the password should be re-hashed after a successful login
+     */
+    public boolean needsRehash(String hashedPassword) {
+        int storedCost = extractCost(hashedPassword);
+        return storedCost > 0 && storedCost < cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    private static int extractCost(String hashedPassword) {
+        // Format: $2a$12$<salt+hash>
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int costStart = hashedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 > hashedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(costStart, costStart + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Measures a hash at a low cost and picks the highest cost whose estimated
+     * verification time does not exceed the target, but at least {@code MIN_COST}.
+     * Each cost step doubles the work.
+     */
+    private static int calibrateCost(long targetVerificationMillis) {
+        String salt = BCrypt.gensalt(CALIBRATION_COST);
+        BCrypt.hashpw("calibration-warmup", salt);
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration-password", salt);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double estimatedMillis = bestNanos / 1_000_000.0;
+        int calibrated = CALIBRATION_COST;
+        while (calibrated < MIN_COST || (calibrated < MAX_COST && estimatedMillis * 2 <= targetVerificationMillis)) {
+            estimatedMillis *= 2;
+            calibrated++;
+        }
+        int result = clampCost(calibrated);
+        log.info("Kalibracja BCrypt: koszt {} (szacowany czas weryfikacji ~{} ms, cel {} ms)", result, Math.round(estimatedMillis), targetVerificationMillis);
+        return result;
+    }
+
+    private static int clampCost(int requestedCost) {
+        return Math.max(MIN_COST, Math.min(MAX_COST, requestedCost));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public double getTotalQueueWaitMillis() {
+        return totalQueueWaitNanos.sum() / 1_000_000.0;
+    }
+
+    public double getTotalExecutionMillis() {
+        return totalExecutionNanos.sum() / 1_000_000.0;
+    }
+
+    public double getAverageQueueWaitMillis() {
+        long completed = completedCount.sum();
+        return completed == 0 ? 0.0 : totalQueueWaitNanos.sum() / 1_000_000.0 / completed;
+    }
 
-    public static String hash(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt(WORKLOAD));
+    public double getAverageExecutionMillis() {
+        long completed = completedCount.sum();
+        return completed == 0 ? 0.0 : totalExecutionNanos.sum() / 1_000_000.0 / completed;
     }
 
-    public static boolean matches(String rawPassword, String hashedPassword) {
-        return BCrypt.checkpw(rawPassword, hashedPassword);
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
     }
 }
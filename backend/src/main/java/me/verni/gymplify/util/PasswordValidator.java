@@ -1,85 +1,168 @@
 package me.verni.gymplify.util;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Checks new passwords against the policy configured under {@code password-policy.*} (defaults: at
+ * least 12 characters with an uppercase and a lowercase letter, a digit and a special character, no
+ * common sequences and no character repeated three times in a row), then against the
+ * {@link BreachedPasswordCheck}.
+ * <p>
+ * All character rules are evaluated in one scan over the password without regexes or lower-cased
+ * copies; common sequences are compared case-insensitively in place, and only at positions whose
+ * character can start one of them. Failure results are created once, so a rejected password
+ * allocates nothing.
+ */
+@Component
 public class PasswordValidator {
-    /**
-     * Validates if the provided string meets modern password security standards.
-     * Requirements:
-     * - Minimum length of 12 characters
-     * - Contains at least one uppercase letter
-     * - Contains at least one lowercase letter
-     * - Contains at least one number
-     * - Contains at least one special character
-     * - No common patterns or dictionary words (simplified check)
-     *
-     * @param password The password to validate
-     * @return ValidationResult with status and message
-     */
-    public static ValidationResult validatePassword(String password) {
-        // Check for null or empty
-        if (password == null || password.isEmpty()) {
-            return new ValidationResult(false, "Password cannot be empty");
-        }
 
-        // Check minimum length (12+ chars recommended in 2025)
-        if (password.length() < 12) {
-            return new ValidationResult(false, "Password must be at least 12 characters long");
+    private static final String DEFAULT_SPECIAL_CHARACTERS = "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?";
+
+    private static final ValidationResult EMPTY = new ValidationResult(false, "Password cannot be empty");
+    private static final ValidationResult MISSING_UPPERCASE = new ValidationResult(false, "Password must contain at least one uppercase letter");
+    private static final ValidationResult MISSING_LOWERCASE = new ValidationResult(false, "Password must contain at least one lowercase letter");
+    private static final ValidationResult MISSING_DIGIT = new ValidationResult(false, "Password must contain at least one number");
+    private static final ValidationResult MISSING_SPECIAL = new ValidationResult(false, "Password must contain at least one special character");
+    private static final ValidationResult COMMON_PATTERN = new ValidationResult(false, "Password contains common patterns (123, abc, qwerty, etc.)");
+    private static final ValidationResult BREACHED = new ValidationResult(false, "Password is too common or has appeared in a known data breach");
+    private static final ValidationResult VALID = new ValidationResult(true, "Password meets security requirements");
+
+    private final int minLength;
+    private final ValidationResult tooShort;
+    private final boolean requireUppercase;
+    private final boolean requireLowercase;
+    private final boolean requireDigit;
+    private final boolean requireSpecial;
+    private final String specialCharacters;
+    private final boolean[] asciiSpecial = new boolean[128];
+    private final int maxRepeatedCharacters;
+    private final String[] commonPatterns;
+    private final boolean[] asciiPatternStart = new boolean[128];
+    private final BreachedPasswordCheck breachedPasswordCheck;
+
+    public PasswordValidator(@Value("${password-policy.min-length:12}") int minLength,
+                             @Value("${password-policy.require-uppercase:true}") boolean requireUppercase,
+                             @Value("${password-policy.require-lowercase:true}") boolean requireLowercase,
+                             @Value("${password-policy.require-digit:true}") boolean requireDigit,
+                             @Value("${password-policy.require-special:true}") boolean requireSpecial,
+                             @Value("${password-policy.special-characters:}") String specialCharacters,
+                             @Value("${password-policy.max-repeated-characters:2}") int maxRepeatedCharacters,
+                             @Value("${password-policy.common-patterns:123456,password,qwerty,abc123,admin,welcome,letmein,monkey,1234,12345}") List<String> commonPatterns,
+                             BreachedPasswordCheck breachedPasswordCheck) {
+        this.minLength = Math.max(1, minLength);
+        this.tooShort = new ValidationResult(false, "Password must be at least " + this.minLength + " characters long");
+        this.requireUppercase = requireUppercase;
+        this.requireLowercase = requireLowercase;
+        this.requireDigit = requireDigit;
+        this.requireSpecial = requireSpecial;
+        this.specialCharacters = specialCharacters == null || specialCharacters.isEmpty()
+                ? DEFAULT_SPECIAL_CHARACTERS : specialCharacters;
+        for (int i = 0; i < this.specialCharacters.length(); i++) {
+            char c = this.specialCharacters.charAt(i);
+            if (c < asciiSpecial.length) {
+                asciiSpecial[c] = true;
+            }
         }
-
-        // Check for uppercase letters
-        if (!password.matches(".*[A-Z].*")) {
-            return new ValidationResult(false, "Password must contain at least one uppercase letter");
+        this.maxRepeatedCharacters = Math.max(0, maxRepeatedCharacters);
+        this.commonPatterns = minimalPatterns(commonPatterns);
+        for (String pattern : this.commonPatterns) {
+            char first = pattern.charAt(0);
+            if (first < asciiPatternStart.length) {
+                asciiPatternStart[first] = true;
+                asciiPatternStart[Character.toUpperCase(first)] = true;
+            }
         }
+        this.breachedPasswordCheck = breachedPasswordCheck;
+    }
 
-        // Check for lowercase letters
-        if (!password.matches(".*[a-z].*")) {
-            return new ValidationResult(false, "Password must contain at least one lowercase letter");
+    public ValidationResult validatePassword(String password) {
+        if (password == null || password.isEmpty()) {
+            return EMPTY;
         }
-
-        // Check for numbers
-        if (!password.matches(".*\\d.*")) {
-            return new ValidationResult(false, "Password must contain at least one number");
+        int length = password.length();
+        if (length < minLength) {
+            return tooShort;
         }
 
-        // Check for special characters
-        if (!password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?].*")) {
-            return new ValidationResult(false, "Password must contain at least one special character");
+        boolean hasUppercase = false;
+        boolean hasLowercase = false;
+        boolean hasDigit = false;
+        boolean hasSpecial = false;
+        boolean hasCommonPattern = false;
+        int run = 0;
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                hasUppercase = true;
+            } else if (c >= 'a' && c <= 'z') {
+                hasLowercase = true;
+            } else if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (c < asciiSpecial.length ? asciiSpecial[c] : specialCharacters.indexOf(c) >= 0) {
+                hasSpecial = true;
+            }
+            run = c == previous && i > 0 ? run + 1 : 1;
+            previous = c;
+            if (!hasCommonPattern) {
+                hasCommonPattern = (maxRepeatedCharacters > 0 && run > maxRepeatedCharacters)
+                        || startsCommonPattern(password, i, c);
+            }
         }
 
-        // Check for common patterns (simple version)
-        if (hasCommonPatterns(password)) {
-            return new ValidationResult(false, "Password contains common patterns (123, abc, qwerty, etc.)");
+        // Kolejność komunikatów taka sama jak w poprzedniej wersji opartej na wyrażeniach regularnych
+        if (requireUppercase && !hasUppercase) {
+            return MISSING_UPPERCASE;
         }
-
-        return new ValidationResult(true, "Password meets security requirements");
+        if (requireLowercase && !hasLowercase) {
+            return MISSING_LOWERCASE;
+        }
+        if (requireDigit && !hasDigit) {
+            return MISSING_DIGIT;
+        }
+        if (requireSpecial && !hasSpecial) {
+            return MISSING_SPECIAL;
+        }
+        if (hasCommonPattern) {
+            return COMMON_PATTERN;
+        }
+        if (breachedPasswordCheck.isBreached(password)) {
+            return BREACHED;
+        }
+        return VALID;
     }
 
-    /**
-     * Check if the password contains common patterns
-     */
-    private static boolean hasCommonPatterns(String password) {
-        String lowerPassword = password.toLowerCase();
-
-        // Common sequences to check for
-        String[] commonPatterns = {
-                "123456", "password", "qwerty", "abc123", "admin",
-                "welcome", "letmein", "monkey", "1234", "12345"
-        };
-
+    private boolean startsCommonPattern(String password, int offset, char c) {
+        if (c < asciiPatternStart.length && !asciiPatternStart[c]) {
+            return false;
+        }
         for (String pattern : commonPatterns) {
-            if (lowerPassword.contains(pattern)) {
+            if (password.regionMatches(true, offset, pattern, 0, pattern.length())) {
                 return true;
             }
         }
+        return false;
+    }
 
-        // Check for repeated characters (e.g., "aaa", "111")
-        for (int i = 0; i < password.length() - 2; i++) {
-            if (password.charAt(i) == password.charAt(i + 1) &&
-                    password.charAt(i) == password.charAt(i + 2)) {
-                return true;
+    // Wzorzec zawierający inny wzorzec (np. "123456" i "1234") niczego nie zmienia w wyniku, więc zostają tylko najkrótsze
+    private static String[] minimalPatterns(List<String> patterns) {
+        List<String> normalized = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern != null && !pattern.isBlank()) {
+                String lower = pattern.strip().toLowerCase(Locale.ROOT);
+                if (!normalized.contains(lower)) {
+                    normalized.add(lower);
+                }
             }
         }
-
-        return false;
+        return normalized.stream()
+                .filter(pattern -> normalized.stream().noneMatch(other -> !other.equals(pattern) && pattern.contains(other)))
+                .toArray(String[]::new);
     }
 
     /**
@@ -102,4 +185,4 @@ public class PasswordValidator {
             return message;
         }
     }
-}
\ No newline at end of file
+}
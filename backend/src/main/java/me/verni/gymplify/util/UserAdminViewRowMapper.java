@@ -0,0 +1,19 @@
+package me.verni.gymplify.util;
+
+import me.verni.gymplify.dto.UserAdminViewDto;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class UserAdminViewRowMapper implements RowMapper<UserAdminViewDto> {
+    @Override
+    public UserAdminViewDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new UserAdminViewDto(
+                rs.getLong("user_id"),
+                rs.getString("username"),
+                rs.getString("email"),
+                RoleType.valueOf(rs.getString("role"))
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package me.verni.gymplify.util;
+
+import java.util.Date;
+
+public class VerifiedJwtClaims {
+    private final String email;
+    private final String role;
+    private final Date expiration;
+
+    public VerifiedJwtClaims(String email, String role, Date expiration) {
+        this.email = email;
+        this.role = role;
+        this.expiration = expiration;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiration == null || expiration.getTime() <= nowMillis;
+    }
+}
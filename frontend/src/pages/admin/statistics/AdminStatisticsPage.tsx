@@ -71,47 +71,37 @@ const AdminStatisticsPage: React.FC = () => {
 
     const [isLoading, setIsLoading] = useState<boolean>(true);
     const [error, setError] = useState<string | null>(null);
+    const [partialWarning, setPartialWarning] = useState<string | null>(null);
 
     useEffect(() => {
         const fetchAllStatistics = async () => {
             setIsLoading(true);
             setError(null);
+            setPartialWarning(null);
             try {
                 if (!StatisticsService) {
                     throw new Error("StatisticsApiService is not available. Check import.");
                 }
 
-                const [
-                    usersTotalData,
-                    trainersTotalData,
-                    rolesData,
-                    specializationsData,
-                    workloadData,
-                    popExPlansData,
-                    sysActivityData,
-                    exCountByGroupData,
-                    mostAssignedPlansData,
-                ] = await Promise.all([
-                    StatisticsService.getTotalUserCount(),
-                    StatisticsService.getTotalTrainerCount(),
-                    StatisticsService.getUserCountByRole(),
-                    StatisticsService.getTrainerCountBySpecialization(),
-                    StatisticsService.getTrainerWorkloadStats(),
-                    StatisticsService.getMostPopularExercisesInPlans(5),
-                    StatisticsService.getOverallSystemActivityCounts(),
-                    StatisticsService.getExerciseCountByMuscleGroup(),
-                    StatisticsService.getMostAssignedTrainingPlans(5),
-                ]);
+                const dashboard = await StatisticsService.getDashboard(5, 5);
 
-                setTotalUsers(usersTotalData);
-                setTotalTrainers(trainersTotalData);
-                setRoleStats(rolesData);
-                setSpecializationStats(specializationsData);
-                setTrainerWorkload(workloadData);
-                setPopularExercisesPlans(popExPlansData);
-                setSystemActivity(sysActivityData);
-                setExerciseCountByMuscleGroup(exCountByGroupData);
-                setMostAssignedPlans(mostAssignedPlansData);
+                setTotalUsers(dashboard.totalUserCount);
+                setTotalTrainers(dashboard.totalTrainerCount);
+                setRoleStats(dashboard.usersByRole ?? []);
+                setSpecializationStats(dashboard.trainersBySpecialization ?? []);
+                setTrainerWorkload(dashboard.trainerWorkload ?? []);
+                setPopularExercisesPlans(dashboard.popularExercisesInPlans ?? []);
+                setSystemActivity(dashboard.systemActivityCounts ?? []);
+                setExerciseCountByMuscleGroup(dashboard.exerciseCountByMuscleGroup ?? []);
+                setMostAssignedPlans(dashboard.mostAssignedTrainingPlans ?? []);
+
+                if (dashboard.partial) {
+                    const failedSections = dashboard.sections
+                        .filter(section => !section.success)
+                        .map(section => section.section)
+                        .join(', ');
+                    setPartialWarning(`Nie udało się pobrać części statystyk: ${failedSections}`);
+                }
 
             } catch (err) {
                 const message = err instanceof Error ? err.message : 'Wystąpił nieznany błąd podczas ładowania statystyk.';
@@ -191,6 +181,13 @@ const AdminStatisticsPage: React.FC = () => {
                     <p className="text-gray-500">Przegląd kluczowych wskaźników aplikacji Gymplify.</p>
                 </header>
 
+                {partialWarning && (
+                    <div className="mb-8 p-4 text-sm text-yellow-800 bg-yellow-50 border border-yellow-300 rounded-xl flex items-center">
+                        <AlertTriangle size={20} className="mr-3 flex-shrink-0" />
+                        <p>{partialWarning}</p>
+                    </div>
+                )}
+
                 <section className="mb-10 grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
                     <StatCard title="Wszyscy Użytkownicy" value={totalUsers ?? 'N/A'} icon={Users} color={ACCENT_COLOR} />
                     <StatCard title="Wszyscy Trenerzy" value={totalTrainers ?? 'N/A'} icon={UserCog} color={ACCENT_COLOR} />
@@ -2,6 +2,8 @@
 import { API_BASE_URL } from '../config/generalConfig';
 import {
     UserAdminView,
+    UserPage,
+    UserPageQuery,
     UserCreationAdminPayload,
     UserRoleUpdatePayload
 } from '../types/UserAdminTypes';
@@ -56,6 +58,23 @@ export const AdminUserService = {
         return response.json();
     },
 
+    getUsersPage: async (query: UserPageQuery = {}): Promise<UserPage> => {
+        const params = new URLSearchParams();
+        if (query.afterUserId != null) params.append('afterUserId', String(query.afterUserId));
+        if (query.size != null) params.append('size', String(query.size));
+        if (query.role) params.append('role', query.role);
+        if (query.emailPrefix) params.append('emailPrefix', query.emailPrefix);
+        const queryString = params.toString();
+        const response = await fetch(`${ADMIN_USERS_ENDPOINT}/page${queryString ? `?${queryString}` : ''}`, {
+            method: 'GET',
+            headers: getAuthHeaders(false),
+        });
+        if (!response.ok) {
+            await handleApiError(response, 'Nie udało się pobrać strony użytkowników');
+        }
+        return response.json();
+    },
+
     getUserById: async (userId: number): Promise<UserAdminView> => {
         const response = await fetch(`${ADMIN_USERS_ENDPOINT}/${userId}`, {
             method: 'GET',
@@ -7,7 +7,8 @@ import {
     NewUserStat,
     SystemActivityCount,
     PopularPlanDto,
-    ExerciseCountByMuscleGroupDto
+    ExerciseCountByMuscleGroupDto,
+    DashboardStatistics
 } from '../types/StatisticsTypes';
 
 const STATISTICS_ENDPOINT = `${API_BASE_URL}/api/statistics`;
@@ -47,6 +48,16 @@ const handleApiError = async (response: Response, defaultMessage: string): Promi
 };
 
 export const StatisticsService = {
+    getDashboard: async (popularExercisesTopN: number = 5, mostAssignedPlansTopN: number = 5): Promise<DashboardStatistics> => {
+        const params = new URLSearchParams({
+            popularExercisesTopN: String(popularExercisesTopN),
+            mostAssignedPlansTopN: String(mostAssignedPlansTopN),
+        });
+        const response = await fetch(`${STATISTICS_ENDPOINT}/dashboard?${params.toString()}`, { headers: getAuthHeaders(false) });
+        if (!response.ok) await handleApiError(response, 'Nie udało się pobrać statystyk panelu');
+        return response.json();
+    },
+
     getTotalUserCount: async (): Promise<number> => {
         const response = await fetch(`${STATISTICS_ENDPOINT}/users/total-count`, { headers: getAuthHeaders(false) });
         if (!response.ok) await handleApiError(response, 'Nie udało się pobrać całkowitej liczby użytkowników');
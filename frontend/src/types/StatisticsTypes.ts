@@ -41,4 +41,29 @@ export interface PopularPlanDto {
 export interface ExerciseCountByMuscleGroupDto {
     groupName: string;
     exerciseCount: number;
-}
\ No newline at end of file
+}
+
+export interface DashboardSectionStatus {
+    section: string;
+    durationMs: number | null;
+    success: boolean;
+    error: string | null;
+    snapshotAgeMs: number | null;
+}
+
+export interface DashboardStatistics {
+    totalUserCount: number | null;
+    totalTrainerCount: number | null;
+    usersByRole: RoleStat[] | null;
+    newUsers: NewUserStat[] | null;
+    trainersBySpecialization: SpecializationStat[] | null;
+    trainerWorkload: TrainerWorkload[] | null;
+    exerciseCountByMuscleGroup: ExerciseCountByMuscleGroupDto[] | null;
+    popularExercisesInPlans: ExercisePopularity[] | null;
+    mostAssignedTrainingPlans: PopularPlanDto[] | null;
+    systemActivityCounts: SystemActivityCount[] | null;
+    sections: DashboardSectionStatus[];
+    totalDurationMs: number;
+    partial: boolean;
+    snapshotAgeMs: number | null;
+}
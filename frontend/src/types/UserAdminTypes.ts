@@ -8,6 +8,20 @@ export interface UserAdminView {
     role: RoleType;
 }
 
+export interface UserPage {
+    items: UserAdminView[];
+    pageSize: number;
+    hasMore: boolean;
+    nextAfterUserId: number | null;
+}
+
+export interface UserPageQuery {
+    afterUserId?: number | null;
+    size?: number;
+    role?: RoleType;
+    emailPrefix?: string;
+}
+
 export interface UserCreationAdminPayload {
     username: string;
     email: string;
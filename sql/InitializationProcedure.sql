@@ -183,6 +183,17 @@ BEGIN
     DBMS_OUTPUT.PUT_LINE('PRC_INITIALIZE_DATABASE: Wynik TRAINER_SESSIONS: ' ||
                          CASE WHEN v_success THEN 'OK' ELSE 'BŁĄD/ISTNIEJE' END);
 
+    v_success := fn_add_table(
+            'CREATE TABLE APP_STATISTIC_COUNTERS (
+                metric_key VARCHAR2(50) NOT NULL,
+                slot_no NUMBER(3) NOT NULL,
+                count_value NUMBER DEFAULT 0 NOT NULL,
+                updated_at TIMESTAMP,
+                CONSTRAINT pk_app_statistic_counters PRIMARY KEY (metric_key, slot_no)
+            ) ORGANIZATION INDEX', 'APP_STATISTIC_COUNTERS');
+    DBMS_OUTPUT.PUT_LINE('PRC_INITIALIZE_DATABASE: Wynik APP_STATISTIC_COUNTERS: ' ||
+                         CASE WHEN v_success THEN 'OK' ELSE 'BŁĄD/ISTNIEJE' END);
+
     DBMS_OUTPUT.PUT_LINE('---');
     DBMS_OUTPUT.PUT_LINE('PRC_INITIALIZE_DATABASE: Rozpoczęto tworzenie sekwencji...');
 
@@ -1,5 +1,7 @@
 CREATE OR REPLACE PACKAGE PKG_TRAINING_PLAN_MGMT AS
 
+    TYPE ty_id_list IS TABLE OF NUMBER INDEX BY PLS_INTEGER;
+
     PROCEDURE CreateTrainingPlan(
         p_name IN training_plans.name%TYPE,
         p_plan_id OUT training_plans.plan_id%TYPE
@@ -9,9 +11,11 @@ CREATE OR REPLACE PACKAGE PKG_TRAINING_PLAN_MGMT AS
         p_plan_id IN training_plans.plan_id%TYPE
     );
 
+    -- p_saved_name zwraca nazwę zapisaną w tabeli (po TRIM), co razem z p_plan_id daje cały wiersz planu.
     PROCEDURE UpdateTrainingPlan(
         p_plan_id IN training_plans.plan_id%TYPE,
-        p_name IN training_plans.name%TYPE
+        p_name IN training_plans.name%TYPE,
+        p_saved_name OUT training_plans.name%TYPE
     );
 
     PROCEDURE ListAllTrainingPlans_Proc(
@@ -28,6 +32,14 @@ CREATE OR REPLACE PACKAGE PKG_TRAINING_PLAN_MGMT AS
         p_cursor OUT SYS_REFCURSOR
     );
 
+    -- Jeden kursor z planem, jego ćwiczeniami (z nazwą grupy mięśniowej) i liczbą przypisań planu.
+    -- Każdy wiersz powtarza kolumny planu; plan bez ćwiczeń daje jeden wiersz z pustymi kolumnami ćwiczenia,
+    -- a nieistniejący plan - pusty kursor.
+    PROCEDURE GetPlanDetail_Proc(
+        p_plan_id IN training_plans.plan_id%TYPE,
+        p_cursor OUT SYS_REFCURSOR
+    );
+
     PROCEDURE AddExerciseToPlan(
         p_plan_id IN training_exercise.plan_id%TYPE,
         p_exercise_id IN training_exercise.exercise_id%TYPE
@@ -42,6 +54,16 @@ CREATE OR REPLACE PACKAGE PKG_TRAINING_PLAN_MGMT AS
         p_plan_id IN training_exercise.plan_id%TYPE
     );
 
+    -- Ustawia zestaw ćwiczeń planu na p_exercise_ids w jednej transakcji.
+    -- Różnica względem bieżącego stanu i istnienie ćwiczeń są ustalane jednym zapytaniem; brakujące
+    -- ćwiczenia są wstawiane jednym FORALL, nadmiarowe usuwane jednym DELETE. Pusta lista czyści plan.
+    PROCEDURE SetPlanExercises(
+        p_plan_id IN training_exercise.plan_id%TYPE,
+        p_exercise_ids IN ty_id_list,
+        p_added_ids OUT ty_id_list,
+        p_removed_ids OUT ty_id_list
+    );
+
     TYPE ty_training_plan_record IS RECORD (
                                                plan_id training_plans.plan_id%TYPE,
                                                name    training_plans.name%TYPE);
@@ -83,6 +105,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINING_PLAN_MGMT AS
         INSERT INTO training_plans (plan_id, name)
         VALUES (training_plans_seq.NEXTVAL, TRIM(p_name))
         RETURNING plan_id INTO p_plan_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_plans, SQL%ROWCOUNT);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN ROLLBACK; p_plan_id := NULL; RAISE;
@@ -96,25 +119,30 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINING_PLAN_MGMT AS
             RAISE_APPLICATION_ERROR(-20300, 'Plan treningowy o ID ' || p_plan_id || ' nie istnieje.');
         END IF;
         DELETE FROM training_exercise WHERE plan_id = p_plan_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_exercise, -SQL%ROWCOUNT);
         DELETE FROM personal_plans WHERE plan_id = p_plan_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, -SQL%ROWCOUNT);
         DELETE FROM training_plans WHERE plan_id = p_plan_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_plans, -SQL%ROWCOUNT);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN ROLLBACK; RAISE;
     END DeleteTrainingPlan;
 
-    PROCEDURE UpdateTrainingPlan(p_plan_id IN training_plans.plan_id%TYPE, p_name IN training_plans.name%TYPE) AS
+    PROCEDURE UpdateTrainingPlan(p_plan_id IN training_plans.plan_id%TYPE, p_name IN training_plans.name%TYPE,
+                                 p_saved_name OUT training_plans.name%TYPE) AS
     BEGIN
         IF TRIM(p_name) IS NULL THEN
             RAISE_APPLICATION_ERROR(-20301, 'Nazwa planu treningowego nie może być pusta.');
         END IF;
-        UPDATE training_plans SET name = TRIM(p_name) WHERE plan_id = p_plan_id;
+        UPDATE training_plans SET name = TRIM(p_name) WHERE plan_id = p_plan_id
+        RETURNING name INTO p_saved_name;
         IF SQL%NOTFOUND THEN
             RAISE_APPLICATION_ERROR(-20300, 'Plan treningowy o ID ' || p_plan_id || ' nie istnieje.');
         END IF;
         COMMIT;
     EXCEPTION
-        WHEN OTHERS THEN ROLLBACK; RAISE;
+        WHEN OTHERS THEN ROLLBACK; p_saved_name := NULL; RAISE;
     END UpdateTrainingPlan;
 
     FUNCTION GetTrainingPlanById_Func_Internal(p_plan_id IN training_plans.plan_id%TYPE) RETURN SYS_REFCURSOR AS
@@ -151,6 +179,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINING_PLAN_MGMT AS
     BEGIN
         v_is_valid := fn_validate_plan_exercise(p_plan_id, p_exercise_id);
         INSERT INTO training_exercise (plan_id, exercise_id) VALUES (p_plan_id, p_exercise_id);
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_exercise, SQL%ROWCOUNT);
         COMMIT;
     EXCEPTION
         WHEN DUP_VAL_ON_INDEX THEN ROLLBACK;
@@ -171,6 +200,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINING_PLAN_MGMT AS
                                     'Nie znaleziono ćwiczenia ID ' || p_exercise_id || ' w planie ID ' || p_plan_id ||
                                     ' do usunięcia.');
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_exercise, -1);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN ROLLBACK; RAISE;
@@ -181,11 +211,68 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINING_PLAN_MGMT AS
     BEGIN
         v_is_valid := fn_validate_plan_exercise(p_plan_id, NULL, p_check_exercise_exists => FALSE);
         DELETE FROM training_exercise WHERE plan_id = p_plan_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_exercise, -SQL%ROWCOUNT);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN ROLLBACK; RAISE;
     END RemoveAllExercisesFromPlan;
 
+    PROCEDURE SetPlanExercises(
+        p_plan_id IN training_exercise.plan_id%TYPE,
+        p_exercise_ids IN ty_id_list,
+        p_added_ids OUT ty_id_list,
+        p_removed_ids OUT ty_id_list
+    ) AS
+        v_plan_id       training_plans.plan_id%TYPE;
+        v_requested_ids ty_id_list;
+        v_found_ids     ty_id_list;
+        v_in_plan_ids   ty_id_list;
+    BEGIN
+        BEGIN
+            -- Blokada wiersza planu serializuje równoległe zmiany zestawu ćwiczeń tego samego planu.
+            SELECT plan_id INTO v_plan_id FROM training_plans WHERE plan_id = p_plan_id FOR UPDATE;
+        EXCEPTION
+            WHEN NO_DATA_FOUND THEN
+                RAISE_APPLICATION_ERROR(-20300, 'Plan treningowy o ID ' || p_plan_id || ' nie istnieje.');
+        END;
+
+        SELECT req.exercise_id, e.exercise_id, te.exercise_id
+            BULK COLLECT
+        INTO v_requested_ids, v_found_ids, v_in_plan_ids
+        FROM (SELECT DISTINCT COLUMN_VALUE AS exercise_id FROM TABLE (p_exercise_ids)) req
+                 LEFT JOIN exercises e ON e.exercise_id = req.exercise_id
+                 LEFT JOIN training_exercise te ON te.plan_id = p_plan_id AND te.exercise_id = req.exercise_id
+        ORDER BY req.exercise_id;
+
+        FOR i IN 1 .. v_requested_ids.COUNT
+            LOOP
+                IF v_found_ids(i) IS NULL THEN
+                    RAISE_APPLICATION_ERROR(-20011, 'Ćwiczenie o ID ' || v_requested_ids(i) || ' nie istnieje.');
+                ELSIF v_in_plan_ids(i) IS NULL THEN
+                    p_added_ids(p_added_ids.COUNT + 1) := v_requested_ids(i);
+                END IF;
+            END LOOP;
+
+        DELETE FROM training_exercise
+        WHERE plan_id = p_plan_id
+          AND exercise_id NOT IN (SELECT COLUMN_VALUE FROM TABLE (p_exercise_ids))
+        RETURNING exercise_id BULK COLLECT INTO p_removed_ids;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_exercise, -SQL%ROWCOUNT);
+
+        -- FORALL dla pustej kolekcji nie wykonuje instrukcji, więc SQL%ROWCOUNT pochodziłby z DELETE.
+        IF p_added_ids.COUNT > 0 THEN
+            FORALL i IN 1 .. p_added_ids.COUNT
+                INSERT INTO training_exercise (plan_id, exercise_id) VALUES (p_plan_id, p_added_ids(i));
+            PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_exercise, SQL%ROWCOUNT);
+        END IF;
+        COMMIT;
+    EXCEPTION
+        WHEN DUP_VAL_ON_INDEX THEN ROLLBACK;
+        RAISE_APPLICATION_ERROR(-20305, 'Zestaw ćwiczeń planu ID ' || p_plan_id ||
+                                        ' został równolegle zmieniony. Spróbuj ponownie.');
+        WHEN OTHERS THEN ROLLBACK; RAISE;
+    END SetPlanExercises;
+
     FUNCTION GetExercisesForPlan_Func_Internal(p_plan_id IN training_exercise.plan_id%TYPE) RETURN SYS_REFCURSOR AS
         v_cursor   SYS_REFCURSOR;
         v_is_valid BOOLEAN;
@@ -213,6 +300,34 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINING_PLAN_MGMT AS
             ORDER BY e.name;
     END GetExercisesForPlan_Proc;
 
+    PROCEDURE GetPlanDetail_Proc(p_plan_id IN training_plans.plan_id%TYPE, p_cursor OUT SYS_REFCURSOR) AS
+    BEGIN
+        OPEN p_cursor FOR
+            SELECT tp.plan_id,
+                   tp.name                      AS plan_name,
+                   NVL(pp.assignment_count, 0)  AS assignment_count,
+                   NVL(pp.user_count, 0)        AS assigned_user_count,
+                   NVL(pp.trainer_count, 0)     AS assigned_trainer_count,
+                   e.exercise_id,
+                   e.name                       AS exercise_name,
+                   e.description,
+                   e.group_id,
+                   mg.group_name                AS muscle_group_name
+            FROM training_plans tp
+                     LEFT JOIN (SELECT plan_id,
+                                       COUNT(*)                   AS assignment_count,
+                                       COUNT(DISTINCT user_id)    AS user_count,
+                                       COUNT(DISTINCT trainer_id) AS trainer_count
+                                FROM personal_plans
+                                WHERE plan_id = p_plan_id
+                                GROUP BY plan_id) pp ON pp.plan_id = tp.plan_id
+                     LEFT JOIN training_exercise te ON te.plan_id = tp.plan_id
+                     LEFT JOIN exercises e ON e.exercise_id = te.exercise_id
+                     LEFT JOIN muscle_groups mg ON mg.group_id = e.group_id
+            WHERE tp.plan_id = p_plan_id
+            ORDER BY e.name, e.exercise_id;
+    END GetPlanDetail_Proc;
+
     FUNCTION GetPlansForExercise(p_exercise_id IN training_exercise.exercise_id%TYPE) RETURN ty_training_plan_table AS
         v_plans_tbl ty_training_plan_table;
         v_is_valid  BOOLEAN;
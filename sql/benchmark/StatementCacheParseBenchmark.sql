@@ -0,0 +1,95 @@
+-- Koszt parsowania wywołań PL/SQL bez i z cache instrukcji po stronie klienta.
+-- Wariant "bez cache" odtwarza zachowanie sterownika bez implicit statement cache: każde wywołanie
+-- otwiera nowy kursor, parsuje tekst wywołania i go zamyka. Wariant "z cache" parsuje raz i tylko
+-- ponownie wykonuje kursor, tak jak ojdbc po trafieniu w cache (oracle-connection.statement-cache.*).
+-- Uruchamiać z SET SERVEROUTPUT ON; skrypt niczego nie zapisuje.
+DECLARE
+    c_calls CONSTANT PLS_INTEGER := 20000;
+    c_sql   CONSTANT VARCHAR2(200) := 'BEGIN :cnt := PKG_APP_COUNTERS.GetCount(:metric_key); END;';
+
+    v_cursor         INTEGER;
+    v_rows           INTEGER;
+    v_start          TIMESTAMP;
+    v_parse_before   NUMBER;
+    v_parse_time_bef NUMBER;
+    v_cache_hits_bef NUMBER;
+    v_ms_no_cache    NUMBER;
+    v_ms_cached      NUMBER;
+
+    FUNCTION elapsed_ms(p_start IN TIMESTAMP) RETURN NUMBER IS
+        v_diff INTERVAL DAY TO SECOND := SYSTIMESTAMP - p_start;
+    BEGIN
+        RETURN EXTRACT(DAY FROM v_diff) * 86400000 + EXTRACT(HOUR FROM v_diff) * 3600000 +
+               EXTRACT(MINUTE FROM v_diff) * 60000 + EXTRACT(SECOND FROM v_diff) * 1000;
+    END elapsed_ms;
+
+    FUNCTION my_stat(p_name IN VARCHAR2) RETURN NUMBER IS
+        v_value NUMBER;
+    BEGIN
+        SELECT ms.value
+        INTO v_value
+        FROM v$mystat ms
+                 JOIN v$statname sn ON sn.statistic# = ms.statistic#
+        WHERE sn.name = p_name;
+        RETURN v_value;
+    END my_stat;
+
+    PROCEDURE snapshot IS
+    BEGIN
+        v_parse_before := my_stat('parse count (total)');
+        v_parse_time_bef := my_stat('parse time elapsed');
+        v_cache_hits_bef := my_stat('session cursor cache hits');
+    END snapshot;
+
+    PROCEDURE report(p_label IN VARCHAR2, p_total_ms IN NUMBER) IS
+    BEGIN
+        DBMS_OUTPUT.PUT_LINE(RPAD(p_label, 30) || ': ' || ROUND(p_total_ms, 1) || ' ms łącznie, ' ||
+                             ROUND(p_total_ms * 1000 / c_calls, 2) || ' µs/wywołanie, parsowań: ' ||
+                             (my_stat('parse count (total)') - v_parse_before) || ', czas parsowania: ' ||
+                             (my_stat('parse time elapsed') - v_parse_time_bef) * 10 || ' ms, ' ||
+                             'trafień w session cursor cache: ' ||
+                             (my_stat('session cursor cache hits') - v_cache_hits_bef));
+    END report;
+BEGIN
+    -- Bez cache: parsowanie przy każdym wywołaniu
+    snapshot;
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_calls
+        LOOP
+            v_cursor := DBMS_SQL.OPEN_CURSOR;
+            DBMS_SQL.PARSE(v_cursor, c_sql, DBMS_SQL.NATIVE);
+            DBMS_SQL.BIND_VARIABLE(v_cursor, ':cnt', 0);
+            DBMS_SQL.BIND_VARIABLE(v_cursor, ':metric_key', PKG_APP_COUNTERS.c_users);
+            v_rows := DBMS_SQL.EXECUTE(v_cursor);
+            DBMS_SQL.CLOSE_CURSOR(v_cursor);
+        END LOOP;
+    v_ms_no_cache := elapsed_ms(v_start);
+    report('Bez cache instrukcji', v_ms_no_cache);
+
+    -- Z cache: jeden kursor sparsowany raz i wykonywany wielokrotnie
+    snapshot;
+    v_start := SYSTIMESTAMP;
+    v_cursor := DBMS_SQL.OPEN_CURSOR;
+    DBMS_SQL.PARSE(v_cursor, c_sql, DBMS_SQL.NATIVE);
+    FOR i IN 1 .. c_calls
+        LOOP
+            DBMS_SQL.BIND_VARIABLE(v_cursor, ':cnt', 0);
+            DBMS_SQL.BIND_VARIABLE(v_cursor, ':metric_key', PKG_APP_COUNTERS.c_users);
+            v_rows := DBMS_SQL.EXECUTE(v_cursor);
+        END LOOP;
+    DBMS_SQL.CLOSE_CURSOR(v_cursor);
+    v_ms_cached := elapsed_ms(v_start);
+    report('Z cache instrukcji', v_ms_cached);
+
+    DBMS_OUTPUT.PUT_LINE('---');
+    DBMS_OUTPUT.PUT_LINE('Oszczędność na wywołaniu: ' ||
+                         ROUND((v_ms_no_cache - v_ms_cached) * 1000 / c_calls, 2) || ' µs');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF DBMS_SQL.IS_OPEN(v_cursor) THEN
+            DBMS_SQL.CLOSE_CURSOR(v_cursor);
+        END IF;
+        DBMS_OUTPUT.PUT_LINE('Błąd benchmarku cache instrukcji: ' || SQLCODE || ' - ' || SQLERRM);
+        RAISE;
+END;
+/
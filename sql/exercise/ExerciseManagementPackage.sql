@@ -85,6 +85,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_EXERCISE_MGMT AS
 
         INSERT INTO exercises (exercise_id, name, description, group_id)
         VALUES (p_exercise_id, v_name_trimmed, p_description, p_group_id);
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_exercises, SQL%ROWCOUNT);
 
         COMMIT;
         p_success := 1;
@@ -119,6 +120,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_EXERCISE_MGMT AS
         DELETE FROM training_exercise
         WHERE exercise_id = p_exercise_id;
         DBMS_OUTPUT.PUT_LINE(SQL%ROWCOUNT || ' wierszy usuniętych z training_exercise dla exercise_id: ' || p_exercise_id);
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_training_exercise, -SQL%ROWCOUNT);
 
         DELETE FROM exercises
         WHERE exercise_id = p_exercise_id;
@@ -130,6 +132,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_EXERCISE_MGMT AS
             p_success := 0;
             RETURN;
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_exercises, -1);
 
         COMMIT;
         p_success := 1;
@@ -63,6 +63,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_MUSCLE_GROUP_MGMT AS
         VALUES (v_generated_id,
                 TRIM(p_group_name),
                 p_description);
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_muscle_groups, SQL%ROWCOUNT);
 
         COMMIT;
         p_new_group_id := v_generated_id;
@@ -129,6 +130,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_MUSCLE_GROUP_MGMT AS
             ROLLBACK;
             RETURN;
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_muscle_groups, -1);
 
         COMMIT;
         p_success := TRUE;
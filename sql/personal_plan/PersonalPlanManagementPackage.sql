@@ -24,6 +24,12 @@ CREATE OR REPLACE PACKAGE PKG_PERSONAL_PLAN_MGMT AS
                                                 trainer_surname  trainers.surname%TYPE
                                             );
     TYPE ty_user_in_personal_plan_table IS TABLE OF ty_user_in_personal_plan_record INDEX BY PLS_INTEGER;
+    TYPE ty_id_list IS TABLE OF NUMBER INDEX BY PLS_INTEGER;
+
+    -- TRUE tylko w trakcie wstawiania partii przez AssignPlanToUsersBulk, zwalidowanej jednym zapytaniem.
+    -- Wyzwalacze walidujące personal_plans pomijają wtedy zapytania wykonywane dla każdego wiersza.
+    -- Sama flaga jest w treści pakietu, więc z zewnątrz można ją tylko odczytać.
+    FUNCTION batch_validated RETURN BOOLEAN;
 
     PROCEDURE AssignPlanToUser(
         p_trainer_id IN personal_plans.trainer_id%TYPE,
@@ -32,6 +38,16 @@ CREATE OR REPLACE PACKAGE PKG_PERSONAL_PLAN_MGMT AS
         p_personal_plan_id OUT personal_plans.personal_plan_id%TYPE
     );
 
+    -- Przypisuje jeden plan od jednego trenera wielu użytkownikom w jednej transakcji.
+    -- Cała partia jest walidowana jednym zapytaniem (istnienie, rola, reguła jednego trenera);
+    -- pierwszy błąd przerywa operację bez zapisania czegokolwiek. Zwraca utworzone przypisania.
+    PROCEDURE AssignPlanToUsersBulk(
+        p_trainer_id IN personal_plans.trainer_id%TYPE,
+        p_plan_id IN personal_plans.plan_id%TYPE,
+        p_user_ids IN ty_id_list,
+        p_created_plans OUT ty_personal_plan_table
+    );
+
     PROCEDURE UnassignPersonalPlanById(
         p_personal_plan_id IN personal_plans.personal_plan_id%TYPE
     );
@@ -63,10 +79,22 @@ CREATE OR REPLACE PACKAGE PKG_PERSONAL_PLAN_MGMT AS
     FUNCTION ListAllPersonalPlans
         RETURN ty_personal_plan_table;
 
+    -- Kursor tylko do odczytu w kolejności klucza głównego, przeznaczony do strumieniowego eksportu.
+    PROCEDURE ExportPersonalPlans(
+        p_plans_cursor OUT SYS_REFCURSOR
+    );
+
 END PKG_PERSONAL_PLAN_MGMT;
 /
 CREATE OR REPLACE PACKAGE BODY PKG_PERSONAL_PLAN_MGMT AS
 
+    g_batch_validated BOOLEAN := FALSE;
+
+    FUNCTION batch_validated RETURN BOOLEAN IS
+    BEGIN
+        RETURN g_batch_validated;
+    END batch_validated;
+
     FUNCTION fn_validate_entities(
         p_user_id IN NUMBER,
         p_trainer_id IN NUMBER,
@@ -147,6 +175,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_PERSONAL_PLAN_MGMT AS
         INSERT INTO personal_plans (personal_plan_id, trainer_id, user_id, plan_id)
         VALUES (personal_plans_seq.NEXTVAL, p_trainer_id, p_user_id, p_plan_id)
         RETURNING personal_plan_id INTO p_personal_plan_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, SQL%ROWCOUNT);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN
@@ -155,6 +184,95 @@ CREATE OR REPLACE PACKAGE BODY PKG_PERSONAL_PLAN_MGMT AS
             RAISE;
     END AssignPlanToUser;
 
+    PROCEDURE AssignPlanToUsersBulk(
+        p_trainer_id IN personal_plans.trainer_id%TYPE,
+        p_plan_id IN personal_plans.plan_id%TYPE,
+        p_user_ids IN ty_id_list,
+        p_created_plans OUT ty_personal_plan_table
+    ) AS
+        TYPE ty_username_list IS TABLE OF users.username%TYPE INDEX BY PLS_INTEGER;
+        TYPE ty_role_list IS TABLE OF users.role%TYPE INDEX BY PLS_INTEGER;
+
+        v_user_ids          ty_id_list;
+        v_found_user_ids    ty_id_list;
+        v_usernames         ty_username_list;
+        v_roles             ty_role_list;
+        v_other_trainer_ids ty_id_list;
+        v_new_ids           ty_id_list;
+        v_trainer_name      trainers.name%TYPE;
+        v_trainer_surname   trainers.surname%TYPE;
+        v_plan_name         training_plans.name%TYPE;
+    BEGIN
+        BEGIN
+            SELECT name, surname INTO v_trainer_name, v_trainer_surname FROM trainers WHERE trainer_id = p_trainer_id;
+        EXCEPTION
+            WHEN NO_DATA_FOUND THEN
+                RAISE_APPLICATION_ERROR(-20400, 'Trener o ID ' || p_trainer_id || ' nie istnieje.');
+        END;
+
+        BEGIN
+            SELECT name INTO v_plan_name FROM training_plans WHERE plan_id = p_plan_id;
+        EXCEPTION
+            WHEN NO_DATA_FOUND THEN
+                RAISE_APPLICATION_ERROR(-20300, 'Plan treningowy o ID ' || p_plan_id || ' nie istnieje.');
+        END;
+
+        SELECT req.user_id, u.user_id, u.username, u.role, other.trainer_id
+            BULK COLLECT
+        INTO v_user_ids, v_found_user_ids, v_usernames, v_roles, v_other_trainer_ids
+        FROM (SELECT DISTINCT COLUMN_VALUE AS user_id FROM TABLE (p_user_ids)) req
+                 LEFT JOIN users u ON u.user_id = req.user_id
+                 LEFT JOIN (SELECT pp.user_id, MAX(pp.trainer_id) AS trainer_id
+                            FROM personal_plans pp
+                            WHERE pp.trainer_id IS NOT NULL
+                              AND pp.trainer_id != p_trainer_id
+                              AND pp.user_id IN (SELECT COLUMN_VALUE FROM TABLE (p_user_ids))
+                            GROUP BY pp.user_id) other ON other.user_id = req.user_id
+        ORDER BY req.user_id;
+
+        FOR i IN 1 .. v_user_ids.COUNT
+            LOOP
+                IF v_found_user_ids(i) IS NULL THEN
+                    RAISE_APPLICATION_ERROR(-20005, 'Użytkownik o ID ' || v_user_ids(i) || ' nie istnieje.');
+                ELSIF v_roles(i) != 'USER' THEN
+                    RAISE_APPLICATION_ERROR(-20007, 'Użytkownik o ID ' || v_user_ids(i) || ' ma nieprawidłową rolę (' ||
+                                                    v_roles(i) || ') i nie może mieć przypisanego planu osobistego.');
+                ELSIF v_other_trainer_ids(i) IS NOT NULL THEN
+                    RAISE_APPLICATION_ERROR(-20010, 'Użytkownik ID ' || v_user_ids(i) ||
+                                                    ' ma już przypisany plan od innego trenera (ID ' ||
+                                                    v_other_trainer_ids(i) ||
+                                                    '). Nie można przypisać planu od trenera ID ' || p_trainer_id || '.');
+                END IF;
+            END LOOP;
+
+        g_batch_validated := TRUE;
+        FORALL i IN 1 .. v_user_ids.COUNT
+            INSERT INTO personal_plans (personal_plan_id, trainer_id, user_id, plan_id)
+            VALUES (personal_plans_seq.NEXTVAL, p_trainer_id, v_user_ids(i), p_plan_id)
+            RETURNING personal_plan_id BULK COLLECT INTO v_new_ids;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, SQL%ROWCOUNT);
+        g_batch_validated := FALSE;
+
+        -- RETURNING BULK COLLECT zwraca ID w kolejności v_user_ids, więc nazwy można dołączyć bez kolejnego zapytania
+        FOR i IN 1 .. v_new_ids.COUNT
+            LOOP
+                p_created_plans(i).personal_plan_id := v_new_ids(i);
+                p_created_plans(i).user_id := v_user_ids(i);
+                p_created_plans(i).username := v_usernames(i);
+                p_created_plans(i).trainer_id := p_trainer_id;
+                p_created_plans(i).trainer_name := v_trainer_name;
+                p_created_plans(i).trainer_surname := v_trainer_surname;
+                p_created_plans(i).plan_id := p_plan_id;
+                p_created_plans(i).plan_name := v_plan_name;
+            END LOOP;
+        COMMIT;
+    EXCEPTION
+        WHEN OTHERS THEN
+            g_batch_validated := FALSE;
+            ROLLBACK;
+            RAISE;
+    END AssignPlanToUsersBulk;
+
     PROCEDURE UnassignPersonalPlanById(
         p_personal_plan_id IN personal_plans.personal_plan_id%TYPE
     ) AS
@@ -166,6 +284,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_PERSONAL_PLAN_MGMT AS
         IF SQL%NOTFOUND THEN
             RAISE_APPLICATION_ERROR(-20401, 'Personalny plan o ID ' || p_personal_plan_id || ' nie istnieje.');
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, -1);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN
@@ -198,6 +317,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_PERSONAL_PLAN_MGMT AS
                                                 ELSE '' END ||
                                             ' do usunięcia.');
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, -v_rows_deleted);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN
@@ -355,5 +475,29 @@ CREATE OR REPLACE PACKAGE BODY PKG_PERSONAL_PLAN_MGMT AS
             RAISE;
     END ListAllPersonalPlans;
 
+    PROCEDURE ExportPersonalPlans(
+        p_plans_cursor OUT SYS_REFCURSOR
+    ) AS
+    BEGIN
+        OPEN p_plans_cursor FOR
+            SELECT pp.personal_plan_id,
+                   pp.user_id,
+                   u.username,
+                   pp.trainer_id,
+                   t.name    AS trainer_name,
+                   t.surname AS trainer_surname,
+                   pp.plan_id,
+                   tp.name AS plan_name
+            FROM personal_plans pp
+                     JOIN users u ON pp.user_id = u.user_id
+                     JOIN trainers t ON pp.trainer_id = t.trainer_id
+                     JOIN training_plans tp ON pp.plan_id = tp.plan_id
+            ORDER BY pp.personal_plan_id;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF p_plans_cursor%ISOPEN THEN CLOSE p_plans_cursor; END IF;
+            RAISE;
+    END ExportPersonalPlans;
+
 END PKG_PERSONAL_PLAN_MGMT;
 /
\ No newline at end of file
@@ -6,7 +6,8 @@ DECLARE
     v_existing_trainer_id personal_plans.trainer_id%TYPE;
     v_trainer_count       NUMBER;
 BEGIN
-    IF :NEW.trainer_id IS NOT NULL THEN
+    -- Partie z PKG_PERSONAL_PLAN_MGMT.AssignPlanToUsersBulk są sprawdzane jednym zapytaniem przed wstawieniem.
+    IF :NEW.trainer_id IS NOT NULL AND NOT PKG_PERSONAL_PLAN_MGMT.batch_validated THEN
         SELECT COUNT(DISTINCT trainer_id)
         INTO v_trainer_count
         FROM personal_plans
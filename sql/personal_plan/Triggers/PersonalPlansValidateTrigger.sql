@@ -7,6 +7,11 @@ DECLARE
     v_trainer_count NUMBER;
     v_plan_count    NUMBER;
 BEGIN
+    -- Partie z PKG_PERSONAL_PLAN_MGMT.AssignPlanToUsersBulk są sprawdzane jednym zapytaniem przed wstawieniem.
+    IF PKG_PERSONAL_PLAN_MGMT.batch_validated THEN
+        RETURN;
+    END IF;
+
     SELECT COUNT(*) INTO v_user_count FROM USERS WHERE user_id = :NEW.user_id;
     IF v_user_count = 0 THEN
         RAISE_APPLICATION_ERROR(-20005, 'Użytkownik o ID ' || :NEW.user_id || ' nie istnieje.');
@@ -0,0 +1,132 @@
+CREATE OR REPLACE PACKAGE PKG_APP_COUNTERS AS
+
+    -- Klucze liczników odpowiadają nazwom tabel, których wiersze są zliczane.
+    c_users             CONSTANT VARCHAR2(50) := 'USERS';
+    c_trainers          CONSTANT VARCHAR2(50) := 'TRAINERS';
+    c_muscle_groups     CONSTANT VARCHAR2(50) := 'MUSCLE_GROUPS';
+    c_exercises         CONSTANT VARCHAR2(50) := 'EXERCISES';
+    c_training_plans    CONSTANT VARCHAR2(50) := 'TRAINING_PLANS';
+    c_personal_plans    CONSTANT VARCHAR2(50) := 'PERSONAL_PLANS';
+    c_training_exercise CONSTANT VARCHAR2(50) := 'TRAINING_EXERCISE';
+    c_trainer_sessions  CONSTANT VARCHAR2(50) := 'TRAINER_SESSIONS';
+
+    -- Każdy licznik jest rozłożony na kilka wierszy (slotów), żeby równoległe transakcje
+    -- nie czekały na blokadę jednego wiersza. Wartość licznika to suma slotów.
+    c_slot_count        CONSTANT PLS_INTEGER  := 16;
+
+    -- Zmienia licznik o p_delta w bieżącej transakcji (bez COMMIT).
+    -- Wywoływana przez pakiety zarządzające zaraz po INSERT/DELETE, z SQL%ROWCOUNT jako deltą.
+    PROCEDURE Adjust(
+        p_metric_key IN APP_STATISTIC_COUNTERS.METRIC_KEY%TYPE,
+        p_delta IN NUMBER
+    );
+
+    FUNCTION GetCount(
+        p_metric_key IN APP_STATISTIC_COUNTERS.METRIC_KEY%TYPE
+    ) RETURN NUMBER;
+
+    -- Porównuje liczniki z rzeczywistą liczbą wierszy i koryguje różnice.
+    -- p_total_drift zwraca sumę wartości bezwzględnych wykrytych rozbieżności.
+    PROCEDURE Reconcile(
+        p_total_drift OUT NUMBER,
+        p_success OUT NUMBER
+    );
+
+END PKG_APP_COUNTERS;
+/
+CREATE OR REPLACE PACKAGE BODY PKG_APP_COUNTERS AS
+
+    PROCEDURE AdjustSlot(
+        p_metric_key IN APP_STATISTIC_COUNTERS.METRIC_KEY%TYPE,
+        p_slot_no IN APP_STATISTIC_COUNTERS.SLOT_NO%TYPE,
+        p_delta IN NUMBER
+    ) AS
+    BEGIN
+        UPDATE APP_STATISTIC_COUNTERS
+        SET count_value = count_value + p_delta,
+            updated_at  = SYSTIMESTAMP
+        WHERE metric_key = p_metric_key
+          AND slot_no = p_slot_no;
+
+        IF SQL%ROWCOUNT = 0 THEN
+            BEGIN
+                INSERT INTO APP_STATISTIC_COUNTERS (metric_key, slot_no, count_value, updated_at)
+                VALUES (p_metric_key, p_slot_no, p_delta, SYSTIMESTAMP);
+            EXCEPTION
+                WHEN DUP_VAL_ON_INDEX THEN
+                    -- Slot został utworzony równolegle przez inną sesję.
+                    UPDATE APP_STATISTIC_COUNTERS
+                    SET count_value = count_value + p_delta,
+                        updated_at  = SYSTIMESTAMP
+                    WHERE metric_key = p_metric_key
+                      AND slot_no = p_slot_no;
+            END;
+        END IF;
+    END AdjustSlot;
+
+    PROCEDURE Adjust(
+        p_metric_key IN APP_STATISTIC_COUNTERS.METRIC_KEY%TYPE,
+        p_delta IN NUMBER
+    ) AS
+    BEGIN
+        IF p_delta IS NULL OR p_delta = 0 THEN
+            RETURN;
+        END IF;
+        AdjustSlot(p_metric_key, MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), c_slot_count), p_delta);
+    END Adjust;
+
+    FUNCTION GetCount(
+        p_metric_key IN APP_STATISTIC_COUNTERS.METRIC_KEY%TYPE
+    ) RETURN NUMBER AS
+        v_count NUMBER;
+    BEGIN
+        SELECT NVL(SUM(count_value), 0)
+        INTO v_count
+        FROM APP_STATISTIC_COUNTERS
+        WHERE metric_key = p_metric_key;
+        RETURN v_count;
+    END GetCount;
+
+    PROCEDURE Reconcile(
+        p_total_drift OUT NUMBER,
+        p_success OUT NUMBER
+    ) AS
+        v_metrics SYS.ODCIVARCHAR2LIST := SYS.ODCIVARCHAR2LIST(
+                c_users, c_trainers, c_muscle_groups, c_exercises,
+                c_training_plans, c_personal_plans, c_training_exercise, c_trainer_sessions);
+        v_drift NUMBER;
+    BEGIN
+        p_success := 0;
+        p_total_drift := 0;
+
+        FOR i IN 1 .. v_metrics.COUNT
+            LOOP
+                -- Oba podzapytania czytają ten sam, spójny stan (jeden SCN), a zatwierdzone transakcje
+                -- zmieniają wiersze i liczniki atomowo, więc różnica to rzeczywisty dryf.
+                -- Korekta jest nakładana jako delta, więc nie wymaga blokowania tabel źródłowych.
+                EXECUTE IMMEDIATE
+                    'SELECT (SELECT COUNT(*) FROM ' || DBMS_ASSERT.SIMPLE_SQL_NAME(v_metrics(i)) || ') - ' ||
+                    '(SELECT NVL(SUM(count_value), 0) FROM APP_STATISTIC_COUNTERS WHERE metric_key = :metric_key) ' ||
+                    'FROM dual'
+                    INTO v_drift
+                    USING v_metrics(i);
+
+                IF v_drift != 0 THEN
+                    AdjustSlot(v_metrics(i), 0, v_drift);
+                    p_total_drift := p_total_drift + ABS(v_drift);
+                    DBMS_OUTPUT.PUT_LINE('Skorygowano licznik ' || v_metrics(i) || ' o ' || v_drift);
+                END IF;
+                COMMIT;
+            END LOOP;
+
+        p_success := 1;
+    EXCEPTION
+        WHEN OTHERS THEN
+            ROLLBACK;
+            p_success := 0;
+            DBMS_OUTPUT.PUT_LINE('Błąd podczas uzgadniania liczników statystyk: ' || SQLERRM);
+            RAISE;
+    END Reconcile;
+
+END PKG_APP_COUNTERS;
+/
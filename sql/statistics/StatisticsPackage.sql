@@ -77,7 +77,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_APP_STATISTICS AS
     FUNCTION GetTotalUserCount RETURN NUMBER AS
         v_count NUMBER;
     BEGIN
-        SELECT COUNT(*) INTO v_count FROM USERS;
+        v_count := PKG_APP_COUNTERS.GetCount(PKG_APP_COUNTERS.c_users);
         RETURN v_count;
     EXCEPTION
         WHEN OTHERS THEN
@@ -128,7 +128,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_APP_STATISTICS AS
     FUNCTION GetTotalTrainerCount RETURN NUMBER AS
         v_count NUMBER;
     BEGIN
-        SELECT COUNT(*) INTO v_count FROM TRAINERS;
+        v_count := PKG_APP_COUNTERS.GetCount(PKG_APP_COUNTERS.c_trainers);
         RETURN v_count;
     EXCEPTION
         WHEN OTHERS THEN
@@ -262,29 +262,26 @@ CREATE OR REPLACE PACKAGE BODY PKG_APP_STATISTICS AS
     BEGIN
         p_success := 0;
         OPEN p_activity_counts FOR
-            SELECT 'Total Users' AS metric, COUNT(*) AS count_value
-            FROM USERS
-            UNION ALL
-            SELECT 'Total Trainers' AS metric, COUNT(*) AS count_value
-            FROM TRAINERS
-            UNION ALL
-            SELECT 'Total Muscle Groups' AS metric, COUNT(*) AS count_value
-            FROM MUSCLE_GROUPS
-            UNION ALL
-            SELECT 'Total Exercises' AS metric, COUNT(*) AS count_value
-            FROM EXERCISES
-            UNION ALL
-            SELECT 'Total Training Plans' AS metric, COUNT(*) AS count_value
-            FROM TRAINING_PLANS
-            UNION ALL
-            SELECT 'Total Personal Plan Assignments' AS metric, COUNT(*) AS count_value
-            FROM PERSONAL_PLANS
-            UNION ALL
-            SELECT 'Total Exercise-Plan Links' AS metric, COUNT(*) AS count_value
-            FROM TRAINING_EXERCISE
-            UNION ALL
-            SELECT 'Total Trainer Sessions' AS metric, COUNT(*) AS count_value
-            FROM TRAINER_SESSIONS;
+            WITH metrics AS (SELECT 1 AS sort_order, PKG_APP_COUNTERS.c_users AS metric_key, 'Total Users' AS metric FROM dual
+                             UNION ALL
+                             SELECT 2, PKG_APP_COUNTERS.c_trainers, 'Total Trainers' FROM dual
+                             UNION ALL
+                             SELECT 3, PKG_APP_COUNTERS.c_muscle_groups, 'Total Muscle Groups' FROM dual
+                             UNION ALL
+                             SELECT 4, PKG_APP_COUNTERS.c_exercises, 'Total Exercises' FROM dual
+                             UNION ALL
+                             SELECT 5, PKG_APP_COUNTERS.c_training_plans, 'Total Training Plans' FROM dual
+                             UNION ALL
+                             SELECT 6, PKG_APP_COUNTERS.c_personal_plans, 'Total Personal Plan Assignments' FROM dual
+                             UNION ALL
+                             SELECT 7, PKG_APP_COUNTERS.c_training_exercise, 'Total Exercise-Plan Links' FROM dual
+                             UNION ALL
+                             SELECT 8, PKG_APP_COUNTERS.c_trainer_sessions, 'Total Trainer Sessions' FROM dual)
+            SELECT m.metric, NVL(SUM(c.count_value), 0) AS count_value
+            FROM metrics m
+                     LEFT JOIN APP_STATISTIC_COUNTERS c ON c.metric_key = m.metric_key
+            GROUP BY m.sort_order, m.metric
+            ORDER BY m.sort_order;
         p_success := 1;
     EXCEPTION
         WHEN OTHERS THEN
@@ -0,0 +1,111 @@
+-- Porównanie kosztu odczytu statystyk: COUNT(*) po tabelach vs liczniki APP_STATISTIC_COUNTERS.
+-- Skrypt dodaje 1 000 000 syntetycznych użytkowników (ujemne ID) i na końcu wycofuje wszystkie zmiany.
+-- Uruchamiać wyłącznie na schemacie testowym, z SET SERVEROUTPUT ON.
+DECLARE
+    c_user_rows  CONSTANT PLS_INTEGER := 1000000;
+    c_iterations CONSTANT PLS_INTEGER := 50;
+    c_writes     CONSTANT PLS_INTEGER := 10000;
+
+    v_count      NUMBER;
+    v_start      TIMESTAMP;
+    v_cursor     SYS_REFCURSOR;
+    v_metric     VARCHAR2(100);
+    v_value      NUMBER;
+    v_success    NUMBER;
+
+    FUNCTION elapsed_ms(p_start IN TIMESTAMP) RETURN NUMBER IS
+        v_diff INTERVAL DAY TO SECOND := SYSTIMESTAMP - p_start;
+    BEGIN
+        RETURN EXTRACT(DAY FROM v_diff) * 86400000 + EXTRACT(HOUR FROM v_diff) * 3600000 +
+               EXTRACT(MINUTE FROM v_diff) * 60000 + EXTRACT(SECOND FROM v_diff) * 1000;
+    END elapsed_ms;
+
+    PROCEDURE report(p_label IN VARCHAR2, p_total_ms IN NUMBER, p_operations IN PLS_INTEGER) IS
+    BEGIN
+        DBMS_OUTPUT.PUT_LINE(RPAD(p_label, 45) || ': ' || ROUND(p_total_ms, 1) || ' ms łącznie, ' ||
+                             ROUND(p_total_ms / p_operations, 3) || ' ms/operację');
+    END report;
+BEGIN
+    SAVEPOINT before_benchmark;
+
+    INSERT INTO USERS (user_id, username, password_hash, email, role, created_at)
+    SELECT -LEVEL, 'bench_user_' || LEVEL, 'x', 'bench_user_' || LEVEL || '@bench.local', 'USER', SYSTIMESTAMP
+    FROM dual
+    CONNECT BY LEVEL <= c_user_rows;
+    PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_users, SQL%ROWCOUNT);
+    DBMS_OUTPUT.PUT_LINE('Użytkowników w tabeli USERS: ' || PKG_APP_COUNTERS.GetCount(PKG_APP_COUNTERS.c_users));
+    DBMS_OUTPUT.PUT_LINE('---');
+
+    -- Odczyty
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            SELECT COUNT(*) INTO v_count FROM USERS;
+        END LOOP;
+    report('GetTotalUserCount (COUNT(*) FROM USERS)', elapsed_ms(v_start), c_iterations);
+
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            v_count := PKG_APP_STATISTICS.GetTotalUserCount;
+        END LOOP;
+    report('GetTotalUserCount (liczniki)', elapsed_ms(v_start), c_iterations);
+
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            SELECT SUM(cnt)
+            INTO v_count
+            FROM (SELECT COUNT(*) AS cnt FROM USERS
+                  UNION ALL SELECT COUNT(*) FROM TRAINERS
+                  UNION ALL SELECT COUNT(*) FROM MUSCLE_GROUPS
+                  UNION ALL SELECT COUNT(*) FROM EXERCISES
+                  UNION ALL SELECT COUNT(*) FROM TRAINING_PLANS
+                  UNION ALL SELECT COUNT(*) FROM PERSONAL_PLANS
+                  UNION ALL SELECT COUNT(*) FROM TRAINING_EXERCISE
+                  UNION ALL SELECT COUNT(*) FROM TRAINER_SESSIONS);
+        END LOOP;
+    report('SystemActivityCounts (8 x COUNT(*))', elapsed_ms(v_start), c_iterations);
+
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            PKG_APP_STATISTICS.GetOverallSystemActivityCounts(v_cursor, v_success);
+            LOOP
+                FETCH v_cursor INTO v_metric, v_value;
+                EXIT WHEN v_cursor%NOTFOUND;
+            END LOOP;
+            CLOSE v_cursor;
+        END LOOP;
+    report('SystemActivityCounts (liczniki)', elapsed_ms(v_start), c_iterations);
+    DBMS_OUTPUT.PUT_LINE('---');
+
+    -- Koszt utrzymania licznika po stronie zapisu
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_writes
+        LOOP
+            INSERT INTO USERS (user_id, username, password_hash, email, role, created_at)
+            VALUES (-(c_user_rows + i), 'bench_w_' || i, 'x', 'bench_w_' || i || '@bench.local', 'USER', SYSTIMESTAMP);
+        END LOOP;
+    report('INSERT USERS bez licznika', elapsed_ms(v_start), c_writes);
+
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_writes
+        LOOP
+            INSERT INTO USERS (user_id, username, password_hash, email, role, created_at)
+            VALUES (-(c_user_rows + c_writes + i), 'bench_c_' || i, 'x', 'bench_c_' || i || '@bench.local', 'USER',
+                    SYSTIMESTAMP);
+            PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_users, SQL%ROWCOUNT);
+        END LOOP;
+    report('INSERT USERS + PKG_APP_COUNTERS.Adjust', elapsed_ms(v_start), c_writes);
+
+    ROLLBACK TO before_benchmark;
+    DBMS_OUTPUT.PUT_LINE('---');
+    DBMS_OUTPUT.PUT_LINE('Dane testowe wycofane.');
+EXCEPTION
+    WHEN OTHERS THEN
+        ROLLBACK TO before_benchmark;
+        DBMS_OUTPUT.PUT_LINE('Błąd benchmarku liczników: ' || SQLCODE || ' - ' || SQLERRM);
+        RAISE;
+END;
+/
@@ -1,5 +1,7 @@
 CREATE OR REPLACE PACKAGE PKG_TRAINER_MGMT AS
 
+    TYPE ty_id_list IS TABLE OF NUMBER INDEX BY PLS_INTEGER;
+
     PROCEDURE CreateTrainer(
         p_user_id IN USERS.USER_ID%TYPE,
         p_name IN TRAINERS.NAME%TYPE,
@@ -24,6 +26,16 @@ CREATE OR REPLACE PACKAGE PKG_TRAINER_MGMT AS
         p_count OUT NUMBER
     );
 
+    PROCEDURE GetTrainersByIds(
+        p_trainer_ids IN ty_id_list,
+        p_trainers OUT SYS_REFCURSOR
+    );
+
+    PROCEDURE GetTrainerIdByUserId(
+        p_user_id IN USERS.USER_ID%TYPE,
+        p_trainer_id OUT TRAINERS.TRAINER_ID%TYPE
+    );
+
     PROCEDURE GetTrainerDetails(
         p_trainer_id IN TRAINERS.TRAINER_ID%TYPE,
         p_trainer_data OUT SYS_REFCURSOR,
@@ -112,6 +124,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_MGMT AS
         INSERT INTO TRAINERS (trainer_id, user_id, name, surname, specialization, contact)
         VALUES (trainers_seq.NEXTVAL, p_user_id, v_name_trimmed, v_surname_trimmed, p_specialization, p_contact)
         RETURNING trainer_id INTO p_trainer_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainers, SQL%ROWCOUNT);
 
         COMMIT;
         p_success := TRUE;
@@ -154,10 +167,12 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_MGMT AS
         DELETE FROM TRAINER_SESSIONS
         WHERE trainer_id = p_trainer_id;
         DBMS_OUTPUT.PUT_LINE(SQL%ROWCOUNT || ' sesji usuniętych dla trenera ID ' || p_trainer_id);
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainer_sessions, -SQL%ROWCOUNT);
 
         DELETE FROM PERSONAL_PLANS
         WHERE trainer_id = p_trainer_id;
         DBMS_OUTPUT.PUT_LINE(SQL%ROWCOUNT || ' planów osobistych usuniętych dla trenera ID ' || p_trainer_id);
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, -SQL%ROWCOUNT);
 
         DELETE FROM TRAINERS
         WHERE trainer_id = p_trainer_id;
@@ -167,6 +182,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_MGMT AS
             ROLLBACK TO before_delete_trainer_data;
             RETURN;
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainers, -1);
 
         COMMIT;
         p_success := TRUE;
@@ -216,6 +232,38 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_MGMT AS
             RAISE;
     END GetTrainerCount;
 
+    PROCEDURE GetTrainersByIds(
+        p_trainer_ids IN ty_id_list,
+        p_trainers OUT SYS_REFCURSOR
+    ) AS
+    BEGIN
+        OPEN p_trainers FOR
+            SELECT t.trainer_id, t.name, t.surname, t.specialization, t.contact, t.user_id, u.username, u.email
+            FROM TRAINERS t
+            JOIN USERS u ON t.user_id = u.user_id
+            WHERE t.trainer_id IN (SELECT COLUMN_VALUE FROM TABLE (p_trainer_ids))
+            ORDER BY t.trainer_id;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF p_trainers%ISOPEN THEN CLOSE p_trainers; END IF;
+            DBMS_OUTPUT.PUT_LINE('Błąd podczas pobierania trenerów po ID: ' || SQLCODE || ' - ' || SQLERRM);
+            RAISE;
+    END GetTrainersByIds;
+
+    PROCEDURE GetTrainerIdByUserId(
+        p_user_id IN USERS.USER_ID%TYPE,
+        p_trainer_id OUT TRAINERS.TRAINER_ID%TYPE
+    ) AS
+    BEGIN
+        SELECT trainer_id
+        INTO p_trainer_id
+        FROM TRAINERS
+        WHERE user_id = p_user_id;
+    EXCEPTION
+        WHEN NO_DATA_FOUND THEN
+            p_trainer_id := NULL;
+    END GetTrainerIdByUserId;
+
     PROCEDURE GetTrainerDetails(
         p_trainer_id IN TRAINERS.TRAINER_ID%TYPE,
         p_trainer_data OUT SYS_REFCURSOR,
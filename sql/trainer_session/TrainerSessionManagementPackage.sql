@@ -11,13 +11,39 @@ CREATE OR REPLACE PACKAGE PKG_TRAINER_SESSION_MGMT AS
                                           end_time        trainer_sessions.end_time%TYPE
                                       );
     TYPE ty_trainer_session_table IS TABLE OF ty_trainer_session_record INDEX BY PLS_INTEGER;
+    TYPE ty_id_list IS TABLE OF NUMBER INDEX BY PLS_INTEGER;
+    TYPE ty_timestamp_list IS TABLE OF TIMESTAMP INDEX BY PLS_INTEGER;
 
+    -- Kody wyników pozycji zwracane przez CreateTrainerSessionsBulk w p_result_codes.
+    c_bulk_created         CONSTANT NUMBER := 0;
+    c_bulk_trainer_missing CONSTANT NUMBER := -20400;
+    c_bulk_invalid_time    CONSTANT NUMBER := -20500;
+    c_bulk_conflict        CONSTANT NUMBER := -20501;
+    c_bulk_skipped         CONSTANT NUMBER := -20503;
+
+    -- CreateTrainerSession / UpdateTrainerSession zwracają w p_session zapisany wiersz (z danymi trenera),
+    -- w tej samej postaci co GetTrainerSessionById, więc klient nie musi go ponownie odczytywać.
     PROCEDURE CreateTrainerSession(
         p_trainer_id IN trainer_sessions.trainer_id%TYPE,
         p_session_date IN trainer_sessions.session_date%TYPE,
         p_start_time IN trainer_sessions.start_time%TYPE,
         p_end_time IN trainer_sessions.end_time%TYPE,
-        p_schedule_id OUT trainer_sessions.schedule_id%TYPE
+        p_schedule_id OUT trainer_sessions.schedule_id%TYPE,
+        p_session OUT ty_trainer_session_record
+    );
+
+    -- Tworzy wiele sesji w jednym wywołaniu i jednej transakcji. Tablice wejściowe muszą być indeksowane
+    -- od 1 bez przerw; pozycja i opisuje sesję od p_start_times(i) do p_end_times(i).
+    -- Kolizje (z istniejącymi sesjami i między pozycjami żądania) są sprawdzane w jednym przebiegu.
+    -- Dla każdej pozycji p_result_codes(i) zawiera jeden z kodów c_bulk_*, a p_schedule_ids(i) ID nowej sesji.
+    -- Przy p_all_or_nothing = 1 pojedynczy błąd powoduje, że żadna sesja nie zostaje zapisana.
+    PROCEDURE CreateTrainerSessionsBulk(
+        p_trainer_ids IN ty_id_list,
+        p_start_times IN ty_timestamp_list,
+        p_end_times IN ty_timestamp_list,
+        p_all_or_nothing IN NUMBER,
+        p_schedule_ids OUT ty_id_list,
+        p_result_codes OUT ty_id_list
     );
 
     PROCEDURE DeleteTrainerSession(
@@ -29,7 +55,8 @@ CREATE OR REPLACE PACKAGE PKG_TRAINER_SESSION_MGMT AS
         p_trainer_id IN trainer_sessions.trainer_id%TYPE,
         p_session_date IN trainer_sessions.session_date%TYPE,
         p_start_time IN trainer_sessions.start_time%TYPE,
-        p_end_time IN trainer_sessions.end_time%TYPE
+        p_end_time IN trainer_sessions.end_time%TYPE,
+        p_session OUT ty_trainer_session_record
     );
 
     FUNCTION GetTrainerSessionById(
@@ -47,6 +74,36 @@ CREATE OR REPLACE PACKAGE PKG_TRAINER_SESSION_MGMT AS
         p_to_date IN DATE DEFAULT NULL
     ) RETURN ty_trainer_session_table;
 
+    -- Warianty kursorowe GetTrainerSessionsByTrainer / ListAllTrainerSessions.
+    -- Zwracają te same kolumny i kolejność, ale wiersze są pobierane partiami przez klienta,
+    -- zamiast materializować całą kolekcję w PGA i jako ARRAY obiektów STRUCT po stronie JDBC.
+    PROCEDURE GetTrainerSessionsByTrainerCursor(
+        p_trainer_id IN trainer_sessions.trainer_id%TYPE,
+        p_from_date IN DATE DEFAULT NULL,
+        p_to_date IN DATE DEFAULT NULL,
+        p_sessions_cursor OUT SYS_REFCURSOR
+    );
+
+    PROCEDURE ListAllTrainerSessionsCursor(
+        p_from_date IN DATE DEFAULT NULL,
+        p_to_date IN DATE DEFAULT NULL,
+        p_sessions_cursor OUT SYS_REFCURSOR
+    );
+
+    -- Sesje wielu trenerów w zakresie dat, posortowane po trenerze i czasie rozpoczęcia,
+    -- żeby wolne terminy można było wyznaczyć jednym przebiegiem po wynikach.
+    PROCEDURE GetSessionsForTrainersCursor(
+        p_trainer_ids IN ty_id_list,
+        p_from_date IN DATE,
+        p_to_date IN DATE,
+        p_sessions_cursor OUT SYS_REFCURSOR
+    );
+
+    -- Kursor tylko do odczytu w kolejności klucza głównego, przeznaczony do strumieniowego eksportu.
+    PROCEDURE ExportTrainerSessions(
+        p_sessions_cursor OUT SYS_REFCURSOR
+    );
+
 END PKG_TRAINER_SESSION_MGMT;
 /
 
@@ -92,7 +149,8 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_SESSION_MGMT AS
         p_session_date IN trainer_sessions.session_date%TYPE,
         p_start_time IN trainer_sessions.start_time%TYPE,
         p_end_time IN trainer_sessions.end_time%TYPE,
-        p_schedule_id OUT trainer_sessions.schedule_id%TYPE
+        p_schedule_id OUT trainer_sessions.schedule_id%TYPE,
+        p_session OUT ty_trainer_session_record
     ) AS
         v_is_valid        BOOLEAN;
         v_full_start_time TIMESTAMP;
@@ -109,6 +167,8 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_SESSION_MGMT AS
         VALUES (trainer_sessions_seq.NEXTVAL, p_trainer_id, TRUNC(v_full_start_time), v_full_start_time,
                 v_full_end_time)
         RETURNING schedule_id INTO p_schedule_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainer_sessions, SQL%ROWCOUNT);
+        p_session := GetTrainerSessionById(p_schedule_id);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN
@@ -117,6 +177,171 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_SESSION_MGMT AS
             RAISE;
     END CreateTrainerSession;
 
+    PROCEDURE CreateTrainerSessionsBulk(
+        p_trainer_ids IN ty_id_list,
+        p_start_times IN ty_timestamp_list,
+        p_end_times IN ty_timestamp_list,
+        p_all_or_nothing IN NUMBER,
+        p_schedule_ids OUT ty_id_list,
+        p_result_codes OUT ty_id_list
+    ) AS
+        TYPE ty_interval IS RECORD
+                            (
+                                start_time TIMESTAMP,
+                                end_time   TIMESTAMP
+                            );
+        TYPE ty_interval_list IS TABLE OF ty_interval INDEX BY PLS_INTEGER;
+        -- Koniec przyjętej sesji pod kluczem z jej początku; klucze stałej długości sortują się chronologicznie
+        TYPE ty_end_by_start IS TABLE OF TIMESTAMP INDEX BY VARCHAR2(20);
+
+        v_windows    ty_interval_list;
+        v_existing   ty_interval_list;
+        v_accepted   ty_end_by_start;
+        v_to_insert  ty_id_list;
+        v_new_ids    ty_id_list;
+        v_trainer_id PLS_INTEGER;
+        v_locked_id  trainers.trainer_id%TYPE;
+        v_failed     BOOLEAN := FALSE;
+        v_idx        PLS_INTEGER;
+        v_pos        PLS_INTEGER;
+
+        -- Istniejące sesje trenera są posortowane po start_time i nie nachodzą na siebie, więc kolidować
+        -- może tylko ostatnia sesja rozpoczynająca się przed końcem nowej (wyszukiwanie binarne).
+        FUNCTION overlaps_existing(p_start IN TIMESTAMP, p_end IN TIMESTAMP) RETURN BOOLEAN IS
+            v_low  PLS_INTEGER := 1;
+            v_high PLS_INTEGER := v_existing.COUNT;
+            v_mid  PLS_INTEGER;
+            v_last PLS_INTEGER := 0;
+        BEGIN
+            WHILE v_low <= v_high
+                LOOP
+                    v_mid := TRUNC((v_low + v_high) / 2);
+                    IF v_existing(v_mid).start_time < p_end THEN
+                        v_last := v_mid;
+                        v_low := v_mid + 1;
+                    ELSE
+                        v_high := v_mid - 1;
+                    END IF;
+                END LOOP;
+            RETURN v_last > 0 AND v_existing(v_last).end_time > p_start;
+        END overlaps_existing;
+
+        FUNCTION interval_key(p_time IN TIMESTAMP) RETURN VARCHAR2 IS
+        BEGIN
+            RETURN TO_CHAR(p_time, 'YYYYMMDDHH24MISSFF6');
+        END interval_key;
+
+        -- Przyjęte sesje z tego wywołania też nie nachodzą na siebie; PRIOR na kluczu końca nowej sesji
+        -- zwraca ostatnią przyjętą sesję rozpoczynającą się przed nim bez przeglądania pozostałych.
+        FUNCTION overlaps_accepted(p_start IN TIMESTAMP, p_end IN TIMESTAMP) RETURN BOOLEAN IS
+            v_key VARCHAR2(20) := v_accepted.PRIOR(interval_key(p_end));
+        BEGIN
+            RETURN v_key IS NOT NULL AND v_accepted(v_key) > p_start;
+        END overlaps_accepted;
+    BEGIN
+        -- Walidacja czasu i zakres dat, który trzeba sprawdzić dla każdego trenera
+        FOR i IN 1 .. p_trainer_ids.COUNT
+            LOOP
+                p_schedule_ids(i) := NULL;
+                IF p_trainer_ids(i) IS NULL THEN
+                    p_result_codes(i) := c_bulk_trainer_missing;
+                    v_failed := TRUE;
+                ELSIF p_start_times(i) IS NULL OR p_end_times(i) IS NULL OR p_start_times(i) >= p_end_times(i) THEN
+                    p_result_codes(i) := c_bulk_invalid_time;
+                    v_failed := TRUE;
+                ELSE
+                    p_result_codes(i) := c_bulk_created;
+                    v_trainer_id := p_trainer_ids(i);
+                    IF v_windows.EXISTS(v_trainer_id) THEN
+                        v_windows(v_trainer_id).start_time := LEAST(v_windows(v_trainer_id).start_time, p_start_times(i));
+                        v_windows(v_trainer_id).end_time := GREATEST(v_windows(v_trainer_id).end_time, p_end_times(i));
+                    ELSE
+                        v_windows(v_trainer_id).start_time := p_start_times(i);
+                        v_windows(v_trainer_id).end_time := p_end_times(i);
+                    END IF;
+                END IF;
+            END LOOP;
+
+        v_trainer_id := v_windows.FIRST;
+        WHILE v_trainer_id IS NOT NULL
+            LOOP
+                BEGIN
+                    -- Blokada wiersza trenera szereguje równoległe tworzenie harmonogramów tego samego trenera.
+                    SELECT trainer_id INTO v_locked_id FROM trainers WHERE trainer_id = v_trainer_id FOR UPDATE;
+                EXCEPTION
+                    WHEN NO_DATA_FOUND THEN
+                        v_locked_id := NULL;
+                END;
+
+                v_existing.DELETE;
+                v_accepted.DELETE;
+                IF v_locked_id IS NOT NULL THEN
+                    SELECT ts.start_time, ts.end_time
+                        BULK COLLECT
+                    INTO v_existing
+                    FROM trainer_sessions ts
+                    WHERE ts.trainer_id = v_trainer_id
+                      AND ts.start_time < v_windows(v_trainer_id).end_time
+                      AND ts.end_time > v_windows(v_trainer_id).start_time
+                    ORDER BY ts.start_time;
+                END IF;
+
+                FOR i IN 1 .. p_trainer_ids.COUNT
+                    LOOP
+                        IF p_trainer_ids(i) = v_trainer_id AND p_result_codes(i) = c_bulk_created THEN
+                            IF v_locked_id IS NULL THEN
+                                p_result_codes(i) := c_bulk_trainer_missing;
+                                v_failed := TRUE;
+                            ELSIF overlaps_existing(p_start_times(i), p_end_times(i))
+                                OR overlaps_accepted(p_start_times(i), p_end_times(i)) THEN
+                                p_result_codes(i) := c_bulk_conflict;
+                                v_failed := TRUE;
+                            ELSE
+                                v_accepted(interval_key(p_start_times(i))) := p_end_times(i);
+                                v_to_insert(i) := i;
+                            END IF;
+                        END IF;
+                    END LOOP;
+
+                v_trainer_id := v_windows.NEXT(v_trainer_id);
+            END LOOP;
+
+        IF v_failed AND p_all_or_nothing = 1 THEN
+            v_idx := v_to_insert.FIRST;
+            WHILE v_idx IS NOT NULL
+                LOOP
+                    p_result_codes(v_idx) := c_bulk_skipped;
+                    v_idx := v_to_insert.NEXT(v_idx);
+                END LOOP;
+            ROLLBACK;
+            RETURN;
+        END IF;
+
+        IF v_to_insert.COUNT > 0 THEN
+            FORALL idx IN INDICES OF v_to_insert
+                INSERT INTO trainer_sessions (schedule_id, trainer_id, session_date, start_time, end_time)
+                VALUES (trainer_sessions_seq.NEXTVAL, p_trainer_ids(idx), TRUNC(p_start_times(idx)),
+                        p_start_times(idx), p_end_times(idx))
+                RETURNING schedule_id BULK COLLECT INTO v_new_ids;
+            PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainer_sessions, SQL%ROWCOUNT);
+
+            -- RETURNING BULK COLLECT zwraca ID w kolejności iteracji po v_to_insert
+            v_pos := 1;
+            v_idx := v_to_insert.FIRST;
+            WHILE v_idx IS NOT NULL
+                LOOP
+                    p_schedule_ids(v_idx) := v_new_ids(v_pos);
+                    v_pos := v_pos + 1;
+                    v_idx := v_to_insert.NEXT(v_idx);
+                END LOOP;
+        END IF;
+        COMMIT;
+    EXCEPTION
+        WHEN OTHERS THEN
+            ROLLBACK;
+            RAISE;
+    END CreateTrainerSessionsBulk;
+
     PROCEDURE DeleteTrainerSession(
         p_schedule_id IN trainer_sessions.schedule_id%TYPE
     ) AS
@@ -128,6 +353,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_SESSION_MGMT AS
         IF SQL%NOTFOUND THEN
             RAISE_APPLICATION_ERROR(-20502, 'Sesja trenera o ID ' || p_schedule_id || ' nie istnieje.');
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainer_sessions, -1);
         COMMIT;
     EXCEPTION
         WHEN OTHERS THEN
@@ -140,7 +366,8 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_SESSION_MGMT AS
         p_trainer_id IN trainer_sessions.trainer_id%TYPE,
         p_session_date IN trainer_sessions.session_date%TYPE,
         p_start_time IN trainer_sessions.start_time%TYPE,
-        p_end_time IN trainer_sessions.end_time%TYPE
+        p_end_time IN trainer_sessions.end_time%TYPE,
+        p_session OUT ty_trainer_session_record
     ) AS
         v_is_valid            BOOLEAN;
         v_full_start_time     TIMESTAMP;
@@ -167,6 +394,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_SESSION_MGMT AS
             start_time   = v_full_start_time,
             end_time     = v_full_end_time
         WHERE schedule_id = p_schedule_id;
+        p_session := GetTrainerSessionById(p_schedule_id);
         COMMIT;
     EXCEPTION
         WHEN NO_DATA_FOUND THEN
@@ -254,5 +482,111 @@ CREATE OR REPLACE PACKAGE BODY PKG_TRAINER_SESSION_MGMT AS
             RAISE;
     END ListAllTrainerSessions;
 
+    PROCEDURE GetTrainerSessionsByTrainerCursor(
+        p_trainer_id IN trainer_sessions.trainer_id%TYPE,
+        p_from_date IN DATE DEFAULT NULL,
+        p_to_date IN DATE DEFAULT NULL,
+        p_sessions_cursor OUT SYS_REFCURSOR
+    ) AS
+        v_trainer_exists NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO v_trainer_exists FROM TRAINERS WHERE trainer_id = p_trainer_id;
+        IF v_trainer_exists = 0 THEN
+            RAISE_APPLICATION_ERROR(-20400, 'Trener o ID ' || p_trainer_id || ' nie istnieje.');
+        END IF;
+
+        OPEN p_sessions_cursor FOR
+            SELECT ts.schedule_id,
+                   ts.trainer_id,
+                   tr.name    AS trainer_name,
+                   tr.surname AS trainer_surname,
+                   ts.session_date,
+                   ts.start_time,
+                   ts.end_time
+            FROM trainer_sessions ts
+                     JOIN trainers tr ON ts.trainer_id = tr.trainer_id
+            WHERE ts.trainer_id = p_trainer_id
+              AND (p_from_date IS NULL OR ts.session_date >= TRUNC(p_from_date))
+              AND (p_to_date IS NULL OR ts.session_date <= TRUNC(p_to_date))
+            ORDER BY ts.session_date DESC, ts.start_time DESC;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF p_sessions_cursor%ISOPEN THEN CLOSE p_sessions_cursor; END IF;
+            RAISE;
+    END GetTrainerSessionsByTrainerCursor;
+
+    PROCEDURE ListAllTrainerSessionsCursor(
+        p_from_date IN DATE DEFAULT NULL,
+        p_to_date IN DATE DEFAULT NULL,
+        p_sessions_cursor OUT SYS_REFCURSOR
+    ) AS
+    BEGIN
+        OPEN p_sessions_cursor FOR
+            SELECT ts.schedule_id,
+                   ts.trainer_id,
+                   tr.name    AS trainer_name,
+                   tr.surname AS trainer_surname,
+                   ts.session_date,
+                   ts.start_time,
+                   ts.end_time
+            FROM trainer_sessions ts
+                     JOIN trainers tr ON ts.trainer_id = tr.trainer_id
+            WHERE (p_from_date IS NULL OR ts.session_date >= TRUNC(p_from_date))
+              AND (p_to_date IS NULL OR ts.session_date <= TRUNC(p_to_date))
+            ORDER BY ts.session_date DESC, ts.start_time DESC;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF p_sessions_cursor%ISOPEN THEN CLOSE p_sessions_cursor; END IF;
+            RAISE;
+    END ListAllTrainerSessionsCursor;
+
+    PROCEDURE GetSessionsForTrainersCursor(
+        p_trainer_ids IN ty_id_list,
+        p_from_date IN DATE,
+        p_to_date IN DATE,
+        p_sessions_cursor OUT SYS_REFCURSOR
+    ) AS
+    BEGIN
+        OPEN p_sessions_cursor FOR
+            SELECT ts.schedule_id,
+                   ts.trainer_id,
+                   tr.name    AS trainer_name,
+                   tr.surname AS trainer_surname,
+                   ts.session_date,
+                   ts.start_time,
+                   ts.end_time
+            FROM trainer_sessions ts
+                     JOIN trainers tr ON ts.trainer_id = tr.trainer_id
+            WHERE ts.trainer_id IN (SELECT COLUMN_VALUE FROM TABLE (p_trainer_ids))
+              AND ts.session_date >= TRUNC(p_from_date)
+              AND ts.session_date <= TRUNC(p_to_date)
+            ORDER BY ts.trainer_id, ts.start_time;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF p_sessions_cursor%ISOPEN THEN CLOSE p_sessions_cursor; END IF;
+            RAISE;
+    END GetSessionsForTrainersCursor;
+
+    PROCEDURE ExportTrainerSessions(
+        p_sessions_cursor OUT SYS_REFCURSOR
+    ) AS
+    BEGIN
+        OPEN p_sessions_cursor FOR
+            SELECT ts.schedule_id,
+                   ts.trainer_id,
+                   tr.name    AS trainer_name,
+                   tr.surname AS trainer_surname,
+                   ts.session_date,
+                   ts.start_time,
+                   ts.end_time
+            FROM trainer_sessions ts
+                     JOIN trainers tr ON ts.trainer_id = tr.trainer_id
+            ORDER BY ts.schedule_id;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF p_sessions_cursor%ISOPEN THEN CLOSE p_sessions_cursor; END IF;
+            RAISE;
+    END ExportTrainerSessions;
+
 END PKG_TRAINER_SESSION_MGMT;
 /
\ No newline at end of file
@@ -0,0 +1,138 @@
+-- Porównanie odczytu sesji trenerów: funkcje zwracające kolekcję (ARRAY) vs warianty kursorowe.
+-- Skrypt dodaje trenera testowego i 100 000 syntetycznych sesji (ujemne ID) i na końcu wycofuje wszystkie zmiany.
+-- Uruchamiać wyłącznie na schemacie testowym, z SET SERVEROUTPUT ON.
+-- Pomiar pamięci PGA wymaga uprawnienia SELECT na V_$MYSTAT i V_$STATNAME; bez niego raportowany jest tylko czas.
+-- Skrypt mierzy koszt po stronie bazy. Po stronie JDBC wariant ARRAY dodatkowo zamienia każdy rekord na STRUCT
+-- naraz, więc ten sam scenariusz warto powtórzyć przez API z trainer-sessions.use-ref-cursor = false / true.
+DECLARE
+    c_session_rows CONSTANT PLS_INTEGER := 100000;
+    c_iterations   CONSTANT PLS_INTEGER := 5;
+    c_fetch_size   CONSTANT PLS_INTEGER := 500;
+    c_trainer_id   CONSTANT NUMBER      := -1;
+
+    v_sessions     PKG_TRAINER_SESSION_MGMT.ty_trainer_session_table;
+    v_cursor       SYS_REFCURSOR;
+    v_rows         PLS_INTEGER;
+    v_start        TIMESTAMP;
+    v_pga_before   NUMBER;
+    v_pga_peak     NUMBER;
+
+    FUNCTION elapsed_ms(p_start IN TIMESTAMP) RETURN NUMBER IS
+        v_diff INTERVAL DAY TO SECOND := SYSTIMESTAMP - p_start;
+    BEGIN
+        RETURN EXTRACT(DAY FROM v_diff) * 86400000 + EXTRACT(HOUR FROM v_diff) * 3600000 +
+               EXTRACT(MINUTE FROM v_diff) * 60000 + EXTRACT(SECOND FROM v_diff) * 1000;
+    END elapsed_ms;
+
+    FUNCTION session_pga RETURN NUMBER IS
+        v_value NUMBER;
+    BEGIN
+        EXECUTE IMMEDIATE
+            'SELECT ms.value FROM v$mystat ms JOIN v$statname sn ON sn.statistic# = ms.statistic# ' ||
+            'WHERE sn.name = ''session pga memory'''
+            INTO v_value;
+        RETURN v_value;
+    EXCEPTION
+        WHEN OTHERS THEN
+            RETURN NULL;
+    END session_pga;
+
+    PROCEDURE report(p_label IN VARCHAR2, p_total_ms IN NUMBER, p_rows IN PLS_INTEGER, p_pga_delta IN NUMBER) IS
+    BEGIN
+        DBMS_OUTPUT.PUT_LINE(RPAD(p_label, 45) || ': ' || ROUND(p_total_ms / c_iterations, 1) || ' ms/wywołanie, ' ||
+                             p_rows || ' wierszy' ||
+                             CASE
+                                 WHEN p_pga_delta IS NOT NULL
+                                     THEN ', przyrost PGA ' || ROUND(p_pga_delta / 1024 / 1024, 1) || ' MB'
+                                 END);
+    END report;
+
+    PROCEDURE drain(p_cursor IN OUT SYS_REFCURSOR, p_rows OUT PLS_INTEGER, p_pga_peak IN OUT NUMBER) IS
+        v_batch PKG_TRAINER_SESSION_MGMT.ty_trainer_session_table;
+    BEGIN
+        p_rows := 0;
+        LOOP
+            FETCH p_cursor BULK COLLECT INTO v_batch LIMIT c_fetch_size;
+            p_rows := p_rows + v_batch.COUNT;
+            p_pga_peak := GREATEST(NVL(p_pga_peak, 0), NVL(session_pga, 0));
+            EXIT WHEN v_batch.COUNT < c_fetch_size;
+        END LOOP;
+        CLOSE p_cursor;
+    END drain;
+BEGIN
+    SAVEPOINT before_benchmark;
+
+    INSERT INTO TRAINERS (trainer_id, user_id, name, surname, specialization, contact)
+    VALUES (c_trainer_id, NULL, 'Bench', 'Trainer', 'Benchmark', 'bench@bench.local');
+    PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainers, SQL%ROWCOUNT);
+
+    INSERT INTO TRAINER_SESSIONS (schedule_id, trainer_id, session_date, start_time, end_time)
+    SELECT -LEVEL,
+           c_trainer_id,
+           TRUNC(SYSDATE) - MOD(LEVEL, 3650),
+           CAST(TRUNC(SYSDATE) - MOD(LEVEL, 3650) AS TIMESTAMP) + NUMTODSINTERVAL(MOD(LEVEL, 12) + 8, 'HOUR'),
+           CAST(TRUNC(SYSDATE) - MOD(LEVEL, 3650) AS TIMESTAMP) + NUMTODSINTERVAL(MOD(LEVEL, 12) + 9, 'HOUR')
+    FROM dual
+    CONNECT BY LEVEL <= c_session_rows;
+    PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainer_sessions, SQL%ROWCOUNT);
+    DBMS_OUTPUT.PUT_LINE('Sesji trenera testowego: ' || c_session_rows || ', rozmiar partii kursora: ' || c_fetch_size);
+    DBMS_OUTPUT.PUT_LINE('---');
+
+    -- GetTrainerSessionsByTrainer
+    v_pga_before := session_pga;
+    v_pga_peak := NULL;
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            v_sessions := PKG_TRAINER_SESSION_MGMT.GetTrainerSessionsByTrainer(c_trainer_id);
+            v_rows := v_sessions.COUNT;
+            v_pga_peak := GREATEST(NVL(v_pga_peak, 0), NVL(session_pga, 0));
+            v_sessions.DELETE;
+        END LOOP;
+    report('GetTrainerSessionsByTrainer (ARRAY)', elapsed_ms(v_start), v_rows, v_pga_peak - v_pga_before);
+
+    v_pga_before := session_pga;
+    v_pga_peak := NULL;
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            PKG_TRAINER_SESSION_MGMT.GetTrainerSessionsByTrainerCursor(c_trainer_id, NULL, NULL, v_cursor);
+            drain(v_cursor, v_rows, v_pga_peak);
+        END LOOP;
+    report('GetTrainerSessionsByTrainerCursor', elapsed_ms(v_start), v_rows, v_pga_peak - v_pga_before);
+    DBMS_OUTPUT.PUT_LINE('---');
+
+    -- ListAllTrainerSessions
+    v_pga_before := session_pga;
+    v_pga_peak := NULL;
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            v_sessions := PKG_TRAINER_SESSION_MGMT.ListAllTrainerSessions;
+            v_rows := v_sessions.COUNT;
+            v_pga_peak := GREATEST(NVL(v_pga_peak, 0), NVL(session_pga, 0));
+            v_sessions.DELETE;
+        END LOOP;
+    report('ListAllTrainerSessions (ARRAY)', elapsed_ms(v_start), v_rows, v_pga_peak - v_pga_before);
+
+    v_pga_before := session_pga;
+    v_pga_peak := NULL;
+    v_start := SYSTIMESTAMP;
+    FOR i IN 1 .. c_iterations
+        LOOP
+            PKG_TRAINER_SESSION_MGMT.ListAllTrainerSessionsCursor(NULL, NULL, v_cursor);
+            drain(v_cursor, v_rows, v_pga_peak);
+        END LOOP;
+    report('ListAllTrainerSessionsCursor', elapsed_ms(v_start), v_rows, v_pga_peak - v_pga_before);
+
+    ROLLBACK TO before_benchmark;
+    DBMS_OUTPUT.PUT_LINE('---');
+    DBMS_OUTPUT.PUT_LINE('Dane testowe wycofane.');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF v_cursor%ISOPEN THEN CLOSE v_cursor; END IF;
+        ROLLBACK TO before_benchmark;
+        DBMS_OUTPUT.PUT_LINE('Błąd benchmarku odczytu sesji: ' || SQLCODE || ' - ' || SQLERRM);
+        RAISE;
+END;
+/
@@ -1,11 +1,14 @@
     CREATE OR REPLACE PACKAGE PKG_USER_MGMT AS
 
+    -- p_user_cursor zwraca utworzony wiersz (te same kolumny co GetUserById), więc klient nie musi go
+    -- ponownie odczytywać. Zajęty adres email zgłaszany jest błędem -20001.
     PROCEDURE AddUser(
         p_username IN USERS.USERNAME%TYPE,
         p_password_hash IN USERS.PASSWORD_HASH%TYPE,
         p_email IN USERS.EMAIL%TYPE,
         p_role IN USERS.ROLE%TYPE,
         p_user_id OUT USERS.USER_ID%TYPE,
+        p_user_cursor OUT SYS_REFCURSOR,
         p_success OUT BOOLEAN
     );
 
@@ -19,6 +22,22 @@
         p_success OUT BOOLEAN
     );
 
+    -- Stronicowanie po kluczu (keyset): zwraca maksymalnie p_page_size użytkowników
+    -- o user_id > p_after_user_id, posortowanych rosnąco po user_id, bez hashy haseł.
+    PROCEDURE GetUsersPage(
+        p_after_user_id IN USERS.USER_ID%TYPE,
+        p_page_size IN NUMBER,
+        p_role IN USERS.ROLE%TYPE,
+        p_email_prefix IN USERS.EMAIL%TYPE,
+        p_users_cursor OUT SYS_REFCURSOR,
+        p_success OUT BOOLEAN
+    );
+
+    -- Kursor tylko do odczytu w kolejności klucza głównego, przeznaczony do strumieniowego eksportu.
+    PROCEDURE ExportUsers(
+        p_users_cursor OUT SYS_REFCURSOR
+    );
+
     FUNCTION GetUserByEmailFunc (
         p_email IN USERS.EMAIL%TYPE
     ) RETURN SYS_REFCURSOR;
@@ -42,9 +61,17 @@
         p_success OUT BOOLEAN
     );
 
+    -- p_user_cursor zwraca wiersz po aktualizacji; dla nieistniejącego użytkownika jest pusty, a p_success = FALSE.
     PROCEDURE UpdateUserRole(
         p_user_id IN USERS.USER_ID%TYPE,
         p_new_role IN USERS.ROLE%TYPE,
+        p_user_cursor OUT SYS_REFCURSOR,
+        p_success OUT BOOLEAN
+    );
+
+    PROCEDURE UpdateUserPasswordHash(
+        p_user_id IN USERS.USER_ID%TYPE,
+        p_password_hash IN USERS.PASSWORD_HASH%TYPE,
         p_success OUT BOOLEAN
     );
 
@@ -58,11 +85,13 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
         p_email IN USERS.EMAIL%TYPE,
         p_role IN USERS.ROLE%TYPE,
         p_user_id OUT USERS.USER_ID%TYPE,
+        p_user_cursor OUT SYS_REFCURSOR,
         p_success OUT BOOLEAN
     ) AS
         v_username_trimmed USERS.USERNAME%TYPE;
         v_email_trimmed USERS.EMAIL%TYPE;
         v_role_trimmed USERS.ROLE%TYPE;
+        v_count NUMBER;
     BEGIN
         p_success := FALSE;
         p_user_id := NULL;
@@ -72,13 +101,20 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
 
         IF v_username_trimmed IS NULL OR LENGTH(v_username_trimmed) = 0 THEN
             DBMS_OUTPUT.PUT_LINE('Nazwa użytkownika nie może być pusta.');
+            OPEN p_user_cursor FOR SELECT user_id, username, email, role, password_hash, created_at FROM USERS WHERE 1=0;
             RETURN;
         END IF;
         IF v_email_trimmed IS NULL OR LENGTH(v_email_trimmed) = 0 THEN
             DBMS_OUTPUT.PUT_LINE('Email nie może być pusty.');
+            OPEN p_user_cursor FOR SELECT user_id, username, email, role, password_hash, created_at FROM USERS WHERE 1=0;
             RETURN;
         END IF;
 
+        SELECT COUNT(*) INTO v_count FROM USERS WHERE email = v_email_trimmed;
+        IF v_count > 0 THEN
+            RAISE_APPLICATION_ERROR(-20001, 'Użytkownik z adresem email ' || v_email_trimmed || ' już istnieje.');
+        END IF;
+
         p_user_id := users_seq.NEXTVAL;
 
         INSERT INTO USERS (user_id,
@@ -93,8 +129,13 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
                 v_email_trimmed,
                 v_role_trimmed,
                 SYSTIMESTAMP);
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_users, SQL%ROWCOUNT);
 
         COMMIT;
+        OPEN p_user_cursor FOR
+            SELECT user_id, username, email, role, password_hash, created_at
+            FROM USERS
+            WHERE user_id = p_user_id;
         p_success := TRUE;
         DBMS_OUTPUT.PUT_LINE('Użytkownik utworzony pomyślnie z ID: ' || p_user_id);
     EXCEPTION
@@ -102,6 +143,8 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
             ROLLBACK;
             p_success := FALSE;
             p_user_id := NULL;
+            IF p_user_cursor%ISOPEN THEN CLOSE p_user_cursor; END IF;
+            OPEN p_user_cursor FOR SELECT user_id, username, email, role, password_hash, created_at FROM USERS WHERE 1=0;
             DBMS_OUTPUT.PUT_LINE('Błąd: Nazwa użytkownika lub email już istnieje.');
         WHEN OTHERS THEN
             ROLLBACK;
@@ -145,8 +188,11 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
 
             IF v_trainer_id IS NOT NULL THEN
                 DELETE FROM TRAINER_SESSIONS WHERE trainer_id = v_trainer_id;
+                PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainer_sessions, -SQL%ROWCOUNT);
                 DELETE FROM PERSONAL_PLANS WHERE trainer_id = v_trainer_id;
+                PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, -SQL%ROWCOUNT);
                 DELETE FROM TRAINERS WHERE trainer_id = v_trainer_id;
+                PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_trainers, -SQL%ROWCOUNT);
                 DBMS_OUTPUT.PUT_LINE('Usunięto informacje o trenerze i powiązane dane dla user_id: ' || p_user_id);
             END IF;
         EXCEPTION
@@ -155,6 +201,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
         END;
 
         DELETE FROM PERSONAL_PLANS WHERE user_id = p_user_id;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_personal_plans, -SQL%ROWCOUNT);
         DELETE FROM USERS WHERE user_id = p_user_id;
 
         IF SQL%ROWCOUNT = 0 THEN
@@ -162,6 +209,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
             ROLLBACK TO before_delete_user_data;
             RETURN;
         END IF;
+        PKG_APP_COUNTERS.Adjust(PKG_APP_COUNTERS.c_users, -1);
 
         COMMIT;
         p_success := TRUE;
@@ -199,6 +247,58 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
             RAISE;
     END GetAllUsers;
 
+    PROCEDURE GetUsersPage(
+        p_after_user_id IN USERS.USER_ID%TYPE,
+        p_page_size IN NUMBER,
+        p_role IN USERS.ROLE%TYPE,
+        p_email_prefix IN USERS.EMAIL%TYPE,
+        p_users_cursor OUT SYS_REFCURSOR,
+        p_success OUT BOOLEAN
+    ) AS
+        c_max_page_size CONSTANT PLS_INTEGER := 1000;
+        v_page_size     PLS_INTEGER;
+        v_role          USERS.ROLE%TYPE;
+        v_email_pattern USERS.EMAIL%TYPE;
+    BEGIN
+        p_success := FALSE;
+        v_page_size := LEAST(GREATEST(NVL(p_page_size, 50), 1), c_max_page_size);
+        v_role := UPPER(TRIM(p_role));
+        IF TRIM(p_email_prefix) IS NOT NULL THEN
+            v_email_pattern := REPLACE(REPLACE(REPLACE(LOWER(TRIM(p_email_prefix)), '\', '\\'), '%', '\%'), '_', '\_') || '%';
+        END IF;
+
+        OPEN p_users_cursor FOR
+            SELECT user_id, username, email, role
+            FROM USERS
+            WHERE user_id > NVL(p_after_user_id, 0)
+              AND (v_role IS NULL OR role = v_role)
+              AND (v_email_pattern IS NULL OR email LIKE v_email_pattern ESCAPE '\')
+            ORDER BY user_id
+            FETCH FIRST v_page_size ROWS ONLY;
+        p_success := TRUE;
+    EXCEPTION
+        WHEN OTHERS THEN
+            p_success := FALSE;
+            IF p_users_cursor%ISOPEN THEN CLOSE p_users_cursor; END IF;
+            DBMS_OUTPUT.PUT_LINE('Błąd w GetUsersPage: ' || SQLERRM);
+            RAISE;
+    END GetUsersPage;
+
+    PROCEDURE ExportUsers(
+        p_users_cursor OUT SYS_REFCURSOR
+    ) AS
+    BEGIN
+        OPEN p_users_cursor FOR
+            SELECT user_id, username, email, role, created_at
+            FROM USERS
+            ORDER BY user_id;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF p_users_cursor%ISOPEN THEN CLOSE p_users_cursor; END IF;
+            DBMS_OUTPUT.PUT_LINE('Błąd w ExportUsers: ' || SQLERRM);
+            RAISE;
+    END ExportUsers;
+
     FUNCTION GetUserByEmailFunc (
         p_email IN USERS.EMAIL%TYPE
     ) RETURN SYS_REFCURSOR
@@ -339,9 +439,9 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
     PROCEDURE UpdateUserRole(
         p_user_id IN USERS.USER_ID%TYPE,
         p_new_role IN USERS.ROLE%TYPE,
+        p_user_cursor OUT SYS_REFCURSOR,
         p_success OUT BOOLEAN
     ) AS
-        v_count NUMBER;
         v_role_trimmed USERS.ROLE%TYPE;
     BEGIN
         p_success := FALSE;
@@ -349,37 +449,74 @@ CREATE OR REPLACE PACKAGE BODY PKG_USER_MGMT AS
 
         IF p_user_id IS NULL THEN
             DBMS_OUTPUT.PUT_LINE('ID użytkownika nie może być puste.');
+            OPEN p_user_cursor FOR SELECT user_id, username, email, role, password_hash, created_at FROM USERS WHERE 1=0;
             RETURN;
         END IF;
         IF v_role_trimmed IS NULL OR LENGTH(v_role_trimmed) = 0 THEN
             DBMS_OUTPUT.PUT_LINE('Nowa rola nie może być pusta.');
+            OPEN p_user_cursor FOR SELECT user_id, username, email, role, password_hash, created_at FROM USERS WHERE 1=0;
             RETURN;
         END IF;
 
-        SELECT COUNT(*) INTO v_count FROM USERS WHERE user_id = p_user_id;
-        IF v_count = 0 THEN
+        -- Brak wiersza oznacza nieistniejącego użytkownika, więc osobne sprawdzenie COUNT(*) nie jest potrzebne.
+        UPDATE USERS SET role = v_role_trimmed WHERE user_id = p_user_id;
+
+        IF SQL%NOTFOUND THEN
             DBMS_OUTPUT.PUT_LINE('Użytkownik z ID ' || p_user_id || ' nie istnieje.');
+            OPEN p_user_cursor FOR SELECT user_id, username, email, role, password_hash, created_at FROM USERS WHERE 1=0;
             RETURN;
         END IF;
 
-        UPDATE USERS SET role = v_role_trimmed WHERE user_id = p_user_id;
+        COMMIT;
+        OPEN p_user_cursor FOR
+            SELECT user_id, username, email, role, password_hash, created_at
+            FROM USERS
+            WHERE user_id = p_user_id;
+        p_success := TRUE;
+        DBMS_OUTPUT.PUT_LINE('Rola dla użytkownika ID ' || p_user_id || ' zaktualizowana na ' || v_role_trimmed);
+    EXCEPTION
+        WHEN OTHERS THEN
+            ROLLBACK;
+            p_success := FALSE;
+            DBMS_OUTPUT.PUT_LINE('Błąd podczas aktualizacji roli użytkownika ID ' || p_user_id || ': ' || SQLERRM);
+            RAISE;
+    END UpdateUserRole;
+
+    PROCEDURE UpdateUserPasswordHash(
+        p_user_id IN USERS.USER_ID%TYPE,
+        p_password_hash IN USERS.PASSWORD_HASH%TYPE,
+        p_success OUT BOOLEAN
+    ) AS
+    BEGIN
+        p_success := FALSE;
+
+        IF p_user_id IS NULL THEN
+            DBMS_OUTPUT.PUT_LINE('ID użytkownika nie może być puste.');
+            RETURN;
+        END IF;
+        IF p_password_hash IS NULL OR LENGTH(p_password_hash) = 0 THEN
+            DBMS_OUTPUT.PUT_LINE('Hash hasła nie może być pusty.');
+            RETURN;
+        END IF;
+
+        UPDATE USERS SET password_hash = p_password_hash WHERE user_id = p_user_id;
 
         IF SQL%NOTFOUND THEN
-            DBMS_OUTPUT.PUT_LINE('Nie udało się zaktualizować roli użytkownika ID ' || p_user_id);
+            DBMS_OUTPUT.PUT_LINE('Użytkownik z ID ' || p_user_id || ' nie istnieje.');
             ROLLBACK;
             RETURN;
         END IF;
 
         COMMIT;
         p_success := TRUE;
-        DBMS_OUTPUT.PUT_LINE('Rola dla użytkownika ID ' || p_user_id || ' zaktualizowana na ' || v_role_trimmed);
+        DBMS_OUTPUT.PUT_LINE('Hash hasła dla użytkownika ID ' || p_user_id || ' zaktualizowany.');
     EXCEPTION
         WHEN OTHERS THEN
             ROLLBACK;
             p_success := FALSE;
-            DBMS_OUTPUT.PUT_LINE('Błąd podczas aktualizacji roli użytkownika ID ' || p_user_id || ': ' || SQLERRM);
+            DBMS_OUTPUT.PUT_LINE('Błąd podczas aktualizacji hasha hasła użytkownika ID ' || p_user_id || ': ' || SQLERRM);
             RAISE;
-    END UpdateUserRole;
+    END UpdateUserPasswordHash;
 
 END PKG_USER_MGMT;
 /
\ No newline at end of file